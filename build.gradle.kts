@@ -61,12 +61,21 @@ application {
 
 sourceSets {
 	create("utility")
+	create("jmh")
 }
 
 val utilityImplementation by configurations.getting {
 	extendsFrom(configurations.implementation.get())
 }
 
+val jmhImplementation by configurations.getting {
+	extendsFrom(configurations.testImplementation.get())
+}
+
+val jmhRuntimeOnly by configurations.getting {
+	extendsFrom(configurations.testRuntimeOnly.get())
+}
+
 dependencies {
 	implementation(project(":pswgcommon"))
 	implementation(kotlin("stdlib"))
@@ -82,6 +91,13 @@ dependencies {
 	utilityImplementation(project(":"))
 	utilityImplementation(project(":pswgcommon"))
 	
+	val jmhVersion = "1.37"
+	jmhImplementation(project(":"))
+	jmhImplementation(project(":pswgcommon"))
+	jmhImplementation(sourceSets.test.get().output)	// Benchmarks build their fixtures from the test resources
+	jmhImplementation(group="org.openjdk.jmh", name="jmh-core", version=jmhVersion)
+	"jmhAnnotationProcessor"(group="org.openjdk.jmh", name="jmh-generator-annprocess", version=jmhVersion)
+	
 	val junit5Version = "5.10.3"
 	testImplementation(group="org.junit.jupiter", name="junit-jupiter-api", version=junit5Version)
 	testRuntimeOnly(group="org.junit.jupiter", name="junit-jupiter-engine", version=junit5Version)
@@ -99,6 +115,7 @@ idea {
 		excludeDirs.add(project.file("log"))
 		excludeDirs.add(project.file("mongo_data"))
 		excludeDirs.add(project.file("odb"))
+		excludeDirs.add(project.file("cache"))
     }
 }
 
@@ -155,6 +172,55 @@ tasks.create<JavaExec>("runClientdataConversion") {
 	mainClass.set("com.projectswg.utility.ClientdataConvertAll")
 }
 
+tasks.create<JavaExec>("runTerrainRasterization") {
+	classpath = sourceSets["utility"].runtimeClasspath
+	mainClass.set("com.projectswg.utility.RasterizeTerrainHeights")
+}
+
+tasks.create<JavaExec>("runPacketCaptureReplay") {
+	classpath = sourceSets["utility"].runtimeClasspath
+	mainClass.set("com.projectswg.utility.packets.ReplayPacketCapture")
+}
+
+val jmhResults = layout.buildDirectory.file("reports/jmh/results.json")
+val jmhBaseline: String? by project
+val jmhThreshold: String? by project
+val jmhInclude: String? by project
+
+tasks.create<JavaExec>("jmh") {
+	description = "Runs the JMH benchmarks, optionally filtered by -PjmhInclude=<regex>"
+	group = "verification"
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass.set("org.openjdk.jmh.Main")
+	args = listOfNotNull(jmhInclude, "-rf", "json", "-rff", jmhResults.get().asFile.path)
+	outputs.file(jmhResults)
+	doFirst {
+		jmhResults.get().asFile.parentFile.mkdirs()
+	}
+}
+
+val jmhBaselineFile = jmhBaseline?.let { file(it) } ?: layout.buildDirectory.file("reports/jmh/baseline.json").get().asFile
+
+tasks.create<Copy>("jmhSaveBaseline") {
+	description = "Saves the last JMH run as the baseline that jmhCompare checks against"
+	group = "verification"
+	from(jmhResults)
+	into(jmhBaselineFile.parentFile)
+	rename { jmhBaselineFile.name }
+}
+
+tasks.create<JavaExec>("jmhCompare") {
+	description = "Fails if the last JMH run regressed against -PjmhBaseline=<results.json>, or the one saved by jmhSaveBaseline, by more than -PjmhThreshold percent"
+	group = "verification"
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass.set("com.projectswg.holocore.benchmarks.BenchmarkComparison")
+	args = listOf(jmhBaselineFile.path, jmhResults.get().asFile.path, jmhThreshold ?: "10")
+	doFirst {
+		if (!jmhBaselineFile.isFile)
+			throw GradleException("No JMH baseline at $jmhBaselineFile - run jmhSaveBaseline on the reference build, or pass -PjmhBaseline=<results.json>")
+	}
+}
+
 tasks.withType<Test>().configureEach {
 	useJUnitPlatform()
 
@@ -163,3 +229,23 @@ tasks.withType<Test>().configureEach {
 		exceptionFormat = TestExceptionFormat.FULL
 	}
 }
+
+tasks.named<Test>("test") {
+	useJUnitPlatform {
+		excludeTags("load")
+	}
+}
+
+tasks.register<Test>("loadTest") {
+	description = "Runs the headless bot-swarm load harness"
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("load")
+	}
+	testLogging {
+		showStandardStreams = true
+	}
+	System.getProperties().stringPropertyNames().filter { it.startsWith("holocore.load.") }.forEach { systemProperty(it, System.getProperty(it)) }
+}
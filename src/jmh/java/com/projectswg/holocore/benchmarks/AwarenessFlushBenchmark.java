@@ -0,0 +1,91 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.benchmarks;
+
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObjectAwareness.FlushAwarenessData;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.resources.GenericTangibleObject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the create/destroy diffing done on every awareness flush, for a player whose awareness set partially
+ * changed since the last flush.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AwarenessFlushBenchmark {
+	
+	@Param({"100", "1000"})
+	private int aware;
+	
+	@Param({"0.1"})
+	private double churn;
+	
+	private FlushAwarenessData flushData;
+	private Set<SWGObject> oldAware;
+	private Set<SWGObject> newAware;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		GenericCreatureObject creature = new GenericCreatureObject(1, "player");
+		flushData = new FlushAwarenessData(creature);
+		oldAware = new HashSet<>();
+		newAware = new HashSet<>();
+		int changed = (int) (aware * churn);
+		long objectId = 2;
+		for (int i = 0; i < aware; i++) {
+			SWGObject obj = new GenericTangibleObject(objectId++, "object" + i);
+			obj.setPosition(i % 100, 0, i / 100.0);
+			oldAware.add(obj);
+			if (i >= changed)
+				newAware.add(obj);
+		}
+		for (int i = 0; i < changed; i++)
+			newAware.add(new GenericTangibleObject(objectId++, "entered" + i));
+	}
+	
+	@Benchmark
+	public void buildCreate(Blackhole blackhole) {
+		blackhole.consume(flushData.buildCreate(oldAware, newAware));
+	}
+	
+	@Benchmark
+	public void buildDestroy(Blackhole blackhole) {
+		blackhole.consume(flushData.buildDestroy(oldAware, newAware));
+	}
+	
+}
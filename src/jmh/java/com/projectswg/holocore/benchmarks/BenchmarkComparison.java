@@ -0,0 +1,115 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.benchmarks;
+
+import me.joshlarson.json.JSON;
+import me.joshlarson.json.JSONException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Compares two JMH JSON result files and exits with a non-zero status if any benchmark regressed by more than the
+ * threshold. A difference only counts once it is larger than the combined error of both measurements, so noisy
+ * benchmarks don't fail the comparison on their own.
+ * <p>
+ * Usage: BenchmarkComparison &lt;baseline.json&gt; &lt;current.json&gt; [threshold percent]
+ */
+public class BenchmarkComparison {
+	
+	public static void main(String [] args) throws IOException, JSONException {
+		if (args.length < 2) {
+			System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold percent]");
+			System.exit(2);
+		}
+		Map<String, Result> baseline = read(Path.of(args[0]));
+		Map<String, Result> current = read(Path.of(args[1]));
+		double threshold = (args.length >= 3 ? Double.parseDouble(args[2]) : 10) / 100;
+		
+		int regressions = 0;
+		System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+		for (Map.Entry<String, Result> e : current.entrySet()) {
+			Result now = e.getValue();
+			Result before = baseline.get(e.getKey());
+			if (before == null) {
+				System.out.printf("%-80s %14s %14.3f %9s  %s%n", e.getKey(), "-", now.score, "new", now.unit);
+				continue;
+			}
+			double change = (now.score - before.score) / before.score;
+			boolean significant = Math.abs(now.score - before.score) > now.error + before.error;
+			boolean regressed = significant && (now.higherIsBetter ? -change : change) > threshold;
+			if (regressed)
+				regressions++;
+			System.out.printf("%-80s %14.3f %14.3f %+8.1f%%  %s%s%n", e.getKey(), before.score, now.score, change * 100, now.unit, regressed ? "  REGRESSION" : "");
+		}
+		for (String missing : baseline.keySet()) {
+			if (!current.containsKey(missing))
+				System.out.printf("%-80s %14s%n", missing, "removed");
+		}
+		
+		if (regressions > 0) {
+			System.err.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold * 100);
+			System.exit(1);
+		}
+	}
+	
+	private static Map<String, Result> read(Path path) throws IOException, JSONException {
+		Map<String, Result> results = new TreeMap<>();
+		for (Object element : JSON.readArray(Files.readString(path))) {
+			Map<?, ?> run = (Map<?, ?>) element;
+			Map<?, ?> metric = (Map<?, ?>) run.get("primaryMetric");
+			String mode = (String) run.get("mode");
+			results.put(getName(run), new Result(
+					toDouble(metric.get("score")),
+					toDouble(metric.get("scoreError")),
+					(String) metric.get("scoreUnit"),
+					mode.equals("thrpt")));
+		}
+		return results;
+	}
+	
+	private static String getName(Map<?, ?> run) {
+		Map<?, ?> params = (Map<?, ?>) run.get("params");
+		if (params == null || params.isEmpty())
+			return (String) run.get("benchmark");
+		StringJoiner joiner = new StringJoiner(",", run.get("benchmark") + "(", ")");
+		new TreeMap<>(params).forEach((key, value) -> joiner.add(key + "=" + value));
+		return joiner.toString();
+	}
+	
+	private static double toDouble(Object value) {
+		// JMH writes "NaN" as a string when the error can't be computed, such as for a single iteration
+		return value instanceof Number ? ((Number) value).doubleValue() : 0;
+	}
+	
+	private record Result(double score, double error, String unit, boolean higherIsBetter) {
+		
+	}
+	
+}
@@ -0,0 +1,110 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.benchmarks;
+
+import com.projectswg.common.encoding.StringType;
+import com.projectswg.common.network.packets.swg.zone.baselines.Baseline;
+import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType;
+import com.projectswg.holocore.resources.support.data.collections.SWGList;
+import com.projectswg.holocore.resources.support.data.collections.SWGMap;
+import com.projectswg.holocore.resources.support.global.network.BaselineBuilder;
+import com.projectswg.holocore.resources.support.global.network.DeltaBuilder;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building baselines, encoding the networked collections and fanning a delta out to every observer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodingBenchmark {
+	
+	@Param({"100"})
+	private int elements;
+	
+	@Param({"50"})
+	private int observers;
+	
+	private GenericCreatureObject creature;
+	private SWGList<Integer> intList;
+	private SWGList<String> asciiList;
+	private SWGMap<String, String> asciiMap;
+	private int deltaValue;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		creature = new GenericCreatureObject(1, "creature");
+		for (int i = 0; i < observers; i++) {
+			GenericCreatureObject observer = new GenericCreatureObject(2 + i, "observer" + i);
+			observer.setHasOwner(false);
+			creature.addObserver(observer);
+		}
+		intList = SWGList.Companion.createIntList(3, 0);
+		asciiList = SWGList.Companion.createAsciiList(3, 1);
+		asciiMap = new SWGMap<>(3, 2, StringType.ASCII);
+		for (int i = 0; i < elements; i++) {
+			intList.add(i);
+			asciiList.add("element_" + i);
+			asciiMap.put("key_" + i, "value_" + i);
+		}
+	}
+	
+	@Benchmark
+	public Baseline baseline3() {
+		BaselineBuilder bb = new BaselineBuilder(creature, BaselineType.CREO, 3);
+		creature.createBaseline3(null, bb);
+		return bb.buildAsBaselinePacket();
+	}
+	
+	@Benchmark
+	public byte[] encodeIntList() {
+		return intList.encode();
+	}
+	
+	@Benchmark
+	public byte[] encodeAsciiList() {
+		return asciiList.encode();
+	}
+	
+	@Benchmark
+	public byte[] encodeAsciiMap() {
+		return asciiMap.encode();
+	}
+	
+	@Benchmark
+	public void deltaSend() {
+		// Replaceable deltas are coalesced per field, so the observers' pending queues stay bounded
+		DeltaBuilder.INSTANCE.send(creature, BaselineType.CREO, 6, 1, deltaValue++);
+	}
+	
+}
@@ -0,0 +1,101 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.benchmarks;
+
+import com.projectswg.common.data.location.Location;
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.holocore.resources.support.npc.ai.NavigationPoint;
+import com.projectswg.holocore.resources.support.objects.ObjectCreator;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.building.BuildingObject;
+import com.projectswg.holocore.resources.support.objects.swg.cell.CellObject;
+import com.projectswg.holocore.test.resources.GenericTangibleObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the line of sight checks through building portals and the route generation used by NPC movement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NavigationBenchmark {
+	
+	private SWGObject outside;
+	private SWGObject inside;
+	private SWGObject neighbor;
+	private CellObject entrance;
+	private Location start;
+	private Location destination;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		BuildingObject buio = (BuildingObject) ObjectCreator.createObjectFromTemplate(1, "object/building/player/shared_player_house_tatooine_small_style_01.iff");
+		buio.setPosition(Terrain.TATOOINE, 10, 0, 10);
+		buio.setHeading(45);
+		buio.populateCells();
+		entrance = buio.getCellByNumber(1);
+		
+		outside = new GenericTangibleObject(100, "outside");
+		outside.setPosition(Terrain.TATOOINE, 10, 0, 20);
+		inside = new GenericTangibleObject(101, "inside");
+		inside.systemMove(entrance);
+		inside.setPosition(1, 0.63, 3);
+		neighbor = new GenericTangibleObject(102, "neighbor");
+		neighbor.systemMove(buio.getCellByNumber(2));
+		neighbor.setPosition(-5.97, 0.64, 5);
+		
+		start = Location.builder().setTerrain(Terrain.TATOOINE).setPosition(-100, 0, -100).build();
+		destination = Location.builder().setTerrain(Terrain.TATOOINE).setPosition(100, 0, 100).build();
+	}
+	
+	@Benchmark
+	public boolean lineOfSightWorldToCell() {
+		return outside.isLineOfSight(inside);
+	}
+	
+	@Benchmark
+	public boolean lineOfSightCellToCell() {
+		return inside.isLineOfSight(neighbor);
+	}
+	
+	@Benchmark
+	public List<NavigationPoint> routeDirect() {
+		return NavigationPoint.Companion.from(null, start, destination, 5.0);
+	}
+	
+	@Benchmark
+	public List<NavigationPoint> routeIntoBuilding() {
+		return NavigationPoint.Companion.from(null, start, entrance, Location.builder().setPosition(1, 0.63, 3).build(), 5.0);
+	}
+	
+}
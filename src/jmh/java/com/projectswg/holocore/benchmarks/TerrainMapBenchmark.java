@@ -0,0 +1,116 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.benchmarks;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.holocore.resources.support.global.player.Player;
+import com.projectswg.holocore.resources.support.global.player.PlayerState;
+import com.projectswg.holocore.resources.support.objects.awareness.TerrainMap;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.resources.GenericTangibleObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single awareness tick on a populated terrain, after a fraction of the players moved. This is the work done
+ * by the old TerrainMapChunk.update, now split between {@link TerrainMap#move} and {@link TerrainMap#updateChunks}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TerrainMapBenchmark {
+	
+	private static final double AREA = 4000;
+	private static final double STEP = 10;
+	
+	@Param({"100", "1000"})
+	private int players;
+	
+	@Param({"10000"})
+	private int objects;
+	
+	@Param({"0.1"})
+	private double moving;
+	
+	private TerrainMap map;
+	private GenericCreatureObject[] creatures;
+	private Random random;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		random = new Random(0);
+		map = new TerrainMap(Terrain.TATOOINE, null);
+		creatures = new GenericCreatureObject[players];
+		long objectId = 1;
+		for (int i = 0; i < players; i++) {
+			GenericCreatureObject creature = new GenericCreatureObject(objectId++, "player" + i);
+			creature.setOwner(createPacketSink(objectId)); // Without an owner every range test would fail straight away
+			place(creature);
+			creatures[i] = creature;
+		}
+		for (int i = 0; i < objects; i++)
+			place(new GenericTangibleObject(objectId++, "object" + i));
+		map.updateChunks();
+	}
+	
+	@Benchmark
+	public void moveAndUpdate() {
+		int moves = (int) (players * moving);
+		for (int i = 0; i < moves; i++) {
+			GenericCreatureObject creature = creatures[random.nextInt(players)];
+			creature.setPosition(clamp(creature.getX() + random.nextGaussian() * STEP), 0, clamp(creature.getZ() + random.nextGaussian() * STEP));
+			map.move(creature);
+		}
+		map.updateChunks();
+	}
+	
+	/**
+	 * Creates a zoned-in player that discards everything sent to it, so the flushes do their real work without the
+	 * packets piling up for the whole trial
+	 */
+	private static Player createPacketSink(long networkId) {
+		Player player = new Player(networkId, null, packet -> {}, packet -> {});
+		player.setPlayerState(PlayerState.ZONED_IN);
+		return player;
+	}
+	
+	private void place(SWGObject obj) {
+		obj.setPosition(Terrain.TATOOINE, random.nextDouble() * AREA - AREA / 2, 0, random.nextDouble() * AREA - AREA / 2);
+		map.add(obj);
+	}
+	
+	private static double clamp(double coordinate) {
+		return Math.max(-AREA / 2, Math.min(AREA / 2, coordinate));
+	}
+	
+}
@@ -32,6 +32,9 @@ import com.projectswg.common.data.encodables.galaxy.Galaxy.GalaxyStatus
 import com.projectswg.common.data.swgiff.parsers.SWGParser
 import com.projectswg.holocore.intents.support.data.control.ServerStatusIntent
 import com.projectswg.holocore.resources.support.data.control.ServerStatus
+import com.projectswg.holocore.resources.support.data.server_info.loader.ServerData
+import com.projectswg.holocore.resources.support.data.server_info.loader.ServerDataWarmup
+import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase.config
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase.initialize
 import com.projectswg.holocore.services.gameplay.GameplayManager
@@ -96,6 +99,7 @@ object ProjectSWG {
 		Thread.currentThread().priority = 10
 		initializeSWGParser()
 		setupGalaxy(arguments)
+		val warmup = warmUpServerData()
 		IntentManager(false, Runtime.getRuntime().availableProcessors(), 8).use { intentManager ->
 			IntentManager.setInstance(intentManager)
 			val managers = listOf<ServiceBase>(
@@ -105,7 +109,9 @@ object ProjectSWG {
 			)
 			managers.forEach(Consumer { m: ServiceBase -> m.setIntentManager(intentManager) })
 			setStatus(ServerStatus.INITIALIZING)
-			if (Manager.start(managers)) {
+			val started = Manager.start(managers)
+			warmup.close() // services hold on to what they need by now
+			if (started) {
 				setStatus(ServerStatus.OPEN)
 				Manager.run(managers, 50)
 			}
@@ -118,12 +124,18 @@ object ProjectSWG {
 		return 0
 	}
 
+	private fun warmUpServerData(): ServerDataWarmup {
+		val threads = config.getInt(ProjectSWG::class.java, "serverDataWarmupThreads", Runtime.getRuntime().availableProcessors())
+		return ServerData.warmUp(max(1, threads))
+	}
+
 	private fun initializeSWGParser() {
 		SWGParser.setBasePath("serverdata")
 	}
 
 	private fun shutdownStaticClasses() {
 		ScheduledUtilities.shutdown()
+		PswgDatabase.terminate()
 	}
 
 	private fun printFinalPswgState() {
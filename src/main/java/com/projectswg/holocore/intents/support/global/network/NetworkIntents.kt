@@ -33,7 +33,6 @@ import com.projectswg.holocore.resources.support.global.network.NetworkClient
 import com.projectswg.holocore.resources.support.global.player.Player
 import me.joshlarson.jlcommon.control.Intent
 
-data class OutboundPacketIntent(val player: Player, val packet: SWGPacket) : Intent()
 data class InboundPacketPendingIntent(val client: NetworkClient) : Intent()
 data class InboundPacketIntent(val player: Player, val packet: SWGPacket) : Intent()
 data class ForceLogoutIntent(val player: Player) : Intent()
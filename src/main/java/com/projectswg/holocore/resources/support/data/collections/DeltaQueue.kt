@@ -0,0 +1,125 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.collections
+
+import com.projectswg.common.network.NetBuffer
+
+/**
+ * The pending delta operations of a collection, encoded straight into a single growable byte array. The array is kept
+ * between sends, so a collection that changes every tick stops allocating once it has reached its working size. This
+ * class is not thread-safe; the owning collection is expected to guard it.
+ */
+class DeltaQueue {
+	
+	private var data: ByteArray = EMPTY
+	private var wrapper: NetBuffer? = null
+	
+	/** The number of encoded bytes queued */
+	var size: Int = 0
+		private set
+	/** The number of operations queued */
+	var count: Int = 0
+		private set
+	
+	val isEmpty: Boolean
+		get() = count == 0
+	
+	/**
+	 * Begins a new operation with the specified type byte
+	 */
+	fun addOperation(type: Int) {
+		ensureRemaining(1)
+		data[size++] = type.toByte()
+		count++
+	}
+	
+	fun writeShort(value: Int) {
+		ensureRemaining(2)
+		data[size++] = value.toByte()
+		data[size++] = value.ushr(8).toByte()
+	}
+	
+	fun writeBytes(bytes: ByteArray) {
+		ensureRemaining(bytes.size)
+		System.arraycopy(bytes, 0, data, size, bytes.size)
+		size += bytes.size
+	}
+	
+	/**
+	 * Encodes the value in place, with [maxLength] being an upper bound on the number of bytes the encoder writes
+	 */
+	fun <T> write(value: T, maxLength: Int, encoder: (NetBuffer, T) -> Unit) {
+		ensureRemaining(maxLength)
+		val buffer = wrapper ?: NetBuffer.wrap(data).also { wrapper = it }
+		buffer.position(size)
+		encoder(buffer, value)
+		size = buffer.position()
+	}
+	
+	/**
+	 * Returns the delta payload: the operation count, the update count and then every queued operation
+	 */
+	fun toDeltaArray(updateCount: Int): ByteArray {
+		val delta = ByteArray(8 + size)
+		writeInt(delta, 0, count)
+		writeInt(delta, 4, updateCount)
+		System.arraycopy(data, 0, delta, 8, size)
+		return delta
+	}
+	
+	fun clear() {
+		size = 0
+		count = 0
+		if (data.size > MAX_RETAINED_CAPACITY) {
+			data = EMPTY
+			wrapper = null
+		}
+	}
+	
+	private fun ensureRemaining(length: Int) {
+		if (size + length <= data.size)
+			return
+		data = data.copyOf(maxOf(data.size * 2, size + length, INITIAL_CAPACITY))
+		wrapper = null
+	}
+	
+	companion object {
+		
+		private val EMPTY = ByteArray(0)
+		private const val INITIAL_CAPACITY = 64
+		private const val MAX_RETAINED_CAPACITY = 16 * 1024
+		
+		private fun writeInt(array: ByteArray, offset: Int, value: Int) {
+			array[offset] = value.toByte()
+			array[offset + 1] = value.ushr(8).toByte()
+			array[offset + 2] = value.ushr(16).toByte()
+			array[offset + 3] = value.ushr(24).toByte()
+		}
+		
+	}
+	
+}
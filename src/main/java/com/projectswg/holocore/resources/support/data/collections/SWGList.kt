@@ -42,8 +42,8 @@ class SWGList<T: Any>: AbstractMutableList<T>, Encodable {
 		private set
 	
 	private val list: MutableList<T> = ArrayList()
-	private val deltaQueue: MutableList<Byte> = ArrayList()
-	private var deltaQueueCount: Int = 0
+	private val deltaQueue = DeltaQueue()
+	private var singleSetIndex: Int = -1 // the element index when the queue holds nothing but one set operation
 	private val lock = ReentrantLock()
 	private val encoder: (NetBuffer, T) -> Unit
 	private val decoder: (NetBuffer) -> T
@@ -111,7 +111,7 @@ class SWGList<T: Any>: AbstractMutableList<T>, Encodable {
 	// Remove
 	override fun clear() {
 		lock.withLock {
-			for (index in (list.size-1)..0)
+			for (index in list.size-1 downTo 0)
 				addRemoveDelta(index)
 			list.clear()
 		}
@@ -119,8 +119,8 @@ class SWGList<T: Any>: AbstractMutableList<T>, Encodable {
 	override fun retainAll(elements: Collection<T>): Boolean {
 		lock.withLock {
 			var changed = false
-			for (index in (list.size-1)..0) {
-				if (list[index] in elements) {
+			for (index in list.size-1 downTo 0) {
+				if (list[index] !in elements) {
 					addRemoveDelta(index)
 					list.removeAt(index)
 					changed = true
@@ -192,48 +192,39 @@ class SWGList<T: Any>: AbstractMutableList<T>, Encodable {
 		}
 	
 	private fun addRemoveDelta(index: Int) {
-		deltaQueue.add(0)
-		deltaQueue.add(index.toByte())
-		deltaQueue.add(index.ushr(8).toByte())
-		deltaQueueCount++
+		singleSetIndex = -1
+		deltaQueue.addOperation(0)
+		deltaQueue.writeShort(index)
 		updateCount++
 	}
 	
 	private fun addInsertDelta(index: Int, value: T) {
-		val encoded = NetBuffer.allocate(encodedLength(value))
-		encoder(encoded, value)
-		
-		deltaQueue.add(1)
-		deltaQueue.add(index.toByte())
-		deltaQueue.add(index.ushr(8).toByte())
-		deltaQueue.addAll(encoded.array().asList())
-		deltaQueueCount++
+		singleSetIndex = -1
+		deltaQueue.addOperation(1)
+		deltaQueue.writeShort(index)
+		deltaQueue.write(value, encodedLength(value), encoder)
 		updateCount++
 	}
 	
 	private fun addSetDelta(index: Int, value: T) {
-		val encoded = NetBuffer.allocate(encodedLength(value))
-		encoder(encoded, value)
-		
-		deltaQueue.add(2)
-		deltaQueue.add(index.toByte())
-		deltaQueue.add(index.ushr(8).toByte())
-		deltaQueue.addAll(encoded.array().asList())
-		deltaQueueCount++
+		singleSetIndex = if (deltaQueue.isEmpty) index else -1
+		deltaQueue.addOperation(2)
+		deltaQueue.writeShort(index)
+		deltaQueue.write(value, encodedLength(value), encoder)
 		updateCount++
 	}
 	
 	fun clearDeltaQueue() {
 		lock.withLock {
 			deltaQueue.clear()
-			deltaQueueCount = 0
+			singleSetIndex = -1
 		}
 	}
 	
 	fun sendRefreshedListData(obj: SWGObject) {
 		lock.withLock {
 			deltaQueue.clear()
-			deltaQueueCount = 0
+			singleSetIndex = -1
 			
 			updateCount += list.size
 			with(NetBuffer.allocate(11 + list.sumOf(encodedLength))) {
@@ -242,22 +233,20 @@ class SWGList<T: Any>: AbstractMutableList<T>, Encodable {
 				addByte(3)
 				addShort(list.size)
 				list.forEach { encoder(this, it) }
-				obj.sendDelta(page, update, array())
+				obj.sendIncrementalDelta(page, update, array())
 			}
 		}
 	}
 	
 	fun sendDeltaMessage(obj: SWGObject) {
 		lock.withLock {
-			with(NetBuffer.allocate(8 + deltaQueue.size)) {
-				addInt(deltaQueueCount)
-				addInt(updateCount)
-				addRawArray(deltaQueue.toByteArray())
-				obj.sendDelta(page, update, array())
-			}
-			
+			val delta = deltaQueue.toDeltaArray(updateCount)
+			if (singleSetIndex != -1)
+				obj.sendListElementDelta(page, update, singleSetIndex, delta) // lets repeated sets of an element coalesce
+			else
+				obj.sendIncrementalDelta(page, update, delta)
 			deltaQueue.clear()
-			deltaQueueCount = 0
+			singleSetIndex = -1
 		}
 	}
 	
@@ -49,10 +49,9 @@ public class SWGMap<K, V> extends ConcurrentHashMap<K, V> implements Encodable {
 	private final int updateType;
 	private final StringType strType;
 	private final AtomicInteger updateCount;
-	private final Map<Object, byte[]> deltas;
+	private final DeltaQueue deltas;
 	private final Map<Object, byte[]> data;
 	
-	private int deltaSize;
 	private int dataSize;
 	
 	public SWGMap(int view, int updateType) {
@@ -64,9 +63,8 @@ public class SWGMap<K, V> extends ConcurrentHashMap<K, V> implements Encodable {
 		this.updateType = updateType;
 		this.strType = strType;
 		this.updateCount = new AtomicInteger(0);
-		this.deltas = new HashMap<>();
+		this.deltas = new DeltaQueue();
 		this.data = new HashMap<>();
-		this.deltaSize = 0;
 		this.dataSize = 0;
 	}
 	
@@ -224,46 +222,28 @@ public class SWGMap<K, V> extends ConcurrentHashMap<K, V> implements Encodable {
 	}
 	
 	public void sendDeltaMessage(SWGObject target) {
-		if (deltas.isEmpty())
-			return;
-		
-		target.sendDelta(view, updateType, getDeltaData());
-		// Clear the queue since the delta has been sent to observers through the builder
-		clearDeltaQueue();
-	}
-	
-	public void clearDeltaQueue() {
+		byte[] delta;
 		synchronized (deltas) {
+			if (deltas.isEmpty())
+				return;
+			delta = deltas.toDeltaArray(updateCount.get());
+			// Clear the queue since the delta is about to be sent to observers through the builder
 			deltas.clear();
-			deltaSize = 0;
 		}
+		
+		target.sendIncrementalDelta(view, updateType, delta);
 	}
 	
-	private byte[] getDeltaData() {
-		ByteBuffer buffer;
+	public void clearDeltaQueue() {
 		synchronized (deltas) {
-			buffer = ByteBuffer.allocate(8 + deltaSize).order(ByteOrder.LITTLE_ENDIAN);
-			
-			buffer.putInt(deltas.size());
-			buffer.putInt(updateCount.get());
-			for (byte[] data : deltas.values()) {
-				buffer.put(data);
-			}
+			deltas.clear();
 		}
-		
-		return buffer.array();
 	}
 	
-	private void createDeltaData(Object key, byte[] delta, byte update) {
-		byte[] combinedUpdate = new byte[delta.length + 1];
-		combinedUpdate[0] = update;
-		System.arraycopy(delta, 0, combinedUpdate, 1, delta.length);
+	private void createDeltaData(byte[] delta, byte update) {
 		synchronized (deltas) {
-			if (deltas.containsKey(key)) {
-				deltaSize -= deltas.remove(key).length;
-			}
-			deltaSize += combinedUpdate.length;
-			deltas.put(key, combinedUpdate);
+			deltas.addOperation(update);
+			deltas.writeBytes(delta);
 		}
 	}
 	
@@ -280,7 +260,7 @@ public class SWGMap<K, V> extends ConcurrentHashMap<K, V> implements Encodable {
 			dataSize += encodedData.length;
 		}
 		
-		createDeltaData(key, encodedData, update);
+		createDeltaData(encodedData, update);
 	}
 	
 	private void removeData(Object key) {
@@ -292,7 +272,7 @@ public class SWGMap<K, V> extends ConcurrentHashMap<K, V> implements Encodable {
 			dataSize -= value.length;
 		}
 		
-		createDeltaData(key, value, (byte) 1);
+		createDeltaData(value, (byte) 1);
 	}
 	
 	private void removeDataSize(Object key) {
@@ -49,10 +49,9 @@ public class SWGSet<E> extends CopyOnWriteArraySet<E> implements Encodable {
 	private final int updateType;
 	private final StringType strType;
 	private final AtomicInteger updateCount;
-	private final List<byte[]> deltas;
+	private final DeltaQueue deltas;
 	private final Set<ByteBuffer> data;
 	
-	private int deltaSize;
 	private int dataSize;
 	
 	/**
@@ -82,9 +81,8 @@ public class SWGSet<E> extends CopyOnWriteArraySet<E> implements Encodable {
 		this.strType = strType;
 		this.dataSize = 0;
 		this.updateCount = new AtomicInteger(0);
-		this.deltas = new LinkedList<>();
+		this.deltas = new DeltaQueue();
 		this.data = new HashSet<>();
-		this.deltaSize = 0;
 	}
 	
 	public void resetUpdateCount() {
@@ -128,12 +126,16 @@ public class SWGSet<E> extends CopyOnWriteArraySet<E> implements Encodable {
 	}
 	
 	public void sendDeltaMessage(SWGObject target) {
-		if (deltas.isEmpty())
-			return;
+		byte[] delta;
+		synchronized (deltas) {
+			if (deltas.isEmpty())
+				return;
+			delta = deltas.toDeltaArray(updateCount.get());
+			// Clear the queue since the delta is about to be sent to observers through the builder
+			deltas.clear();
+		}
 		
-		target.sendDelta(view, updateType, getDeltaData());
-		// Clear the queue since the delta has been sent to observers through the builder
-		clearDeltaQueue();
+		target.sendIncrementalDelta(view, updateType, delta);
 	}
 	
 	private void addObjectData(E obj, byte update) {
@@ -168,40 +170,20 @@ public class SWGSet<E> extends CopyOnWriteArraySet<E> implements Encodable {
 	private void clearAllObjectData() {
 		clearAllData();
 		synchronized (deltas) {
-			deltaSize = 1;
-			deltas.add(new byte[] {(byte) 2});
+			deltas.addOperation(2);
 		}
 	}
 	
 	public void clearDeltaQueue() {
 		synchronized (deltas) {
 			deltas.clear();
-			deltaSize = 0;
 		}
 	}
 	
-	private byte[] getDeltaData() {
-		ByteBuffer buffer;
-		synchronized (deltas) {
-			buffer = ByteBuffer.allocate(8 + deltaSize).order(ByteOrder.LITTLE_ENDIAN);
-			
-			buffer.putInt(deltas.size());
-			buffer.putInt(updateCount.get());
-			for (byte[] data : deltas) {
-				buffer.put(data);
-			}
-		}
-		
-		return buffer.array();
-	}
-	
 	private void createDeltaData(byte[] delta, byte update) {
-		byte[] combinedUpdate = new byte[delta.length + 1];
-		combinedUpdate[0] = update;
-		System.arraycopy(delta, 0, combinedUpdate, 1, delta.length);
 		synchronized (deltas) {
-			deltaSize += delta.length + 1;
-			deltas.add(combinedUpdate);
+			deltas.addOperation(update);
+			deltas.writeBytes(delta);
 		}
 	}
 	
@@ -0,0 +1,80 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.metrics
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Lock-free latency histogram with fixed buckets, exposed in the Prometheus histogram format. Recording is a bucket
+ * scan and two adder increments, so it is cheap enough to call on every tick or database operation.
+ */
+class MetricsHistogram(bucketsSeconds: DoubleArray = DEFAULT_BUCKETS) {
+	
+	private val bucketSeconds = bucketsSeconds.copyOf().also { it.sort() }
+	private val bucketNanos = LongArray(bucketSeconds.size) { (bucketSeconds[it] * 1E9).toLong() }
+	private val bucketCounts = Array(bucketSeconds.size + 1) { LongAdder() } // Last bucket is +Inf
+	private val sumNanos = LongAdder()
+	
+	fun observe(nanos: Long) {
+		var bucket = 0
+		while (bucket < bucketNanos.size && nanos > bucketNanos[bucket])
+			bucket++
+		bucketCounts[bucket].increment()
+		sumNanos.add(nanos)
+	}
+	
+	fun observe(duration: Long, unit: TimeUnit) {
+		observe(unit.toNanos(duration))
+	}
+	
+	fun getCount(): Long = bucketCounts.sumOf { it.sum() }
+	
+	fun getSumNanos(): Long = sumNanos.sum()
+	
+	/**
+	 * Writes the cumulative buckets, sum and count. The metric family must have been declared as a histogram already
+	 */
+	fun writeTo(writer: PrometheusWriter, name: String, vararg labels: String) {
+		var cumulative = 0L
+		for (i in bucketSeconds.indices) {
+			cumulative += bucketCounts[i].sum()
+			writer.sample(name + "_bucket", cumulative.toDouble(), *labels, "le", bucketSeconds[i].toString())
+		}
+		cumulative += bucketCounts[bucketSeconds.size].sum()
+		writer.sample(name + "_bucket", cumulative.toDouble(), *labels, "le", "+Inf")
+		writer.sample(name + "_sum", sumNanos.sum() / 1E9, *labels)
+		writer.sample(name + "_count", cumulative.toDouble(), *labels)
+	}
+	
+	companion object {
+		
+		val DEFAULT_BUCKETS = doubleArrayOf(0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0, 10.0)
+		
+	}
+	
+}
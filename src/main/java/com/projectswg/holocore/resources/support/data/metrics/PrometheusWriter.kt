@@ -0,0 +1,100 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.metrics
+
+/**
+ * Builds a response in the Prometheus text exposition format (version 0.0.4)
+ */
+class PrometheusWriter {
+	
+	private val output = StringBuilder(16 * 1024)
+	private val declared = HashSet<String>()
+	
+	/**
+	 * Declares a metric family. Repeated declarations of the same family are ignored, so collectors may declare a
+	 * family before every group of samples they write
+	 */
+	fun family(name: String, type: String, help: String): PrometheusWriter {
+		if (declared.add(name)) {
+			output.append("# HELP ").append(name).append(' ').append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n')
+			output.append("# TYPE ").append(name).append(' ').append(type).append('\n')
+		}
+		return this
+	}
+	
+	/**
+	 * Writes a single sample
+	 * @param labels alternating label names and values
+	 */
+	fun sample(name: String, value: Double, vararg labels: String): PrometheusWriter {
+		assert(labels.size % 2 == 0) { "labels must be name/value pairs" }
+		output.append(name)
+		if (labels.isNotEmpty()) {
+			output.append('{')
+			for (i in labels.indices step 2) {
+				if (i > 0)
+					output.append(',')
+				output.append(labels[i]).append("=\"")
+				appendEscaped(labels[i + 1])
+				output.append('"')
+			}
+			output.append('}')
+		}
+		output.append(' ').append(formatValue(value)).append('\n')
+		return this
+	}
+	
+	fun sample(name: String, value: Long, vararg labels: String): PrometheusWriter {
+		return sample(name, value.toDouble(), *labels)
+	}
+	
+	override fun toString(): String {
+		return output.toString()
+	}
+	
+	private fun appendEscaped(value: String) {
+		for (c in value) {
+			when (c) {
+				'\\' -> output.append("\\\\")
+				'"' -> output.append("\\\"")
+				'\n' -> output.append("\\n")
+				else -> output.append(c)
+			}
+		}
+	}
+	
+	private fun formatValue(value: Double): String {
+		return when {
+			value.isNaN() -> "NaN"
+			value == Double.POSITIVE_INFINITY -> "+Inf"
+			value == Double.NEGATIVE_INFINITY -> "-Inf"
+			value == Math.rint(value) && Math.abs(value) < 1E15 -> value.toLong().toString()
+			else -> value.toString()
+		}
+	}
+	
+}
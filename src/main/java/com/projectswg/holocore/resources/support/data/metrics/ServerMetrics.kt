@@ -0,0 +1,148 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.metrics
+
+import com.projectswg.holocore.resources.support.global.network.PacketRouter
+import me.joshlarson.jlcommon.control.IntentManager
+import me.joshlarson.jlcommon.log.Log
+import java.lang.management.ManagementFactory
+
+/**
+ * Central registry for the metrics served on /metrics. Intent, packet routing and JVM metrics are always included;
+ * services register a [MetricsCollector] for their own statistics while they are running.
+ */
+object ServerMetrics {
+	
+	@Volatile
+	private var collectors: List<Registration> = emptyList()
+	
+	@JvmStatic
+	fun register(owner: Any, collector: MetricsCollector) {
+		synchronized(this) {
+			collectors = collectors + Registration(owner, collector)
+		}
+	}
+	
+	@JvmStatic
+	fun unregister(owner: Any) {
+		synchronized(this) {
+			collectors = collectors.filter { it.owner !== owner }
+		}
+	}
+	
+	/**
+	 * Collects every metric into a Prometheus text response
+	 */
+	@JvmStatic
+	fun scrape(): String {
+		val writer = PrometheusWriter()
+		collectIntents(writer)
+		collectPacketRouter(writer)
+		collectJvm(writer)
+		for (registration in collectors) {
+			try {
+				registration.collector.collect(writer)
+			} catch (t: Throwable) {
+				Log.e("Failed to collect metrics from %s", registration.owner)
+				Log.e(t)
+			}
+		}
+		return writer.toString()
+	}
+	
+	private fun collectIntents(writer: PrometheusWriter) {
+		val intentManager = IntentManager.getInstance() ?: return
+		writer.family("holocore_intent_queue_depth", "gauge", "Intents waiting to be processed")
+		writer.sample("holocore_intent_queue_depth", intentManager.intentCount.toLong())
+		
+		writer.family("holocore_intent_handler_seconds", "summary", "Time spent in each intent handler")
+		for (record in intentManager.speedRecorder) {
+			if (record.count == 0L)
+				continue
+			var receiver = record.key.toString()
+			if (receiver.indexOf('$') != -1)
+				receiver = receiver.substring(0, receiver.indexOf('$'))
+			receiver = receiver.replace("com.projectswg.holocore.services.", "")
+			val intent = record.intent.simpleName
+			writer.sample("holocore_intent_handler_seconds_sum", record.totalTime / 1E9, "intent", intent, "receiver", receiver)
+			writer.sample("holocore_intent_handler_seconds_count", record.count, "intent", intent, "receiver", receiver)
+		}
+	}
+	
+	private fun collectPacketRouter(writer: PrometheusWriter) {
+		writer.family("holocore_inbound_packets_total", "counter", "Inbound packets dispatched to at least one handler")
+		for ((type, count) in PacketRouter.getDispatchCounts())
+			writer.sample("holocore_inbound_packets_total", count, "type", type)
+		
+		writer.family("holocore_packet_handler_seconds", "summary", "Time spent in each packet handler")
+		for (statistics in PacketRouter.getHandlerStatistics()) {
+			if (statistics.count == 0L)
+				continue
+			writer.sample("holocore_packet_handler_seconds_sum", statistics.nanos / 1E9, "type", statistics.type, "owner", statistics.owner)
+			writer.sample("holocore_packet_handler_seconds_count", statistics.count, "type", statistics.type, "owner", statistics.owner)
+		}
+	}
+	
+	private fun collectJvm(writer: PrometheusWriter) {
+		val memory = ManagementFactory.getMemoryMXBean()
+		val heap = memory.heapMemoryUsage
+		val nonHeap = memory.nonHeapMemoryUsage
+		writer.family("jvm_memory_used_bytes", "gauge", "Used memory by area")
+		writer.sample("jvm_memory_used_bytes", heap.used, "area", "heap")
+		writer.sample("jvm_memory_used_bytes", nonHeap.used, "area", "nonheap")
+		writer.family("jvm_memory_committed_bytes", "gauge", "Committed memory by area")
+		writer.sample("jvm_memory_committed_bytes", heap.committed, "area", "heap")
+		writer.sample("jvm_memory_committed_bytes", nonHeap.committed, "area", "nonheap")
+		writer.family("jvm_memory_max_bytes", "gauge", "Maximum memory by area, or -1 if undefined")
+		writer.sample("jvm_memory_max_bytes", heap.max, "area", "heap")
+		writer.sample("jvm_memory_max_bytes", nonHeap.max, "area", "nonheap")
+		
+		val collectors = ManagementFactory.getGarbageCollectorMXBeans()
+		writer.family("jvm_gc_collections_total", "counter", "Garbage collections by collector")
+		for (gc in collectors)
+			writer.sample("jvm_gc_collections_total", gc.collectionCount, "gc", gc.name)
+		writer.family("jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collection by collector")
+		for (gc in collectors)
+			writer.sample("jvm_gc_collection_seconds_total", gc.collectionTime / 1E3, "gc", gc.name)
+		
+		writer.family("jvm_threads_live", "gauge", "Live threads")
+		writer.sample("jvm_threads_live", ManagementFactory.getThreadMXBean().threadCount.toLong())
+		
+		val os = ManagementFactory.getOperatingSystemMXBean()
+		if (os is com.sun.management.OperatingSystemMXBean) {
+			writer.family("process_cpu_load", "gauge", "Recent CPU load of the server process, between 0 and 1")
+			writer.sample("process_cpu_load", os.processCpuLoad)
+		}
+	}
+	
+	fun interface MetricsCollector {
+		fun collect(writer: PrometheusWriter)
+	}
+	
+	private class Registration(val owner: Any, val collector: MetricsCollector)
+	
+}
@@ -0,0 +1,88 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.persistable
+
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Tracks persisted objects that changed since they were last written to the database
+ */
+object DirtyObjectTracker {
+	
+	private val dirty: MutableSet<SWGObject> = ConcurrentHashMap.newKeySet()
+	
+	/**
+	 * Flags the object as changed if it is persisted or is contained within a persisted object
+	 */
+	@JvmStatic
+	fun markDirty(obj: SWGObject) {
+		if (isPersistedTree(obj))
+			dirty.add(obj)
+	}
+	
+	@JvmStatic
+	fun remove(obj: SWGObject) {
+		dirty.remove(obj)
+	}
+	
+	@JvmStatic
+	fun clear() {
+		dirty.clear()
+	}
+	
+	@JvmStatic
+	fun size(): Int = dirty.size
+	
+	/**
+	 * Moves up to [max] dirty objects into [destination]. Objects that change again after being drained are flagged
+	 * again, so nothing is lost while the batch is written.
+	 * @return the number of objects drained
+	 */
+	@JvmStatic
+	fun drainTo(destination: MutableCollection<SWGObject>, max: Int): Int {
+		var drained = 0
+		val it = dirty.iterator()
+		while (drained < max && it.hasNext()) {
+			destination.add(it.next())
+			it.remove()
+			drained++
+		}
+		return drained
+	}
+	
+	private fun isPersistedTree(obj: SWGObject): Boolean {
+		var current: SWGObject? = obj
+		while (current != null) {
+			if (current.isPersisted)
+				return true
+			current = current.parent
+		}
+		return false
+	}
+	
+}
@@ -0,0 +1,439 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info
+
+import com.projectswg.holocore.resources.support.data.server_info.SdbColumnArraySet.*
+import com.projectswg.holocore.resources.support.data.server_info.SdbLoader.SdbResultSet
+import me.joshlarson.jlcommon.log.Log
+import org.intellij.lang.annotations.Language
+import java.io.File
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.channels.FileChannel
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.nio.file.StandardOpenOption
+import java.security.MessageDigest
+import java.util.*
+import java.util.concurrent.atomic.AtomicReferenceArray
+import java.util.function.Consumer
+import java.util.function.Function
+import java.util.stream.Stream
+import java.util.stream.StreamSupport
+
+/**
+ * Reads an SDB that was compiled into a typed, columnar binary file. Every cell refers to a deduplicated string pool,
+ * and columns where every cell is a number additionally store the parsed value, so numeric getters never create or
+ * parse strings. Strings are only decoded when they are asked for.
+ */
+internal class CompiledSdbResultSet private constructor(override val file: File, private val data: Data) : SdbResultSet {
+	
+	private var row = -1
+	
+	override fun close() {
+		// The mapping is released once the buffer is collected
+	}
+	
+	override fun next(): Boolean {
+		if (row >= data.rowCount)
+			return false
+		return ++row < data.rowCount
+	}
+	
+	override fun <T> stream(transform: Function<SdbResultSet, T>): Stream<T> = stream(transform, false)
+	
+	override fun <T> parallelStream(transform: Function<SdbResultSet, T>): Stream<T> = stream(transform, true)
+	
+	private fun <T> stream(transform: Function<SdbResultSet, T>, parallel: Boolean): Stream<T> {
+		val start = row + 1
+		row = data.rowCount // the stream consumes the remaining rows
+		val views = ThreadLocal.withInitial { CompiledSdbResultSet(file, data) }
+		return StreamSupport.stream(RowSpliterator(start, data.rowCount, views, transform), parallel)
+	}
+	
+	override val columns: List<String>
+		get() = data.columnNames
+	
+	override val line: Int
+		get() = data.getLine(row)
+	
+	override fun getTextArrayParser(@Language("RegExp") regex: String, defValue: String?): SdbTextColumnArraySet {
+		return SdbTextColumnArraySet(regex, defValue)
+	}
+	
+	override fun getIntegerArrayParser(@Language("RegExp") regex: String, defValue: Int): SdbIntegerColumnArraySet {
+		return SdbIntegerColumnArraySet(regex, defValue)
+	}
+	
+	override fun getLongArrayParser(@Language("RegExp") regex: String, defValue: Long): SdbLongColumnArraySet {
+		return SdbLongColumnArraySet(regex, defValue)
+	}
+	
+	override fun getRealArrayParser(@Language("RegExp") regex: String, defValue: Double): SdbRealColumnArraySet {
+		return SdbRealColumnArraySet(regex, defValue)
+	}
+	
+	override fun getBooleanArrayParser(@Language("RegExp") regex: String, defValue: Boolean): SdbBooleanColumnArraySet {
+		return SdbBooleanColumnArraySet(regex, defValue)
+	}
+	
+	override fun getText(index: Int): String {
+		return data.getString(data.getCell(index, row))
+	}
+	
+	override fun getText(columnName: String): String {
+		return getText(getColumnIndex(columnName))
+	}
+	
+	override fun getInt(index: Int): Long {
+		if (data.getType(index) == TYPE_INT)
+			return data.getLong(index, row)
+		try {
+			return getText(index).toLong()
+		} catch (e: NumberFormatException) {
+			throw NumberFormatException("Failed to parse value in sdb: " + file + " on line " + line + " in column " + (index + 1))
+		}
+	}
+	
+	override fun getInt(columnName: String): Long {
+		return getInt(getColumnIndex(columnName))
+	}
+	
+	override fun getReal(index: Int): Double {
+		when (data.getType(index)) {
+			TYPE_INT -> return data.getLong(index, row).toDouble()
+			TYPE_REAL -> return data.getDouble(index, row)
+		}
+		try {
+			return getText(index).toDouble()
+		} catch (e: NumberFormatException) {
+			throw NumberFormatException("Failed to parse value in sdb: " + file + " on line " + line + " in column " + (index + 1))
+		}
+	}
+	
+	override fun getReal(columnName: String): Double {
+		return getReal(getColumnIndex(columnName))
+	}
+	
+	override fun getBoolean(index: Int): Boolean {
+		return data.isTrue(data.getCell(index, row))
+	}
+	
+	override fun getBoolean(columnName: String): Boolean {
+		return getBoolean(getColumnIndex(columnName))
+	}
+	
+	private fun getColumnIndex(columnName: String): Int {
+		val index = data.columnIndices[columnName]
+		assert(index != null) { "column $columnName does not exist in sdb $file" }
+		return index!!
+	}
+	
+	private class RowSpliterator<T>(private var row: Int, private val end: Int, private val views: ThreadLocal<CompiledSdbResultSet>, private val transform: Function<SdbResultSet, T>) : Spliterator<T> {
+		
+		override fun tryAdvance(action: Consumer<in T>): Boolean {
+			if (row >= end)
+				return false
+			val view = views.get()
+			view.row = row++
+			try {
+				action.accept(transform.apply(view))
+			} catch (t: Throwable) {
+				Log.e("Failed to load line %d on SDB %s due to %s: %s", view.line, view.file, t.javaClass.name, t.message)
+			}
+			return true
+		}
+		
+		override fun trySplit(): Spliterator<T>? {
+			val remaining = end - row
+			if (remaining < MINIMUM_SPLIT)
+				return null
+			val mid = row + remaining / 2
+			val prefix = RowSpliterator(row, mid, views, transform)
+			row = mid
+			return prefix
+		}
+		
+		override fun estimateSize(): Long = (end - row).toLong()
+		
+		override fun characteristics(): Int = Spliterator.ORDERED or Spliterator.NONNULL or Spliterator.IMMUTABLE or Spliterator.SIZED or Spliterator.SUBSIZED
+		
+	}
+	
+	private class Data(private val buffer: ByteBuffer) {
+		
+		val rowCount = buffer.getInt(8)
+		val columnCount = buffer.getInt(12)
+		private val stringCount = buffer.getInt(16)
+		private val stringTable = buffer.getInt(20)
+		private val lines = HEADER_SIZE + columnCount * COLUMN_SIZE
+		private val strings = AtomicReferenceArray<String>(stringCount)
+		val columnNames: List<String> = List(columnCount) { getString(buffer.getInt(HEADER_SIZE + it * COLUMN_SIZE)) }
+		val columnIndices: Map<String, Int> = columnNames.withIndex().associate { it.value to it.index }
+		
+		fun getType(column: Int): Int = buffer.getInt(HEADER_SIZE + column * COLUMN_SIZE + 4)
+		
+		fun getLine(row: Int): Int = if (row in 0 until rowCount) buffer.getInt(lines + row * 4) else 0
+		
+		fun getCell(column: Int, row: Int): Int = buffer.getInt(buffer.getInt(HEADER_SIZE + column * COLUMN_SIZE + 8) + row * 4)
+		
+		fun getLong(column: Int, row: Int): Long = buffer.getLong(buffer.getInt(HEADER_SIZE + column * COLUMN_SIZE + 12) + row * 8)
+		
+		fun getDouble(column: Int, row: Int): Double = buffer.getDouble(buffer.getInt(HEADER_SIZE + column * COLUMN_SIZE + 12) + row * 8)
+		
+		fun getString(index: Int): String {
+			val cached = strings.get(index)
+			if (cached != null)
+				return cached
+			val start = buffer.getInt(stringTable + index * 4)
+			val bytes = ByteArray(buffer.getInt(stringTable + index * 4 + 4) - start)
+			buffer.get(start, bytes)
+			val decoded = String(bytes, StandardCharsets.UTF_8)
+			strings.lazySet(index, decoded)
+			return decoded
+		}
+		
+		fun isTrue(index: Int): Boolean {
+			val start = buffer.getInt(stringTable + index * 4)
+			if (buffer.getInt(stringTable + index * 4 + 4) - start != 4)
+				return false
+			return (buffer.getInt(start) or 0x20202020) == TRUE_LOWERCASE
+		}
+		
+	}
+	
+	companion object {
+		
+		private const val MAGIC = 0x42445350 // PSDB
+		private const val VERSION = 1
+		private const val HEADER_SIZE = 64
+		private const val COLUMN_SIZE = 16
+		private const val TYPE_TEXT = 0
+		private const val TYPE_INT = 1
+		private const val TYPE_REAL = 2
+		private const val MINIMUM_SPLIT = 256
+		private val TRUE_LOWERCASE = ByteBuffer.wrap("true".toByteArray()).order(ByteOrder.LITTLE_ENDIAN).getInt(0)
+		
+		/**
+		 * Opens the compiled form of the SDB, compiling it first if the cache doesn't have it yet. Cache files are keyed
+		 * by the SHA-256 of the SDB's contents, so edited SDBs are recompiled and unchanged ones are shared.
+		 * @param file the text SDB
+		 * @param cacheDirectory the directory holding compiled SDBs
+		 * @param parser opens the text SDB, if it needs to be compiled
+		 */
+		@Throws(IOException::class)
+		fun load(file: File, cacheDirectory: File, parser: () -> SdbResultSet): SdbResultSet {
+			val hash = hash(file)
+			val compiled = File(cacheDirectory, HexFormat.of().formatHex(hash) + ".csdb")
+			if (compiled.isFile) {
+				val buffer = map(compiled)
+				if (isValid(buffer, hash))
+					return CompiledSdbResultSet(file, Data(buffer))
+				Log.w("Discarding invalid compiled sdb %s for %s", compiled, file)
+			}
+			parser().use { write(compile(it, hash), compiled) }
+			return CompiledSdbResultSet(file, Data(map(compiled)))
+		}
+		
+		private fun compile(set: SdbResultSet, hash: ByteArray): ByteBuffer {
+			val columnCount = set.columns.size
+			val pool = StringPool()
+			val names = IntArray(columnCount) { pool.intern(set.columns[it]) }
+			var cells = Array(columnCount) { IntArray(1024) }
+			var lines = IntArray(1024)
+			var rowCount = 0
+			while (set.next()) {
+				if (rowCount == lines.size) {
+					lines = lines.copyOf(rowCount * 2)
+					cells = Array(columnCount) { cells[it].copyOf(rowCount * 2) }
+				}
+				lines[rowCount] = set.line
+				for (column in 0 until columnCount)
+					cells[column][rowCount] = pool.intern(set.getText(column))
+				rowCount++
+			}
+			val types = IntArray(columnCount) { column -> pool.getType(cells[column], rowCount) }
+			
+			val numericColumns = types.count { it != TYPE_TEXT }
+			val cellOffset = HEADER_SIZE + columnCount * COLUMN_SIZE + rowCount * 4
+			val numericOffset = align(cellOffset + columnCount * rowCount * 4)
+			val stringTable = numericOffset + numericColumns * rowCount * 8
+			val stringData = stringTable + (pool.size + 1) * 4
+			val totalSize = stringData.toLong() + pool.byteSize
+			if (totalSize > Int.MAX_VALUE)
+				throw IOException("compiled sdb would exceed 2 GiB")
+			
+			val buffer = ByteBuffer.allocate(totalSize.toInt()).order(ByteOrder.LITTLE_ENDIAN)
+			buffer.putInt(0, MAGIC)
+			buffer.putInt(4, VERSION)
+			buffer.putInt(8, rowCount)
+			buffer.putInt(12, columnCount)
+			buffer.putInt(16, pool.size)
+			buffer.putInt(20, stringTable)
+			buffer.putLong(24, totalSize)
+			buffer.put(32, hash)
+			
+			var nextNumeric = numericOffset
+			for (column in 0 until columnCount) {
+				val header = HEADER_SIZE + column * COLUMN_SIZE
+				val cellStart = cellOffset + column * rowCount * 4
+				buffer.putInt(header, names[column])
+				buffer.putInt(header + 4, types[column])
+				buffer.putInt(header + 8, cellStart)
+				for (row in 0 until rowCount)
+					buffer.putInt(cellStart + row * 4, cells[column][row])
+				if (types[column] != TYPE_TEXT) {
+					buffer.putInt(header + 12, nextNumeric)
+					for (row in 0 until rowCount) {
+						val text = pool[cells[column][row]]
+						if (types[column] == TYPE_INT)
+							buffer.putLong(nextNumeric + row * 8, text.toLong())
+						else
+							buffer.putDouble(nextNumeric + row * 8, text.toDouble())
+					}
+					nextNumeric += rowCount * 8
+				}
+			}
+			for (row in 0 until rowCount)
+				buffer.putInt(HEADER_SIZE + columnCount * COLUMN_SIZE + row * 4, lines[row])
+			
+			var nextString = stringData
+			for (index in 0 until pool.size) {
+				buffer.putInt(stringTable + index * 4, nextString)
+				val bytes = pool.getBytes(index)
+				buffer.put(nextString, bytes)
+				nextString += bytes.size
+			}
+			buffer.putInt(stringTable + pool.size * 4, nextString)
+			return buffer
+		}
+		
+		@Throws(IOException::class)
+		private fun write(buffer: ByteBuffer, compiled: File) {
+			compiled.parentFile?.mkdirs()
+			// Written to a temporary file first, so concurrent loads never map a partially written file
+			val temp = File.createTempFile(compiled.name, ".tmp", compiled.parentFile)
+			try {
+				FileChannel.open(temp.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING).use { channel ->
+					buffer.position(0)
+					while (buffer.hasRemaining())
+						channel.write(buffer)
+				}
+				Files.move(temp.toPath(), compiled.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING)
+			} finally {
+				temp.delete()
+			}
+		}
+		
+		@Throws(IOException::class)
+		private fun map(compiled: File): ByteBuffer {
+			FileChannel.open(compiled.toPath(), StandardOpenOption.READ).use { channel ->
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN)
+			}
+		}
+		
+		private fun isValid(buffer: ByteBuffer, hash: ByteArray): Boolean {
+			if (buffer.capacity() < HEADER_SIZE)
+				return false
+			val storedHash = ByteArray(hash.size)
+			buffer.get(32, storedHash)
+			return buffer.getInt(0) == MAGIC
+					&& buffer.getInt(4) == VERSION
+					&& buffer.getLong(24) == buffer.capacity().toLong()
+					&& storedHash.contentEquals(hash)
+		}
+		
+		@Throws(IOException::class)
+		private fun hash(file: File): ByteArray {
+			val digest = MessageDigest.getInstance("SHA-256")
+			val buffer = ByteBuffer.allocateDirect(64 * 1024)
+			FileChannel.open(file.toPath(), StandardOpenOption.READ).use { channel ->
+				while (channel.read(buffer) >= 0) {
+					buffer.flip()
+					digest.update(buffer)
+					buffer.clear()
+				}
+			}
+			return digest.digest()
+		}
+		
+		private fun align(offset: Int): Int = (offset + 7) and 7.inv()
+		
+	}
+	
+	/**
+	 * Deduplicates cell values while compiling, and decides which columns can be stored as numbers
+	 */
+	private class StringPool {
+		
+		private val indices = HashMap<String, Int>()
+		private val strings = ArrayList<String>()
+		private val bytes = ArrayList<ByteArray>()
+		var byteSize = 0L
+			private set
+		
+		val size: Int
+			get() = strings.size
+		
+		fun intern(text: String): Int {
+			return indices.getOrPut(text) {
+				val encoded = text.toByteArray(StandardCharsets.UTF_8)
+				strings.add(text)
+				bytes.add(encoded)
+				byteSize += encoded.size
+				strings.size - 1
+			}
+		}
+		
+		operator fun get(index: Int): String = strings[index]
+		
+		fun getBytes(index: Int): ByteArray = bytes[index]
+		
+		fun getType(cells: IntArray, rowCount: Int): Int {
+			if (rowCount == 0)
+				return TYPE_TEXT
+			var type = TYPE_INT
+			for (row in 0 until rowCount) {
+				val text = strings[cells[row]]
+				// Only canonical integers are stored as such, so getText still returns exactly what the SDB contains
+				if (type == TYPE_INT && text.toLongOrNull()?.toString() == text)
+					continue
+				type = TYPE_REAL
+				try {
+					text.toDouble()
+				} catch (e: NumberFormatException) {
+					return TYPE_TEXT
+				}
+			}
+			return type
+		}
+		
+	}
+	
+}
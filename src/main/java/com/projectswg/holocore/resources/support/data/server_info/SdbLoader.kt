@@ -41,15 +41,34 @@ import java.util.stream.Stream
 import java.util.stream.StreamSupport
 
 object SdbLoader {
+	
+	private val COMPILED_DIRECTORY = File("cache/sdb")
+	
+	/**
+	 * Loads the SDB, or every enabled SDB listed in an MSDB
+	 * @param file the sdb or msdb file
+	 * @param compiled TRUE to read through the compiled binary cache, FALSE to always parse the text
+	 */
+	@JvmOverloads
 	@Throws(IOException::class)
-	fun load(file: File): SdbResultSet {
+	fun load(file: File, compiled: Boolean = true): SdbResultSet {
 		val ext = getExtension(file)
 		return when (ext) {
-			"msdb" -> MasterSdbResultSet.load(file)
-			"sdb"  -> SingleSdbResultSet.load(file)
+			"msdb" -> MasterSdbResultSet.load(file, compiled)
+			"sdb"  -> if (compiled) loadCompiled(file) else SingleSdbResultSet.load(file)
 			else   -> throw IllegalArgumentException("Invalid file! Expected either msdb or sdb")
 		}
 	}
+	
+	@Throws(IOException::class)
+	private fun loadCompiled(file: File): SdbResultSet {
+		try {
+			return CompiledSdbResultSet.load(file, COMPILED_DIRECTORY) { SingleSdbResultSet.load(file) }
+		} catch (e: IOException) {
+			Log.w("Failed to use the compiled sdb for %s - parsing the text instead. %s: %s", file, e.javaClass.name, e.message)
+			return SingleSdbResultSet.load(file)
+		}
+	}
 
 	private fun getExtension(file: File): String {
 		val ext = file.name.lowercase()
@@ -204,13 +223,13 @@ object SdbLoader {
 
 		companion object {
 			@Throws(IOException::class)
-			fun load(file: File): MasterSdbResultSet {
+			fun load(file: File, compiled: Boolean): MasterSdbResultSet {
 				val sets: MutableList<SdbResultSet> = ArrayList()
 				val parentFile = file.parentFile
 				SingleSdbResultSet.load(file).use { msdb ->
 					while (msdb.next()) {
 						if (msdb.getBoolean(1)) // is enabled
-							sets.add(SdbLoader.load(File(parentFile, msdb.getText(0)))) // relative file path
+							sets.add(SdbLoader.load(File(parentFile, msdb.getText(0)), compiled)) // relative file path
 					}
 				}
 				return MasterSdbResultSet(sets)
@@ -65,6 +65,11 @@ interface PswgConfigDatabase {
 	fun getDouble(o: Any, key: String, def: Double): Double
 	fun getLong(o: Any, key: String, def: Long): Long
 	
+	/**
+	 * Registers a listener that is called whenever the stored configuration changes
+	 */
+	fun addChangeListener(listener: () -> Unit) {}
+	
 	companion object {
 		
 		fun createDefault(): PswgConfigDatabase {
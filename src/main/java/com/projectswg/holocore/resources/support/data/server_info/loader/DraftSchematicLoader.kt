@@ -62,22 +62,25 @@ class DraftSchematicLoader : DataLoader() {
 	private fun loadAllDraftSchematics() {
 		val files = findAllDraftSchematicJsonFiles()
 
-		for (file in files) {
+		// Every file is independent, so they are read and parsed in parallel
+		val loaded = files.parallelStream().map { file ->
 			val jsonFilePath = file.path
 			val iffDraftSchematicPath = jsonFilePath.replace("\\", "/").replaceFirst("serverdata/", "object/").replace(".json", ".iff")
 			val fileToJsonString = fileToJsonString(file)
 			val sharedIffDraftSchematicPath = ClientFactory.formatToSharedFile(iffDraftSchematicPath)
-			val draftSchematic = jsonToDraftSchematic(fileToJsonString, sharedIffDraftSchematicPath)
+			Pair(sharedIffDraftSchematicPath, jsonToDraftSchematic(fileToJsonString, sharedIffDraftSchematicPath))
+		}.toList()
 
+		for ((sharedIffDraftSchematicPath, draftSchematic) in loaded) {
 			draftSchematics[sharedIffDraftSchematicPath] = draftSchematic
 		}
 	}
 
 	private fun findAllDraftSchematicJsonFiles(): List<File> {
 		val base = Paths.get("serverdata/draft_schematic")
-		val pathStream = Files.find(base, 10, { path, _ -> path.toString().endsWith(".json") })
-		
-		return pathStream.map { it.toFile() }.toList()
+		Files.find(base, 10, { path, _ -> path.toString().endsWith(".json") }).use { pathStream ->
+			return pathStream.map { it.toFile() }.toList()
+		}
 	}
 
 	private fun fileToJsonString(file: File): String {
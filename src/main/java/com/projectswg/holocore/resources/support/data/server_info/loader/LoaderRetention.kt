@@ -0,0 +1,81 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.loader
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * How long [ServerData] holds on to a loader once it's loaded. A released loader is reparsed on its next access, so
+ * anything hot should be pinned.
+ */
+sealed class LoaderRetention {
+	
+	/**
+	 * Never released
+	 */
+	object Pinned : LoaderRetention() {
+		override fun toString(): String = "pinned"
+	}
+	
+	/**
+	 * Released whenever the GC needs the memory
+	 */
+	object Soft : LoaderRetention() {
+		override fun toString(): String = "soft"
+	}
+	
+	/**
+	 * Held until it hasn't been accessed for the given time, and softly after that
+	 */
+	class Expiring(val minutes: Long) : LoaderRetention() {
+		
+		val nanos: Long
+			get() = TimeUnit.MINUTES.toNanos(minutes)
+		
+		override fun toString(): String = "$minutes minutes"
+		override fun equals(other: Any?): Boolean = other is Expiring && other.minutes == minutes
+		override fun hashCode(): Int = minutes.hashCode()
+	}
+	
+	companion object {
+		
+		/**
+		 * Parses a retention from configuration: "pinned", "soft", or the number of idle minutes before expiring
+		 * @return the retention, or null if the value isn't recognized
+		 */
+		@JvmStatic
+		fun parse(value: String): LoaderRetention? {
+			return when (value.trim().lowercase()) {
+				"pinned" -> Pinned
+				"soft" -> Soft
+				else -> value.trim().toLongOrNull()?.takeIf { it > 0 }?.let { Expiring(it) }
+			}
+		}
+		
+	}
+	
+}
@@ -32,15 +32,28 @@ import com.projectswg.holocore.resources.support.data.server_info.loader.combat.
 import com.projectswg.holocore.resources.support.data.server_info.loader.conversation.ConversationLoader
 import com.projectswg.holocore.resources.support.data.server_info.loader.npc.*
 import com.projectswg.holocore.resources.support.data.server_info.loader.terrain.TerrainHeightLoader
+import com.projectswg.holocore.resources.support.data.metrics.PrometheusWriter
+import com.projectswg.holocore.resources.support.data.metrics.ServerMetrics
+import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase.config
+import com.projectswg.holocore.utilities.ScheduledUtilities
 import me.joshlarson.jlcommon.log.Log
 import java.io.IOException
 import java.lang.ref.Reference
 import java.lang.ref.SoftReference
-import java.lang.ref.WeakReference
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
 import kotlin.reflect.KProperty
+import kotlin.reflect.KProperty0
 
 object ServerData {
 	
+	private val delegates = LinkedHashMap<String, DataLoaderDelegate<*>>()
+	
+	init {
+		ServerMetrics.register(this, ::collectMetrics)
+	}
+	
 	/*
 	 * Combat
 	 */
@@ -65,14 +78,14 @@ object ServerData {
 	/*
 	 * NPC Info
 	 */
-	val npcs				by WeakDataLoaderDelegate(::NpcLoader)
-	val npcCombatProfiles	by WeakDataLoaderDelegate(::NpcCombatProfileLoader)
-	val npcPatrolRoutes		by WeakDataLoaderDelegate(::NpcPatrolRouteLoader)
-	val npcWeapons			by WeakDataLoaderDelegate(::NpcWeaponLoader)
-	val npcWeaponRanges		by WeakDataLoaderDelegate(::NpcWeaponRangeLoader)
-	val npcStats			by WeakDataLoaderDelegate(::NpcStatLoader)
-	val npcStaticSpawns		by WeakDataLoaderDelegate(::NpcStaticSpawnLoader)
-	val lootTables			by SoftDataLoaderDelegate(::LootTableLoader)
+	val npcs				by PinnedDataLoaderDelegate(::NpcLoader, ::factions)
+	val npcCombatProfiles	by PinnedDataLoaderDelegate(::NpcCombatProfileLoader)
+	val npcPatrolRoutes		by ExpiringDataLoaderDelegate(::NpcPatrolRouteLoader)
+	val npcWeapons			by PinnedDataLoaderDelegate(::NpcWeaponLoader)
+	val npcWeaponRanges		by PinnedDataLoaderDelegate(::NpcWeaponRangeLoader)
+	val npcStats			by PinnedDataLoaderDelegate(::NpcStatLoader)
+	val npcStaticSpawns		by ExpiringDataLoaderDelegate(::NpcStaticSpawnLoader)
+	val lootTables			by PinnedDataLoaderDelegate(::LootTableLoader)
 	
 	/*
 	 * Objects / Backend
@@ -84,7 +97,7 @@ object ServerData {
 	val slotArrangements	by SoftDataLoaderDelegate(::SlotArrangementLoader)
 	val planetMapCategories	by SoftDataLoaderDelegate(::PlanetMapCategoryLoader)
 	val zoneInsertions		by SoftDataLoaderDelegate(::TerrainZoneInsertionLoader)
-	val terrains            by SoftDataLoaderDelegate(::TerrainHeightLoader)
+	val terrains            by PinnedDataLoaderDelegate(::TerrainHeightLoader)
 	
 	val elevators           by SoftDataLoaderDelegate(::ElevatorLoader)
 	val housing             by SoftDataLoaderDelegate(::StructureInfoLoader)
@@ -113,31 +126,138 @@ object ServerData {
 	val staticCityPoints	by SoftDataLoaderDelegate(::StaticCityPointLoader)
 	val npcEquipment		by SoftDataLoaderDelegate(::NpcEquipmentLoader)
 	val schematicGroups		by SoftDataLoaderDelegate(::SchematicGroupLoader)
-	val draftSchematics		by SoftDataLoaderDelegate(::DraftSchematicLoader)
+	val draftSchematics		by SoftDataLoaderDelegate(::DraftSchematicLoader, ::objectData)
 
-	private class WeakDataLoaderDelegate<T: DataLoader>(loaderCreator: () -> T): DataLoaderDelegate<T>(::WeakReference, loaderCreator)
-	private class SoftDataLoaderDelegate<T: DataLoader>(loaderCreator: () -> T): DataLoaderDelegate<T>(::SoftReference, loaderCreator)
+	/**
+	 * Loads every loader ahead of time, in parallel, so the first requests don't pay for it. Loaders are loaded after
+	 * the loaders they read from while loading, and are held strongly until the returned warm-up is closed.
+	 * @param parallelism the number of loaders to load at once
+	 */
+	fun warmUp(parallelism: Int): ServerDataWarmup {
+		val tasks = delegates.map { (name, delegate) -> ServerDataWarmup.Task(name, delegate.dependencies.map { it.name }) { delegate.get() } }
+		return ServerDataWarmup(tasks, parallelism)
+	}
+	
+	/**
+	 * Releases expiring loaders that haven't been accessed recently
+	 */
+	fun expireIdleLoaders() {
+		val now = System.nanoTime()
+		for (delegate in delegates.values)
+			delegate.expire(now)
+	}
 	
-	private open class DataLoaderDelegate<T: DataLoader>(private val referenceCreator: (T) -> Reference<T>, private val loaderCreator: () -> T) {
+	private fun collectMetrics(writer: PrometheusWriter) {
+		writer.family("holocore_serverdata_loaded", "gauge", "Whether the ServerData loader is currently held in memory")
+		for ((name, delegate) in delegates)
+			writer.sample("holocore_serverdata_loaded", if (delegate.isLoaded()) 1L else 0L, "loader", name, "retention", delegate.retention.toString())
+		writer.family("holocore_serverdata_loads_total", "counter", "ServerData loader loads, including reloads")
+		for ((name, delegate) in delegates)
+			writer.sample("holocore_serverdata_loads_total", delegate.loads.get(), "loader", name)
+		writer.family("holocore_serverdata_reloads_total", "counter", "ServerData loaders reparsed after being released")
+		for ((name, delegate) in delegates)
+			writer.sample("holocore_serverdata_reloads_total", delegate.reloads.get(), "loader", name)
+		writer.family("holocore_serverdata_reload_seconds_total", "counter", "Time spent reparsing released ServerData loaders")
+		for ((name, delegate) in delegates)
+			writer.sample("holocore_serverdata_reload_seconds_total", delegate.reloadNanos.get() / 1E9, "loader", name)
+	}
+	
+	private class PinnedDataLoaderDelegate<T: DataLoader>(loaderCreator: () -> T, vararg dependencies: KProperty0<DataLoader>): DataLoaderDelegate<T>(LoaderRetention.Pinned, loaderCreator, dependencies)
+	private class SoftDataLoaderDelegate<T: DataLoader>(loaderCreator: () -> T, vararg dependencies: KProperty0<DataLoader>): DataLoaderDelegate<T>(LoaderRetention.Soft, loaderCreator, dependencies)
+	private class ExpiringDataLoaderDelegate<T: DataLoader>(loaderCreator: () -> T, vararg dependencies: KProperty0<DataLoader>): DataLoaderDelegate<T>(LoaderRetention.Expiring(DEFAULT_EXPIRY_MINUTES), loaderCreator, dependencies)
+	
+	/**
+	 * Holds a loader according to its retention, which can be overridden with the `<name>Retention` config value
+	 * @param dependencies the loaders this loader reads from while loading
+	 */
+	private open class DataLoaderDelegate<T: DataLoader>(private val defaultRetention: LoaderRetention, private val loaderCreator: () -> T, val dependencies: Array<out KProperty0<DataLoader>>) {
 		
+		private var name = ""
+		@Volatile
+		private var strong: T? = null
+		@Volatile
 		private var ref: Reference<T> = SoftReference(null)
+		@Volatile
+		private var lastAccess = 0L
+		@Volatile
+		var retention: LoaderRetention = defaultRetention
+			private set
+		val loads = AtomicLong(0)
+		val reloads = AtomicLong(0)
+		val reloadNanos = AtomicLong(0)
+		
+		operator fun provideDelegate(thisRef: ServerData, property: KProperty<*>): DataLoaderDelegate<T> {
+			name = property.name
+			delegates[name] = this
+			return this
+		}
+		
+		operator fun getValue(thisRef: Any?, property: KProperty<*>): T = get()
 		
-		operator fun getValue(thisRef: Any?, property: KProperty<*>): T {
-			var loader: T? = ref.get()
-			if (loader == null) {
-				loader = loaderCreator()
-				try {
-					loader.load()
-				} catch (e: IOException) {
-					Log.e("Failed to load DataLoader: ${loader::class}")
-					throw RuntimeException(e)
+		fun get(): T {
+			val held = strong ?: ref.get()
+			if (held != null) {
+				if (retention is LoaderRetention.Expiring) {
+					lastAccess = System.nanoTime()
+					strong = held // in case it expired, but wasn't collected
 				}
-				
-				ref = referenceCreator(loader)
+				return held
 			}
+			synchronized(this) {
+				ref.get()?.let { return it } // loaded by another thread while waiting
+				return load()
+			}
+		}
+		
+		fun isLoaded(): Boolean = strong != null || ref.get() != null
+		
+		fun expire(now: Long) {
+			val retention = this.retention
+			if (retention is LoaderRetention.Expiring && strong != null && now - lastAccess > retention.nanos)
+				strong = null
+		}
+		
+		private fun load(): T {
+			retention = resolveRetention()
+			val start = System.nanoTime()
+			val loader = loaderCreator()
+			try {
+				loader.load()
+			} catch (e: IOException) {
+				Log.e("Failed to load DataLoader: ${loader::class}")
+				throw RuntimeException(e)
+			}
+			val time = System.nanoTime() - start
+			if (loads.getAndIncrement() > 0) {
+				reloads.incrementAndGet()
+				reloadNanos.addAndGet(time)
+				Log.w("Reloaded %s after it was released (%s retention). Took %.3fms", name, retention, time / 1E6)
+			}
+			
+			lastAccess = System.nanoTime()
+			ref = SoftReference(loader)
+			strong = if (retention == LoaderRetention.Soft) null else loader
+			if (retention is LoaderRetention.Expiring)
+				startExpiryCheck()
 			return loader
 		}
 		
+		private fun resolveRetention(): LoaderRetention {
+			val configured = config.getString(ServerData, name + "Retention", "")
+			if (configured.isEmpty())
+				return defaultRetention
+			return LoaderRetention.parse(configured) ?: defaultRetention.also { Log.w("Invalid retention for %s: '%s' - using %s", name, configured, it) }
+		}
+		
+	}
+	
+	private const val DEFAULT_EXPIRY_MINUTES = 15L
+	
+	private val expiryCheck = AtomicBoolean(false)
+	
+	private fun startExpiryCheck() {
+		if (expiryCheck.compareAndSet(false, true))
+			ScheduledUtilities.scheduleAtFixedRate(::expireIdleLoaders, 1, 1, TimeUnit.MINUTES)
 	}
 	
 }
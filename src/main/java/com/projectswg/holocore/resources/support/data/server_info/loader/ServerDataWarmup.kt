@@ -0,0 +1,116 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.loader
+
+import me.joshlarson.jlcommon.log.Log
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.TimeUnit
+
+/**
+ * Loads a set of loaders on a fork-join pool, starting each one as soon as the loaders it depends on are loaded.
+ * Loaders without dependencies between them are loaded in parallel. Everything that was loaded is held strongly until
+ * this is closed, so loaders that can be released aren't collected before startup gets to use them.
+ */
+class ServerDataWarmup internal constructor(tasks: List<Task>, parallelism: Int) : AutoCloseable {
+	
+	private val retained = ConcurrentHashMap<String, DataLoader>()
+	private val times = ConcurrentHashMap<String, Long>()
+	
+	init {
+		val start = System.nanoTime()
+		val pool = ForkJoinPool(parallelism)
+		try {
+			val scheduled = Scheduler(tasks, pool).scheduleAll()
+			CompletableFuture.allOf(*scheduled.toTypedArray()).join()
+		} finally {
+			pool.shutdown()
+			pool.awaitTermination(1, TimeUnit.MINUTES)
+		}
+		logTimes(System.nanoTime() - start, parallelism)
+	}
+	
+	/**
+	 * Returns how long each loader took to load, in nanoseconds
+	 */
+	fun getTimes(): Map<String, Long> = times
+	
+	override fun close() {
+		retained.clear()
+	}
+	
+	private fun load(task: Task) {
+		val start = System.nanoTime()
+		try {
+			retained[task.name] = task.load()
+		} catch (t: Throwable) {
+			// Left for the first real access to retry and report
+			Log.e("Failed to warm up %s", task.name)
+			Log.e(t)
+		}
+		times[task.name] = System.nanoTime() - start
+	}
+	
+	private fun logTimes(wallTime: Long, parallelism: Int) {
+		Log.i("Warmed up %d/%d loaders in %.3fms on %d threads (%.3fms total)", retained.size, times.size, wallTime / 1E6, parallelism, times.values.sum() / 1E6)
+		for ((name, time) in times.entries.sortedByDescending { it.value })
+			Log.i("    %-24s %10.3fms", name, time / 1E6)
+	}
+	
+	private inner class Scheduler(tasks: List<Task>, private val pool: ForkJoinPool) {
+		
+		private val tasks = tasks.associateBy { it.name }
+		private val futures = HashMap<String, CompletableFuture<Void>>()
+		private val visiting = HashSet<String>()
+		
+		fun scheduleAll(): Collection<CompletableFuture<Void>> {
+			for (task in tasks.values)
+				schedule(task)
+			return futures.values
+		}
+		
+		private fun schedule(task: Task): CompletableFuture<Void> {
+			futures[task.name]?.let { return it }
+			check(visiting.add(task.name)) { "loader dependency cycle through ${task.name}" }
+			val dependencies = task.dependencies.mapNotNull { tasks[it] }.map { schedule(it) }
+			val future = CompletableFuture.allOf(*dependencies.toTypedArray()).thenRunAsync({ load(task) }, pool)
+			visiting.remove(task.name)
+			futures[task.name] = future
+			return future
+		}
+		
+	}
+	
+	/**
+	 * @param name the name of the loader
+	 * @param dependencies the names of the loaders that must be loaded first
+	 * @param load loads the loader, or returns it if it's already loaded
+	 */
+	internal class Task(val name: String, val dependencies: List<String>, val load: () -> DataLoader)
+	
+}
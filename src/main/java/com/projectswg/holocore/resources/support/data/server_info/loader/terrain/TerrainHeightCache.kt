@@ -0,0 +1,250 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.loader.terrain
+
+import me.joshlarson.jlcommon.log.Log
+import java.io.File
+import java.io.IOException
+import java.nio.ByteOrder
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.StandardOpenOption
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicIntegerArray
+import kotlin.math.floor
+
+/**
+ * Memory-mapped heightmap for a single terrain, split into square tiles that are rasterized from the procedural terrain
+ * template on demand. Each tile stores its samples including both edges, so bilinear sampling never crosses tiles.
+ * Alongside the heights, each tile keeps one water bit per sample, so water checks don't need the template either.
+ *
+ * File layout: a [HEADER_SIZE] byte header, one ready flag byte per tile, then the tiles themselves in row-major
+ * order. Each tile holds its height samples followed by its water bitmap. The header records the size and modification
+ * time of the source .trn, so a changed terrain invalidates the cache.
+ */
+class TerrainHeightCache private constructor(private val file: File, private val channel: FileChannel, private val buffer: MappedByteBuffer, private val spacing: Float) {
+	
+	private val cellsAcross = (MAP_WIDTH / spacing).toInt()
+	private val tilesAcross = (cellsAcross + TILE_CELLS - 1) / TILE_CELLS
+	private val tileDataOffset = HEADER_SIZE + align(tilesAcross * tilesAcross)
+	private val ready = AtomicIntegerArray(tilesAcross * tilesAcross)
+	private val pending = ConcurrentHashMap.newKeySet<Int>()
+	
+	init {
+		// The in-heap flags publish tiles to other threads - the mapped buffer itself has no memory ordering guarantees
+		for (tile in 0 until ready.length()) {
+			if (buffer.get(HEADER_SIZE + tile).toInt() != 0)
+				ready.set(tile, 1)
+		}
+	}
+	
+	/**
+	 * Returns the bilinearly interpolated height, or NaN if the location is outside the map or its tile is not
+	 * rasterized yet
+	 */
+	fun getHeight(x: Double, z: Double): Double {
+		val gridX = (x + MAP_WIDTH / 2) / spacing
+		val gridZ = (z + MAP_WIDTH / 2) / spacing
+		if (gridX < 0 || gridZ < 0 || gridX >= cellsAcross || gridZ >= cellsAcross)
+			return Double.NaN
+		val cellX = gridX.toInt()
+		val cellZ = gridZ.toInt()
+		val tile = getTile(cellX / TILE_CELLS, cellZ / TILE_CELLS)
+		if (ready.get(tile) == 0)
+			return Double.NaN
+		
+		val localX = cellX % TILE_CELLS
+		val localZ = cellZ % TILE_CELLS
+		val fracX = (gridX - cellX).toFloat()
+		val fracZ = (gridZ - cellZ).toFloat()
+		val base = tileDataOffset + tile.toLong() * TILE_BYTES
+		val h00 = sample(base, localX, localZ)
+		val h10 = sample(base, localX + 1, localZ)
+		val h01 = sample(base, localX, localZ + 1)
+		val h11 = sample(base, localX + 1, localZ + 1)
+		val near = h00 + (h10 - h00) * fracX
+		val far = h01 + (h11 - h01) * fracX
+		return (near + (far - near) * fracZ).toDouble()
+	}
+	
+	/**
+	 * Returns whether the sample nearest to the location is water, or null if the location is outside the map or its
+	 * tile is not rasterized yet
+	 */
+	fun isWater(x: Double, z: Double): Boolean? {
+		val gridX = (x + MAP_WIDTH / 2) / spacing
+		val gridZ = (z + MAP_WIDTH / 2) / spacing
+		if (gridX < 0 || gridZ < 0 || gridX >= cellsAcross || gridZ >= cellsAcross)
+			return null
+		val cellX = gridX.toInt()
+		val cellZ = gridZ.toInt()
+		val tile = getTile(cellX / TILE_CELLS, cellZ / TILE_CELLS)
+		if (ready.get(tile) == 0)
+			return null
+		
+		val localX = cellX % TILE_CELLS + if (gridX - cellX >= 0.5) 1 else 0
+		val localZ = cellZ % TILE_CELLS + if (gridZ - cellZ >= 0.5) 1 else 0
+		val bit = localZ * TILE_SAMPLES + localX
+		val word = buffer.getInt((tileDataOffset + tile.toLong() * TILE_BYTES + TILE_HEIGHT_BYTES + (bit / 32) * 4).toInt())
+		return ((word ushr (bit % 32)) and 1) != 0
+	}
+	
+	/**
+	 * Marks the tile containing the location as wanted
+	 * @return TRUE if the tile was not already rasterized or pending
+	 */
+	fun request(x: Double, z: Double): Boolean {
+		val gridX = floor((x + MAP_WIDTH / 2) / spacing).toInt()
+		val gridZ = floor((z + MAP_WIDTH / 2) / spacing).toInt()
+		if (gridX < 0 || gridZ < 0 || gridX >= cellsAcross || gridZ >= cellsAcross)
+			return false
+		val tile = getTile(gridX / TILE_CELLS, gridZ / TILE_CELLS)
+		return ready.get(tile) == 0 && pending.add(tile)
+	}
+	
+	/**
+	 * Removes and returns one pending tile, or -1 if nothing is pending
+	 */
+	fun pollPending(): Int {
+		val iterator = pending.iterator()
+		while (iterator.hasNext()) {
+			val tile = iterator.next()
+			if (pending.remove(tile))
+				return tile
+		}
+		return -1
+	}
+	
+	fun getTileCount(): Int = ready.length()
+	
+	fun isReady(tile: Int): Boolean = ready.get(tile) != 0
+	
+	/**
+	 * Evaluates the height and water functions for every sample of the tile and publishes it. Must only be called from
+	 * one thread per tile
+	 */
+	fun rasterize(tile: Int, heightFunction: (x: Float, z: Float) -> Float, waterFunction: (x: Float, z: Float) -> Boolean) {
+		if (isReady(tile))
+			return
+		val tileX = tile % tilesAcross
+		val tileZ = tile / tilesAcross
+		val base = tileDataOffset + tile.toLong() * TILE_BYTES
+		val water = IntArray(TILE_WATER_BYTES / 4)
+		for (localZ in 0..TILE_CELLS) {
+			val worldZ = (tileZ * TILE_CELLS + localZ) * spacing - MAP_WIDTH / 2
+			for (localX in 0..TILE_CELLS) {
+				val worldX = (tileX * TILE_CELLS + localX) * spacing - MAP_WIDTH / 2
+				val sample = localZ * TILE_SAMPLES + localX
+				buffer.putFloat((base + sample * 4).toInt(), heightFunction(worldX, worldZ))
+				if (waterFunction(worldX, worldZ))
+					water[sample / 32] = water[sample / 32] or (1 shl (sample % 32))
+			}
+		}
+		for (word in water.indices)
+			buffer.putInt((base + TILE_HEIGHT_BYTES + word * 4).toInt(), water[word])
+		buffer.put(HEADER_SIZE + tile, 1)
+		ready.set(tile, 1)
+	}
+	
+	fun close() {
+		try {
+			buffer.force()
+			channel.close()
+		} catch (e: IOException) {
+			Log.w("Failed to close terrain height cache %s", file)
+			Log.w(e)
+		}
+	}
+	
+	private fun getTile(tileX: Int, tileZ: Int): Int = tileZ * tilesAcross + tileX
+	
+	private fun sample(base: Long, localX: Int, localZ: Int): Float = buffer.getFloat((base + (localZ * TILE_SAMPLES + localX) * 4).toInt())
+	
+	companion object {
+		
+		private const val MAGIC = 0x50535748 // PSWH
+		private const val VERSION = 2
+		private const val HEADER_SIZE = 64
+		private const val MAP_WIDTH = 16384f
+		private const val TILE_CELLS = 64
+		private const val TILE_SAMPLES = TILE_CELLS + 1
+		private const val TILE_HEIGHT_BYTES = TILE_SAMPLES * TILE_SAMPLES * 4
+		private const val TILE_WATER_BYTES = (TILE_SAMPLES * TILE_SAMPLES + 31) / 32 * 4
+		private const val TILE_BYTES = (TILE_HEIGHT_BYTES + TILE_WATER_BYTES).toLong()
+		
+		/**
+		 * Opens the cache file for the terrain, creating it if it doesn't exist or was built from a different .trn
+		 * @param file the cache file
+		 * @param source the .trn the cache is built from
+		 * @param spacing the distance between samples, in meters
+		 */
+		@Throws(IOException::class)
+		fun open(file: File, source: File, spacing: Float): TerrainHeightCache {
+			val cellsAcross = (MAP_WIDTH / spacing).toInt()
+			val tilesAcross = (cellsAcross + TILE_CELLS - 1) / TILE_CELLS
+			val tiles = tilesAcross * tilesAcross
+			val size = HEADER_SIZE + align(tiles) + tiles * TILE_BYTES
+			if (size > Int.MAX_VALUE)
+				throw IOException("terrain height cache would exceed 2 GiB - increase the sample spacing")
+			
+			file.parentFile?.mkdirs()
+			val channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+			try {
+				val buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size)
+				buffer.order(ByteOrder.LITTLE_ENDIAN)
+				if (!isValid(buffer, source, spacing)) {
+					// Stale or new - clear the ready flags and rewrite the header
+					for (tile in 0 until tiles)
+						buffer.put(HEADER_SIZE + tile, 0)
+					buffer.putInt(0, MAGIC)
+					buffer.putInt(4, VERSION)
+					buffer.putLong(8, source.length())
+					buffer.putLong(16, source.lastModified())
+					buffer.putFloat(24, spacing)
+					buffer.putInt(28, TILE_CELLS)
+				}
+				return TerrainHeightCache(file, channel, buffer, spacing)
+			} catch (e: IOException) {
+				channel.close()
+				throw e
+			}
+		}
+		
+		private fun isValid(buffer: MappedByteBuffer, source: File, spacing: Float): Boolean {
+			return buffer.getInt(0) == MAGIC
+					&& buffer.getInt(4) == VERSION
+					&& buffer.getLong(8) == source.length()
+					&& buffer.getLong(16) == source.lastModified()
+					&& buffer.getFloat(24) == spacing
+					&& buffer.getInt(28) == TILE_CELLS
+		}
+		
+		private fun align(bytes: Int): Int = (bytes + 63) and 63.inv()
+		
+	}
+	
+}
@@ -32,31 +32,119 @@ import com.projectswg.common.data.location.Terrain
 import com.projectswg.common.data.swgiff.parsers.SWGParser
 import com.projectswg.common.data.swgiff.parsers.terrain.TerrainTemplate
 import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader
+import me.joshlarson.jlcommon.log.Log
+import java.io.File
+import java.io.IOException
+import java.lang.ref.SoftReference
 import java.util.EnumMap
+import java.util.concurrent.locks.LockSupport
 
+/**
+ * Answers height and water queries from memory-mapped heightmaps, falling back to the procedural terrain templates for
+ * tiles that haven't been rasterized yet. Missed tiles are rasterized in the background. The templates are parsed on
+ * first use and only softly referenced, so once the cache is warm they can be reclaimed.
+ */
 class TerrainHeightLoader : DataLoader() {
 	
-	private val terrains = EnumMap<Terrain, TerrainTemplate>(Terrain::class.java)
+	private val templates = EnumMap<Terrain, SoftReference<TerrainTemplate>>(Terrain::class.java)
+	private val caches = EnumMap<Terrain, TerrainHeightCache>(Terrain::class.java)
+	private val rasterizer = Thread(::rasterizeRequested, "terrain-height-rasterizer")
 	
 	override fun load() {
 		for (terrain in TERRAIN_LIST) {
-			terrains[terrain] = SWGParser.parse(terrain.file)
+			try {
+				caches[terrain] = TerrainHeightCache.open(getCacheFile(terrain), getSourceFile(terrain), SAMPLE_SPACING)
+			} catch (e: IOException) {
+				Log.w("Unable to open the terrain height cache for %s - using the procedural terrain only", terrain)
+				Log.w(e)
+			}
 		}
+		rasterizer.isDaemon = true
+		rasterizer.start()
 	}
 	
 	fun getTerrain(terrain: Terrain): TerrainTemplate? {
-		return terrains[terrain]
+		if (terrain !in TERRAIN_LIST)
+			return null
+		synchronized(templates) {
+			var template = templates[terrain]?.get()
+			if (template == null) {
+				template = SWGParser.parse(terrain.file)
+				templates[terrain] = SoftReference(template)
+			}
+			return template
+		}
 	}
 	
 	fun getHeight(l: Location.LocationBuilder): Double = getHeight(l.terrain, l.x, l.z)
 	fun getHeight(l: Location): Double = getHeight(l.terrain, l.x, l.z)
 	
 	fun getHeight(terrain: Terrain, x: Double, z: Double): Double {
-		return terrains[terrain]?.getHeight(x.toFloat(), z.toFloat())?.height?.toDouble() ?: 0.0
+		val cache = caches[terrain]
+		if (cache != null) {
+			val height = cache.getHeight(x, z)
+			if (!height.isNaN())
+				return height
+			if (cache.request(x, z))
+				LockSupport.unpark(rasterizer)
+		}
+		return getTerrain(terrain)?.getHeight(x.toFloat(), z.toFloat())?.height?.toDouble() ?: 0.0
+	}
+	
+	/**
+	 * Returns whether the location is water, as sampled on the cache grid
+	 */
+	fun isWater(terrain: Terrain, x: Double, z: Double): Boolean {
+		val cache = caches[terrain]
+		if (cache != null) {
+			val water = cache.isWater(x, z)
+			if (water != null)
+				return water
+			if (cache.request(x, z))
+				LockSupport.unpark(rasterizer)
+		}
+		return getTerrain(terrain)?.isWater(x.toFloat(), z.toFloat()) ?: false
+	}
+	
+	/**
+	 * Rasterizes every tile of the terrain that isn't cached yet. Used to build the cache ahead of time
+	 */
+	fun rasterizeAll(terrain: Terrain) {
+		val cache = caches[terrain] ?: return
+		val template = getTerrain(terrain) ?: return
+		for (tile in 0 until cache.getTileCount())
+			cache.rasterize(tile, { x, z -> template.getHeight(x, z).height }, { x, z -> template.isWater(x, z) })
+	}
+	
+	private fun rasterizeRequested() {
+		while (true) {
+			var rasterized = false
+			for ((terrain, cache) in caches) {
+				val tile = cache.pollPending()
+				if (tile < 0)
+					continue
+				val template = getTerrain(terrain) ?: continue
+				try {
+					cache.rasterize(tile, { x, z -> template.getHeight(x, z).height }, { x, z -> template.isWater(x, z) })
+				} catch (t: Throwable) {
+					Log.e("Failed to rasterize terrain height tile %d for %s", tile, terrain)
+					Log.e(t)
+				}
+				rasterized = true
+			}
+			if (!rasterized)
+				LockSupport.park(this)
+		}
 	}
 	
 	companion object {
 		
+		private const val SAMPLE_SPACING = 4f
+		private val CACHE_DIRECTORY = File("cache/terrain")
+		
+		private fun getSourceFile(terrain: Terrain): File = File("serverdata", terrain.file)
+		private fun getCacheFile(terrain: Terrain): File = File(CACHE_DIRECTORY, terrain.name.lowercase() + ".hmap")
+		
 		private val TERRAIN_LIST = listOf(
 			Terrain.CORELLIA,
 			Terrain.DANTOOINE,
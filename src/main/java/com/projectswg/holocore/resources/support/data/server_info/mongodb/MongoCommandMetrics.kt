@@ -0,0 +1,65 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.mongodb
+
+import com.mongodb.event.CommandFailedEvent
+import com.mongodb.event.CommandListener
+import com.mongodb.event.CommandSucceededEvent
+import com.projectswg.holocore.resources.support.data.metrics.MetricsHistogram
+import com.projectswg.holocore.resources.support.data.metrics.PrometheusWriter
+import com.projectswg.holocore.resources.support.data.metrics.ServerMetrics
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Records the latency of every MongoDB command, by command name
+ */
+object MongoCommandMetrics : CommandListener, ServerMetrics.MetricsCollector {
+	
+	private val latencies = ConcurrentHashMap<String, MetricsHistogram>()
+	private val failures = ConcurrentHashMap<String, LongAdder>()
+	
+	override fun commandSucceeded(event: CommandSucceededEvent) {
+		latencies.computeIfAbsent(event.commandName) { MetricsHistogram() }.observe(event.getElapsedTime(TimeUnit.NANOSECONDS))
+	}
+	
+	override fun commandFailed(event: CommandFailedEvent) {
+		latencies.computeIfAbsent(event.commandName) { MetricsHistogram() }.observe(event.getElapsedTime(TimeUnit.NANOSECONDS))
+		failures.computeIfAbsent(event.commandName) { LongAdder() }.increment()
+	}
+	
+	override fun collect(writer: PrometheusWriter) {
+		writer.family("holocore_mongo_command_seconds", "histogram", "Latency of MongoDB commands")
+		for ((command, histogram) in latencies)
+			histogram.writeTo(writer, "holocore_mongo_command_seconds", "command", command)
+		writer.family("holocore_mongo_command_failures_total", "counter", "Failed MongoDB commands")
+		for ((command, count) in failures)
+			writer.sample("holocore_mongo_command_failures_total", count.sum(), "command", command)
+	}
+	
+}
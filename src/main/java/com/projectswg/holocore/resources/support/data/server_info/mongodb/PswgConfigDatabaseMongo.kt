@@ -28,83 +28,151 @@
 package com.projectswg.holocore.resources.support.data.server_info.mongodb
 
 import com.mongodb.client.MongoCollection
-import com.mongodb.client.model.Filters
 import com.mongodb.client.model.IndexOptions
 import com.mongodb.client.model.Indexes
 import com.projectswg.holocore.resources.support.data.server_info.database.PswgConfigDatabase
+import me.joshlarson.jlcommon.concurrency.ScheduledThreadPool
+import me.joshlarson.jlcommon.log.Log
 import org.bson.Document
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
 
-class PswgConfigDatabaseMongo(private val collection: MongoCollection<Document>) : PswgConfigDatabase {
+/**
+ * Config database backed by MongoDB. The whole collection is loaded into memory, and every resolved value is cached
+ * per package and key. While started, the collection is polled on its own thread so that changes are picked up without
+ * a restart.
+ */
+class PswgConfigDatabaseMongo(private val collection: MongoCollection<Document>, private val refreshInterval: Long = DEFAULT_REFRESH_INTERVAL) : PswgConfigDatabase {
+	
+	private val listeners = CopyOnWriteArrayList<() -> Unit>()
+	private val refreshThread = ScheduledThreadPool(1, "config-refresh")
+	@Volatile
+	private var snapshot = ConfigSnapshot(emptyMap())
 	
 	init {
 		collection.createIndex(Indexes.ascending("package"), IndexOptions().unique(true))
+		refresh()
 	}
 	
 	override fun getString(o: Any, key: String, def: String): String {
-		for (config in getConfigurations(o)) {
-			if (config.containsKey(key))
-				return config.getString(key)
-		}
-		return def
+		val value = resolve(o, key)
+		return if (value === MISSING) def else value as String
 	}
 	
 	override fun getBoolean(o: Any, key: String, def: Boolean): Boolean {
-		for (config in getConfigurations(o)) {
-			if (config.containsKey(key))
-				return config.getBoolean(key)!!
-		}
-		return def
+		val value = resolve(o, key)
+		return if (value === MISSING) def else value as Boolean
 	}
 	
 	override fun getInt(o: Any, key: String, def: Int): Int {
-		for (config in getConfigurations(o)) {
-			if (config.containsKey(key))
-				return config.getInteger(key)!!
-		}
-		return def
+		val value = resolve(o, key)
+		return if (value === MISSING) def else value as Int
 	}
 	
 	override fun getDouble(o: Any, key: String, def: Double): Double {
-		for (config in getConfigurations(o)) {
-			if (config.containsKey(key))
-				return config.getDouble(key)!!
-		}
-		return def
+		val value = resolve(o, key)
+		return if (value === MISSING) def else value as Double
 	}
 	
 	override fun getLong(o: Any, key: String, def: Long): Long {
-		for (config in getConfigurations(o)) {
-			if (config.containsKey(key))
-				return config.getLong(key)!!
+		val value = resolve(o, key)
+		return if (value === MISSING) def else value as Long
+	}
+	
+	/**
+	 * Starts polling the collection every refresh interval
+	 */
+	fun start() {
+		refreshThread.start()
+		refreshThread.executeWithFixedDelay(refreshInterval, refreshInterval, this::refreshSafely)
+	}
+	
+	fun stop(): Boolean {
+		refreshThread.stop()
+		return refreshThread.awaitTermination(1000)
+	}
+	
+	override fun addChangeListener(listener: () -> Unit) {
+		listeners.add(listener)
+	}
+	
+	/**
+	 * Reloads the config collection, clearing the cache and notifying listeners if anything changed
+	 */
+	fun refresh() {
+		val updated = HashMap<String, Document>()
+		for (doc in collection.find()) {
+			val packageKey = doc.getString("package") ?: continue
+			updated[packageKey] = doc
+		}
+		if (updated == snapshot.configurations)
+			return
+		snapshot = ConfigSnapshot(updated)
+		for (listener in listeners) {
+			try {
+				listener()
+			} catch (t: Throwable) {
+				Log.e(t)
+			}
 		}
-		return def
 	}
 	
-	private fun getConfigurations(o: Any): List<Document> {
-		var packageKey = if (o is Class<*>) o.packageName else o.javaClass.packageName
-		require(packageKey.startsWith("com.projectswg.holocore")) { "packageKey must be a part of holocore, was: $packageKey" }
-		
-		packageKey = packageKey.removePrefix("com.projectswg.holocore")
-		packageKey = packageKey.removePrefix(".")
-		
-		if (packageKey.startsWith("intents."))
-			throw IllegalArgumentException("intents should not be querying configs")
-		
-		if (packageKey.startsWith("resources.") || packageKey.startsWith("services."))
-			packageKey = packageKey.substringAfter('.')
+	private fun resolve(o: Any, key: String): Any {
+		val snapshot = snapshot
+		val javaPackage = if (o is Class<*>) o.packageName else o.javaClass.packageName
+		val packageCache = snapshot.resolved.computeIfAbsent(javaPackage) { ConcurrentHashMap() }
+		return packageCache.computeIfAbsent(key) { lookup(snapshot.configurations, getConfigurationKey(javaPackage), it) }
+	}
+	
+	private fun lookup(configurations: Map<String, Document>, packageKey: String, key: String): Any {
+		var currentKey = packageKey
+		while (currentKey.isNotEmpty()) {
+			val config = configurations[currentKey]
+			if (config != null && config.containsKey(key))
+				return config[key] ?: MISSING
+			
+			if (!currentKey.contains('.'))
+				break
+			currentKey = currentKey.substringBeforeLast('.')
+		}
+		return MISSING
+	}
+	
+	private fun refreshSafely() {
+		try {
+			refresh()
+		} catch (t: Throwable) {
+			Log.w("Failed to refresh configs: %s", t.message)
+		}
+	}
+	
+	private class ConfigSnapshot(val configurations: Map<String, Document>) {
+		/** Resolved values by java package, then by key */
+		val resolved = ConcurrentHashMap<String, ConcurrentHashMap<String, Any>>()
+	}
+	
+	companion object {
 		
-		val configs = ArrayList<Document>()
+		private val MISSING = Any()
+		private val DEFAULT_REFRESH_INTERVAL = TimeUnit.SECONDS.toMillis(30)
 		
-		while (packageKey.isNotEmpty()) {
-			val doc = collection.find(Filters.eq("package", packageKey)).first()
-			if (doc != null)
-				configs.add(doc)
+		private fun getConfigurationKey(javaPackage: String): String {
+			var packageKey = javaPackage
+			require(packageKey.startsWith("com.projectswg.holocore")) { "packageKey must be a part of holocore, was: $packageKey" }
 			
-			if (!packageKey.contains('.'))
-				break
-			packageKey = packageKey.substringBeforeLast('.')
+			packageKey = packageKey.removePrefix("com.projectswg.holocore")
+			packageKey = packageKey.removePrefix(".")
+			
+			if (packageKey.startsWith("intents."))
+				throw IllegalArgumentException("intents should not be querying configs")
+			
+			if (packageKey.startsWith("resources.") || packageKey.startsWith("services."))
+				packageKey = packageKey.substringAfter('.')
+			
+			return packageKey
 		}
-		return configs
+		
 	}
 	
 }
@@ -26,8 +26,11 @@
  ***********************************************************************************/
 package com.projectswg.holocore.resources.support.data.server_info.mongodb
 
+import com.mongodb.ConnectionString
+import com.mongodb.MongoClientSettings
 import com.mongodb.client.MongoClients
 import com.mongodb.client.MongoCollection
+import com.projectswg.holocore.resources.support.data.metrics.ServerMetrics
 import com.projectswg.holocore.resources.support.data.server_info.database.*
 import com.projectswg.holocore.resources.support.data.server_info.mariadb.PswgUserDatabaseMaria
 import me.joshlarson.jlcommon.log.Log
@@ -64,11 +67,18 @@ object PswgDatabase {
 	
 	fun initialize(connectionString: String, databaseName: String) {
 		setupMongoLogging()
-		val client = MongoClients.create(connectionString)
+		val settings = MongoClientSettings.builder()
+			.applyConnectionString(ConnectionString(connectionString))
+			.addCommandListener(MongoCommandMetrics)
+			.build()
+		val client = MongoClients.create(settings)
+		ServerMetrics.unregister(this) // In case of re-initialization
+		ServerMetrics.register(this, MongoCommandMetrics)
 		val database = client.getDatabase(databaseName)
 		val databaseConfig = Database(database)
 		
 		val config = PswgConfigDatabaseMongo(databaseConfig.config.mongo)
+		config.start()
 		val users = initTable(databaseConfig.users, defaultCreator = {PswgUserDatabase.createDefault()}, mariaInitializer = ::PswgUserDatabaseMaria, mongoInitializer = ::PswgUserDatabaseMongo)
 		val objects = initTable(databaseConfig.objects, defaultCreator = {PswgObjectDatabase.createDefault()}, mongoInitializer = ::PswgObjectDatabaseMongo)
 		val resources = initTable(databaseConfig.resources, defaultCreator = {PswgResourceDatabase.createDefault()}, mongoInitializer = ::PswgResourceDatabaseMongo)
@@ -76,6 +86,7 @@ object PswgDatabase {
 		val bazaarAvailableItems = initTable(databaseConfig.bazaarAvailableItems, defaultCreator = {PswgBazaarAvailableItemsDatabase.createDefault()}, mongoInitializer = ::PswgBazaarAvailableItemsDatabaseMongo)
 		val chatRooms = initTable(databaseConfig.chatRooms, defaultCreator = {PswgChatRoomDatabase.createDefault()}, mongoInitializer = ::PswgChatRoomDatabaseMongo)
 		
+		(this.configImpl as? PswgConfigDatabaseMongo)?.stop() // In case of re-initialization
 		this.configImpl = config
 		this.usersImpl = users
 		this.objectsImpl = objects
@@ -85,6 +96,10 @@ object PswgDatabase {
 		this.chatRoomsImpl = chatRooms
 	}
 	
+	fun terminate() {
+		(configImpl as? PswgConfigDatabaseMongo)?.stop()
+	}
+	
 	private fun <T> initTable(table: DatabaseTable, defaultCreator: () -> T, mariaInitializer: (DatabaseTable) -> T = {defaultCreator()}, mongoInitializer: (MongoCollection<Document>) -> T = {defaultCreator()}): T {
 		if (table.isMariaDefined())
 			return mariaInitializer(table)
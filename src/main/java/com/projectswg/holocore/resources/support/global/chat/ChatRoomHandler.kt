@@ -38,6 +38,7 @@ import com.projectswg.holocore.resources.support.data.server_info.loader.Default
 import com.projectswg.holocore.resources.support.data.server_info.loader.ServerData.defaultChatRooms
 import com.projectswg.holocore.resources.support.data.server_info.loader.ServerData.planetChatRooms
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase.chatRooms
+import com.projectswg.holocore.resources.support.global.network.SharedPacket
 import com.projectswg.holocore.resources.support.global.player.AccessLevel
 import com.projectswg.holocore.resources.support.global.player.Player
 import com.projectswg.holocore.services.support.global.zone.CharacterLookupService.PlayerLookup
@@ -244,7 +245,7 @@ class ChatRoomHandler {
 		}
 
 		// Send the ChatOnDestroyRoom SWGPacket to every else in the room besides the person destroying the SWGPacket
-		val packet = ChatOnDestroyRoom(destroyer, ChatResult.SUCCESS.code, room!!.id, 0)
+		val packet = SharedPacket(ChatOnDestroyRoom(destroyer, ChatResult.SUCCESS.code, room!!.id, 0))
 		room!!.members.forEach(Consumer { member: ChatAvatar ->
 			if (destroyer != member) getPlayer(member)!!.sendPacket(packet)
 		})
@@ -315,7 +316,7 @@ class ChatRoomHandler {
 		private fun sendMessage(room: ChatRoom?, sender: ChatAvatar, message: String, oob: OutOfBandPackage?) {
 			var message = message
 			if (message.startsWith("\\#")) message = " $message"
-			val chatRoomMessage = ChatRoomMessage(sender, room!!.id, message, oob)
+			val chatRoomMessage = SharedPacket(ChatRoomMessage(sender, room!!.id, message, oob))
 			for (member in room.members) {
 				val player = getPlayer(member) ?: continue
 				val playerObject = player.playerObject
@@ -326,8 +327,9 @@ class ChatRoomHandler {
 		}
 
 		private fun sendPacketToMembers(room: ChatRoom, packet: SWGPacket) {
+			val shared = SharedPacket(packet)
 			room.members.stream().map { avatar: ChatAvatar -> getPlayer(avatar) }.filter { obj: Player? -> Objects.nonNull(obj) } // Don't try sending packets to players that can't be found
-				.forEach { player: Player? -> player!!.sendPacket(packet) }
+				.forEach { player: Player? -> player!!.sendPacket(shared) }
 		}
 
 		private fun getPlayer(avatar: ChatAvatar): Player? {
@@ -32,8 +32,6 @@ import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureOb
 class SwimmingStateCheck : StateCheck {
 	override fun isActive(creatureObject: CreatureObject): Boolean {
 		val worldLocation = creatureObject.worldLocation
-		val terrainTemplate = ServerData.terrains.getTerrain(worldLocation.terrain) ?: return false
-		
-		return terrainTemplate.isWater(x = worldLocation.x.toFloat(), z = worldLocation.z.toFloat())
+		return ServerData.terrains.isWater(worldLocation.terrain, worldLocation.x, worldLocation.z)
 	}
 }
\ No newline at end of file
@@ -31,16 +31,13 @@ import com.projectswg.common.network.packets.swg.zone.baselines.Baseline
 import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType
 import com.projectswg.holocore.resources.support.global.player.Player
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject
-import me.joshlarson.jlcommon.log.Log
-import java.io.ByteArrayOutputStream
-import java.io.IOException
 import java.nio.charset.Charset
 import java.nio.charset.StandardCharsets
 
 class BaselineBuilder(private val obj: SWGObject, private val type: BaselineType, private val num: Int) {
 	private var opCount = 0
-	private val rawDataStream = ByteArrayOutputStream()
-	private val dataStream = LittleEndianDataOutputStream(rawDataStream)
+	private var writer: PooledBufferWriter? = PooledBufferWriter.acquire()
+	private var data: ByteArray? = null
 
 	fun sendTo(target: Player) {
 		val data = build()
@@ -63,16 +60,21 @@ class BaselineBuilder(private val obj: SWGObject, private val type: BaselineType
 		return baseline
 	}
 
+	/**
+	 * Returns the encoded baseline. The builder's writer goes back to the pool, so nothing can be added afterwards
+	 */
 	fun build(): ByteArray {
-		return rawDataStream.toByteArray()
+		data?.let { return it }
+		val writer = getWriter()
+		val built = writer.toByteArray()
+		writer.release()
+		this.writer = null
+		this.data = built
+		return built
 	}
 
 	fun addObject(e: Encodable) {
-		try {
-			dataStream.write(e.encode())
-		} catch (ex: IOException) {
-			Log.e(ex)
-		}
+		getWriter().writeBytes(e.encode())
 	}
 
 	fun addBoolean(b: Boolean) {
@@ -81,75 +83,47 @@ class BaselineBuilder(private val obj: SWGObject, private val type: BaselineType
 
 	fun addAscii(str: String) {
 		addShort(str.length)
-		try {
-			dataStream.write(str.toByteArray(ASCII))
-		} catch (e: IOException) {
-			Log.e(e)
-		}
+		getWriter().writeUtf8(str)
 	}
 
 	fun addUnicode(str: String) {
 		addInt(str.length)
-		try {
-			dataStream.write(str.toByteArray(UNICODE))
-		} catch (e: IOException) {
-			Log.e(e)
-		}
+		getWriter().writeUtf16(str)
 	}
 
 	fun addByte(b: Int) {
-		try {
-			dataStream.writeByte(b)
-		} catch (e: IOException) {
-			Log.e(e)
-		}
+		getWriter().writeByte(b)
 	}
 
 	fun addShort(s: Int) {
-		try {
-			dataStream.writeShort(s)
-		} catch (e: IOException) {
-			Log.e(e)
-		}
+		getWriter().writeShort(s)
 	}
 
 	fun addInt(i: Int) {
-		try {
-			dataStream.writeInt(i)
-		} catch (e: IOException) {
-			Log.e(e)
-		}
+		getWriter().writeInt(i)
 	}
 
 	fun addLong(l: Long) {
-		try {
-			dataStream.writeLong(l)
-		} catch (e: IOException) {
-			Log.e(e)
-		}
+		getWriter().writeLong(l)
 	}
 
 	fun addFloat(f: Float) {
-		try {
-			dataStream.writeFloat(f)
-		} catch (e: IOException) {
-			Log.e(e)
-		}
+		getWriter().writeFloat(f)
 	}
 
 	fun addArray(array: ByteArray) {
 		addShort(array.size)
-		try {
-			dataStream.write(array)
-		} catch (e: IOException) {
-			Log.e(e)
-		}
+		getWriter().writeBytes(array)
 	}
 
 	fun incrementOperandCount(operands: Int): Int {
 		return operands.let { opCount += it; opCount }
 	}
 
+	private fun getWriter(): PooledBufferWriter {
+		return writer ?: throw IllegalStateException("baseline was already built")
+	}
+
 	companion object {
 		val ASCII: Charset = StandardCharsets.UTF_8
 		val UNICODE: Charset = StandardCharsets.UTF_16LE
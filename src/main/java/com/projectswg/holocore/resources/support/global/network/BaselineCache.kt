@@ -0,0 +1,149 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network
+
+import com.projectswg.common.network.packets.swg.zone.baselines.Baseline
+import com.projectswg.holocore.resources.support.data.metrics.PrometheusWriter
+import com.projectswg.holocore.resources.support.data.metrics.ServerMetrics
+import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Encoded baselines shared by every observer, bounded by size and evicted least-recently-used. Entries are stamped with
+ * the version of the page they were encoded from, so a page that changed since is a miss and gets re-encoded.
+ */
+object BaselineCache {
+	
+	private const val SEGMENTS = 16
+	private const val ENTRY_OVERHEAD = 96 // key, entry, map node and Baseline object
+	
+	private val hits = LongAdder()
+	private val misses = LongAdder()
+	private val evictions = LongAdder()
+	private val segments: Array<Segment>
+	
+	init {
+		val capacity = PswgDatabase.config.getInt(this, "baselineCacheMegabytes", 64).toLong() * 1024 * 1024
+		segments = Array(SEGMENTS) { Segment(capacity / SEGMENTS) }
+		ServerMetrics.register(this, ::collectMetrics)
+	}
+	
+	/**
+	 * Returns the cached baseline, or null if it isn't cached or was encoded from an older version of the page
+	 * @param owner the cache id of the object
+	 * @param page the baseline number
+	 * @param version the current version of the page
+	 */
+	fun get(owner: Long, page: Int, version: Int): Baseline? {
+		val key = Key(owner, page)
+		val entry = getSegment(key).get(key)
+		if (entry == null || entry.version != version) {
+			misses.increment()
+			return null
+		}
+		hits.increment()
+		return entry.baseline
+	}
+	
+	fun put(owner: Long, page: Int, version: Int, baseline: Baseline) {
+		val key = Key(owner, page)
+		getSegment(key).put(key, Entry(version, baseline, baseline.baselineData.size + ENTRY_OVERHEAD))
+	}
+	
+	fun clear() {
+		for (segment in segments)
+			segment.clear()
+	}
+	
+	fun getHits(): Long = hits.sum()
+	fun getMisses(): Long = misses.sum()
+	fun getEvictions(): Long = evictions.sum()
+	fun getBytes(): Long = segments.sumOf { it.getBytes() }
+	fun getSize(): Int = segments.sumOf { it.getSize() }
+	
+	private fun getSegment(key: Key): Segment {
+		val hash = key.hashCode()
+		return segments[(hash xor (hash ushr 16)) and (SEGMENTS - 1)]
+	}
+	
+	private fun collectMetrics(writer: PrometheusWriter) {
+		writer.family("holocore_baseline_cache_hits_total", "counter", "Baselines served from the baseline cache")
+		writer.sample("holocore_baseline_cache_hits_total", getHits())
+		writer.family("holocore_baseline_cache_misses_total", "counter", "Baselines that had to be encoded")
+		writer.sample("holocore_baseline_cache_misses_total", getMisses())
+		writer.family("holocore_baseline_cache_evictions_total", "counter", "Baselines evicted from the baseline cache to stay within its size")
+		writer.sample("holocore_baseline_cache_evictions_total", getEvictions())
+		writer.family("holocore_baseline_cache_bytes", "gauge", "Approximate size of the baseline cache")
+		writer.sample("holocore_baseline_cache_bytes", getBytes())
+		writer.family("holocore_baseline_cache_entries", "gauge", "Baselines in the baseline cache")
+		writer.sample("holocore_baseline_cache_entries", getSize().toLong())
+	}
+	
+	private data class Key(val owner: Long, val page: Int)
+	
+	private class Entry(val version: Int, val baseline: Baseline, val bytes: Int)
+	
+	private class Segment(private val capacity: Long) {
+		
+		private val entries = LinkedHashMap<Key, Entry>(256, 0.75f, true)
+		private var bytes = 0L
+		
+		@Synchronized
+		fun get(key: Key): Entry? = entries[key]
+		
+		@Synchronized
+		fun put(key: Key, entry: Entry) {
+			if (entry.bytes > capacity)
+				return
+			val previous = entries.put(key, entry)
+			if (previous != null)
+				bytes -= previous.bytes
+			bytes += entry.bytes
+			val iterator = entries.values.iterator()
+			while (bytes > capacity && iterator.hasNext()) {
+				val eldest = iterator.next()
+				iterator.remove()
+				bytes -= eldest.bytes
+				evictions.increment()
+			}
+		}
+		
+		@Synchronized
+		fun clear() {
+			entries.clear()
+			bytes = 0
+		}
+		
+		@Synchronized
+		fun getBytes(): Long = bytes
+		
+		@Synchronized
+		fun getSize(): Int = entries.size
+		
+	}
+	
+}
@@ -30,22 +30,19 @@ import com.projectswg.common.encoding.StringType
 import com.projectswg.common.network.NetBuffer
 import com.projectswg.common.network.packets.swg.zone.baselines.Baseline
 import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType
+import com.projectswg.holocore.resources.support.data.persistable.DirtyObjectTracker
 import com.projectswg.holocore.resources.support.global.player.Player
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject
 import me.joshlarson.jlcommon.log.Log
-import java.lang.ref.SoftReference
 import java.nio.BufferOverflowException
 import java.nio.BufferUnderflowException
+import java.util.concurrent.atomic.AtomicLong
 
 open class BaselineObject(val baselineType: BaselineType) {
 	@Transient
-	private val baselineData: MutableList<SoftReference<Baseline>?> = ArrayList(9)
-
-	init {
-		for (i in 0..8) {
-			baselineData.add(null)
-		}
-	}
+	private val baselineCacheId = NEXT_CACHE_ID.incrementAndGet()
+	@Transient
+	private val baselineVersions = IntArray(9)
 
 	fun parseBaseline(baseline: Baseline) {
 		val buffer = NetBuffer.wrap(baseline.baselineData)
@@ -160,29 +157,56 @@ open class BaselineObject(val baselineType: BaselineType) {
 
 	fun sendDelta(type: Int, update: Int, value: Any) {
 		verifySwgObject()
-		synchronized(baselineData) {
-			baselineData.set(type - 1, null)
+		synchronized(baselineVersions) {
+			baselineVersions[type - 1]++
 		}
+		DirtyObjectTracker.markDirty(this as SWGObject)
 		DeltaBuilder.send(this as SWGObject, this.baselineType, type, update, value)
 	}
 
 	fun sendDelta(type: Int, update: Int, value: Any, strType: StringType) {
 		verifySwgObject()
-		synchronized(baselineData) {
-			baselineData.set(type - 1, null)
+		synchronized(baselineVersions) {
+			baselineVersions[type - 1]++
 		}
+		DirtyObjectTracker.markDirty(this as SWGObject)
 		DeltaBuilder.send(this as SWGObject, this.baselineType, type, update, value, strType)
 	}
 
+	/**
+	 * Sends an incremental collection delta, which must be delivered in order with every other change to that collection
+	 */
+	fun sendIncrementalDelta(type: Int, update: Int, value: ByteArray) {
+		verifySwgObject()
+		synchronized(baselineVersions) {
+			baselineVersions[type - 1]++
+		}
+		DirtyObjectTracker.markDirty(this as SWGObject)
+		DeltaBuilder.sendIncremental(this as SWGObject, this.baselineType, type, update, value)
+	}
+
+	/**
+	 * Sends a collection delta that only sets the element at [index], which replaces any pending set of that same element
+	 */
+	fun sendListElementDelta(type: Int, update: Int, index: Int, value: ByteArray) {
+		verifySwgObject()
+		synchronized(baselineVersions) {
+			baselineVersions[type - 1]++
+		}
+		DirtyObjectTracker.markDirty(this as SWGObject)
+		DeltaBuilder.sendListElement(this as SWGObject, this.baselineType, type, update, index, value)
+	}
+
 	private fun createBaseline(num: Int, baselineCreator: (bb: BaselineBuilder) -> Unit): Baseline {
 		verifySwgObject()
-		synchronized(baselineData) {
-			var data = baselineData[num - 1]?.get()
+		synchronized(baselineVersions) {
+			val version = baselineVersions[num - 1]
+			var data = BaselineCache.get(baselineCacheId, num, version)
 			if (data == null) {
 				val bb = BaselineBuilder(this as SWGObject, baselineType, num)
 				baselineCreator(bb)
 				data = bb.buildAsBaselinePacket()
-				setBaseline(num, data)
+				BaselineCache.put(baselineCacheId, num, version, data)
 			}
 			return data
 		}
@@ -192,8 +216,10 @@ open class BaselineObject(val baselineType: BaselineType) {
 		check(this is SWGObject) { "This object is not an SWGObject!" }
 	}
 
-	private fun setBaseline(num: Int, baseline: Baseline) {
-		baselineData[num - 1] = SoftReference(baseline)
+	companion object {
+		
+		private val NEXT_CACHE_ID = AtomicLong(0)
+		
 	}
 
 }
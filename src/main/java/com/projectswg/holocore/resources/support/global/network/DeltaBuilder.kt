@@ -31,27 +31,74 @@ import com.projectswg.common.encoding.StringType
 import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType
 import com.projectswg.common.network.packets.swg.zone.deltas.DeltasMessage
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject
 
 object DeltaBuilder {
 	fun send(obj: SWGObject, type: BaselineType, num: Int, updateType: Int, change: Any) {
-		send(obj, type, num, updateType, (if (change is ByteArray) change else Encoder.encode(change)))
+		send(obj, type, num, updateType, encodePrimitive(change) ?: Encoder.encode(change), true)
 	}
 
 	fun send(obj: SWGObject, type: BaselineType, num: Int, updateType: Int, change: Any, strType: StringType) {
-		send(obj, type, num, updateType, (if (change is ByteArray) change else Encoder.encode(change, strType)))
+		send(obj, type, num, updateType, encodePrimitive(change) ?: Encoder.encode(change, strType), true)
+	}
+	
+	/**
+	 * Sends an incremental change to a collection, which is never coalesced with other pending deltas
+	 */
+	fun sendIncremental(obj: SWGObject, type: BaselineType, num: Int, updateType: Int, data: ByteArray) {
+		send(obj, type, num, updateType, data, false)
+	}
+	
+	/**
+	 * Sends a collection delta that only sets the element at [index], so it's coalesced with any pending set of the same
+	 * element that hasn't been followed by another change to the collection
+	 */
+	fun sendListElement(obj: SWGObject, type: BaselineType, num: Int, updateType: Int, index: Int, data: ByteArray) {
+		val delta = SharedPacket(DeltasMessage(obj.objectId, type, num, updateType, data))
+		forEachObserver(obj, num) { it.addListElementDelta(delta, index) }
 	}
 
-	private fun send(obj: SWGObject, type: BaselineType, num: Int, updateType: Int, data: ByteArray) {
-		val delta = DeltasMessage(obj.objectId, type, num, updateType, data)
+	/**
+	 * Encodes the most common delta values through a pooled writer, so the only allocation is the delta's own array
+	 * @return the encoded value, or null if it should go through the generic [Encoder]
+	 */
+	private fun encodePrimitive(change: Any): ByteArray? {
+		if (change is ByteArray)
+			return change
+		val writer = PooledBufferWriter.acquire()
+		try {
+			when (change) {
+				is Boolean -> writer.writeByte(if (change) 1 else 0)
+				is Byte    -> writer.writeByte(change.toInt())
+				is Short   -> writer.writeShort(change.toInt())
+				is Int     -> writer.writeInt(change)
+				is Long    -> writer.writeLong(change)
+				is Float   -> writer.writeFloat(change)
+				is Double  -> writer.writeDouble(change)
+				else       -> return null
+			}
+			return writer.toByteArray()
+		} finally {
+			writer.release()
+		}
+	}
+
+	private fun send(obj: SWGObject, type: BaselineType, num: Int, updateType: Int, data: ByteArray, replaceable: Boolean) {
+		val delta = SharedPacket(DeltasMessage(obj.objectId, type, num, updateType, data))
+		forEachObserver(obj, num) { it.addDelta(delta, replaceable) }
+	}
+	
+	private inline fun forEachObserver(obj: SWGObject, num: Int, queue: (CreatureObject) -> Unit) {
 		if (num == 3 || num == 6) { // Shared Objects
 			for (observer in obj.observerCreatures) {
-				observer.addDelta(delta)
+				queue(observer)
 			}
 		} else {
 			val owner = obj.owner
 			if (owner != null) {
 				val observerSelf = owner.creatureObject
-				observerSelf?.addDelta(delta)
+				if (observerSelf != null)
+					queue(observerSelf)
 			}
 		}
 	}
@@ -41,7 +41,9 @@ import com.projectswg.holocore.intents.support.global.login.RequestLoginIntent
 import com.projectswg.holocore.intents.support.global.network.ConnectionClosedIntent
 import com.projectswg.holocore.intents.support.global.network.ConnectionOpenedIntent
 import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent
+import com.projectswg.holocore.resources.support.data.metrics.ServerMetrics
 import com.projectswg.holocore.resources.support.data.server_info.StandardLog
+import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase
 import com.projectswg.holocore.resources.support.global.player.AccessLevel
 import com.projectswg.holocore.resources.support.global.player.Player
 import me.joshlarson.jlcommon.control.IntentChain
@@ -64,7 +66,7 @@ import java.util.concurrent.atomic.AtomicReference
 import java.util.concurrent.locks.ReentrantLock
 import kotlin.concurrent.withLock
 
-class NetworkClient(private val remoteAddress: SocketAddress, write: (ByteBuffer) -> Unit, private val closeChannel: () -> Unit): TCPServerChannel, WebSocketServerCallback {
+class NetworkClient(private val remoteAddress: SocketAddress, private val write: (ByteBuffer) -> Unit, private val closeChannel: () -> Unit): TCPServerChannel, WebSocketServerCallback {
 	
 	private val inboundBuffer = ByteBuffer.allocate(INBOUND_BUFFER_SIZE)
 	private val intentChain   = IntentChain()
@@ -74,7 +76,7 @@ class NetworkClient(private val remoteAddress: SocketAddress, write: (ByteBuffer
 	private val wsProtocol    = WebSocketServerProtocol(this, { data -> write(ByteBuffer.wrap(data)) }, closeChannel)
 	private val writeLock     = ReentrantLock()
 	
-	val player                = Player(SESSION_ID.getAndIncrement(), remoteAddress as InetSocketAddress?) { this.addToOutbound(it) }
+	val player                = Player(SESSION_ID.getAndIncrement(), remoteAddress as InetSocketAddress?, { this.addToOutbound(it) }, { this.addToOutbound(it) })
 	
 	val id: Long
 		get() = player.networkId
@@ -118,6 +120,12 @@ class NetworkClient(private val remoteAddress: SocketAddress, write: (ByteBuffer
 			obj.sendHttpFrame(HttpResponse("HTTP/1.1", 200, "OK", mapOf("Content-Length" to stats.size.toString()), stats))
 			return
 		}
+		
+		if (request.path == "/metrics" && PswgDatabase.config.getBoolean(this, "metricsEndpoint", false)) {
+			val metrics = ServerMetrics.scrape().encodeToByteArray()
+			obj.sendHttpFrame(HttpResponse("HTTP/1.1", 200, "OK", mapOf("Content-Type" to "text/plain; version=0.0.4; charset=utf-8", "Content-Length" to metrics.size.toString()), metrics))
+			return
+		}
 	}
 	
 	override fun onUpgrade(obj: WebSocketHandler, request: HttpRequest) {
@@ -207,6 +215,7 @@ class NetworkClient(private val remoteAddress: SocketAddress, write: (ByteBuffer
 			return
 		p.socketAddress = remoteAddress
 		processPacket(p)
+		PacketTap.inbound(player, p)
 		intentChain.broadcastAfter(InboundPacketIntent(player, p))
 	}
 	
@@ -222,6 +231,19 @@ class NetworkClient(private val remoteAddress: SocketAddress, write: (ByteBuffer
 		}
 	}
 	
+	private fun addToOutbound(p: SharedPacket) {
+		if (!upgraded.get()) {
+			addToOutbound(p.packet)
+			return
+		}
+		if (allowOutbound(p.packet) && connected.get()) {
+			val frame = p.getFrame()
+			writeLock.withLock {
+				write(frame)
+			}
+		}
+	}
+	
 	private fun onConnected() {
 		StandardLog.onPlayerTrace(this, player, "connected")
 		status.set(SessionStatus.CONNECTED)
@@ -0,0 +1,123 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network
+
+import java.io.DataOutputStream
+import java.io.OutputStream
+import java.nio.ByteBuffer
+
+/**
+ * Holds the most recent packets of a single session in binary form, within a byte ring that is allocated once up
+ * front. Once the ring is full, the oldest records are discarded to make room for new ones.
+ *
+ * Each record is laid out big endian as: timestamp in epoch milliseconds (8 bytes), direction (1 byte, 1 for inbound
+ * and 0 for outbound), payload length (4 bytes), then the encoded packet.
+ */
+class PacketCaptureBuffer(val capacity: Int) {
+	
+	private val ring = ByteArray(capacity)
+	private val header = ByteBuffer.allocate(RECORD_HEADER_SIZE)
+	private var head = 0
+	private var size = 0
+	private var records = 0
+	private var discarded = 0L
+	
+	@Synchronized
+	fun add(time: Long, inbound: Boolean, payload: ByteArray) {
+		val recordSize = RECORD_HEADER_SIZE + payload.size
+		if (recordSize > capacity) {
+			discarded++
+			return
+		}
+		while (size + recordSize > capacity)
+			discardOldest()
+		header.clear()
+		header.putLong(time).put((if (inbound) 1 else 0).toByte()).putInt(payload.size)
+		val tail = (head + size) % capacity
+		copyIn(tail, header.array(), RECORD_HEADER_SIZE)
+		copyIn((tail + RECORD_HEADER_SIZE) % capacity, payload, payload.size)
+		size += recordSize
+		records++
+	}
+	
+	@Synchronized
+	fun getSize(): Int = size
+	
+	@Synchronized
+	fun getRecordCount(): Int = records
+	
+	/**
+	 * Returns the number of records that were dropped because the buffer was full
+	 */
+	@Synchronized
+	fun getDiscardedCount(): Long = discarded
+	
+	/**
+	 * Writes the capture header followed by every buffered record, oldest first
+	 */
+	@Synchronized
+	fun writeTo(output: OutputStream) {
+		val data = DataOutputStream(output)
+		data.writeInt(MAGIC)
+		data.writeByte(VERSION)
+		val untilEnd = minOf(size, capacity - head)
+		data.write(ring, head, untilEnd)
+		data.write(ring, 0, size - untilEnd)
+		data.flush()
+	}
+	
+	private fun discardOldest() {
+		val recordSize = RECORD_HEADER_SIZE + readInt((head + LENGTH_OFFSET) % capacity)
+		head = (head + recordSize) % capacity
+		size -= recordSize
+		records--
+		discarded++
+	}
+	
+	private fun readInt(offset: Int): Int {
+		var value = 0
+		for (i in 0 until 4)
+			value = (value shl 8) or (ring[(offset + i) % capacity].toInt() and 0xFF)
+		return value
+	}
+	
+	private fun copyIn(offset: Int, data: ByteArray, length: Int) {
+		val untilEnd = minOf(length, capacity - offset)
+		System.arraycopy(data, 0, ring, offset, untilEnd)
+		System.arraycopy(data, untilEnd, ring, 0, length - untilEnd)
+	}
+	
+	companion object {
+		
+		const val MAGIC: Int = 0x50535743 // "PSWC"
+		const val VERSION: Int = 1
+		const val RECORD_HEADER_SIZE: Int = 13
+		private const val LENGTH_OFFSET = 9
+		
+	}
+	
+}
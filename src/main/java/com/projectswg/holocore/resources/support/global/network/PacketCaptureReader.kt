@@ -0,0 +1,86 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network
+
+import java.io.DataInputStream
+import java.io.EOFException
+import java.io.IOException
+import java.io.InputStream
+
+/**
+ * Reads a capture written by [PacketCaptureBuffer], one record at a time
+ */
+class PacketCaptureReader @Throws(IOException::class) constructor(input: InputStream) : AutoCloseable {
+	
+	private val input = DataInputStream(input)
+	
+	init {
+		val magic = this.input.readInt()
+		if (magic != PacketCaptureBuffer.MAGIC)
+			throw IOException("not a packet capture: invalid magic %08X".format(magic))
+		val version = this.input.readUnsignedByte()
+		if (version != PacketCaptureBuffer.VERSION)
+			throw IOException("unsupported packet capture version $version")
+	}
+	
+	/**
+	 * Returns the next record, or null once the end of the capture is reached
+	 */
+	@Throws(IOException::class)
+	fun readRecord(): PacketCaptureRecord? {
+		val time = try {
+			input.readLong()
+		} catch (e: EOFException) {
+			return null
+		}
+		val inbound = input.readUnsignedByte() != 0
+		val length = input.readInt()
+		if (length < 0)
+			throw IOException("invalid record length $length")
+		val data = ByteArray(length)
+		input.readFully(data)
+		return PacketCaptureRecord(time, inbound, data)
+	}
+	
+	@Throws(IOException::class)
+	fun readAll(): List<PacketCaptureRecord> {
+		val records = ArrayList<PacketCaptureRecord>()
+		while (true)
+			records.add(readRecord() ?: return records)
+	}
+	
+	@Throws(IOException::class)
+	override fun close() {
+		input.close()
+	}
+	
+	/**
+	 * A single captured packet. Inbound records were sent by the client, outbound records by the server.
+	 */
+	class PacketCaptureRecord(val time: Long, val inbound: Boolean, val data: ByteArray)
+	
+}
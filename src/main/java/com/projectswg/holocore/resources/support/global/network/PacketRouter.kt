@@ -0,0 +1,139 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network
+
+import com.projectswg.common.network.packets.SWGPacket
+import com.projectswg.holocore.resources.support.global.player.Player
+import me.joshlarson.jlcommon.log.Log
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
+import java.util.function.BiConsumer
+
+/**
+ * Routes inbound packets only to the handlers registered for that packet type. Handlers registered for a superclass,
+ * such as ObjectController, also receive every subclass.
+ */
+object PacketRouter {
+	
+	@Volatile
+	private var routes = RoutingTable(emptyList())
+	private val dispatchCounts = ConcurrentHashMap<Class<*>, LongAdder>()
+	private val handlerTimes = ConcurrentHashMap<HandlerKey, HandlerTime>()
+	
+	/**
+	 * Registers a handler for the packet type, until [unregister] is called for the same owner
+	 */
+	@JvmStatic
+	fun <T : SWGPacket> register(owner: Any, type: Class<T>, handler: BiConsumer<Player, T>) {
+		synchronized(this) {
+			val time = handlerTimes.computeIfAbsent(HandlerKey(owner.javaClass.simpleName, type.simpleName)) { HandlerTime() }
+			routes = RoutingTable(routes.registrations + Registration(owner, type, handler, time))
+		}
+	}
+	
+	@JvmStatic
+	fun unregister(owner: Any) {
+		synchronized(this) {
+			routes = RoutingTable(routes.registrations.filter { it.owner !== owner })
+		}
+	}
+	
+	/**
+	 * Delivers the packet to every handler registered for its type
+	 * @return the number of handlers that received the packet
+	 */
+	@JvmStatic
+	fun dispatch(player: Player, packet: SWGPacket): Int {
+		val type = packet.javaClass
+		val handlers = routes.getHandlers(type)
+		if (handlers.isEmpty())
+			return 0
+		dispatchCounts.computeIfAbsent(type) { LongAdder() }.increment()
+		for (handler in handlers) {
+			val start = System.nanoTime()
+			try {
+				handler.accept(player, packet)
+			} catch (t: Throwable) {
+				Log.e("Packet handler %s failed to process %s", handler.owner.javaClass.simpleName, type.simpleName)
+				Log.e(t)
+			}
+			handler.time.record(System.nanoTime() - start)
+		}
+		return handlers.size
+	}
+	
+	/**
+	 * Returns the number of packets dispatched to at least one handler so far, by packet type
+	 */
+	@JvmStatic
+	fun getDispatchCounts(): Map<String, Long> {
+		return dispatchCounts.entries.associate { it.key.simpleName to it.value.sum() }
+	}
+	
+	/**
+	 * Returns the invocations and time spent in the handlers so far, by owner and registered packet type
+	 */
+	@JvmStatic
+	fun getHandlerStatistics(): List<HandlerStatistics> {
+		return handlerTimes.entries.map { HandlerStatistics(it.key.owner, it.key.type, it.value.count.sum(), it.value.nanos.sum()) }
+	}
+	
+	data class HandlerStatistics(val owner: String, val type: String, val count: Long, val nanos: Long)
+	
+	private data class HandlerKey(val owner: String, val type: String)
+	
+	private class HandlerTime {
+		
+		val count = LongAdder()
+		val nanos = LongAdder()
+		
+		fun record(time: Long) {
+			count.increment()
+			nanos.add(time)
+		}
+		
+	}
+	
+	private class RoutingTable(val registrations: List<Registration<*>>) {
+		
+		private val resolved = ConcurrentHashMap<Class<*>, List<Registration<*>>>()
+		
+		fun getHandlers(type: Class<*>): List<Registration<*>> {
+			return resolved.computeIfAbsent(type) { t -> registrations.filter { it.type.isAssignableFrom(t) } }
+		}
+		
+	}
+	
+	private class Registration<T : SWGPacket>(val owner: Any, val type: Class<T>, private val handler: BiConsumer<Player, T>, val time: HandlerTime) {
+		
+		fun accept(player: Player, packet: SWGPacket) {
+			handler.accept(player, type.cast(packet))
+		}
+		
+	}
+	
+}
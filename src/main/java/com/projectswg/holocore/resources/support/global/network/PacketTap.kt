@@ -0,0 +1,82 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network
+
+import com.projectswg.common.network.packets.SWGPacket
+import com.projectswg.holocore.resources.support.global.player.Player
+
+/**
+ * Opt-in hook that observes every packet sent to or received from a player. While nothing is installed, a tap costs a
+ * single volatile read, so it is safe to leave on the hot path.
+ */
+object PacketTap {
+	
+	@Volatile
+	private var listener: PacketTapListener? = null
+	
+	/**
+	 * Installs the listener, replacing any previously installed listener
+	 */
+	@JvmStatic
+	fun install(listener: PacketTapListener) {
+		synchronized(this) {
+			this.listener = listener
+		}
+	}
+	
+	/**
+	 * Removes the listener, if it is the one currently installed
+	 */
+	@JvmStatic
+	fun uninstall(listener: PacketTapListener) {
+		synchronized(this) {
+			if (this.listener === listener)
+				this.listener = null
+		}
+	}
+	
+	@JvmStatic
+	fun isEnabled(): Boolean = listener != null
+	
+	@JvmStatic
+	fun inbound(player: Player, packet: SWGPacket) {
+		listener?.onPacket(player, true, packet)
+	}
+	
+	@JvmStatic
+	fun outbound(player: Player, packet: SWGPacket) {
+		listener?.onPacket(player, false, packet)
+	}
+	
+	/**
+	 * Called on the sending or receiving thread, so implementations must return quickly and must not block
+	 */
+	fun interface PacketTapListener {
+		fun onPacket(player: Player, inbound: Boolean, packet: SWGPacket)
+	}
+	
+}
@@ -0,0 +1,118 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.common.network.packets.swg.zone.deltas.DeltasMessage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Queue of deltas waiting to be sent to a single client. Deltas that replace the entire value of a field are coalesced,
+ * so only the latest value for each object, page and update index is sent when the queue is drained. Collection deltas
+ * that only set a single element, such as a change in health, are coalesced per element for as long as nothing else
+ * has changed in that collection. All other incremental deltas are always kept in order.
+ */
+public class PendingDeltaQueue {
+	
+	private final List<SharedPacket> deltas;
+	private final Map<DeltaKey, Integer> replaceableIndex;
+	private final Map<DeltaKey, Map<Integer, Integer>> elementIndex;
+	
+	public PendingDeltaQueue() {
+		this.deltas = new ArrayList<>();
+		this.replaceableIndex = new HashMap<>();
+		this.elementIndex = new HashMap<>();
+	}
+	
+	/**
+	 * Adds the delta to the queue, replacing any previous value for the same field when the delta is replaceable
+	 * @param delta the shared delta, which must wrap a {@link DeltasMessage}
+	 * @param replaceable TRUE if the delta contains the full value of the field, FALSE if it's incremental
+	 */
+	public synchronized void add(SharedPacket delta, boolean replaceable) {
+		DeltasMessage message = (DeltasMessage) delta.getPacket();
+		DeltaKey key = new DeltaKey(message.getObjectId(), message.getNum(), message.getUpdate());
+		if (replaceable) {
+			Integer previous = replaceableIndex.put(key, deltas.size());
+			if (previous != null)
+				deltas.set(previous, null);
+		} else if (!replaceableIndex.isEmpty()) {
+			replaceableIndex.remove(key); // An earlier full value must still be sent before this incremental change
+		}
+		if (!elementIndex.isEmpty())
+			elementIndex.remove(key); // Earlier element sets must be sent before anything else changes in the collection
+		deltas.add(delta);
+	}
+	
+	/**
+	 * Adds a collection delta that only sets a single element. Any pending set of that element is replaced, as long as
+	 * no other change to the collection was queued in between
+	 * @param delta the shared delta, which must wrap a {@link DeltasMessage} with a single set operation
+	 * @param index the index of the element within the collection
+	 */
+	public synchronized void addListElement(SharedPacket delta, int index) {
+		DeltasMessage message = (DeltasMessage) delta.getPacket();
+		DeltaKey key = new DeltaKey(message.getObjectId(), message.getNum(), message.getUpdate());
+		if (!replaceableIndex.isEmpty())
+			replaceableIndex.remove(key);
+		Integer previous = elementIndex.computeIfAbsent(key, k -> new HashMap<>()).put(index, deltas.size());
+		if (previous != null)
+			deltas.set(previous, null);
+		deltas.add(delta);
+	}
+	
+	public synchronized boolean isEmpty() {
+		return deltas.isEmpty();
+	}
+	
+	public synchronized void clear() {
+		deltas.clear();
+		replaceableIndex.clear();
+		elementIndex.clear();
+	}
+	
+	/**
+	 * Passes every remaining delta to the consumer in the order they were queued, then clears the queue
+	 * @param consumer the consumer for each delta
+	 */
+	public synchronized void drain(Consumer<SharedPacket> consumer) {
+		for (SharedPacket delta : deltas) {
+			if (delta != null)
+				consumer.accept(delta);
+		}
+		clear();
+	}
+	
+	private record DeltaKey(long objectId, int num, int update) {
+		
+	}
+	
+}
@@ -0,0 +1,151 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.charset.StandardCharsets
+
+/**
+ * A growable little-endian writer that is reused instead of reallocated. Writers are borrowed from a small per-thread
+ * pool with [acquire], and must be handed back with [release] once their bytes have been copied out.
+ */
+class PooledBufferWriter private constructor() {
+	
+	private var buffer: ByteBuffer = ByteBuffer.allocate(INITIAL_CAPACITY).order(ByteOrder.LITTLE_ENDIAN)
+	private var released = false
+	
+	val size: Int
+		get() = buffer.position()
+	
+	fun writeByte(b: Int) {
+		ensureRemaining(1)
+		buffer.put(b.toByte())
+	}
+	
+	fun writeShort(s: Int) {
+		ensureRemaining(2)
+		buffer.putShort(s.toShort())
+	}
+	
+	fun writeInt(i: Int) {
+		ensureRemaining(4)
+		buffer.putInt(i)
+	}
+	
+	fun writeLong(l: Long) {
+		ensureRemaining(8)
+		buffer.putLong(l)
+	}
+	
+	fun writeFloat(f: Float) {
+		ensureRemaining(4)
+		buffer.putFloat(f)
+	}
+	
+	fun writeDouble(d: Double) {
+		ensureRemaining(8)
+		buffer.putDouble(d)
+	}
+	
+	fun writeBytes(data: ByteArray) {
+		ensureRemaining(data.size)
+		buffer.put(data)
+	}
+	
+	/**
+	 * Writes the string as UTF-8, without a length prefix
+	 */
+	fun writeUtf8(str: String) {
+		val length = str.length
+		ensureRemaining(length)
+		for (i in 0 until length) {
+			val c = str[i]
+			if (c.code >= 0x80) {
+				// Rare - let the encoder handle multi-byte characters from here on
+				writeBytes(str.substring(i).toByteArray(StandardCharsets.UTF_8))
+				return
+			}
+			buffer.put(c.code.toByte())
+		}
+	}
+	
+	/**
+	 * Writes the string as UTF-16LE, without a length prefix
+	 */
+	fun writeUtf16(str: String) {
+		val length = str.length
+		ensureRemaining(length * 2)
+		for (i in 0 until length)
+			buffer.putChar(str[i])
+	}
+	
+	/**
+	 * Returns an exactly sized copy of everything written so far
+	 */
+	fun toByteArray(): ByteArray = buffer.array().copyOf(buffer.position())
+	
+	fun release() {
+		check(!released) { "writer was already released" }
+		released = true
+		buffer.clear()
+		if (buffer.capacity() > MAX_RETAINED_CAPACITY)
+			return // Let an unusually large buffer go, rather than holding on to it forever
+		val pool = POOL.get()
+		if (pool.size < MAX_POOLED)
+			pool.addLast(this)
+	}
+	
+	private fun ensureRemaining(bytes: Int) {
+		if (buffer.remaining() >= bytes)
+			return
+		val grown = ByteBuffer.allocate(maxOf(buffer.capacity() * 2, buffer.position() + bytes)).order(ByteOrder.LITTLE_ENDIAN)
+		buffer.flip()
+		grown.put(buffer)
+		buffer = grown
+	}
+	
+	companion object {
+		
+		private const val INITIAL_CAPACITY = 512
+		private const val MAX_RETAINED_CAPACITY = 64 * 1024
+		private const val MAX_POOLED = 4
+		private val POOL = ThreadLocal.withInitial { ArrayDeque<PooledBufferWriter>(MAX_POOLED) }
+		
+		/**
+		 * Borrows an empty writer from this thread's pool, creating one if the pool is empty
+		 */
+		@JvmStatic
+		fun acquire(): PooledBufferWriter {
+			val writer = POOL.get().removeLastOrNull() ?: return PooledBufferWriter()
+			writer.released = false
+			return writer
+		}
+		
+	}
+	
+}
@@ -0,0 +1,80 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network
+
+import com.projectswg.common.network.packets.SWGPacket
+import me.joshlarson.jlcommon.log.Log
+import java.nio.ByteBuffer
+
+/**
+ * A packet that is sent to many recipients. The packet is encoded into a binary WebSocket frame at most once, and that
+ * frame is shared between every recipient's socket.
+ */
+class SharedPacket(val packet: SWGPacket) {
+	
+	private val frame: ByteArray by lazy { createFrame(packet) }
+	
+	/**
+	 * Returns a new read-only view of the encoded frame, so each socket can track its own write position
+	 */
+	fun getFrame(): ByteBuffer {
+		return ByteBuffer.wrap(frame).asReadOnlyBuffer()
+	}
+	
+	override fun toString(): String {
+		return "SharedPacket[$packet]"
+	}
+	
+	companion object {
+		
+		private const val FIN_BINARY: Int = 0x82
+		
+		internal fun createFrame(packet: SWGPacket): ByteArray {
+			val encoded = packet.encode()
+			if (encoded.position() != encoded.capacity())
+				Log.w("SWGPacket %s has invalid array length. Expected: %d  Actual: %d", packet, encoded.position(), encoded.capacity())
+			val payload = encoded.buffer.array()
+			val length = payload.size
+			val headerLength = when {
+				length < 126 -> 2
+				length <= 0xFFFF -> 4
+				else -> 10
+			}
+			val frame = ByteBuffer.allocate(headerLength + length) // big endian, as required by RFC 6455
+			frame.put(FIN_BINARY.toByte())
+			when (headerLength) {
+				2 -> frame.put(length.toByte())
+				4 -> frame.put(126.toByte()).putShort(length.toShort())
+				else -> frame.put(127.toByte()).putLong(length.toLong())
+			}
+			frame.put(payload)
+			return frame.array()
+		}
+		
+	}
+	
+}
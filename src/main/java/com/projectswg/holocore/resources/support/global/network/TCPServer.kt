@@ -78,8 +78,24 @@ class TCPServer<T: TCPServerChannel> {
 		}
 	}
 	
+	/**
+	 * Returns a snapshot of the outbound state of every open connection
+	 */
+	fun getConnectionStatistics(): List<TCPConnectionStatistics<T>> {
+		return implementationLock.withLock { implementation?.getConnectionStatistics() } ?: emptyList()
+	}
+	
+	companion object {
+		/** Maximum number of buffers handed to a single gathering write */
+		internal const val MAX_GATHERED_BUFFERS = 64
+		/** Maximum number of bytes queued for a client before it is considered too slow and disconnected */
+		internal const val MAX_OUTBOUND_BYTES = 16L * 1024 * 1024
+	}
+	
 }
 
+class TCPConnectionStatistics<T: TCPServerChannel>(val session: T, val queuedBuffers: Int, val queuedBytes: Long, val sentBytes: Long)
+
 interface TCPServerChannel {
 	
 	fun getChannelBuffer(): ByteBuffer
@@ -89,20 +105,27 @@ interface TCPServerChannel {
 	
 }
 
-private class TCPServerConnectionHandle<T: TCPServerChannel>(val channel: SocketChannel, val lock: Lock, server: TCPServerImpl<T>, selector: Selector, sessionCreator: (remoteAddress: SocketAddress, writer: (ByteBuffer) -> Unit, closer: () -> Unit) -> T, val outboundData: LinkedList<ByteBuffer> = LinkedList()) {
+private class TCPServerConnectionHandle<T: TCPServerChannel>(val channel: SocketChannel, val lock: Lock, private val server: TCPServerImpl<T>, selector: Selector, sessionCreator: (remoteAddress: SocketAddress, writer: (ByteBuffer) -> Unit, closer: () -> Unit) -> T) {
 	
 	val session = sessionCreator(channel.remoteAddress as SocketAddress, { buffer -> server.write(this, buffer) }, { close() } )
 	val key: SelectionKey = channel.register(selector, SelectionKey.OP_READ, this)
 	val open = AtomicBoolean(true)
+	// Outbound state - only accessed while holding the lock
+	val outboundData = ArrayDeque<ByteBuffer>()
+	val gatherBuffers = arrayOfNulls<ByteBuffer>(TCPServer.MAX_GATHERED_BUFFERS)
+	var outboundBytes = 0L
+	var sentBytes = 0L
 	
 	fun close() {
 		if (!open.getAndSet(false))
 			return
 		key.cancel()
+		server.forget(this)
 		lock.withLock {
 			runSafeIgnoreException { channel.close() }
 			runSafe { session.onClosed() }
 			outboundData.clear()
+			outboundBytes = 0
 		}
 	}
 	
@@ -120,7 +143,6 @@ private class TCPServerImpl<T: TCPServerChannel>(address: InetSocketAddress, wor
 	// Locking/Synchronization Variables
 	private val running = AtomicBoolean(true)
 	private val selectorLock = ReentrantLock(false)
-	private val outboundLock = ReentrantLock(false)
 	
 	init {
 		channel.bind(address, backlog)
@@ -151,22 +173,47 @@ private class TCPServerImpl<T: TCPServerChannel>(address: InetSocketAddress, wor
 		sessions.clear()
 	}
 	
+	/**
+	 * Removes a closed connection. The selector never reports a cancelled key, so connections closed outside of the
+	 * selector would otherwise linger
+	 */
+	fun forget(handle: TCPServerConnectionHandle<T>) {
+		channels.remove(handle.channel)
+		sessions.remove(handle.session)
+	}
+	
+	fun getConnectionStatistics(): List<TCPConnectionStatistics<T>> {
+		return sessions.values.map { handle ->
+			handle.lock.withLock {
+				TCPConnectionStatistics(handle.session, handle.outboundData.size, handle.outboundBytes, handle.sentBytes)
+			}
+		}
+	}
+	
+	/**
+	 * Queues the buffer for the connection. Everything queued before the selector gets around to the connection is sent
+	 * with a single gathering write
+	 */
 	fun write(handle: TCPServerConnectionHandle<T>, buffer: ByteBuffer) {
 		handle.lock.withLock {
-			if (handle.outboundData.isEmpty()) {
+			if (!handle.open.get())
+				return
+			if (handle.outboundBytes + buffer.remaining() > TCPServer.MAX_OUTBOUND_BYTES) {
+				Log.w("Closing %s - more than %d bytes of outbound data queued", handle.session, TCPServer.MAX_OUTBOUND_BYTES)
+				handle.close()
+				return
+			}
+			val wasEmpty = handle.outboundData.isEmpty()
+			handle.outboundData.addLast(buffer)
+			handle.outboundBytes += buffer.remaining()
+			if (wasEmpty) {
 				try {
-					handle.channel.write(buffer)
+					handle.key.interestOpsOr(SelectionKey.OP_WRITE)
 				} catch (t: Throwable) {
 					handle.close()
-				}
-				if (!buffer.hasRemaining())
 					return
-			}
-			handle.outboundData.addLast(buffer)
-			try {
-				handle.key.interestOpsOr(SelectionKey.OP_WRITE)
-			} catch (t: Throwable) {
-				handle.close()
+				}
+				selector.wakeup()
 			}
 		}
 	}
@@ -243,7 +290,7 @@ private class TCPServerImpl<T: TCPServerChannel>(address: InetSocketAddress, wor
 									continue
 								}
 								readReadySessions.add(handle)
-								handle.key.interestOps(0)
+								handle.key.interestOpsAnd(SelectionKey.OP_READ.inv())
 							} catch (t: Throwable) {
 								handleInvalidKey(key, closedSessions)
 								readReadySessions.remove(handle)
@@ -326,25 +373,42 @@ private class TCPServerImpl<T: TCPServerChannel>(address: InetSocketAddress, wor
 	}
 	
 	private fun handleWriteReadyChannels(writeReadySessions: List<TCPServerConnectionHandle<T>>) {
-		outboundLock.withLock {
-			for (handle in writeReadySessions) {
-				val outbound = handle.outboundData
+		for (handle in writeReadySessions) {
+			handle.lock.withLock {
 				runSafeIgnoreException { // any socket-based issues will be picked up by the next select()
-					while (outbound.isNotEmpty()) {
-						val buffer = outbound.peekFirst() ?: break
-						try {
-							handle.channel.write(buffer)
-						} catch (t: Throwable) {
-							handle.close()
-						}
-						if (buffer.hasRemaining()) {
-							handle.key.interestOpsOr(SelectionKey.OP_WRITE) // re-subscribe to next write availability
-							break
-						}
-						outbound.pollFirst()
-					}
+					flushOutbound(handle)
+				}
+			}
+		}
+	}
+	
+	private fun flushOutbound(handle: TCPServerConnectionHandle<T>) {
+		val outbound = handle.outboundData
+		val gather = handle.gatherBuffers
+		try {
+			while (outbound.isNotEmpty()) {
+				var count = 0
+				for (buffer in outbound) {
+					gather[count++] = buffer
+					if (count == gather.size)
+						break
+				}
+				val written = handle.channel.write(gather, 0, count)
+				handle.outboundBytes -= written
+				handle.sentBytes += written
+				var completed = 0
+				while (outbound.isNotEmpty() && !outbound.first().hasRemaining()) {
+					outbound.removeFirst()
+					completed++
 				}
+				if (completed < count)
+					return // socket buffer is full - OP_WRITE stays subscribed for the next write availability
 			}
+			handle.key.interestOpsAnd(SelectionKey.OP_WRITE.inv())
+		} catch (t: Throwable) {
+			handle.close()
+		} finally {
+			gather.fill(null)
 		}
 	}
 	
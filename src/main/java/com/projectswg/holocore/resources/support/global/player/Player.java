@@ -27,11 +27,11 @@
 package com.projectswg.holocore.resources.support.global.player;
 
 import com.projectswg.common.network.packets.SWGPacket;
-import com.projectswg.holocore.intents.support.global.network.OutboundPacketIntent;
+import com.projectswg.holocore.resources.support.global.network.PacketTap;
+import com.projectswg.holocore.resources.support.global.network.SharedPacket;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import com.projectswg.holocore.resources.support.objects.swg.player.PlayerObject;
-import me.joshlarson.jlcommon.control.IntentChain;
 import org.jetbrains.annotations.NotNull;
 
 import java.net.InetSocketAddress;
@@ -45,6 +45,7 @@ public class Player implements Comparable<Player> {
 	private final AtomicReference<CreatureObject> creatureObject;
 	private final AtomicReference<InetSocketAddress> address;
 	private final Consumer<SWGPacket> packetSender;
+	private final Consumer<SharedPacket> sharedPacketSender;
 	
 	private String			accountId			= "";
 	private String			username			= "";
@@ -54,10 +55,15 @@ public class Player implements Comparable<Player> {
 	private long			lastInboundMessage	= 0;
 	
 	public Player(long networkId, InetSocketAddress address, Consumer<SWGPacket> packetSender) {
+		this(networkId, address, packetSender, shared -> packetSender.accept(shared.getPacket()));
+	}
+	
+	public Player(long networkId, InetSocketAddress address, Consumer<SWGPacket> packetSender, Consumer<SharedPacket> sharedPacketSender) {
 		this.networkId = networkId;
 		this.address = new AtomicReference<>(address);
 		this.creatureObject = new AtomicReference<>(null);
 		this.packetSender = packetSender;
+		this.sharedPacketSender = sharedPacketSender;
 	}
 	
 	public void setRemoteAddress(InetSocketAddress address) {
@@ -166,27 +172,32 @@ public class Player implements Comparable<Player> {
 
 	public void sendPacket(SWGPacket packet) {
 		packetSender.accept(packet);
-		IntentChain.broadcastChain(new OutboundPacketIntent(this, packet));
+		PacketTap.outbound(this, packet);
+	}
+	
+	/**
+	 * Sends a packet that is shared with other recipients, reusing its encoded form
+	 * @param packet the shared packet
+	 */
+	public void sendPacket(SharedPacket packet) {
+		sharedPacketSender.accept(packet);
+		PacketTap.outbound(this, packet.getPacket());
 	}
 	
 	public void sendPacket(SWGPacket packet1, SWGPacket packet2) {
 		packetSender.accept(packet1);
 		packetSender.accept(packet2);
-		IntentChain.broadcastChain(
-				new OutboundPacketIntent(this, packet1),
-				new OutboundPacketIntent(this, packet2)
-		);
+		PacketTap.outbound(this, packet1);
+		PacketTap.outbound(this, packet2);
 	}
 	
 	public void sendPacket(SWGPacket packet1, SWGPacket packet2, SWGPacket packet3) {
 		packetSender.accept(packet1);
 		packetSender.accept(packet2);
 		packetSender.accept(packet3);
-		IntentChain.broadcastChain(
-				new OutboundPacketIntent(this, packet1),
-				new OutboundPacketIntent(this, packet2),
-				new OutboundPacketIntent(this, packet3)
-		);
+		PacketTap.outbound(this, packet1);
+		PacketTap.outbound(this, packet2);
+		PacketTap.outbound(this, packet3);
 	}
 	
 	public void sendPacket(SWGPacket packet1, SWGPacket packet2, SWGPacket packet3, SWGPacket packet4) {
@@ -194,12 +205,10 @@ public class Player implements Comparable<Player> {
 		packetSender.accept(packet2);
 		packetSender.accept(packet3);
 		packetSender.accept(packet4);
-		IntentChain.broadcastChain(
-				new OutboundPacketIntent(this, packet1),
-				new OutboundPacketIntent(this, packet2),
-				new OutboundPacketIntent(this, packet3),
-				new OutboundPacketIntent(this, packet4)
-		);
+		PacketTap.outbound(this, packet1);
+		PacketTap.outbound(this, packet2);
+		PacketTap.outbound(this, packet3);
+		PacketTap.outbound(this, packet4);
 	}
 	
 	public void sendPacket(SWGPacket packet1, SWGPacket packet2, SWGPacket packet3, SWGPacket packet4, SWGPacket packet5) {
@@ -208,13 +217,11 @@ public class Player implements Comparable<Player> {
 		packetSender.accept(packet3);
 		packetSender.accept(packet4);
 		packetSender.accept(packet5);
-		IntentChain.broadcastChain(
-				new OutboundPacketIntent(this, packet1),
-				new OutboundPacketIntent(this, packet2),
-				new OutboundPacketIntent(this, packet3),
-				new OutboundPacketIntent(this, packet4),
-				new OutboundPacketIntent(this, packet5)
-		);
+		PacketTap.outbound(this, packet1);
+		PacketTap.outbound(this, packet2);
+		PacketTap.outbound(this, packet3);
+		PacketTap.outbound(this, packet4);
+		PacketTap.outbound(this, packet5);
 	}
 	
 	@Override
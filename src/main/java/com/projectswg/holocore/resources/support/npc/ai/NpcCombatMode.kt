@@ -163,10 +163,7 @@ class NpcCombatMode(obj: AIObject) : NpcMode(obj) {
 		val headingTo = myLocation.getHeadingTo(targetLocation.position)
 		MoveObjectIntent(obj, obj.parent, Location.builder(myLocation).setHeading(headingTo).build(), npcRunSpeed).broadcast()
 
-		val x = obj.worldLocation.x.toFloat()
-		val z = obj.worldLocation.z.toFloat()
-		val terrainTemplate = ServerData.terrains.getTerrain(obj.terrain)
-		val npcInWater = terrainTemplate != null && terrainTemplate.isWater(x, z)
+		val npcInWater = ServerData.terrains.isWater(obj.terrain, obj.worldLocation.x, obj.worldLocation.z)
 
 		if (npcInWater) {
 			return
@@ -26,8 +26,6 @@
  ***********************************************************************************/
 package com.projectswg.holocore.resources.support.objects;
 
-import com.projectswg.common.data.encodables.oob.StringId;
-import com.projectswg.common.data.objects.GameObjectType;
 import com.projectswg.common.data.swgfile.ClientFactory;
 import com.projectswg.common.data.swgfile.visitors.ObjectData.ObjectDataAttribute;
 import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType;
@@ -53,14 +51,14 @@ import com.projectswg.holocore.resources.support.objects.swg.weapon.WeaponObject
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 public final class ObjectCreator {
 	
 	private static final AtomicLong OBJECT_ID = new AtomicLong(150000);
+	private static final Map<String, ObjectTemplate> TEMPLATES = new ConcurrentHashMap<>();
 	
 	/*
 		Misc helper methods
@@ -81,13 +79,11 @@ public final class ObjectCreator {
 	public static SWGObject createObjectFromTemplate(long objectId, String template) {
 		assert template.startsWith("object/") && template.endsWith(".iff") : "Invalid template for createObjectFromTemplate: '" + template + '\'';
 		template = ClientFactory.formatToSharedFile(template);
-		Map<ObjectDataAttribute, Object> attributes = DataLoader.Companion.objectData().getAttributes(template);
-		if (attributes == null)
-			throw new ObjectCreationException(template, "Does not exist");
-		SWGObject obj = createObjectFromType(objectId, template, (BaselineType) attributes.get(ObjectDataAttribute.HOLOCORE_BASELINE_TYPE));
+		ObjectTemplate objectTemplate = getObjectTemplate(template);
+		SWGObject obj = createObjectFromType(objectId, template, (BaselineType) objectTemplate.getAttributes().get(ObjectDataAttribute.HOLOCORE_BASELINE_TYPE));
 		obj.setTemplate(template);
 		
-		handlePostCreation(obj, attributes);
+		handlePostCreation(obj, objectTemplate);
 		updateMaxObjectId(objectId);
 		return obj;
 	}
@@ -103,7 +99,7 @@ public final class ObjectCreator {
 		template = ClientFactory.formatToSharedFile(template);
 		obj.setTemplate(template);
 		
-		handlePostCreation(obj, DataLoader.Companion.objectData().getAttributes(template));
+		handlePostCreation(obj, getObjectTemplate(template));
 		updateMaxObjectId(objectId);
 		return obj;
 	}
@@ -143,37 +139,32 @@ public final class ObjectCreator {
 		};
 	}
 	
-	private static void handlePostCreation(SWGObject obj, Map<ObjectDataAttribute, Object> attributes) {
-		for (Entry<ObjectDataAttribute, Object> e : attributes.entrySet()) {
-			Object value = e.getValue();
-			obj.setDataAttribute(e.getKey(), value);
-			
-			switch (e.getKey()) {
-				case OBJECT_NAME -> obj.setStringId((StringId) value);
-				case DETAILED_DESCRIPTION -> obj.setDetailStf((StringId) value);
-				case CONTAINER_TYPE -> obj.setContainerType(((Number) value).intValue());
-			}
+	@NotNull
+	private static ObjectTemplate getObjectTemplate(String template) {
+		Map<ObjectDataAttribute, Object> attributes = DataLoader.Companion.objectData().getAttributes(template);
+		if (attributes == null)
+			throw new ObjectCreationException(template, "Does not exist");
+		ObjectTemplate objectTemplate = TEMPLATES.get(template);
+		if (objectTemplate == null || !objectTemplate.isFrom(attributes)) { // Rebuilt if the object data was reloaded
+			objectTemplate = new ObjectTemplate(attributes);
+			TEMPLATES.put(template, objectTemplate);
 		}
-		
-		obj.setGameObjectType(GameObjectType.getTypeFromId(obj.getDataIntAttribute(ObjectDataAttribute.GAME_OBJECT_TYPE)));
-		createObjectSlots(obj);
+		return objectTemplate;
 	}
 	
-	private static void createObjectSlots(SWGObject object) {
-		String slotDescriptor = object.getDataTextAttribute(ObjectDataAttribute.SLOT_DESCRIPTOR_FILENAME);
-		String slotArrangement = object.getDataTextAttribute(ObjectDataAttribute.ARRANGEMENT_DESCRIPTOR_FILENAME);
-		
-		if (!slotDescriptor.isEmpty()) {
-			List<String> descriptor = DataLoader.Companion.slotDescriptors().getSlots(slotDescriptor);
-			if (descriptor != null)
-				object.setSlots(descriptor); // The slots an object has
-		}
-		
-		if (!slotArrangement.isEmpty()) {
-			List<List<String>> arrangement = DataLoader.Companion.slotArrangements().getArrangement(slotArrangement);
-			if (arrangement != null)
-				object.setArrangement(arrangement); // The slots this object can go into
-		}
+	private static void handlePostCreation(SWGObject obj, ObjectTemplate template) {
+		obj.setDataTemplate(template.getAttributes());
+		if (template.getStringId() != null)
+			obj.setStringId(template.getStringId());
+		if (template.getDetailStringId() != null)
+			obj.setDetailStf(template.getDetailStringId());
+		if (template.getContainerType() != -1)
+			obj.setContainerType(template.getContainerType());
+		obj.setGameObjectType(template.getGameObjectType());
+		if (template.getSlots() != null)
+			obj.setSlotDefinitions(template.getSlots()); // The slots an object has
+		if (template.getArrangement() != null)
+			obj.setArrangement(template.getArrangement()); // The slots this object can go into
 	}
 	
 	public static class ObjectCreationException extends RuntimeException {
@@ -0,0 +1,138 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.objects;
+
+import com.projectswg.common.data.encodables.oob.StringId;
+import com.projectswg.common.data.objects.GameObjectType;
+import com.projectswg.common.data.swgfile.visitors.ObjectData.ObjectDataAttribute;
+import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader;
+import com.projectswg.holocore.resources.support.data.server_info.loader.SlotDefinitionLoader.SlotDefinition;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Everything an object gets from its template at creation, resolved once and shared by every object of that template.
+ * Nothing in here may be modified - objects that need a different value override it on themselves.
+ */
+final class ObjectTemplate {
+	
+	private final Map<ObjectDataAttribute, Object> source;
+	private final Map<ObjectDataAttribute, Object> attributes;
+	private final StringId stringId;
+	private final StringId detailStringId;
+	private final int containerType;
+	private final GameObjectType gameObjectType;
+	private final Map<String, SlotDefinition> slots;
+	private final List<List<String>> arrangement;
+	
+	ObjectTemplate(@NotNull Map<ObjectDataAttribute, Object> attributes) {
+		this.source = attributes;
+		this.attributes = Collections.unmodifiableMap(attributes);
+		this.stringId = (StringId) attributes.get(ObjectDataAttribute.OBJECT_NAME);
+		this.detailStringId = (StringId) attributes.get(ObjectDataAttribute.DETAILED_DESCRIPTION);
+		this.containerType = attributes.containsKey(ObjectDataAttribute.CONTAINER_TYPE) ? ((Number) attributes.get(ObjectDataAttribute.CONTAINER_TYPE)).intValue() : -1;
+		this.gameObjectType = GameObjectType.getTypeFromId(((Number) attributes.get(ObjectDataAttribute.GAME_OBJECT_TYPE)).intValue());
+		this.slots = loadSlots((String) attributes.get(ObjectDataAttribute.SLOT_DESCRIPTOR_FILENAME));
+		this.arrangement = loadArrangement((String) attributes.get(ObjectDataAttribute.ARRANGEMENT_DESCRIPTOR_FILENAME));
+	}
+	
+	/**
+	 * Returns TRUE if this was built from this exact attribute map
+	 */
+	public boolean isFrom(Map<ObjectDataAttribute, Object> attributes) {
+		return source == attributes;
+	}
+	
+	@NotNull
+	public Map<ObjectDataAttribute, Object> getAttributes() {
+		return attributes;
+	}
+	
+	@Nullable
+	public StringId getStringId() {
+		return stringId;
+	}
+	
+	@Nullable
+	public StringId getDetailStringId() {
+		return detailStringId;
+	}
+	
+	/**
+	 * Returns the template's container type, or -1 if it doesn't define one
+	 */
+	public int getContainerType() {
+		return containerType;
+	}
+	
+	@NotNull
+	public GameObjectType getGameObjectType() {
+		return gameObjectType;
+	}
+	
+	/**
+	 * Returns the slots an object of this template has, or null if the template doesn't define a slot descriptor
+	 */
+	@Nullable
+	public Map<String, SlotDefinition> getSlots() {
+		return slots;
+	}
+	
+	/**
+	 * Returns the slots an object of this template can go into, or null if the template doesn't define an arrangement
+	 */
+	@Nullable
+	public List<List<String>> getArrangement() {
+		return arrangement;
+	}
+	
+	@Nullable
+	private static Map<String, SlotDefinition> loadSlots(@Nullable String slotDescriptor) {
+		if (slotDescriptor == null || slotDescriptor.isEmpty())
+			return null;
+		List<String> descriptor = DataLoader.Companion.slotDescriptors().getSlots(slotDescriptor);
+		if (descriptor == null)
+			return null;
+		Map<String, SlotDefinition> slots = new LinkedHashMap<>();
+		for (String slot : descriptor) {
+			SlotDefinition definition = DataLoader.Companion.slotDefinitions().getSlotDefinition(slot);
+			if (definition != null)
+				slots.put(slot, definition);
+		}
+		return Collections.unmodifiableMap(slots);
+	}
+	
+	@Nullable
+	private static List<List<String>> loadArrangement(@Nullable String slotArrangement) {
+		if (slotArrangement == null || slotArrangement.isEmpty())
+			return null;
+		return DataLoader.Companion.slotArrangements().getArrangement(slotArrangement);
+	}
+	
+}
@@ -0,0 +1,141 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.objects.awareness;
+
+import com.projectswg.holocore.resources.support.data.metrics.MetricsHistogram;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics for the awareness ticks of a single terrain
+ */
+public class AwarenessMetrics {
+	
+	private final LongAdder ticks;
+	private final LongAdder skippedTicks;
+	private final LongAdder totalTickTime;
+	private final LongAdder totalObjectsTested;
+	private final AtomicLong lastTickTime;
+	private final AtomicLong maxTickTime;
+	private final AtomicLong lastObjectsTested;
+	private final AtomicLong lastObservers;
+	private final MetricsHistogram tickTimes;
+	
+	public AwarenessMetrics() {
+		this.ticks = new LongAdder();
+		this.skippedTicks = new LongAdder();
+		this.totalTickTime = new LongAdder();
+		this.totalObjectsTested = new LongAdder();
+		this.lastTickTime = new AtomicLong(0);
+		this.maxTickTime = new AtomicLong(0);
+		this.lastObjectsTested = new AtomicLong(0);
+		this.lastObservers = new AtomicLong(0);
+		this.tickTimes = new MetricsHistogram();
+	}
+	
+	void onTick(long tickTimeNanos, long observersUpdated, long objectsTested) {
+		ticks.increment();
+		totalTickTime.add(tickTimeNanos);
+		totalObjectsTested.add(objectsTested);
+		lastTickTime.set(tickTimeNanos);
+		maxTickTime.accumulateAndGet(tickTimeNanos, Math::max);
+		lastObjectsTested.set(objectsTested);
+		lastObservers.set(observersUpdated);
+		tickTimes.observe(tickTimeNanos);
+	}
+	
+	void onSkippedTicks(long count) {
+		skippedTicks.add(count);
+	}
+	
+	/**
+	 * @return the number of completed ticks
+	 */
+	public long getTicks() {
+		return ticks.sum();
+	}
+	
+	/**
+	 * @return the number of ticks that were missed, measured from the gaps between the ticks that did run
+	 */
+	public long getSkippedTicks() {
+		return skippedTicks.sum();
+	}
+	
+	/**
+	 * @return the cumulative time spent ticking, in nanoseconds
+	 */
+	public long getTotalTickTime() {
+		return totalTickTime.sum();
+	}
+	
+	/**
+	 * @return the duration of the most recent tick, in nanoseconds
+	 */
+	public long getLastTickTime() {
+		return lastTickTime.get();
+	}
+	
+	/**
+	 * @return the duration of the longest tick, in nanoseconds
+	 */
+	public long getMaxTickTime() {
+		return maxTickTime.get();
+	}
+	
+	/**
+	 * @return the cumulative number of objects tested against an observer's awareness range
+	 */
+	public long getTotalObjectsTested() {
+		return totalObjectsTested.sum();
+	}
+	
+	/**
+	 * @return the number of objects tested against an observer's awareness range during the most recent tick
+	 */
+	public long getLastObjectsTested() {
+		return lastObjectsTested.get();
+	}
+	
+	/**
+	 * @return the number of observers that required an update during the most recent tick
+	 */
+	public long getLastObservers() {
+		return lastObservers.get();
+	}
+	
+	/**
+	 * @return the distribution of tick durations
+	 */
+	@NotNull
+	public MetricsHistogram getTickTimes() {
+		return tickTimes;
+	}
+	
+}
@@ -0,0 +1,220 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.objects.awareness;
+
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Maintains the OBJECT awareness for a single creature. Awareness is only rebuilt from scratch when the creature
+ * itself moves or a periodic refresh is due - otherwise only the objects that changed nearby are re-tested.
+ */
+class AwarenessObserver implements Consumer<SWGObject> {
+	
+	private final TerrainMap terrainMap;
+	private final CreatureObject creature;
+	private final boolean npc;
+	private final Set<SWGObject> aware;
+	private final Set<SWGObject> pending;
+	private Set<SWGObject> published;
+	private boolean rescan;
+	private boolean flushRequired;
+	private boolean rescanned;
+	private boolean changed;
+	private boolean suspended;
+	private long objectsTested;
+	
+	public AwarenessObserver(TerrainMap terrainMap, CreatureObject creature, boolean npc) {
+		this.terrainMap = terrainMap;
+		this.creature = creature;
+		this.npc = npc;
+		this.aware = new HashSet<>();
+		this.pending = new HashSet<>();
+		this.published = Set.of();
+		this.rescan = true;
+		this.flushRequired = true;
+		this.rescanned = false;
+		this.changed = false;
+		this.suspended = false;
+		this.objectsTested = 0;
+	}
+	
+	public CreatureObject getCreature() {
+		return creature;
+	}
+	
+	public boolean isNpc() {
+		return npc;
+	}
+	
+	/**
+	 * Requests that the awareness be rebuilt from scratch on the next update
+	 *
+	 * @param flush TRUE if the creature must be flushed even when nothing changed, such as after it moved
+	 */
+	public void requestRescan(boolean flush) {
+		this.rescan = true;
+		this.flushRequired |= flush;
+	}
+	
+	/**
+	 * Stops tracking nearby changes while no player is around. The first call requests a rescan, so the awareness is
+	 * brought up to date one last time before the observer goes quiet
+	 *
+	 * @return TRUE if the observer was just suspended, FALSE if it already was
+	 */
+	public boolean suspend() {
+		pending.clear();
+		if (suspended)
+			return false;
+		suspended = true;
+		rescan = true;
+		return true;
+	}
+	
+	/**
+	 * Resumes tracking nearby changes. Anything missed while suspended is caught up on with a full rescan
+	 */
+	public void resume() {
+		if (suspended) {
+			suspended = false;
+			rescan = true;
+		}
+	}
+	
+	public boolean isRescanRequested() {
+		return rescan;
+	}
+	
+	/**
+	 * Queues an object to be re-tested on the next update
+	 *
+	 * @param target the object that was created, moved or destroyed
+	 */
+	public void queue(SWGObject target) {
+		pending.add(target);
+	}
+	
+	/**
+	 * Returns the number of objects tested since the last call, and resets the counter
+	 *
+	 * @return the number of objects tested
+	 */
+	public long resetObjectsTested() {
+		long tested = objectsTested;
+		objectsTested = 0;
+		return tested;
+	}
+	
+	public boolean hasWork() {
+		return rescan || !pending.isEmpty();
+	}
+	
+	public void beginRescan() {
+		rescan = false;
+		rescanned = true;
+		pending.clear();
+		aware.clear();
+	}
+	
+	@Override
+	public void accept(SWGObject test) {
+		if (test(test))
+			aware.add(test);
+	}
+	
+	public void processPending() {
+		for (SWGObject target : pending)
+			retest(target);
+		pending.clear();
+	}
+	
+	public void finishUpdate() {
+		if (changed || (rescanned && !aware.equals(published))) {
+			// Readers get an immutable snapshot, so they never need to copy it and it is only rebuilt on a change
+			published = Set.copyOf(aware);
+			creature.setAware(AwarenessType.OBJECT, published);
+			flushRequired = true;
+		}
+		if (flushRequired)
+			creature.flushAwareness();
+		rescanned = false;
+		changed = false;
+		flushRequired = false;
+	}
+	
+	private void retest(SWGObject target) {
+		if (test(target)) {
+			if (aware.add(target)) {
+				changed = true;
+				addChildren(target);
+			}
+		} else if (aware.remove(target)) {
+			changed = true;
+			removeChildren(target);
+		}
+	}
+	
+	private void addChildren(SWGObject parent) {
+		for (SWGObject child : parent.getContainedObjects())
+			addChild(child);
+		for (SWGObject child : parent.getSlottedObjects())
+			addChild(child);
+	}
+	
+	private void addChild(SWGObject child) {
+		if (test(child)) {
+			aware.add(child);
+			addChildren(child);
+		}
+	}
+	
+	private void removeChildren(SWGObject parent) {
+		for (SWGObject child : parent.getContainedObjects()) {
+			aware.remove(child);
+			removeChildren(child);
+		}
+		for (SWGObject child : parent.getSlottedObjects()) {
+			aware.remove(child);
+			removeChildren(child);
+		}
+	}
+	
+	private boolean test(SWGObject test) {
+		objectsTested++;
+		if (test.getAwareness().getTerrainMap() != terrainMap)
+			return false;
+		if (npc && !TerrainMap.isNpcTarget(test))
+			return false;
+		return creature.isWithinAwarenessRange(test);
+	}
+	
+}
@@ -32,61 +32,223 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
 
 public class ObjectAware {
 	
-	private static final Collection<SWGObject> EMPTY_SET = Collections.emptyList();
+	private static final AwarenessType[] TYPES = AwarenessType.values();
 	
-	private final EnumMap<AwarenessType, Collection<SWGObject>> awareness;
-	private final AtomicReference<TerrainMapChunk> chunk;
+	private final AtomicReferenceArray<Set<SWGObject>> awareness;
+	private final AtomicReference<TerrainMap> terrainMap;
+	private volatile boolean lastPositionValid;
+	private volatile double lastPositionX;
+	private volatile double lastPositionZ;
 	
 	public ObjectAware() {
-		this.awareness = new EnumMap<>(AwarenessType.class);
-		this.chunk = new AtomicReference<>(null);
-		for (AwarenessType type : AwarenessType.getValues()) {
-			awareness.put(type, List.of());
+		this.awareness = new AtomicReferenceArray<>(TYPES.length);
+		this.terrainMap = new AtomicReference<>(null);
+		this.lastPositionValid = false;
+		this.lastPositionX = 0;
+		this.lastPositionZ = 0;
+		for (AwarenessType type : TYPES) {
+			awareness.set(type.ordinal(), Set.of());
 		}
 	}
 	
-	public synchronized void setAware(@NotNull AwarenessType type, @NotNull Collection<SWGObject> objects) {
-		awareness.put(type, objects);
+	/**
+	 * Replaces the awareness for the specified type. The collection is copied into an immutable snapshot, unless it
+	 * already is one.
+	 *
+	 * @param type the awareness type to replace
+	 * @param objects the new awareness
+	 */
+	public void setAware(@NotNull AwarenessType type, @NotNull Collection<SWGObject> objects) {
+		awareness.set(type.ordinal(), Set.copyOf(objects));
 	}
 	
+	/**
+	 * Returns a read-only view of every object within any awareness type. The view is a snapshot, so it is not affected
+	 * by any later awareness changes, and it does not copy the underlying awareness.
+	 *
+	 * @return a snapshot view of the full awareness
+	 */
 	@NotNull
 	public Set<SWGObject> getAware() {
-		return getAwareStream().collect(Collectors.toSet());
+		@SuppressWarnings("unchecked")
+		Set<SWGObject>[] snapshots = new Set[TYPES.length];
+		for (int i = 0; i < snapshots.length; i++)
+			snapshots[i] = awareness.get(i);
+		return new AwareSnapshot(snapshots);
 	}
 	
+	/**
+	 * Returns the immutable snapshot of the specified awareness type
+	 *
+	 * @param type the awareness type
+	 * @return the immutable awareness for that type
+	 */
 	@NotNull
 	public Set<SWGObject> getAware(@NotNull AwarenessType type) {
-		return new HashSet<>(awareness.getOrDefault(type, EMPTY_SET));
+		return awareness.get(type.ordinal());
+	}
+	
+	/**
+	 * Passes every object within any awareness type to the visitor exactly once, without allocating a new collection
+	 *
+	 * @param visitor the visitor to call for each aware object
+	 */
+	public void forEachAware(@NotNull Consumer<SWGObject> visitor) {
+		for (int i = 0; i < TYPES.length; i++) {
+			for (SWGObject obj : awareness.get(i)) {
+				if (!isAwareOf(obj, i))
+					visitor.accept(obj);
+			}
+		}
+	}
+	
+	/**
+	 * Passes every object within the specified awareness type to the visitor, without allocating a new collection
+	 *
+	 * @param type the awareness type
+	 * @param visitor the visitor to call for each aware object
+	 */
+	public void forEachAware(@NotNull AwarenessType type, @NotNull Consumer<SWGObject> visitor) {
+		for (SWGObject obj : awareness.get(type.ordinal()))
+			visitor.accept(obj);
 	}
 	
 	public boolean isAwareOf(SWGObject obj) {
-		return !notAware(obj);
+		return isAwareOf(obj, TYPES.length);
 	}
 	
-	protected TerrainMapChunk setTerrainMapChunk(TerrainMapChunk newChunk) {
-		return this.chunk.getAndSet(newChunk);
+	protected TerrainMap setTerrainMap(TerrainMap newTerrainMap) {
+		return this.terrainMap.getAndSet(newTerrainMap);
 	}
 	
 	@Nullable
-	protected TerrainMapChunk getTerrainMapChunk() {
-		return chunk.get();
+	protected TerrainMap getTerrainMap() {
+		return terrainMap.get();
 	}
 	
-	private Stream<SWGObject> getAwareStream() {
-		return awareness.values().stream().flatMap(Collection::stream);
+	/**
+	 * Records the world position this object was last evaluated at, so observers around the old position can be
+	 * notified when it moves away
+	 */
+	protected void setLastPosition(double x, double z) {
+		this.lastPositionX = x;
+		this.lastPositionZ = z;
+		this.lastPositionValid = true;
 	}
 	
-	private boolean notAware(SWGObject test) {
-		for (Collection<SWGObject> aware : awareness.values()) {
-			if (aware.contains(test))
-				return false;
+	protected boolean hasLastPosition() {
+		return lastPositionValid;
+	}
+	
+	protected double getLastPositionX() {
+		return lastPositionX;
+	}
+	
+	protected double getLastPositionZ() {
+		return lastPositionZ;
+	}
+	
+	/**
+	 * Checks the first few awareness types for the object
+	 *
+	 * @param test the object to look for
+	 * @param typeCount the number of awareness types to check, in ordinal order
+	 * @return TRUE if the object is within one of those types, FALSE otherwise
+	 */
+	private boolean isAwareOf(SWGObject test, int typeCount) {
+		for (int i = 0; i < typeCount; i++) {
+			if (awareness.get(i).contains(test))
+				return true;
+		}
+		return false;
+	}
+	
+	private static class AwareSnapshot extends AbstractSet<SWGObject> {
+		
+		private final Set<SWGObject>[] snapshots;
+		
+		public AwareSnapshot(Set<SWGObject>[] snapshots) {
+			this.snapshots = snapshots;
+		}
+		
+		@Override
+		public boolean contains(Object o) {
+			return contains(o, snapshots.length);
+		}
+		
+		@Override
+		public int size() {
+			int size = 0;
+			for (int i = 0; i < snapshots.length; i++) {
+				for (SWGObject obj : snapshots[i]) {
+					if (!contains(obj, i))
+						size++;
+				}
+			}
+			return size;
+		}
+		
+		@Override
+		public boolean isEmpty() {
+			for (Set<SWGObject> snapshot : snapshots) {
+				if (!snapshot.isEmpty())
+					return false;
+			}
+			return true;
+		}
+		
+		@NotNull
+		@Override
+		public Iterator<SWGObject> iterator() {
+			return new Iterator<>() {
+				
+				private int index = 0;
+				private Iterator<SWGObject> current = snapshots[0].iterator();
+				private SWGObject next = advance();
+				
+				@Override
+				public boolean hasNext() {
+					return next != null;
+				}
+				
+				@Override
+				public SWGObject next() {
+					SWGObject ret = next;
+					if (ret == null)
+						throw new NoSuchElementException();
+					next = advance();
+					return ret;
+				}
+				
+				private SWGObject advance() {
+					while (true) {
+						while (current.hasNext()) {
+							SWGObject obj = current.next();
+							if (!contains(obj, index))
+								return obj; // Skips anything already returned from a previous awareness type
+						}
+						if (++index >= snapshots.length)
+							return null;
+						current = snapshots[index].iterator();
+					}
+				}
+				
+			};
+		}
+		
+		private boolean contains(Object o, int typeCount) {
+			for (int i = 0; i < typeCount; i++) {
+				if (snapshots[i].contains(o))
+					return true;
+			}
+			return false;
 		}
-		return true;
+		
 	}
 	
 }
@@ -32,28 +32,56 @@ import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import me.joshlarson.jlcommon.concurrency.ScheduledThreadPool;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
 public class ObjectAwareness {
 	
+	/** The time between awareness ticks for each terrain, in milliseconds */
+	public static final long UPDATE_INTERVAL = 100;
+	
 	private final TerrainMap[] terrains;
 	private final ScheduledThreadPool threadPool;
+	private final ForkJoinPool workers;
 	
 	public ObjectAwareness() {
-		this.terrains = new TerrainMap[Terrain.values().length];
+		Terrain[] terrainValues = Terrain.values();
+		this.terrains = new TerrainMap[terrainValues.length];
 		this.threadPool = new ScheduledThreadPool(Runtime.getRuntime().availableProcessors(), "object-awareness-%d");
+		this.workers = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), ObjectAwareness::createWorkerThread, null, false);
 		for (int i = 0; i < terrains.length; i++) {
-			terrains[i] = new TerrainMap();
+			terrains[i] = new TerrainMap(terrainValues[i], workers);
 		}
 	}
 	
 	public void startThreadPool() {
 		threadPool.start();
 		for (TerrainMap terrain : terrains)
-			threadPool.executeWithFixedRate(0, 100, terrain::updateChunks);
+			threadPool.executeWithFixedRate(0, UPDATE_INTERVAL, terrain::updateChunks);
 	}
 	
 	public boolean stopThreadPool() {
 		threadPool.stop();
-		return threadPool.awaitTermination(500);
+		workers.shutdown();
+		boolean terminated = threadPool.awaitTermination(500);
+		try {
+			return workers.awaitTermination(500, TimeUnit.MILLISECONDS) && terminated;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+	
+	/**
+	 * Returns the tick statistics for the specified terrain
+	 *
+	 * @param terrain the terrain to look up
+	 * @return the metrics for that terrain
+	 */
+	@NotNull
+	public AwarenessMetrics getMetrics(@NotNull Terrain terrain) {
+		return terrains[terrain.ordinal()].getMetrics();
 	}
 	
 	/**
@@ -91,4 +119,10 @@ public class ObjectAwareness {
 			terrain.updateChunks();
 	}
 	
+	private static ForkJoinWorkerThread createWorkerThread(ForkJoinPool pool) {
+		ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+		thread.setName("object-awareness-worker-" + thread.getPoolIndex());
+		return thread;
+	}
+	
 }
@@ -0,0 +1,142 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+
+package com.projectswg.holocore.resources.support.objects.awareness;
+
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Uniform grid of concurrent buckets covering a single terrain. Anything outside the map bounds is clamped to the
+ * nearest edge bucket. Buckets are only allocated once something is inserted into them, so sparsely populated terrains
+ * only pay for what they use.
+ */
+class SpatialHashGrid implements SpatialIndex {
+	
+	private static final int MAP_WIDTH = 16384;
+	private static final int MAP_OFFSET = MAP_WIDTH / 2;
+	
+	private final int cellSizeShift;
+	private final int cellsAcross;
+	private final Map<SWGObject, Set<SWGObject>> locations;
+	private volatile AtomicReferenceArray<Set<SWGObject>> cells;
+	
+	/**
+	 * Creates a new grid with square buckets
+	 *
+	 * @param cellSize the width of each bucket, in meters. Must be a power of two
+	 */
+	public SpatialHashGrid(int cellSize) {
+		assert cellSize > 0 && Integer.bitCount(cellSize) == 1 : "cell size must be a power of two";
+		this.cellSizeShift = Integer.numberOfTrailingZeros(cellSize);
+		this.cellsAcross = Math.max(1, MAP_WIDTH >> cellSizeShift);
+		this.locations = new ConcurrentHashMap<>();
+		this.cells = null;
+	}
+	
+	@Override
+	public boolean move(@NotNull SWGObject obj, double x, double z) {
+		Set<SWGObject> cell = getOrCreateCell(getIndex(x), getIndex(z));
+		Set<SWGObject> previous = locations.put(obj, cell);
+		if (previous == cell)
+			return false;
+		cell.add(obj);
+		if (previous != null)
+			previous.remove(obj);
+		return true;
+	}
+	
+	@Override
+	public boolean remove(@NotNull SWGObject obj) {
+		Set<SWGObject> previous = locations.remove(obj);
+		if (previous == null)
+			return false;
+		previous.remove(obj);
+		return true;
+	}
+	
+	@Override
+	public void query(double x, double z, double radius, @NotNull Consumer<SWGObject> consumer) {
+		AtomicReferenceArray<Set<SWGObject>> cells = this.cells;
+		if (cells == null)
+			return; // Nothing has ever been inserted
+		int minX = getIndex(x - radius);
+		int maxX = getIndex(x + radius);
+		int minZ = getIndex(z - radius);
+		int maxZ = getIndex(z + radius);
+		for (int indZ = minZ; indZ <= maxZ; indZ++) {
+			for (int indX = minX; indX <= maxX; indX++) {
+				Set<SWGObject> cell = cells.get(indZ * cellsAcross + indX);
+				if (cell != null)
+					cell.forEach(consumer);
+			}
+		}
+	}
+	
+	@Override
+	public int size() {
+		return locations.size();
+	}
+	
+	private int getIndex(double coordinate) {
+		int index = ((int) coordinate + MAP_OFFSET) >> cellSizeShift;
+		return (index < 0) ? 0 : (index >= cellsAcross ? cellsAcross-1 : index);
+	}
+	
+	private Set<SWGObject> getOrCreateCell(int indX, int indZ) {
+		AtomicReferenceArray<Set<SWGObject>> cells = getCells();
+		int index = indZ * cellsAcross + indX;
+		Set<SWGObject> cell = cells.get(index);
+		if (cell == null) {
+			cell = ConcurrentHashMap.newKeySet();
+			if (!cells.compareAndSet(index, null, cell))
+				cell = cells.get(index);
+		}
+		return cell;
+	}
+	
+	private AtomicReferenceArray<Set<SWGObject>> getCells() {
+		AtomicReferenceArray<Set<SWGObject>> cells = this.cells;
+		if (cells == null) {
+			synchronized (this) {
+				cells = this.cells;
+				if (cells == null) {
+					cells = new AtomicReferenceArray<>(cellsAcross * cellsAcross);
+					this.cells = cells;
+				}
+			}
+		}
+		return cells;
+	}
+	
+}
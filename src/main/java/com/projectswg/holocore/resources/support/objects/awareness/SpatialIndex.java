@@ -0,0 +1,77 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+
+package com.projectswg.holocore.resources.support.objects.awareness;
+
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * A two-dimensional index over the objects within a single terrain, used to find awareness candidates without scanning
+ * every object on the planet
+ */
+interface SpatialIndex {
+	
+	/**
+	 * Inserts the object into the index, or moves it if it is already indexed
+	 *
+	 * @param obj the object to insert or move
+	 * @param x the world x coordinate
+	 * @param z the world z coordinate
+	 * @return TRUE if the object was newly inserted or changed buckets, FALSE otherwise
+	 */
+	boolean move(@NotNull SWGObject obj, double x, double z);
+	
+	/**
+	 * Removes the object from the index, if it was indexed
+	 *
+	 * @param obj the object to remove
+	 * @return TRUE if the object was removed, FALSE otherwise
+	 */
+	boolean remove(@NotNull SWGObject obj);
+	
+	/**
+	 * Passes every object that could be within the specified radius to the consumer. The result is a superset of the
+	 * objects within the radius - callers are responsible for doing any exact range checks.
+	 *
+	 * @param x the world x coordinate
+	 * @param z the world z coordinate
+	 * @param radius the radius to search
+	 * @param consumer the consumer to receive each candidate
+	 */
+	void query(double x, double z, double radius, @NotNull Consumer<SWGObject> consumer);
+	
+	/**
+	 * Returns the number of objects currently indexed
+	 *
+	 * @return the number of indexed objects
+	 */
+	int size();
+	
+}
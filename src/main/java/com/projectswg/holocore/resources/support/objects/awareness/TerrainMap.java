@@ -26,38 +26,112 @@
  ***********************************************************************************/
 package com.projectswg.holocore.resources.support.objects.awareness;
 
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import com.projectswg.holocore.resources.support.objects.swg.custom.AIObject;
+import com.projectswg.holocore.resources.support.objects.swg.tangible.OptionFlag;
+import me.joshlarson.jlcommon.log.Log;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 public class TerrainMap {
 	
-	private static final int CHUNK_COUNT_ACROSS = 16;
-	private static final int MAP_WIDTH = 16384;
-	private static final int INDEX_FACTOR = (int) (Math.log(MAP_WIDTH / (double) CHUNK_COUNT_ACROSS) / Math.log(2) + 1e-12);
+	// Query ranges must be at least as large as the ranges checked in isWithinAwarenessRange
+	private static final int CREATURE_RANGE = 200;
+	private static final int OBJECT_RANGE = 400;
+	// Structures used to be visible anywhere in the surrounding 3x3 block of 1024m chunks, so this keeps that reach
+	private static final int STRUCTURE_RANGE = 2048;
+	private static final int NPC_RANGE = 50;
+	// NPCs are only updated while a player is within this many buckets of theirs - quiet areas do no NPC work at all
+	private static final int ACTIVITY_CELL_SHIFT = 10;
+	private static final int ACTIVITY_MAP_WIDTH = 16384;
+	private static final int ACTIVITY_CELLS_ACROSS = ACTIVITY_MAP_WIDTH >> ACTIVITY_CELL_SHIFT;
+	private static final int ACTIVITY_CELL_REACH = 1;
+	// Catches anything that changes visibility without moving, such as permissions - in ticks
+	private static final int REFRESH_INTERVAL = 10;
+	// Observers updated by a single worker before the remainder is split off for other workers to steal
+	private static final int OBSERVERS_PER_TASK = 32;
+	private static final long TICK_BUDGET = TimeUnit.MILLISECONDS.toNanos(ObjectAwareness.UPDATE_INTERVAL);
+	private static final long OVERRUN_REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(10);
 	
-	private final TerrainMapChunk [] chunks;
+	private final Terrain terrain;
+	private final ForkJoinPool workers;
+	private final AwarenessMetrics metrics;
+	private final SpatialIndex creatures;
+	private final SpatialIndex objects;
+	private final SpatialIndex structures;
+	private final SpatialIndex playerIndex;
+	private final SpatialIndex npcIndex;
+	private final Map<CreatureObject, AwarenessObserver> players;
+	private final Map<CreatureObject, AwarenessObserver> npcs;
+	private final Set<SWGObject> dirty;
+	private final ObserverNotifier playerNotifier;
+	private final ObserverNotifier npcNotifier;
+	private final List<AwarenessObserver> work;
+	private final boolean[] activeCells;
 	private final ReentrantLock updateLock;
+	private long tick;
+	private long lastTickStart;
+	private long lastOverrunReport;
 	
-	public TerrainMap() {
-		this.chunks = new TerrainMapChunk[CHUNK_COUNT_ACROSS*CHUNK_COUNT_ACROSS];
+	public TerrainMap(@NotNull Terrain terrain, @Nullable ForkJoinPool workers) {
+		this.terrain = terrain;
+		this.workers = workers;
+		this.metrics = new AwarenessMetrics();
+		this.creatures = new SpatialHashGrid(128);
+		this.objects = new SpatialHashGrid(256);
+		this.structures = new SpatialHashGrid(512);
+		this.playerIndex = new SpatialHashGrid(256);
+		this.npcIndex = new SpatialHashGrid(128);
+		this.players = new ConcurrentHashMap<>();
+		this.npcs = new ConcurrentHashMap<>();
+		this.dirty = ConcurrentHashMap.newKeySet();
+		this.playerNotifier = new ObserverNotifier(players);
+		this.npcNotifier = new ObserverNotifier(npcs);
+		this.work = new ArrayList<>();
+		this.activeCells = new boolean[ACTIVITY_CELLS_ACROSS * ACTIVITY_CELLS_ACROSS];
 		this.updateLock = new ReentrantLock(false);
-		for (int z = 0; z < CHUNK_COUNT_ACROSS; z++) {
-			for (int x = 0; x < CHUNK_COUNT_ACROSS; x++) {
-				chunks[z*CHUNK_COUNT_ACROSS+x] = new TerrainMapChunk();
-			}
-		}
-		connectChunkNeighbors();
+		this.tick = 0;
+		this.lastTickStart = 0;
+		this.lastOverrunReport = 0;
+	}
+	
+	@NotNull
+	public AwarenessMetrics getMetrics() {
+		return metrics;
 	}
 	
 	public void updateChunks() {
 		if (!updateLock.tryLock())
-			return;
+			return; // Counted once by recordMissedTicks, from the gap before the next tick that does run
 		try {
-			for (TerrainMapChunk chunk : chunks) {
-				chunk.update();
+			long startTime = System.nanoTime();
+			recordMissedTicks(startTime);
+			tick++;
+			updateActiveCells();
+			for (Iterator<SWGObject> it = dirty.iterator(); it.hasNext(); ) {
+				SWGObject obj = it.next();
+				it.remove();
+				notifyObservers(obj);
 			}
+			collectWork(players.values());
+			collectNpcWork();
+			long objectsTested = updateObservers();
+			long tickTime = System.nanoTime() - startTime;
+			metrics.onTick(tickTime, work.size(), objectsTested);
+			if (tickTime > TICK_BUDGET)
+				reportOverrun(startTime, tickTime, objectsTested);
+			work.clear();
 		} finally {
 			updateLock.unlock();
 		}
@@ -68,9 +142,9 @@ public class TerrainMap {
 	}
 	
 	public void remove(SWGObject obj) {
-		TerrainMapChunk current = obj.getAwareness().setTerrainMapChunk(null);
+		TerrainMap current = obj.getAwareness().setTerrainMap(null);
 		if (current != null) {
-			current.removeObject(obj);
+			current.removeFromIndex(obj);
 			obj.setAware(AwarenessType.OBJECT, List.of());
 			
 			for (SWGObject child : obj.getContainedObjects())
@@ -82,69 +156,310 @@ public class TerrainMap {
 	
 	public void move(SWGObject obj) {
 		SWGObject superParent = obj.getSuperParent();
-		if (superParent != null)
-			moveInParent(obj, superParent);
-		else
-			moveInWorld(obj);
+		if (superParent == null) {
+			moveRecursive(obj, obj.getX(), obj.getZ(), true);
+		} else if (superParent.getAwareness().getTerrainMap() == this) {
+			moveRecursive(obj, superParent.getX(), superParent.getZ(), true);
+		} else {
+			return; // If the parent hasn't been added to awareness yet, this object will be added alongside it
+		}
+		// Children are re-tested by each observer whenever their parent enters or exits awareness
+		dirty.add(obj);
+		for (SWGObject child : obj.getSlottedObjects()) {
+			if (child instanceof CreatureObject)
+				dirty.add(child); // Riders move with their mount
+		}
 	}
 	
-	private void moveInParent(SWGObject obj, SWGObject superParent) {
-		TerrainMapChunk chunk = superParent.getAwareness().getTerrainMapChunk();
-		TerrainMapChunk current = obj.getAwareness().setTerrainMapChunk(chunk);
-		if (chunk == null)
-			return; // If the parent hasn't been added to awareness yet
+	private void moveRecursive(SWGObject obj, double x, double z, boolean root) {
+		ObjectAware awareness = obj.getAwareness();
+		TerrainMap previous = awareness.setTerrainMap(this);
+		if (previous != null && previous != this)
+			previous.removeFromIndex(obj);
+		if (!root || !awareness.hasLastPosition())
+			awareness.setLastPosition(x, z); // Only the root is marked dirty, which updates its last position
 		
-		if (current != chunk) {
-			if (current != null) {
-				current.removeObject(obj);
-			}
-			chunk.addObject(obj);
-			
+		SpatialIndex index = getIndex(obj);
+		boolean changed = (index != null) ? index.move(obj, x, z) : previous != this;
+		updateObserverRegistration(obj, x, z);
+		
+		// Children share their super parent's position, so they only need to follow it when it changes buckets.
+		// The creature grid is the finest grid, so any bucket change in a coarser grid is also a bucket change in it
+		if (changed || index != creatures) {
 			for (SWGObject child : obj.getContainedObjects())
-				moveInParent(child, superParent);
+				moveRecursive(child, x, z, false);
 			for (SWGObject child : obj.getSlottedObjects())
-				moveInParent(child, superParent);
+				moveRecursive(child, x, z, false);
 		}
 	}
 	
-	private void moveInWorld(SWGObject obj) {
-		int chunkCount = CHUNK_COUNT_ACROSS;
-		int indX = (obj.getTruncX()+8192) >> INDEX_FACTOR;
-		int indZ = (obj.getTruncZ()+8192) >> INDEX_FACTOR;
-		indX = (indX < 0) ? 0 : (indX >= chunkCount ? chunkCount-1 : indX);
-		indZ = (indZ < 0) ? 0 : (indZ >= chunkCount ? chunkCount-1 : indZ);
-		TerrainMapChunk chunk = chunks[indZ*CHUNK_COUNT_ACROSS+indX];
-		TerrainMapChunk current = obj.getAwareness().setTerrainMapChunk(chunk);
+	private void removeFromIndex(SWGObject obj) {
+		SpatialIndex index = getIndex(obj);
+		if (index != null)
+			index.remove(obj);
+		if (obj instanceof CreatureObject) {
+			if (players.remove(obj) != null)
+				playerIndex.remove(obj);
+			if (npcs.remove(obj) != null)
+				npcIndex.remove(obj);
+		}
+		dirty.add(obj); // Observers around the old position still need to forget about it
+	}
+	
+	private void updateObserverRegistration(SWGObject obj, double x, double z) {
+		if (!(obj instanceof CreatureObject creature))
+			return;
+		if (isNpcObserver(creature)) {
+			if (players.remove(creature) != null)
+				playerIndex.remove(creature);
+			npcs.computeIfAbsent(creature, c -> new AwarenessObserver(this, c, true));
+			npcIndex.move(creature, x, z);
+		} else if (creature.isPlayer()) {
+			if (npcs.remove(creature) != null)
+				npcIndex.remove(creature);
+			players.computeIfAbsent(creature, c -> new AwarenessObserver(this, c, false));
+			playerIndex.move(creature, x, z);
+		} else {
+			if (players.remove(creature) != null)
+				playerIndex.remove(creature);
+			if (npcs.remove(creature) != null)
+				npcIndex.remove(creature);
+		}
+	}
+	
+	/**
+	 * Queues the object to be re-tested by every observer that could see it at either its current position or the
+	 * position it was last evaluated at
+	 */
+	private void notifyObservers(SWGObject obj) {
+		ObjectAware awareness = obj.getAwareness();
+		if (obj instanceof CreatureObject) {
+			AwarenessObserver observer = getObserver((CreatureObject) obj);
+			if (observer != null)
+				observer.requestRescan(true);
+		}
 		
-		if (current != chunk) {
-			if (current != null) {
-				current.removeObject(obj);
+		int range = getRange(obj);
+		if (range <= 0)
+			return;
+		boolean npcTarget = isNpcTarget(obj);
+		playerNotifier.setTarget(obj);
+		npcNotifier.setTarget(obj);
+		if (awareness.hasLastPosition())
+			notifyObservers(awareness.getLastPositionX(), awareness.getLastPositionZ(), range, npcTarget);
+		if (awareness.getTerrainMap() == this) {
+			SWGObject superParent = obj.getSuperParent();
+			SWGObject reference = (superParent == null) ? obj : superParent;
+			double x = reference.getX();
+			double z = reference.getZ();
+			notifyObservers(x, z, range, npcTarget);
+			awareness.setLastPosition(x, z);
+		}
+	}
+	
+	private void notifyObservers(double x, double z, int range, boolean npcTarget) {
+		playerIndex.query(x, z, range, playerNotifier);
+		if (npcTarget && isActive(x, z))
+			npcIndex.query(x, z, NPC_RANGE, npcNotifier);
+	}
+	
+	private void collectWork(Collection<AwarenessObserver> observers) {
+		for (AwarenessObserver observer : observers) {
+			if (Math.floorMod(tick + observer.getCreature().getObjectId(), REFRESH_INTERVAL) == 0)
+				observer.requestRescan(false);
+			if (observer.hasWork())
+				work.add(observer);
+		}
+	}
+	
+	private void collectNpcWork() {
+		for (AwarenessObserver observer : npcs.values()) {
+			SWGObject reference = getReference(observer.getCreature());
+			if (isActive(reference.getX(), reference.getZ())) {
+				observer.resume();
+			} else {
+				if (observer.suspend())
+					work.add(observer); // One last rescan, so the NPC forgets the players that just left
+				continue;
 			}
-			chunk.addObject(obj);
-			for (SWGObject child : obj.getContainedObjects())
-				moveInParent(child, obj);
-			for (SWGObject child : obj.getSlottedObjects())
-				moveInParent(child, obj);
+			if (Math.floorMod(tick + observer.getCreature().getObjectId(), REFRESH_INTERVAL) == 0)
+				observer.requestRescan(false);
+			if (observer.hasWork())
+				work.add(observer);
+		}
+	}
+	
+	/**
+	 * Marks the coarse buckets around every player on this terrain, which are the only places NPCs are updated
+	 */
+	private void updateActiveCells() {
+		Arrays.fill(activeCells, false);
+		for (CreatureObject player : players.keySet()) {
+			SWGObject reference = getReference(player);
+			int cellX = getActivityIndex(reference.getX());
+			int cellZ = getActivityIndex(reference.getZ());
+			int minX = Math.max(0, cellX - ACTIVITY_CELL_REACH);
+			int maxX = Math.min(ACTIVITY_CELLS_ACROSS - 1, cellX + ACTIVITY_CELL_REACH);
+			int minZ = Math.max(0, cellZ - ACTIVITY_CELL_REACH);
+			int maxZ = Math.min(ACTIVITY_CELLS_ACROSS - 1, cellZ + ACTIVITY_CELL_REACH);
+			for (int indZ = minZ; indZ <= maxZ; indZ++) {
+				for (int indX = minX; indX <= maxX; indX++)
+					activeCells[indZ * ACTIVITY_CELLS_ACROSS + indX] = true;
+			}
+		}
+	}
+	
+	private boolean isActive(double x, double z) {
+		return activeCells[getActivityIndex(z) * ACTIVITY_CELLS_ACROSS + getActivityIndex(x)];
+	}
+	
+	private static int getActivityIndex(double coordinate) {
+		int index = ((int) coordinate + ACTIVITY_MAP_WIDTH / 2) >> ACTIVITY_CELL_SHIFT;
+		return (index < 0) ? 0 : Math.min(ACTIVITY_CELLS_ACROSS - 1, index);
+	}
+	
+	private static SWGObject getReference(CreatureObject creature) {
+		SWGObject superParent = creature.getSuperParent();
+		return (superParent == null) ? creature : superParent;
+	}
+	
+	private long updateObservers() {
+		if (workers == null || work.size() <= OBSERVERS_PER_TASK) {
+			long objectsTested = 0;
+			for (AwarenessObserver observer : work)
+				objectsTested += update(observer);
+			return objectsTested;
 		}
+		return workers.invoke(new ObserverUpdateTask(0, work.size()));
 	}
 	
-	private void connectChunkNeighbors() {
-		for (int z = 0; z < CHUNK_COUNT_ACROSS; z++) {
-			for (int x = 0; x < CHUNK_COUNT_ACROSS; x++) {
-				TerrainMapChunk chunk = chunks[z*CHUNK_COUNT_ACROSS+x];
-				for (int tmpZ = cappedZero(z-1); tmpZ <= z+1 && tmpZ < CHUNK_COUNT_ACROSS; tmpZ++) {
-					for (int tmpX = cappedZero(x-1); tmpX <= x+1 && tmpX < CHUNK_COUNT_ACROSS; tmpX++) {
-						if (x == tmpX && z == tmpZ)
-							continue;
-						chunk.link(chunks[tmpZ*CHUNK_COUNT_ACROSS+tmpX]);
-					}
+	private long update(AwarenessObserver observer) {
+		try {
+			if (observer.isRescanRequested()) {
+				SWGObject reference = getReference(observer.getCreature());
+				double x = reference.getX();
+				double z = reference.getZ();
+				
+				observer.beginRescan();
+				if (observer.isNpc()) {
+					creatures.query(x, z, NPC_RANGE, observer);
+				} else {
+					creatures.query(x, z, CREATURE_RANGE, observer);
+					objects.query(x, z, OBJECT_RANGE, observer);
+					structures.query(x, z, STRUCTURE_RANGE, observer);
 				}
+			} else {
+				observer.processPending();
+			}
+			observer.finishUpdate();
+		} catch (Throwable t) {
+			Log.e(t);
+		}
+		return observer.resetObjectsTested();
+	}
+	
+	/**
+	 * Counts every tick that should have started since the previous tick, but didn't - whether the previous tick
+	 * overran, or a tick was dropped because another was still running
+	 */
+	private void recordMissedTicks(long startTime) {
+		if (lastTickStart != 0) {
+			long missed = (startTime - lastTickStart) / TICK_BUDGET - 1;
+			if (missed > 0)
+				metrics.onSkippedTicks(missed);
+		}
+		lastTickStart = startTime;
+	}
+	
+	private void reportOverrun(long startTime, long tickTime, long objectsTested) {
+		if (lastOverrunReport != 0 && startTime - lastOverrunReport < OVERRUN_REPORT_INTERVAL)
+			return;
+		lastOverrunReport = startTime;
+		Log.w("Awareness tick for %s took %.2fms, exceeding the %dms budget [observers=%d  objects tested=%d]", terrain, tickTime / 1E6, ObjectAwareness.UPDATE_INTERVAL, work.size(), objectsTested);
+	}
+	
+	private AwarenessObserver getObserver(CreatureObject creature) {
+		AwarenessObserver observer = players.get(creature);
+		return (observer != null) ? observer : npcs.get(creature);
+	}
+	
+	private SpatialIndex getIndex(SWGObject obj) {
+		return switch (obj.getBaselineType()) {
+			case WAYP -> null;
+			case CREO -> creatures;
+			case SCLT, BUIO -> structures;
+			default -> objects;
+		};
+	}
+	
+	private static int getRange(SWGObject obj) {
+		BaselineType type = obj.getBaselineType();
+		return switch (type) {
+			case WAYP -> 0;
+			case CREO -> CREATURE_RANGE;
+			case SCLT, BUIO -> STRUCTURE_RANGE;
+			default -> OBJECT_RANGE;
+		};
+	}
+	
+	static boolean isNpcTarget(SWGObject obj) {
+		if (obj instanceof AIObject)
+			return !((AIObject) obj).hasOptionFlags(OptionFlag.INVULNERABLE);
+		return obj instanceof CreatureObject && ((CreatureObject) obj).isPlayer();
+	}
+	
+	private static boolean isNpcObserver(CreatureObject creature) {
+		return creature instanceof AIObject && !creature.hasOptionFlags(OptionFlag.INVULNERABLE);
+	}
+	
+	private class ObserverUpdateTask extends RecursiveTask<Long> {
+		
+		private final int start;
+		private final int end;
+		
+		public ObserverUpdateTask(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+		
+		@Override
+		protected Long compute() {
+			if (end - start <= OBSERVERS_PER_TASK) {
+				long objectsTested = 0;
+				for (int i = start; i < end; i++)
+					objectsTested += update(work.get(i));
+				return objectsTested;
 			}
+			int mid = (start + end) >>> 1;
+			ObserverUpdateTask left = new ObserverUpdateTask(start, mid);
+			left.fork();
+			long objectsTested = new ObserverUpdateTask(mid, end).compute();
+			return objectsTested + left.join();
 		}
+		
 	}
 	
-	private static int cappedZero(int x) {
-		return Math.max(x, 0);
+	private static class ObserverNotifier implements Consumer<SWGObject> {
+		
+		private final Map<CreatureObject, AwarenessObserver> observers;
+		private SWGObject target;
+		
+		public ObserverNotifier(Map<CreatureObject, AwarenessObserver> observers) {
+			this.observers = observers;
+			this.target = null;
+		}
+		
+		public void setTarget(SWGObject target) {
+			this.target = target;
+		}
+		
+		@Override
+		public void accept(SWGObject obj) {
+			AwarenessObserver observer = observers.get(obj);
+			if (observer != null)
+				observer.queue(target);
+		}
+		
 	}
 	
 }
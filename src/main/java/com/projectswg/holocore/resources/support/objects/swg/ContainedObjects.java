@@ -0,0 +1,131 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.objects.swg;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * The objects held in a container. Membership checks and modifications are constant-time, and iterators walk an
+ * immutable snapshot that is shared until the next modification - so the container may be modified while it is being
+ * iterated over, the same as with a copy-on-write set. Alongside the objects, the volume each object contributed when
+ * it was added is kept, so removing it later subtracts exactly what was added.
+ */
+final class ContainedObjects extends AbstractSet<SWGObject> {
+	
+	private static final SWGObject[] EMPTY = new SWGObject[0];
+	
+	private final Map<SWGObject, Integer> objects;
+	private volatile SWGObject[] snapshot;
+	private volatile int size;
+	
+	ContainedObjects() {
+		this.objects = new LinkedHashMap<>();
+		this.snapshot = EMPTY;
+		this.size = 0;
+	}
+	
+	/**
+	 * Adds the object to this container, if it isn't already contained
+	 * @param object the object to add
+	 * @param volume the volume the object takes up within this container
+	 * @return TRUE if the object was added, FALSE if it was already contained
+	 */
+	public synchronized boolean add(SWGObject object, int volume) {
+		if (objects.putIfAbsent(object, volume) != null)
+			return false;
+		this.size = objects.size();
+		this.snapshot = null;
+		return true;
+	}
+	
+	/**
+	 * Removes the object from this container
+	 * @param object the object to remove
+	 * @return the volume the object was added with, or -1 if it wasn't contained
+	 */
+	public synchronized int removeObject(Object object) {
+		Integer removed = objects.remove(object);
+		if (removed == null)
+			return -1;
+		this.size = objects.size();
+		this.snapshot = null;
+		return removed;
+	}
+	
+	@Override
+	public boolean add(SWGObject object) {
+		return add(object, 0);
+	}
+	
+	@Override
+	public boolean remove(Object object) {
+		return removeObject(object) != -1;
+	}
+	
+	@Override
+	public synchronized boolean contains(Object object) {
+		return objects.containsKey(object);
+	}
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	@NotNull
+	@Override
+	public Iterator<SWGObject> iterator() {
+		return Collections.unmodifiableList(Arrays.asList(getSnapshot())).iterator();
+	}
+	
+	@Override
+	public Object @NotNull [] toArray() {
+		return getSnapshot().clone();
+	}
+	
+	private SWGObject[] getSnapshot() {
+		SWGObject[] snapshot = this.snapshot;
+		if (snapshot == null) {
+			synchronized (this) {
+				snapshot = this.snapshot;
+				if (snapshot == null) {
+					snapshot = objects.isEmpty() ? EMPTY : objects.keySet().toArray(EMPTY);
+					this.snapshot = snapshot;
+				}
+			}
+		}
+		return snapshot;
+	}
+	
+}
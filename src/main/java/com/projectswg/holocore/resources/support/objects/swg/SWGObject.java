@@ -45,10 +45,12 @@ import com.projectswg.holocore.intents.support.objects.ContainerTransferIntent;
 import com.projectswg.holocore.intents.support.objects.ObjectTeleportIntent;
 import com.projectswg.holocore.resources.support.data.location.InstanceLocation;
 import com.projectswg.holocore.resources.support.data.location.InstanceType;
+import com.projectswg.holocore.resources.support.data.persistable.DirtyObjectTracker;
 import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader;
 import com.projectswg.holocore.resources.support.data.server_info.loader.SlotDefinitionLoader.SlotDefinition;
 import com.projectswg.holocore.resources.support.global.network.BaselineBuilder;
 import com.projectswg.holocore.resources.support.global.network.BaselineObject;
+import com.projectswg.holocore.resources.support.global.network.SharedPacket;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.awareness.AwarenessType;
 import com.projectswg.holocore.resources.support.objects.awareness.ObjectAware;
@@ -66,7 +68,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -76,12 +77,10 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	
 	private final long 								objectId;
 	private final InstanceLocation 					location		= new InstanceLocation();
-	private final Set<SWGObject>					containedObjects= new CopyOnWriteArraySet<>();
+	private final ContainedObjects					containedObjects= new ContainedObjects();
 	private final Map <String, SWGObject>			slots			= new ConcurrentHashMap<>();
-	private final Map<String, SlotDefinition>		slotsAvailable	= new ConcurrentHashMap<>();
 	private final ObjectAware						awareness		= new ObjectAware();
 	private final Set<CreatureObject>				observers		= ConcurrentHashMap.newKeySet();
-	private final Map<ObjectDataAttribute, Object>	dataAttributes	= new EnumMap<>(ObjectDataAttribute.class);
 	private final Map<ServerAttribute, Object>		serverAttributes= new EnumMap<>(ServerAttribute.class);
 	private final AtomicInteger						updateCounter	= new AtomicInteger(1);
 	private final Set<SWGObject>					containedObjectsView	= Collections.unmodifiableSet(containedObjects);
@@ -90,6 +89,9 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	private GameObjectType 				gameObjectType	= GameObjectType.GOT_NONE;
 	private ContainerPermissions		permissions		= DefaultPermissions.getPermissions();
 	private List <List <String>>		arrangement		= new ArrayList<>();
+	private Map<String, SlotDefinition>	slotsAvailable	= Map.of();	// shared between objects of the same template
+	private Map<ObjectDataAttribute, Object> dataAttributes	= Map.of();	// shared between objects of the same template
+	private Map<ObjectDataAttribute, Object> dataOverrides	= null;		// created on the first override
 	
 	private SWGObject	parent			= null;
 	private StringId 	stringId		= new StringId("", "");
@@ -146,15 +148,16 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	}
 	
 	private void addContainedObject(SWGObject object) {
-		containedObjects.add(object);
-		
 		// We need to adjust the volume of our container accordingly!
-		setVolume(getVolume() + object.getVolume() + 1);
+		int containedVolume = object.getVolume() + 1;
+		if (containedObjects.add(object, containedVolume))
+			setVolume(getVolume() + containedVolume);
 		
 		object.observeWithParent = true;
 		object.slotArrangement = -1;
 		object.parent = this;
 		object.setTerrain(getTerrain());
+		DirtyObjectTracker.markDirty(object);
 		onAddedChild(object);
 	}
 	
@@ -170,6 +173,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		object.slotArrangement = arrangementId;
 		object.parent = this;
 		object.setTerrain(getTerrain());
+		DirtyObjectTracker.markDirty(object);
 		onAddedChild(object);
 	}
 	
@@ -179,15 +183,16 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	 */
 	public void removeObject(SWGObject object) {
 		if (object.getSlotArrangement() == -1) {
-			containedObjects.remove(object);
-			
-			// We need to adjust the volume of our container accordingly!
-			setVolume(getVolume() - object.getVolume() - 1);
+			// We need to adjust the volume of our container accordingly - by what the object took up when it was added
+			int containedVolume = containedObjects.removeObject(object);
+			if (containedVolume != -1)
+				setVolume(getVolume() - containedVolume);
 		} else {
 			removeSlottedObject(object);
 		}
 		
-		// Remove as parent
+		// Remove as parent - marked before the parent is cleared, while the object still belongs to this container
+		DirtyObjectTracker.markDirty(object);
 		object.parent = null;
 		object.observeWithParent = true;
 		object.slotArrangement = -1;
@@ -480,9 +485,18 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	}
 	
 	public void setSlots(@NotNull Collection<String> slots) {
-		this.slotsAvailable.clear();
+		Map<String, SlotDefinition> slotsAvailable = new LinkedHashMap<>();
 		for (String slot : slots)
-			this.slotsAvailable.put(slot, DataLoader.Companion.slotDefinitions().getSlotDefinition(slot));
+			slotsAvailable.put(slot, Objects.requireNonNull(DataLoader.Companion.slotDefinitions().getSlotDefinition(slot), "unknown slot"));
+		this.slotsAvailable = Collections.unmodifiableMap(slotsAvailable);
+	}
+	
+	/**
+	 * Sets the slots this object has. The map is shared with other objects of the same template, and is never modified
+	 * @param slots the slots, by name
+	 */
+	public void setSlotDefinitions(@NotNull Map<String, SlotDefinition> slots) {
+		this.slotsAvailable = slots;
 	}
 	
 	@NotNull
@@ -521,6 +535,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		if (parent != null && location.getTerrain() != parent.getTerrain())
 			throw new IllegalArgumentException("Attempted to set different terrain from parent!");
 		this.location.setLocation(location);
+		DirtyObjectTracker.markDirty(this);
 		updateChildrenTerrain();
 	}
 	
@@ -529,6 +544,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 			throw new IllegalArgumentException("Attempted to set different terrain from parent!");
 		if (location.getTerrain() != terrain) {
 			location.setTerrain(terrain);
+			DirtyObjectTracker.markDirty(this);
 			updateChildrenTerrain();
 		}
 	}
@@ -537,24 +553,29 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		if (parent != null && terrain != parent.getTerrain())
 			throw new IllegalArgumentException("Attempted to set different terrain from parent!");
 		location.setPosition(terrain, x, y, z);
+		DirtyObjectTracker.markDirty(this);
 		updateChildrenTerrain();
 	}
 	
 	public void setPosition(double x, double y, double z) {
 		location.setPosition(x, y, z);
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setOrientation(double oX, double oY, double oZ, double oW) {
 		location.setOrientation(oX, oY, oZ, oW);
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setHeading(double heading) {
 		location.setHeading(heading);
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setInstance(InstanceType instanceType, int instanceNumber) {
 		location.setInstanceType(instanceType);
 		location.setInstanceNumber(instanceNumber);
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	private void updateChildrenTerrain() {
@@ -671,19 +692,23 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	
 	public void setStf(String stfFile, String stfKey) {
 		this.stringId = new StringId(stfFile, stfKey);
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setStringId(StringId stringId) {
 		this.stringId = stringId;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setDetailStf(StringId detailStringId) {
 		this.detailStringId = detailStringId;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setTemplate(String template) {
 		this.template = template;
 		this.crc = CRC.getCrc(template);
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setObjectName(String name) {
@@ -693,10 +718,12 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	
 	public void setVolume(int volume) {
 		this.volume = volume;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setComplexity(float complexity) {
 		this.complexity = complexity;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setBuildoutAreaId(int areaId) {
@@ -876,34 +903,51 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 
 	public void setServerAttribute(ServerAttribute key, Object value) {
 		serverAttributes.put(key, value);
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public Object getDataAttribute(ObjectDataAttribute key) {
+		Map<ObjectDataAttribute, Object> overrides = this.dataOverrides;
+		if (overrides != null && overrides.containsKey(key))
+			return overrides.get(key);
 		return dataAttributes.get(key);
 	}
 	
 	public int getDataIntAttribute(ObjectDataAttribute key) {
-		return ((Number) dataAttributes.get(key)).intValue();
+		return ((Number) getDataAttribute(key)).intValue();
 	}
 	
 	public long getDataLongAttribute(ObjectDataAttribute key) {
-		return ((Number) dataAttributes.get(key)).longValue();
+		return ((Number) getDataAttribute(key)).longValue();
 	}
 	
 	public double getDataDoubleAttribute(ObjectDataAttribute key) {
-		return ((Number) dataAttributes.get(key)).doubleValue();
+		return ((Number) getDataAttribute(key)).doubleValue();
 	}
 	
 	public String getDataTextAttribute(ObjectDataAttribute key) {
-		return (String) dataAttributes.get(key);
+		return (String) getDataAttribute(key);
 	}
 	
 	public StringId getDataStfAttribute(ObjectDataAttribute key) {
-		return (StringId) dataAttributes.get(key);
+		return (StringId) getDataAttribute(key);
 	}
 
+	/**
+	 * Overrides a template attribute for this object only
+	 */
 	public void setDataAttribute(ObjectDataAttribute key, Object value) {
-		dataAttributes.put(key, value);
+		if (dataOverrides == null)
+			dataOverrides = new EnumMap<>(ObjectDataAttribute.class);
+		dataOverrides.put(key, value);
+	}
+	
+	/**
+	 * Sets the template attributes of this object. The map is shared with other objects of the same template, and is
+	 * never modified - use {@link #setDataAttribute} to change a value for this object
+	 */
+	public void setDataTemplate(@NotNull Map<ObjectDataAttribute, Object> attributes) {
+		this.dataAttributes = attributes;
 	}
 	
 	public ObjectAware getAwareness() {
@@ -920,6 +964,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	
 	public void setNoTrade(boolean noTrade) {
 		this.noTrade = noTrade;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public AttributeList getAttributeList(CreatureObject viewer) {
@@ -974,6 +1019,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	
 	public void setContainerPermissions(ContainerPermissions permissions) {
 		this.permissions = permissions;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public boolean isGenerated() {
@@ -986,6 +1032,7 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	
 	public void setPersisted(boolean persisted) {
 		this.persisted = persisted;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	/**
@@ -1060,12 +1107,14 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 	public void onObjectMoved() {
 		if (!isGenerated())
 			return;
-		for (SWGObject a : getAware()) {
-			try {
-				a.onObjectMoveInAware(this);
-			} catch (Throwable t) {
-				Log.e(t);
-			}
+		awareness.forEachAware(this::notifyMoveInAware);
+	}
+	
+	private void notifyMoveInAware(SWGObject aware) {
+		try {
+			aware.onObjectMoveInAware(this);
+		} catch (Throwable t) {
+			Log.e(t);
 		}
 	}
 	
@@ -1093,48 +1142,100 @@ public abstract class SWGObject extends BaselineObject implements Comparable<SWG
 		observers.remove(player);
 	}
 	
+	/**
+	 * Returns a read-only snapshot of everything this object is aware of, without copying the underlying awareness
+	 * @return the read-only awareness snapshot
+	 */
 	public Set<SWGObject> getAware() {
 		return awareness.getAware();
 	}
 	
+	/**
+	 * Returns the immutable awareness for the specified type
+	 * @param type the awareness type
+	 * @return the immutable awareness
+	 */
 	public Set<SWGObject> getAware(AwarenessType type) {
 		return awareness.getAware(type);
 	}
 	
+	/**
+	 * Calls the visitor once for each object this object is aware of, without allocating a collection
+	 * @param visitor the visitor to call
+	 */
+	public void forEachAware(Consumer<SWGObject> visitor) {
+		awareness.forEachAware(visitor);
+	}
+	
 	public boolean isAwareOf(SWGObject obj) {
 		return awareness.isAwareOf(obj);
 	}
 	
 	public void sendObservers(SWGPacket packet) {
+		SharedPacket shared = new SharedPacket(packet);
 		for (CreatureObject observer : observers) {
-			observer.sendSelf(packet);
+			observer.sendSelf(shared);
 		}
 	}
 	
 	public void sendObservers(SWGPacket packet1, SWGPacket packet2) {
+		SharedPacket shared1 = new SharedPacket(packet1);
+		SharedPacket shared2 = new SharedPacket(packet2);
 		for (CreatureObject observer : observers) {
-			observer.sendSelf(packet1, packet2);
+			observer.sendSelf(shared1);
+			observer.sendSelf(shared2);
 		}
 	}
 	
 	public void sendObservers(SWGPacket packet1, SWGPacket packet2, SWGPacket packet3) {
+		SharedPacket shared1 = new SharedPacket(packet1);
+		SharedPacket shared2 = new SharedPacket(packet2);
+		SharedPacket shared3 = new SharedPacket(packet3);
 		for (CreatureObject observer : observers) {
-			observer.sendSelf(packet1, packet2, packet3);
+			observer.sendSelf(shared1);
+			observer.sendSelf(shared2);
+			observer.sendSelf(shared3);
 		}
 	}
 	
 	public void sendObservers(SWGPacket packet1, SWGPacket packet2, SWGPacket packet3, SWGPacket packet4) {
+		SharedPacket shared1 = new SharedPacket(packet1);
+		SharedPacket shared2 = new SharedPacket(packet2);
+		SharedPacket shared3 = new SharedPacket(packet3);
+		SharedPacket shared4 = new SharedPacket(packet4);
 		for (CreatureObject observer : observers) {
-			observer.sendSelf(packet1, packet2, packet3, packet4);
+			observer.sendSelf(shared1);
+			observer.sendSelf(shared2);
+			observer.sendSelf(shared3);
+			observer.sendSelf(shared4);
 		}
 	}
 	
 	public void sendObservers(SWGPacket packet1, SWGPacket packet2, SWGPacket packet3, SWGPacket packet4, SWGPacket packet5) {
+		SharedPacket shared1 = new SharedPacket(packet1);
+		SharedPacket shared2 = new SharedPacket(packet2);
+		SharedPacket shared3 = new SharedPacket(packet3);
+		SharedPacket shared4 = new SharedPacket(packet4);
+		SharedPacket shared5 = new SharedPacket(packet5);
 		for (CreatureObject observer : observers) {
-			observer.sendSelf(packet1, packet2, packet3, packet4, packet5);
+			observer.sendSelf(shared1);
+			observer.sendSelf(shared2);
+			observer.sendSelf(shared3);
+			observer.sendSelf(shared4);
+			observer.sendSelf(shared5);
 		}
 	}
 	
+	/**
+	 * Sends a packet that is shared with other recipients, so it is only encoded once
+	 * @param packet the shared packet
+	 */
+	public void sendSelf(SharedPacket packet) {
+		Player owner = getOwner();
+		if (owner != null)
+			owner.sendPacket(packet);
+	}
+	
 	public void sendSelf(SWGPacket packet) {
 		Player owner = getOwner();
 		if (owner != null)
@@ -28,6 +28,7 @@ package com.projectswg.holocore.resources.support.objects.swg.building
 
 import com.projectswg.common.data.encodables.mongo.MongoData
 import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType
+import com.projectswg.holocore.resources.support.data.persistable.DirtyObjectTracker
 import com.projectswg.holocore.resources.support.data.server_info.loader.BuildingCellLoader.CellInfo
 import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader.Companion.buildingCells
 import com.projectswg.holocore.resources.support.objects.ObjectCreator
@@ -42,6 +43,10 @@ class BuildingObject(objectId: Long) : TangibleObject(objectId, BaselineType.BUI
 	private val idToCell = HashMap<Int, CellObject>()
 	private val portals = ArrayList<Portal>()
 	var playerStructureInfo: PlayerStructureInfo? = null
+		set(value) {
+			field = value
+			DirtyObjectTracker.markDirty(this)
+		}
 
 	fun getCellByName(cellName: String): CellObject? {
 		return nameToCell[cellName]
@@ -41,7 +41,10 @@ import com.projectswg.holocore.resources.gameplay.crafting.trade.TradeSession;
 import com.projectswg.holocore.resources.gameplay.player.group.GroupInviterData;
 import com.projectswg.holocore.resources.support.data.collections.SWGSet;
 import com.projectswg.holocore.resources.support.data.location.InstanceLocation;
+import com.projectswg.holocore.resources.support.data.persistable.DirtyObjectTracker;
 import com.projectswg.holocore.resources.support.global.network.BaselineBuilder;
+import com.projectswg.holocore.resources.support.global.network.PendingDeltaQueue;
+import com.projectswg.holocore.resources.support.global.network.SharedPacket;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.PlayerState;
 import com.projectswg.holocore.resources.support.objects.awareness.AwarenessType;
@@ -68,7 +71,7 @@ public class CreatureObject extends TangibleObject {
 	private final Map<CreatureObject, Integer> hateMap = new HashMap<>();
 	private final List<CreatureObject>			sentDuels		= new ArrayList<>();
 	private final Set<Container>				containersOpen	= ConcurrentHashMap.newKeySet();
-	private final List<DeltasMessage>			pendingDeltas	= new ArrayList<>();
+	private final PendingDeltaQueue			pendingDeltas	= new PendingDeltaQueue();
 	private final AtomicReference<Player>		owner			= new AtomicReference<>(null);
 	
 	private Race	race					= Race.HUMAN_MALE;
@@ -289,32 +292,43 @@ public class CreatureObject extends TangibleObject {
 	}
 
 	public void addDelta(DeltasMessage delta) {
-		synchronized (pendingDeltas) {
-			pendingDeltas.add(delta);
-		}
+		addDelta(new SharedPacket(delta), false);
+	}
+	
+	/**
+	 * Queues a delta that may be shared with other observers, so it is only encoded once
+	 * @param delta the shared delta, which must wrap a {@link DeltasMessage}
+	 * @param replaceable TRUE if the delta contains the full value of the field, so that only the latest value is sent
+	 */
+	public void addDelta(SharedPacket delta, boolean replaceable) {
+		pendingDeltas.add(delta, replaceable);
+	}
+	
+	/**
+	 * Queues a collection delta that only sets a single element, so that only the latest value of that element is sent
+	 * @param delta the shared delta, which must wrap a {@link DeltasMessage}
+	 * @param index the index of the element that was set
+	 */
+	public void addListElementDelta(SharedPacket delta, int index) {
+		pendingDeltas.addListElement(delta, index);
 	}
 
 	public void clearDeltas() {
-		if (pendingDeltas.isEmpty())
-			return;
-		synchronized (pendingDeltas) {
-			pendingDeltas.clear();
-		}
+		pendingDeltas.clear();
 	}
 
 	public void sendAndFlushAllDeltas() {
 		if (pendingDeltas.isEmpty())
 			return;
-		synchronized (pendingDeltas) {
-			Player owner = getOwner();
-			if (owner != null) {
-				for (DeltasMessage delta : pendingDeltas) {
-					if (awareness.isAware(delta.getObjectId()))
-						owner.sendPacket(delta);
-				}
-			}
+		Player owner = getOwner();
+		if (owner == null) {
 			pendingDeltas.clear();
+			return;
 		}
+		pendingDeltas.drain(delta -> {
+			if (awareness.isAware(((DeltasMessage) delta.getPacket()).getObjectId()))
+				owner.sendPacket(delta);
+		});
 	}
 
 	public boolean addSkill(String skill) {
@@ -401,6 +415,7 @@ public class CreatureObject extends TangibleObject {
 	
 	public void setRace(Race race) {
 		this.race = race;
+		DirtyObjectTracker.markDirty(this);
 	}
 
 
@@ -32,6 +32,7 @@ import com.projectswg.common.data.encodables.mongo.MongoData
 import com.projectswg.common.data.encodables.player.Mail
 import com.projectswg.common.network.NetBuffer
 import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType
+import com.projectswg.holocore.resources.support.data.persistable.DirtyObjectTracker
 import com.projectswg.holocore.resources.support.global.network.BaselineBuilder
 import com.projectswg.holocore.resources.support.global.player.AccessLevel
 import com.projectswg.holocore.resources.support.global.player.Player
@@ -61,7 +62,15 @@ class PlayerObject(objectId: Long) : IntangibleObject(objectId, BaselineType.PLA
 		private set
 
 	var biography = ""
+		set(value) {
+			field = value
+			DirtyObjectTracker.markDirty(this)
+		}
 	var account = ""
+		set(value) {
+			field = value
+			DirtyObjectTracker.markDirty(this)
+		}
 	val badges = Badges()
 	var lotsAvailable = 10
 	var lotsUsed = 0
@@ -77,10 +86,16 @@ class PlayerObject(objectId: Long) : IntangibleObject(objectId, BaselineType.PLA
 		val delta = cappedValue - oldValue
 		if (delta != 0) {
 			factionPoints[faction] = value
+			DirtyObjectTracker.markDirty(this)
 		}
 		return delta
 	}
 
+	fun setBadge(index: Int, explorationBadge: Boolean, value: Boolean) {
+		badges.set(index, explorationBadge, value)
+		DirtyObjectTracker.markDirty(this)
+	}
+
 	fun getFactionPoints(): Map<String, Int> {
 		return HashMap(factionPoints)
 	}
@@ -108,10 +123,12 @@ class PlayerObject(objectId: Long) : IntangibleObject(objectId, BaselineType.PLA
 
 	fun addMail(m: Mail) {
 		mails[m.id] = m
+		DirtyObjectTracker.markDirty(this)
 	}
 
 	fun removeMail(id: Int) {
-		mails.remove(id)
+		if (mails.remove(id) != null)
+			DirtyObjectTracker.markDirty(this)
 	}
 
 	fun removeMail(m: Mail) {
@@ -32,6 +32,7 @@ import com.projectswg.common.network.NetBuffer;
 import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType;
 import com.projectswg.common.network.packets.swg.zone.spatial.AttributeList;
 import com.projectswg.holocore.resources.gameplay.crafting.resource.galactic.GalacticResourceStats;
+import com.projectswg.holocore.resources.support.data.persistable.DirtyObjectTracker;
 import com.projectswg.holocore.resources.support.global.network.BaselineBuilder;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
@@ -118,6 +119,7 @@ public class ResourceContainerObject extends TangibleObject {
 	
 	public void setStats(GalacticResourceStats stats) {
 		this.stats = stats;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	@Override
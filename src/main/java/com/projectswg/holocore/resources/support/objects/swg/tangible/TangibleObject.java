@@ -41,6 +41,7 @@ import com.projectswg.common.network.packets.swg.zone.spatial.AttributeList;
 import com.projectswg.holocore.intents.gameplay.gcw.UpdateFactionFlagsIntent;
 import com.projectswg.holocore.resources.gameplay.combat.EnemyProcessor;
 import com.projectswg.holocore.resources.support.data.collections.SWGSet;
+import com.projectswg.holocore.resources.support.data.persistable.DirtyObjectTracker;
 import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader;
 import com.projectswg.holocore.resources.support.data.server_info.loader.ServerData;
 import com.projectswg.holocore.resources.support.data.server_info.loader.combat.FactionLoader.Faction;
@@ -106,6 +107,7 @@ public class TangibleObject extends SWGObject {
 	public void setRequiredSkill(String requiredSkill) {
 		if (!requiredSkill.isBlank()) {
 			this.requiredSkill = requiredSkill;
+			DirtyObjectTracker.markDirty(this);
 		}
 	}
 	
@@ -115,6 +117,7 @@ public class TangibleObject extends SWGObject {
 	
 	public void setLightsaberColorCrystalElementalType(DamageType lightsaberColorCrystalElementalType) {
 		this.lightsaberColorCrystalElementalType = lightsaberColorCrystalElementalType;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public int getLightsaberColorCrystalDamagePercent() {
@@ -123,6 +126,7 @@ public class TangibleObject extends SWGObject {
 	
 	public void setLightsaberColorCrystalDamagePercent(int lightsaberColorCrystalDamagePercent) {
 		this.lightsaberColorCrystalDamagePercent = lightsaberColorCrystalDamagePercent;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public int getMaxHitPoints() {
@@ -147,6 +151,7 @@ public class TangibleObject extends SWGObject {
 
 	public void setPvpFlags(Collection<PvpFlag> pvpFlags) {
 		this.pvpFlags.addAll(pvpFlags);
+		DirtyObjectTracker.markDirty(this);
 		
 		new UpdateFactionFlagsIntent(this).broadcast();
 	}
@@ -157,6 +162,7 @@ public class TangibleObject extends SWGObject {
 
 	public void clearPvpFlags(Collection<PvpFlag> pvpFlags) {
 		this.pvpFlags.removeAll(pvpFlags);
+		DirtyObjectTracker.markDirty(this);
 
 		new UpdateFactionFlagsIntent(this).broadcast();
 	}
@@ -171,6 +177,7 @@ public class TangibleObject extends SWGObject {
 
 	public void setPvpStatus(PvpStatus pvpStatus) {
 		this.pvpStatus = pvpStatus;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	@Nullable
@@ -187,6 +194,7 @@ public class TangibleObject extends SWGObject {
 	
 	public void setFaction(Faction faction) {
 		this.faction = faction;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public Set<PvpFlag> getPvpFlags() {
@@ -231,6 +239,7 @@ public class TangibleObject extends SWGObject {
 	
 	public void setComponents(int components) {
 		this.components = components;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setInCombat(boolean inCombat) {
@@ -244,14 +253,17 @@ public class TangibleObject extends SWGObject {
 	
 	public void setVisibleGmOnly(boolean visibleGmOnly) {
 		this.visibleGmOnly = visibleGmOnly;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setObjectEffects(byte [] objectEffects) {
 		this.objectEffects = objectEffects;
+		DirtyObjectTracker.markDirty(this);
 	}
 
 	public void setOptionFlags(int optionsBitmask) {
 		this.optionFlags = optionsBitmask;
+		DirtyObjectTracker.markDirty(this);
 	}
 
 	public void setOptionFlags(OptionFlag ... options) {
@@ -374,6 +386,7 @@ public class TangibleObject extends SWGObject {
 	
 	public void setRequiredCombatLevel(int requiredCombatLevel) {
 		this.requiredCombatLevel = requiredCombatLevel;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public Faction getRequiredFaction() {
@@ -392,6 +405,7 @@ public class TangibleObject extends SWGObject {
 		} else {
 			skillMods.put(skillModName, value);
 		}
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public int getSkillModValue(String skillMod) {
@@ -404,6 +418,7 @@ public class TangibleObject extends SWGObject {
 	
 	public void setArmorCategory(ArmorCategory armorCategory) {
 		this.armorCategory = armorCategory;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public Protection getProtection() {
@@ -412,6 +427,7 @@ public class TangibleObject extends SWGObject {
 	
 	public void setProtection(Protection protection) {
 		this.protection = protection;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public LightsaberPowerCrystalQuality getLightsaberPowerCrystalQuality() {
@@ -420,6 +436,7 @@ public class TangibleObject extends SWGObject {
 	
 	public void setLightsaberPowerCrystalQuality(LightsaberPowerCrystalQuality lightsaberPowerCrystalQuality) {
 		this.lightsaberPowerCrystalQuality = lightsaberPowerCrystalQuality;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public int getLightsaberPowerCrystalMinDmg() {
@@ -428,6 +445,7 @@ public class TangibleObject extends SWGObject {
 	
 	public void setLightsaberPowerCrystalMinDmg(int lightsaberPowerCrystalMinDmg) {
 		this.lightsaberPowerCrystalMinDmg = lightsaberPowerCrystalMinDmg;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public int getLightsaberPowerCrystalMaxDmg() {
@@ -436,6 +454,7 @@ public class TangibleObject extends SWGObject {
 	
 	public void setLightsaberPowerCrystalMaxDmg(int lightsaberPowerCrystalMaxDmg) {
 		this.lightsaberPowerCrystalMaxDmg = lightsaberPowerCrystalMaxDmg;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public TicketInformation getTicketInformation() {
@@ -444,6 +463,7 @@ public class TangibleObject extends SWGObject {
 	
 	public void setTicketInformation(TicketInformation ticketInformation) {
 		this.ticketInformation = ticketInformation;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public Map<String, Integer> getSkillMods() {
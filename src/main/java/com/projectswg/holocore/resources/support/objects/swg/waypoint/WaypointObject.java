@@ -37,6 +37,7 @@ import com.projectswg.common.data.location.Terrain;
 import com.projectswg.common.encoding.Encodable;
 import com.projectswg.common.network.NetBuffer;
 import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType;
+import com.projectswg.holocore.resources.support.data.persistable.DirtyObjectTracker;
 import com.projectswg.holocore.resources.support.objects.swg.intangible.IntangibleObject;
 import org.jetbrains.annotations.NotNull;
 
@@ -57,6 +58,7 @@ public class WaypointObject extends IntangibleObject implements Encodable, Mongo
 	
 	public void setOOB(WaypointPackage oob) {
 		this.waypoint = oob;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public WaypointPackage getOOB() {
@@ -101,44 +103,53 @@ public class WaypointObject extends IntangibleObject implements Encodable, Mongo
 	
 	public void setObjectId(long objectId) {
 		waypoint.setObjectId(objectId);
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	@Override
 	public void setLocation(Location location) {
 		waypoint.setTerrain(location.getTerrain());
 		waypoint.setPosition(location.getPosition());
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	@Override
 	public void setPosition(@NotNull Terrain terrain, double x, double y, double z) {
 		waypoint.setTerrain(terrain);
 		waypoint.setPosition(new Point3D(x, y, z));
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	@Override
 	public void setTerrain(@NotNull Terrain terrain) {
 		waypoint.setTerrain(terrain);
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	@Override
 	public void setPosition(double x, double y, double z) {
 		waypoint.setPosition(new Point3D(x, y, z));
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setCellId(long cellId) {
 		waypoint.setCellId(cellId);
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setName(String name) {
 		waypoint.setName(name);
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setColor(WaypointColor color) {
 		waypoint.setColor(color);
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public void setActive(boolean active) {
 		waypoint.setActive(active);
+		DirtyObjectTracker.markDirty(this);
 	}
 
 	public Type getOobType() {
@@ -31,6 +31,7 @@ import com.projectswg.common.data.encodables.mongo.MongoData;
 import com.projectswg.common.network.NetBuffer;
 import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType;
 import com.projectswg.common.network.packets.swg.zone.spatial.AttributeList;
+import com.projectswg.holocore.resources.support.data.persistable.DirtyObjectTracker;
 import com.projectswg.holocore.resources.support.global.network.BaselineBuilder;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
@@ -75,6 +76,7 @@ public class WeaponObject extends TangibleObject {
 	
 	public void setForcePowerCost(int forcePowerCost) {
 		this.forcePowerCost = forcePowerCost;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public float getAttackSpeed() {
@@ -83,6 +85,7 @@ public class WeaponObject extends TangibleObject {
 	
 	public void setAttackSpeed(float attackSpeed) {
 		this.attackSpeed = attackSpeed;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public float getMaxRange() {
@@ -91,6 +94,7 @@ public class WeaponObject extends TangibleObject {
 	
 	public void setMaxRange(float maxRange) {
 		this.maxRange = maxRange;
+		DirtyObjectTracker.markDirty(this);
 	}
 
 	public int getAccuracy() {
@@ -99,6 +103,7 @@ public class WeaponObject extends TangibleObject {
 
 	public void setAccuracy(int accuracy) {
 		this.accuracy = accuracy;
+		DirtyObjectTracker.markDirty(this);
 	}
 
 	public float getMinRange() {
@@ -115,6 +120,7 @@ public class WeaponObject extends TangibleObject {
 
 	public void setDamageType(DamageType damageType) {
 		this.damageType = damageType;
+		DirtyObjectTracker.markDirty(this);
 	}
 
 	public DamageType getElementalType() {
@@ -123,6 +129,7 @@ public class WeaponObject extends TangibleObject {
 
 	public void setElementalType(DamageType elementalType) {
 		this.elementalType = elementalType;
+		DirtyObjectTracker.markDirty(this);
 	}
 
 	public int getElementalValue() {
@@ -131,6 +138,7 @@ public class WeaponObject extends TangibleObject {
 
 	public void setElementalValue(int elementalValue) {
 		this.elementalValue = elementalValue;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public WeaponType getType() {
@@ -139,6 +147,7 @@ public class WeaponObject extends TangibleObject {
 	
 	public void setType(WeaponType type) {
 		this.type = type;
+		DirtyObjectTracker.markDirty(this);
 	}
 
 	public int getMinDamage() {
@@ -147,6 +156,7 @@ public class WeaponObject extends TangibleObject {
 
 	public void setMinDamage(int minDamage) {
 		this.minDamage = minDamage;
+		DirtyObjectTracker.markDirty(this);
 	}
 
 	public int getMaxDamage() {
@@ -155,6 +165,7 @@ public class WeaponObject extends TangibleObject {
 
 	public void setMaxDamage(int maxDamage) {
 		this.maxDamage = maxDamage;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public float getWoundChance() {
@@ -163,6 +174,7 @@ public class WeaponObject extends TangibleObject {
 	
 	public void setWoundChance(float woundChance) {
 		this.woundChance = woundChance;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public String getProcEffect() {
@@ -171,6 +183,7 @@ public class WeaponObject extends TangibleObject {
 	
 	public void setProcEffect(String procEffect) {
 		this.procEffect = procEffect;
+		DirtyObjectTracker.markDirty(this);
 	}
 	
 	public int getSpecialAttackCost() {
@@ -179,6 +192,7 @@ public class WeaponObject extends TangibleObject {
 	
 	public void setSpecialAttackCost(int specialAttackCost) {
 		this.specialAttackCost = specialAttackCost;
+		DirtyObjectTracker.markDirty(this);
 	}
 
 	public int getSplashDamagePercent() {
@@ -187,6 +201,7 @@ public class WeaponObject extends TangibleObject {
 
 	public void setSplashDamagePercent(int splashDamagePercent) {
 		this.splashDamagePercent = splashDamagePercent;
+		DirtyObjectTracker.markDirty(this);
 	}
 
 	public int getSplashDamageRadius() {
@@ -195,6 +210,7 @@ public class WeaponObject extends TangibleObject {
 
 	public void setSplashDamageRadius(int splashDamageRadius) {
 		this.splashDamageRadius = splashDamageRadius;
+		DirtyObjectTracker.markDirty(this);
 	}
 
 	@Override
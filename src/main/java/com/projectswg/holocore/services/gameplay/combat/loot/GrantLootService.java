@@ -36,11 +36,11 @@ import com.projectswg.common.network.packets.swg.zone.object_controller.loot.Gro
 import com.projectswg.common.network.packets.swg.zone.object_controller.loot.GroupRequestLotteryItems;
 import com.projectswg.holocore.intents.gameplay.combat.*;
 import com.projectswg.holocore.intents.support.global.chat.SystemMessageIntent;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.objects.OpenContainerIntent;
 import com.projectswg.holocore.intents.support.objects.DestroyObjectIntent;
 import com.projectswg.holocore.resources.gameplay.combat.loot.LootType;
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.permissions.ReadWritePermissions;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
@@ -76,11 +76,13 @@ public final class GrantLootService extends Service {
 	@Override
 	public boolean start() {
 		executor.start();
+		PacketRouter.register(this, GroupRequestLotteryItems.class, this::handleGroupRequestLotteryItems);
 		return true;
 	}
 	
 	@Override
 	public boolean stop() {
+		PacketRouter.unregister(this);
 		executor.stop();
 		return executor.awaitTermination(1000);
 	}
@@ -140,11 +142,7 @@ public final class GrantLootService extends Service {
 		}
 	}
 	
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent ipi) {
-		if (!(ipi.getPacket() instanceof GroupRequestLotteryItems request))
-			return;
-		Player player = ipi.getPlayer();
+	private void handleGroupRequestLotteryItems(Player player, GroupRequestLotteryItems request) {
 		SWGObject requestObject = ObjectLookup.getObjectById(request.getInventoryId());
 		if (requestObject == null)
 			return;
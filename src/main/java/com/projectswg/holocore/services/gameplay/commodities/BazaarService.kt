@@ -36,19 +36,18 @@ import com.projectswg.common.network.packets.swg.zone.auction.*
 import com.projectswg.common.network.packets.swg.zone.auction.IsVendorOwnerResponseMessage.VendorOwnerResult
 import com.projectswg.holocore.ProjectSWG
 import com.projectswg.holocore.intents.support.global.chat.PersistentMessageIntent
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent
 import com.projectswg.holocore.resources.support.data.server_info.StandardLog
 import com.projectswg.holocore.resources.support.data.server_info.database.PswgBazaarAvailableItemsDatabase
 import com.projectswg.holocore.resources.support.data.server_info.database.PswgBazaarInstantSalesDatabase
 import com.projectswg.holocore.resources.support.data.server_info.loader.ServerData
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase
+import com.projectswg.holocore.resources.support.global.network.PacketRouter
 import com.projectswg.holocore.resources.support.global.player.Player
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject
 import com.projectswg.holocore.resources.support.objects.swg.intangible.IntangibleObject
 import com.projectswg.holocore.resources.support.objects.swg.tangible.TangibleObject
 import com.projectswg.holocore.services.support.objects.ObjectStorageService.ObjectLookup
-import me.joshlarson.jlcommon.control.IntentHandler
 import me.joshlarson.jlcommon.control.Service
 import java.time.LocalDateTime
 import java.time.temporal.ChronoUnit.SECONDS
@@ -57,21 +56,21 @@ class BazaarService : Service() {
 
 	private val cancelLiveAuctionUseCase = CancelLiveAuctionUseCase(PswgDatabase.bazaarInstantSales, PswgDatabase.bazaarAvailableItems)
 
-	@IntentHandler
-	private fun handleInboundPacket(inboundPacketIntent: InboundPacketIntent) {
-		val packet = inboundPacketIntent.packet
-		val player = inboundPacketIntent.player
-
-		when (packet) {
-			is CancelLiveAuctionMessage       -> handleCancelLiveAuctionMessage(packet, player)
-			is RetrieveAuctionItemMessage     -> handleRetrieveAuctionItemMessage(packet, player)
-			is BidAuctionMessage              -> handleBidAuctionMessage(packet, player)
-			is CommoditiesItemTypeListRequest -> handleCommoditiesItemTypeListRequest(packet, player)
-			is AuctionQueryHeadersMessage     -> handleAuctionQueryHeadersMessage(packet, player)
-			is IsVendorOwnerMessage           -> handleIsVendorOwnerMessage(packet, player)
-			is CreateImmediateAuctionMessage  -> handleCreateImmediateAuctionMessage(packet, player)
-			is GetAuctionDetails              -> handleGetAuctionDetails(packet, player)
-		}
+	override fun start(): Boolean {
+		PacketRouter.register(this, CancelLiveAuctionMessage::class.java) { player, packet -> handleCancelLiveAuctionMessage(packet, player) }
+		PacketRouter.register(this, RetrieveAuctionItemMessage::class.java) { player, packet -> handleRetrieveAuctionItemMessage(packet, player) }
+		PacketRouter.register(this, BidAuctionMessage::class.java) { player, packet -> handleBidAuctionMessage(packet, player) }
+		PacketRouter.register(this, CommoditiesItemTypeListRequest::class.java) { player, packet -> handleCommoditiesItemTypeListRequest(packet, player) }
+		PacketRouter.register(this, AuctionQueryHeadersMessage::class.java) { player, packet -> handleAuctionQueryHeadersMessage(packet, player) }
+		PacketRouter.register(this, IsVendorOwnerMessage::class.java) { player, packet -> handleIsVendorOwnerMessage(packet, player) }
+		PacketRouter.register(this, CreateImmediateAuctionMessage::class.java) { player, packet -> handleCreateImmediateAuctionMessage(packet, player) }
+		PacketRouter.register(this, GetAuctionDetails::class.java) { player, packet -> handleGetAuctionDetails(packet, player) }
+		return super.start()
+	}
+
+	override fun stop(): Boolean {
+		PacketRouter.unregister(this)
+		return super.stop()
 	}
 
 	private fun handleCancelLiveAuctionMessage(packet: CancelLiveAuctionMessage, player: Player) {
@@ -37,10 +37,10 @@ import com.projectswg.common.network.packets.swg.zone.object_controller.MissionA
 import com.projectswg.common.network.packets.swg.zone.object_controller.MissionAcceptResponse
 import com.projectswg.common.network.packets.swg.zone.object_controller.MissionListRequest
 import com.projectswg.holocore.intents.support.global.chat.SystemMessageIntent
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent
 import com.projectswg.holocore.intents.support.objects.DestroyObjectIntent
 import com.projectswg.holocore.intents.support.objects.ObjectCreatedIntent
 import com.projectswg.holocore.resources.support.data.server_info.StandardLog
+import com.projectswg.holocore.resources.support.global.network.PacketRouter
 import com.projectswg.holocore.resources.support.global.player.Player
 import com.projectswg.holocore.resources.support.objects.ObjectCreator
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject
@@ -61,6 +61,18 @@ class DestroyMissionService : Service() {
 	private val lairToMission = mutableMapOf<TangibleObject, MissionObject>()
 	private val missionComplete = StringId("mission/mission_generic", "success_w_amount")
 
+	override fun start(): Boolean {
+		PacketRouter.register(this, MissionListRequest::class.java) { player, packet -> handleMissionListRequest(packet, player) }
+		PacketRouter.register(this, MissionAcceptRequest::class.java) { player, packet -> handleMissionAcceptRequest(packet, player) }
+		PacketRouter.register(this, MissionAbort::class.java) { player, packet -> handleMissionAbort(packet, player) }
+		return super.start()
+	}
+
+	override fun stop(): Boolean {
+		PacketRouter.unregister(this)
+		return super.stop()
+	}
+
 	@IntentHandler
 	private fun handleObjectCreated(objectCreatedIntent: ObjectCreatedIntent) {
 		val swgObject = objectCreatedIntent.obj
@@ -70,18 +82,6 @@ class DestroyMissionService : Service() {
 		}
 	}
 
-	@IntentHandler
-	private fun handleInboundPacket(inboundPacketIntent: InboundPacketIntent) {
-		val packet = inboundPacketIntent.packet
-		val player = inboundPacketIntent.player
-
-		when (packet) {
-			is MissionListRequest   -> handleMissionListRequest(packet, player)
-			is MissionAcceptRequest -> handleMissionAcceptRequest(packet, player)
-			is MissionAbort         -> handleMissionAbort(packet, player)
-		}
-	}
-
 	private fun handleMissionAbort(request: MissionAbort, player: Player) {
 		val missionObjectId = request.missionObjectId
 		val creatureObject = player.creatureObject
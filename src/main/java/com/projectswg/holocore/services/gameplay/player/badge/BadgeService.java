@@ -94,7 +94,7 @@ public class BadgeService extends Service {
 		if (badgeFromKey != null) {
 			boolean explorationBadge = badgeFromKey.getCategory() == 2 && !"accumulation".equals(badgeFromKey.getType());
 			Badges badges = target.getBadges();
-			badges.set(badgeFromKey.getIndex(), explorationBadge, true);
+			target.setBadge(badgeFromKey.getIndex(), explorationBadge, true);
 
 			SystemMessageIntent.Companion.broadcastPersonal(target.getOwner(), new ProsePackage(new StringId("badge_n", "prose_grant"), "TO", "@badge_n:" + badgeName));
 			
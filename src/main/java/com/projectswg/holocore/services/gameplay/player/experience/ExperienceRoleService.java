@@ -26,13 +26,13 @@
  ***********************************************************************************/
 package com.projectswg.holocore.services.gameplay.player.experience;
 
-import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.common.network.packets.swg.zone.object_controller.ChangeRoleIconChoice;
 import com.projectswg.holocore.intents.gameplay.player.experience.GrantSkillIntent;
 import com.projectswg.holocore.intents.gameplay.player.experience.GrantSkillIntent.IntentType;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader;
 import com.projectswg.holocore.resources.support.data.server_info.loader.PlayerRoleLoader.RoleInfo;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
+import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import com.projectswg.holocore.resources.support.objects.swg.player.PlayerObject;
 import me.joshlarson.jlcommon.control.IntentHandler;
@@ -47,12 +47,20 @@ public class ExperienceRoleService extends Service {
 		
 	}
 	
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent gpi) {
-		SWGPacket packet = gpi.getPacket();
-		if (packet instanceof ChangeRoleIconChoice iconChoice) {
-			changeRoleIcon(gpi.getPlayer().getCreatureObject(), iconChoice.getIconChoice());
-		}
+	@Override
+	public boolean start() {
+		PacketRouter.register(this, ChangeRoleIconChoice.class, this::handleChangeRoleIconChoice);
+		return super.start();
+	}
+	
+	@Override
+	public boolean stop() {
+		PacketRouter.unregister(this);
+		return super.stop();
+	}
+	
+	private void handleChangeRoleIconChoice(Player player, ChangeRoleIconChoice iconChoice) {
+		changeRoleIcon(player.getCreatureObject(), iconChoice.getIconChoice());
 	}
 	
 	@IntentHandler
@@ -29,9 +29,10 @@ package com.projectswg.holocore.services.gameplay.player.guild
 import com.projectswg.common.data.objects.GameObjectType
 import com.projectswg.common.network.packets.swg.zone.guild.GuildRequestMessage
 import com.projectswg.common.network.packets.swg.zone.guild.GuildResponseMessage
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent
 import com.projectswg.holocore.intents.support.objects.ObjectCreatedIntent
+import com.projectswg.holocore.resources.support.global.network.PacketRouter
+import com.projectswg.holocore.resources.support.global.player.Player
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent
 import com.projectswg.holocore.resources.support.objects.ObjectCreator
 import com.projectswg.holocore.resources.support.objects.awareness.AwarenessType
@@ -58,6 +59,16 @@ class GuildService : Service() {
 		}
 		return super.start()
 	}
+	
+	override fun start(): Boolean {
+		PacketRouter.register(this, GuildRequestMessage::class.java) { player, packet -> handleGuildRequestMessage(player, packet) }
+		return super.start()
+	}
+	
+	override fun stop(): Boolean {
+		PacketRouter.unregister(this)
+		return super.stop()
+	}
 
 	@IntentHandler
 	private fun handleObjectCreated(intent: ObjectCreatedIntent) {
@@ -75,14 +86,9 @@ class GuildService : Service() {
 		}
 	}
 
-	@IntentHandler
-	private fun handleInboundPacketIntent(intent: InboundPacketIntent) {
-		val packet = intent.packet
-		if (packet is GuildRequestMessage) {
-			val objectId = packet.objectId
-			val response = GuildResponseMessage(objectId, "", "")
-			val requester = intent.player
-			requester.sendPacket(response)
-		}
+	private fun handleGuildRequestMessage(requester: Player, packet: GuildRequestMessage) {
+		val objectId = packet.objectId
+		val response = GuildResponseMessage(objectId, "", "")
+		requester.sendPacket(response)
 	}
 }
@@ -26,13 +26,12 @@
  ***********************************************************************************/
 package com.projectswg.holocore.services.gameplay.structures.housing;
 
-import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.common.network.packets.swg.zone.object_controller.DataTransform;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
 import com.projectswg.holocore.intents.support.objects.ObjectCreatedIntent;
 import com.projectswg.holocore.resources.support.data.server_info.loader.ServerData;
 import com.projectswg.holocore.resources.support.data.server_info.loader.StaticCityLoader.City;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
@@ -45,12 +44,20 @@ import java.util.Collection;
 
 public class CityService extends Service {
 
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent gpi) {
-		SWGPacket p = gpi.getPacket();
-		if (p instanceof DataTransform) {
-			performLocationUpdate(gpi.getPlayer().getCreatureObject());
-		}
+	@Override
+	public boolean start() {
+		PacketRouter.register(this, DataTransform.class, this::handleDataTransform);
+		return super.start();
+	}
+
+	@Override
+	public boolean stop() {
+		PacketRouter.unregister(this);
+		return super.stop();
+	}
+
+	private void handleDataTransform(Player player, DataTransform transform) {
+		performLocationUpdate(player.getCreatureObject());
 	}
 
 	@IntentHandler
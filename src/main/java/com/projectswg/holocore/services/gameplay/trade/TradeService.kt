@@ -31,9 +31,9 @@ import com.projectswg.common.data.sui.SuiEvent
 import com.projectswg.common.network.packets.swg.zone.object_controller.SecureTrade
 import com.projectswg.common.network.packets.swg.zone.trade.*
 import com.projectswg.holocore.intents.support.global.chat.SystemMessageIntent
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent
 import com.projectswg.holocore.resources.gameplay.crafting.trade.TradeSession
+import com.projectswg.holocore.resources.support.global.network.PacketRouter
 import com.projectswg.holocore.resources.support.global.player.Player
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent
 import com.projectswg.holocore.resources.support.global.zone.sui.SuiMessageBox
@@ -46,7 +46,20 @@ import me.joshlarson.jlcommon.log.Log
 class TradeService : Service() {
 	private val tradeSessions = mutableListOf<TradeSession>()
 
+	override fun start(): Boolean {
+		PacketRouter.register(this, SecureTrade::class.java) { player, packet -> handleSecureTrade(packet, player) }
+		PacketRouter.register(this, AbortTradeMessage::class.java) { player, _ -> handleAbortTradeMessage(player) }
+		PacketRouter.register(this, DenyTradeMessage::class.java) { player, _ -> handleDenyTradeMessage(player) }
+		PacketRouter.register(this, AcceptTransactionMessage::class.java) { player, _ -> handleAcceptTransactionMessage(player) }
+		PacketRouter.register(this, UnAcceptTransactionMessage::class.java) { player, _ -> handleUnAcceptTransactionMessage(player) }
+		PacketRouter.register(this, AddItemMessage::class.java) { player, packet -> handleAddItemMessage(packet, player) }
+		PacketRouter.register(this, GiveMoneyMessage::class.java) { player, packet -> handleGiveMoneyMessage(packet, player) }
+		PacketRouter.register(this, VerifyTradeMessage::class.java) { player, _ -> handleVerifyTradeMessage(player) }
+		return super.start()
+	}
+
 	override fun stop(): Boolean {
+		PacketRouter.unregister(this)
 		for (tradeSession in tradeSessions) {
 			tradeSession.abortTrade()
 		}
@@ -63,20 +76,6 @@ class TradeService : Service() {
 		}
 	}
 
-	@IntentHandler
-	private fun handleInboundPacketIntent(gpi: InboundPacketIntent) {
-		when (val packet = gpi.packet) {
-			is SecureTrade                -> handleSecureTrade(packet, gpi.player)
-			is AbortTradeMessage          -> handleAbortTradeMessage(gpi.player)
-			is DenyTradeMessage           -> handleDenyTradeMessage(gpi.player)
-			is AcceptTransactionMessage   -> handleAcceptTransactionMessage(gpi.player)
-			is UnAcceptTransactionMessage -> handleUnAcceptTransactionMessage(gpi.player)
-			is AddItemMessage             -> handleAddItemMessage(packet, gpi.player)
-			is GiveMoneyMessage           -> handleGiveMoneyMessage(packet, gpi.player)
-			is VerifyTradeMessage         -> handleVerifyTradeMessage(gpi.player)
-		}
-	}
-
 	private fun handleSecureTrade(packet: SecureTrade, player: Player) {
 		val initiator = player.creatureObject
 		val accepterObject = ObjectLookup.getObjectById(packet.accepterId)
@@ -28,14 +28,13 @@ package com.projectswg.holocore.services.gameplay.world.map;
 
 import com.projectswg.common.data.encodables.map.MapLocation;
 import com.projectswg.common.data.location.Location;
-import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.common.network.packets.swg.zone.spatial.GetMapLocationsMessage;
 import com.projectswg.common.network.packets.swg.zone.spatial.GetMapLocationsResponseMessage;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.objects.ObjectCreatedIntent;
 import com.projectswg.holocore.resources.gameplay.world.map.MappingTemplate;
 import com.projectswg.holocore.resources.support.data.server_info.loader.*;
 import com.projectswg.holocore.resources.support.data.server_info.loader.PlanetMapCategoryLoader.PlanetMapCategoryInfo;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import me.joshlarson.jlcommon.control.IntentHandler;
@@ -73,11 +72,16 @@ public class MapService extends Service {
 		return true;
 	}
 
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent gpi) {
-		SWGPacket packet = gpi.getPacket();
-		if (packet instanceof GetMapLocationsMessage)
-			handleMapLocationsRequest(gpi.getPlayer(), (GetMapLocationsMessage) packet);
+	@Override
+	public boolean start() {
+		PacketRouter.register(this, GetMapLocationsMessage.class, this::handleMapLocationsRequest);
+		return super.start();
+	}
+	
+	@Override
+	public boolean stop() {
+		PacketRouter.unregister(this);
+		return super.stop();
 	}
 	
 	@IntentHandler
@@ -39,12 +39,12 @@ import com.projectswg.holocore.intents.gameplay.world.TicketPurchaseIntent
 import com.projectswg.holocore.intents.gameplay.world.TicketUseIntent
 import com.projectswg.holocore.intents.gameplay.world.TravelPointSelectionIntent
 import com.projectswg.holocore.intents.support.global.chat.SystemMessageIntent
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent
 import com.projectswg.holocore.intents.support.objects.ObjectCreatedIntent
 import com.projectswg.holocore.resources.gameplay.world.travel.TravelGroup.ShuttleStatus
 import com.projectswg.holocore.resources.gameplay.world.travel.TravelHelper
 import com.projectswg.holocore.resources.gameplay.world.travel.TravelPoint
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase.config
+import com.projectswg.holocore.resources.support.global.network.PacketRouter
 import com.projectswg.holocore.resources.support.global.player.Player
 import com.projectswg.holocore.resources.support.global.zone.sui.SuiButtons
 import com.projectswg.holocore.resources.support.global.zone.sui.SuiListBox
@@ -63,11 +63,13 @@ class TravelService : Service() {
 	private val travel = TravelHelper()
 
 	override fun start(): Boolean {
+		PacketRouter.register(this, PlanetTravelPointListRequest::class.java) { player, packet -> handlePlanetTravelPointListRequest(player, packet) }
 		travel.start()
 		return super.start()
 	}
 
 	override fun stop(): Boolean {
+		PacketRouter.unregister(this)
 		travel.stop()
 		return super.stop()
 	}
@@ -79,34 +81,28 @@ class TravelService : Service() {
 		traveler.sendSelf(EnterTicketPurchaseModeMessage(traveler.terrain.getName(), travel.getNearestTravelPoint(traveler)!!.name))
 	}
 
-	@IntentHandler
-	private fun handleInboundPacketIntent(ipi: InboundPacketIntent) {
-		val p = ipi.packet
-
-		if (p is PlanetTravelPointListRequest) {
-			val planetName = p.planetName
-			val player = ipi.player
-			val to = Terrain.getTerrainFromName(planetName)
-			if (to == null) {
-				Log.e("Unknown terrain in PlanetTravelPointListRequest: %s", planetName)
-				return
-			}
-			val pointsForPlanet = travel.getAvailableTravelPoints(player.creatureObject, to)
-			pointsForPlanet.sort()
-
-			val nearest = travel.getNearestTravelPoint(player.creatureObject)
-			if (nearest != null && pointsForPlanet.remove(nearest))
-				pointsForPlanet.add(0, nearest) // Yes ... adding it to the beginning of the list because I hate the client
-
-			val additionalCosts = getAdditionalCosts(nearest, pointsForPlanet)
-			val pointList: MutableList<PlanetTravelPoint> = ArrayList()
-			for (i in pointsForPlanet.indices) {
-				val tp = pointsForPlanet[i]
-				val cost = additionalCosts[i]
-				pointList.add(PlanetTravelPoint(tp.name, tp.location.position, cost, tp.isReachable))
-			}
-			player.sendPacket(PlanetTravelPointListResponse(planetName, pointList))
+	private fun handlePlanetTravelPointListRequest(player: Player, p: PlanetTravelPointListRequest) {
+		val planetName = p.planetName
+		val to = Terrain.getTerrainFromName(planetName)
+		if (to == null) {
+			Log.e("Unknown terrain in PlanetTravelPointListRequest: %s", planetName)
+			return
+		}
+		val pointsForPlanet = travel.getAvailableTravelPoints(player.creatureObject, to)
+		pointsForPlanet.sort()
+
+		val nearest = travel.getNearestTravelPoint(player.creatureObject)
+		if (nearest != null && pointsForPlanet.remove(nearest))
+			pointsForPlanet.add(0, nearest) // Yes ... adding it to the beginning of the list because I hate the client
+
+		val additionalCosts = getAdditionalCosts(nearest, pointsForPlanet)
+		val pointList: MutableList<PlanetTravelPoint> = ArrayList()
+		for (i in pointsForPlanet.indices) {
+			val tp = pointsForPlanet[i]
+			val cost = additionalCosts[i]
+			pointList.add(PlanetTravelPoint(tp.name, tp.location.position, cost, tp.isReachable))
 		}
+		player.sendPacket(PlanetTravelPointListResponse(planetName, pointList))
 	}
 
 	@IntentHandler
@@ -26,33 +26,154 @@
  ***********************************************************************************/
 package com.projectswg.holocore.services.support.data
 
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent
-import com.projectswg.holocore.intents.support.global.network.OutboundPacketIntent
+import com.projectswg.common.network.packets.SWGPacket
+import com.projectswg.holocore.intents.support.global.network.ConnectionClosedIntent
 import com.projectswg.holocore.resources.support.data.server_info.BasicLogStream
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase.config
+import com.projectswg.holocore.resources.support.global.network.PacketCaptureBuffer
+import com.projectswg.holocore.resources.support.global.network.PacketTap
+import com.projectswg.holocore.resources.support.global.network.PacketTap.PacketTapListener
+import me.joshlarson.jlcommon.concurrency.ScheduledThreadPool
 import me.joshlarson.jlcommon.control.IntentHandler
 import me.joshlarson.jlcommon.control.Service
+import me.joshlarson.jlcommon.log.Log
+import java.io.BufferedOutputStream
 import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
 
+/**
+ * Records every packet of every session while packetLogging is enabled. Each packet is appended as text to
+ * log/packets.txt, and its encoded form is kept in an in-memory capture buffer for its session, which is written to
+ * log/packets when the session closes. Capture buffers are preallocated rings that share a fixed memory budget - once
+ * the budget is used up, additional sessions are only logged as text. Packets are only queued on the network threads;
+ * encoding, logging and buffering happen on a background thread.
+ */
 class PacketRecordingService : Service() {
-	private val packetLogger: BasicLogStream = BasicLogStream(File("log/packets.txt"))
-
-	@IntentHandler
-	private fun handleInboundPacketIntent(ipi: InboundPacketIntent) {
-		if (!packetDebug) return
-		printPacketStream(true, ipi.player.networkId, ipi.packet.toString())
+	
+	private val executor = ScheduledThreadPool(1, "packet-recording-service")
+	private val pending = ArrayBlockingQueue<CapturedPacket>(PENDING_CAPACITY)
+	private val sessions = ConcurrentHashMap<Long, PacketCaptureBuffer>()
+	private val droppedPackets = LongAdder()
+	private var unbufferedPackets = 0L
+	private var packetLogger: BasicLogStream? = null
+	private val tap = PacketTapListener { player, inbound, packet ->
+		if (!pending.offer(CapturedPacket(player.networkId, System.currentTimeMillis(), inbound, packet)))
+			droppedPackets.increment()
 	}
-
+	
+	override fun initialize(): Boolean {
+		executor.start()
+		executor.executeWithFixedDelay(DRAIN_INTERVAL, DRAIN_INTERVAL) { drainPending() }
+		config.addChangeListener { updateTap() }
+		return super.initialize()
+	}
+	
+	override fun start(): Boolean {
+		updateTap()
+		return super.start()
+	}
+	
+	override fun stop(): Boolean {
+		PacketTap.uninstall(tap)
+		return super.stop()
+	}
+	
+	override fun terminate(): Boolean {
+		executor.stop()
+		val terminated = executor.awaitTermination(1000)
+		drainPending()
+		for (networkId in sessions.keys)
+			writeSession(networkId)
+		packetLogger?.close()
+		return terminated && super.terminate()
+	}
+	
 	@IntentHandler
-	private fun handleOutboundPacketIntent(opi: OutboundPacketIntent) {
-		if (!packetDebug) return
-		printPacketStream(false, opi.player.networkId, opi.packet.toString())
+	private fun handleConnectionClosedIntent(cci: ConnectionClosedIntent) {
+		val networkId = cci.player.networkId
+		executor.execute(0) {
+			drainPending()
+			writeSession(networkId)
+		}
 	}
-
-	private fun printPacketStream(`in`: Boolean, networkId: Long, str: String) {
-		packetLogger.log("%s %d:\t%s", if (`in`) "IN " else "OUT", networkId, str)
+	
+	private fun updateTap() {
+		if (config.getBoolean(this, "packetLogging", false))
+			PacketTap.install(tap)
+		else
+			PacketTap.uninstall(tap)
 	}
-
-	private val packetDebug: Boolean
-		get() = config.getBoolean(this, "packetLogging", false)
+	
+	private fun drainPending() {
+		while (true) {
+			val captured = pending.poll() ?: break
+			logPacket(captured)
+			val payload = try {
+				captured.packet.encode().buffer.array()
+			} catch (t: Throwable) {
+				Log.w("Failed to encode %s for packet capture: %s", captured.packet.javaClass.simpleName, t.message)
+				continue
+			}
+			val buffer = getSessionBuffer(captured.networkId)
+			if (buffer == null)
+				unbufferedPackets++
+			else
+				buffer.add(captured.time, captured.inbound, payload)
+		}
+		val dropped = droppedPackets.sumThenReset()
+		if (dropped > 0)
+			Log.w("Packet capture queue was full, dropped %d packets", dropped)
+		if (unbufferedPackets > 0) {
+			Log.w("Packet capture budget of %d sessions is used up, %d packets were only logged as text", TOTAL_CAPACITY / SESSION_CAPACITY, unbufferedPackets)
+			unbufferedPackets = 0
+		}
+	}
+	
+	private fun logPacket(captured: CapturedPacket) {
+		val logger = packetLogger ?: BasicLogStream(File("log/packets.txt")).also { packetLogger = it }
+		logger.log("%s %d:\t%s", if (captured.inbound) "IN " else "OUT", captured.networkId, captured.packet)
+	}
+	
+	/**
+	 * Returns the capture buffer of the session, allocating one if the memory budget allows it
+	 */
+	private fun getSessionBuffer(networkId: Long): PacketCaptureBuffer? {
+		val buffer = sessions[networkId]
+		if (buffer != null || sessions.size >= TOTAL_CAPACITY / SESSION_CAPACITY)
+			return buffer
+		return PacketCaptureBuffer(SESSION_CAPACITY).also { sessions[networkId] = it }
+	}
+	
+	private fun writeSession(networkId: Long) {
+		val buffer = sessions.remove(networkId) ?: return
+		val directory = File("log/packets")
+		if (!directory.isDirectory && !directory.mkdirs()) {
+			Log.e("Failed to create packet capture directory %s", directory)
+			return
+		}
+		val file = File(directory, "session-$networkId-${System.currentTimeMillis()}.pswgcap")
+		try {
+			BufferedOutputStream(FileOutputStream(file)).use { buffer.writeTo(it) }
+			Log.d("Wrote %d packets to %s (%d discarded)", buffer.getRecordCount(), file, buffer.getDiscardedCount())
+		} catch (e: IOException) {
+			Log.e("Failed to write packet capture %s", file)
+			Log.e(e)
+		}
+	}
+	
+	private class CapturedPacket(val networkId: Long, val time: Long, val inbound: Boolean, val packet: SWGPacket)
+	
+	companion object {
+		
+		private const val PENDING_CAPACITY = 65536
+		private const val SESSION_CAPACITY = 4 * 1024 * 1024
+		private const val TOTAL_CAPACITY = 256 * 1024 * 1024
+		private const val DRAIN_INTERVAL = 50L
+		
+	}
+	
 }
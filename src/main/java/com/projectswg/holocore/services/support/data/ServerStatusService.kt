@@ -32,8 +32,8 @@ import com.projectswg.holocore.ProjectSWG
 import com.projectswg.holocore.intents.support.data.control.ServerStatusIntent
 import com.projectswg.holocore.intents.support.data.control.ShutdownServerIntent
 import com.projectswg.holocore.intents.support.global.chat.SystemMessageIntent
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent
 import com.projectswg.holocore.resources.support.data.control.ServerStatus
+import com.projectswg.holocore.resources.support.global.network.PacketRouter
 import me.joshlarson.jlcommon.concurrency.ScheduledThreadPool
 import me.joshlarson.jlcommon.control.IntentHandler
 import me.joshlarson.jlcommon.control.Service
@@ -53,6 +53,16 @@ class ServerStatusService : Service() {
 		return true
 	}
 
+	override fun start(): Boolean {
+		PacketRouter.register(this, AdminShutdownServer::class.java) { _, packet -> initiateShutdownSequence(packet.shutdownTime.toLong(), TimeUnit.SECONDS) }
+		return super.start()
+	}
+
+	override fun stop(): Boolean {
+		PacketRouter.unregister(this)
+		return super.stop()
+	}
+
 	override fun isOperational(): Boolean {
 		return operational.get()
 	}
@@ -79,12 +89,6 @@ class ServerStatusService : Service() {
 		initiateShutdownSequence(ssi.time, ssi.timeUnit)
 	}
 
-	@IntentHandler
-	private fun handleInboundPacketIntent(ipi: InboundPacketIntent) {
-		if (ipi.packet is AdminShutdownServer)
-			initiateShutdownSequence(ipi.packet.shutdownTime.toLong(), TimeUnit.SECONDS)
-	}
-
 	private fun initiateShutdownSequence(time: Long, unit: TimeUnit) {
 		Log.i("Beginning server shutdown sequence...")
 		ServerStatusIntent(ServerStatus.SHUTDOWN_REQUESTED, time, unit).broadcast()
@@ -31,9 +31,10 @@ import com.projectswg.holocore.services.support.global.chat.ChatManager
 import com.projectswg.holocore.services.support.global.commands.CommandManager
 import com.projectswg.holocore.services.support.global.health.ServerHealthService
 import com.projectswg.holocore.services.support.global.network.NetworkClientService
+import com.projectswg.holocore.services.support.global.network.PacketRouterService
 import com.projectswg.holocore.services.support.global.zone.ZoneManager
 import me.joshlarson.jlcommon.control.Manager
 import me.joshlarson.jlcommon.control.ManagerStructure
 
-@ManagerStructure(children = [AdministrationManager::class, ChatManager::class, CommandManager::class, ServerHealthService::class, NetworkClientService::class, ZoneManager::class])
+@ManagerStructure(children = [AdministrationManager::class, ChatManager::class, CommandManager::class, ServerHealthService::class, NetworkClientService::class, PacketRouterService::class, ZoneManager::class])
 class GlobalManager : Manager()
@@ -27,15 +27,13 @@
 package com.projectswg.holocore.services.support.global.chat;
 
 import com.projectswg.common.data.encodables.chat.ChatResult;
-import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.common.network.packets.swg.zone.chat.ChatInstantMessageToCharacter;
 import com.projectswg.common.network.packets.swg.zone.chat.ChatInstantMessageToClient;
 import com.projectswg.common.network.packets.swg.zone.chat.ChatOnSendInstantMessage;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.PlayerState;
 import com.projectswg.holocore.services.support.global.zone.CharacterLookupService.PlayerLookup;
-import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
 
 import java.util.Locale;
@@ -46,11 +44,16 @@ public class ChatInstantMessageService extends Service {
 		
 	}
 	
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent gpi) {
-		SWGPacket packet = gpi.getPacket();
-		if (packet instanceof ChatInstantMessageToCharacter)
-			handleInstantMessage(gpi.getPlayer(), (ChatInstantMessageToCharacter) packet);
+	@Override
+	public boolean start() {
+		PacketRouter.register(this, ChatInstantMessageToCharacter.class, this::handleInstantMessage);
+		return super.start();
+	}
+	
+	@Override
+	public boolean stop() {
+		PacketRouter.unregister(this);
+		return super.stop();
 	}
 	
 	private void handleInstantMessage(Player sender, ChatInstantMessageToCharacter request) {
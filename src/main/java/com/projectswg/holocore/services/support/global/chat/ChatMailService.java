@@ -28,13 +28,12 @@ package com.projectswg.holocore.services.support.global.chat;
 
 import com.projectswg.common.data.encodables.chat.ChatResult;
 import com.projectswg.common.data.encodables.player.Mail;
-import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.common.network.packets.swg.zone.chat.*;
 import com.projectswg.holocore.ProjectSWG;
 import com.projectswg.holocore.intents.support.global.chat.PersistentMessageIntent;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
 import com.projectswg.holocore.intents.support.objects.ObjectCreatedIntent;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
@@ -56,6 +55,20 @@ public class ChatMailService extends Service {
 		this.maxMailId = new AtomicInteger(0);
 	}
 	
+	@Override
+	public boolean start() {
+		PacketRouter.register(this, ChatPersistentMessageToServer.class, this::handleSendPersistentMessage);
+		PacketRouter.register(this, ChatRequestPersistentMessage.class, this::handlePersistentMessageRequest);
+		PacketRouter.register(this, ChatDeletePersistentMessage.class, (player, request) -> deletePersistentMessage(player, request.getMailId()));
+		return super.start();
+	}
+	
+	@Override
+	public boolean stop() {
+		PacketRouter.unregister(this);
+		return super.stop();
+	}
+	
 	@IntentHandler
 	private void handleObjectCreatedIntent(ObjectCreatedIntent oci) {
 		SWGObject obj = oci.getObj();
@@ -73,28 +86,6 @@ public class ChatMailService extends Service {
 		}
 	}
 	
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent gpi) {
-		SWGPacket p = gpi.getPacket();
-		switch (p.getPacketType()) {
-			/* Mails */
-			case CHAT_PERSISTENT_MESSAGE_TO_SERVER:
-				if (p instanceof ChatPersistentMessageToServer)
-					handleSendPersistentMessage(gpi.getPlayer(), (ChatPersistentMessageToServer) p);
-				break;
-			case CHAT_REQUEST_PERSISTENT_MESSAGE:
-				if (p instanceof ChatRequestPersistentMessage)
-					handlePersistentMessageRequest(gpi.getPlayer(), (ChatRequestPersistentMessage) p);
-				break;
-			case CHAT_DELETE_PERSISTENT_MESSAGE:
-				if (p instanceof ChatDeletePersistentMessage)
-					deletePersistentMessage(gpi.getPlayer(), ((ChatDeletePersistentMessage) p).getMailId());
-				break;
-			default:
-				break;
-		}
-	}
-	
 	private void handleSendPersistentMessage(Player sender, ChatPersistentMessageToServer request) {
 		String recipientStr = request.getRecipient().toLowerCase(Locale.ENGLISH);
 		
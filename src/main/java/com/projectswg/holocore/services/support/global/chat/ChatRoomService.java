@@ -37,10 +37,10 @@ import com.projectswg.common.network.packets.swg.zone.insertion.ChatRoomList;
 import com.projectswg.holocore.intents.support.global.chat.ChatRoomMessageIntent;
 import com.projectswg.holocore.intents.support.global.chat.ChatRoomUpdateIntent;
 import com.projectswg.holocore.intents.support.global.chat.SystemChatRoomMessageIntent;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
 import com.projectswg.holocore.intents.support.global.zone.DeleteCharacterIntent;
 import com.projectswg.holocore.resources.support.global.chat.ChatRoomHandler;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
 import com.projectswg.holocore.resources.support.global.player.AccessLevel;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
@@ -67,6 +67,20 @@ public class ChatRoomService extends Service {
 
 	@Override
 	public boolean start() {
+		PacketRouter.register(this, ChatQueryRoom.class, this::handleChatQueryRoom);
+		PacketRouter.register(this, ChatEnterRoomById.class, (player, request) -> chatRoomHandler.enterChatChannel(player, request.getRoomId(), request.getSequence()));
+		PacketRouter.register(this, ChatRemoveAvatarFromRoom.class, (player, request) -> chatRoomHandler.leaveChatChannel(player, request.getPath()));
+		PacketRouter.register(this, ChatSendToRoom.class, this::handleChatSendToRoom);
+		PacketRouter.register(this, ChatRequestRoomList.class, (player, request) -> handleChatRoomListRequest(player));
+		PacketRouter.register(this, ChatCreateRoom.class, this::handleChatCreateRoom);
+		PacketRouter.register(this, ChatDestroyRoom.class, this::handleChatDestroyRoom);
+		PacketRouter.register(this, ChatInviteAvatarToRoom.class, this::handleChatInviteToRoom);
+		PacketRouter.register(this, ChatUninviteFromRoom.class, this::handleChatUninviteFromRoom);
+		PacketRouter.register(this, ChatKickAvatarFromRoom.class, this::handleChatKickAvatarFromRoom);
+		PacketRouter.register(this, ChatBanAvatarFromRoom.class, this::handleChatBanAvatarFromRoom);
+		PacketRouter.register(this, ChatUnbanAvatarFromRoom.class, this::handleChatUnbanAvatarFromRoom);
+		PacketRouter.register(this, ChatAddModeratorToRoom.class, this::handleChatAddModeratorToRoom);
+		PacketRouter.register(this, ChatRemoveModeratorFromRoom.class, this::handleChatRemoveModeratorFromRoom);
 		Log.addWrapper(new ChatRoomLogWrapper());
 
 		return super.start();
@@ -77,56 +91,10 @@ public class ChatRoomService extends Service {
 		return chatRoomHandler.terminate() && super.terminate();
 	}
 	
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent gpi) {
-		SWGPacket packet = gpi.getPacket();
-		Player player = gpi.getPlayer();
-		switch (packet.getPacketType()) {
-			case CHAT_QUERY_ROOM:
-				handleChatQueryRoom(player, (ChatQueryRoom) packet);
-				break;
-			case CHAT_ENTER_ROOM_BY_ID:
-				chatRoomHandler.enterChatChannel(player, ((ChatEnterRoomById) packet).getRoomId(), ((ChatEnterRoomById) packet).getSequence());
-				break;
-			case CHAT_REMOVE_AVATAR_FROM_ROOM:
-				chatRoomHandler.leaveChatChannel(player, ((ChatRemoveAvatarFromRoom) packet).getPath());
-				break;
-			case CHAT_SEND_TO_ROOM:
-				handleChatSendToRoom(player, (ChatSendToRoom) packet);
-				break;
-			case CHAT_REQUEST_ROOM_LIST:
-				handleChatRoomListRequest(player);
-				break;
-			case CHAT_CREATE_ROOM:
-				handleChatCreateRoom(player, (ChatCreateRoom) packet);
-				break;
-			case CHAT_DESTROY_ROOM:
-				handleChatDestroyRoom(player, (ChatDestroyRoom) packet);
-				break;
-			case CHAT_INVITE_AVATAR_TO_ROOM:
-				handleChatInviteToRoom(player, (ChatInviteAvatarToRoom) packet);
-				break;
-			case CHAT_UNINVITE_FROM_ROOM:
-				handleChatUninviteFromRoom(player, (ChatUninviteFromRoom) packet);
-				break;
-			case CHAT_KICK_AVATAR_FROM_ROOM:
-				handleChatKickAvatarFromRoom(player, (ChatKickAvatarFromRoom) packet);
-				break;
-			case CHAT_BAN_AVATAR_FROM_ROOM:
-				handleChatBanAvatarFromRoom(player, (ChatBanAvatarFromRoom) packet);
-				break;
-			case CHAT_UNBAN_AVATAR_FROM_ROOM:
-				handleChatUnbanAvatarFromRoom(player, (ChatUnbanAvatarFromRoom) packet);
-				break;
-			case CHAT_ADD_MODERATOR_TO_ROOM:
-				handleChatAddModeratorToRoom(player, (ChatAddModeratorToRoom) packet);
-				break;
-			case CHAT_REMOVE_MODERATOR_FROM_ROOM:
-				handleChatRemoveModeratorFromRoom(player, (ChatRemoveModeratorFromRoom) packet);
-				break;
-			default:
-				break;
-		}
+	@Override
+	public boolean stop() {
+		PacketRouter.unregister(this);
+		return super.stop();
 	}
 	
 	@IntentHandler
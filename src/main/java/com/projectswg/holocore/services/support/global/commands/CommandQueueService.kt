@@ -35,7 +35,6 @@ import com.projectswg.common.network.packets.swg.zone.object_controller.*
 import com.projectswg.holocore.intents.gameplay.combat.ExitCombatIntent
 import com.projectswg.holocore.intents.support.global.command.ExecuteCommandIntent
 import com.projectswg.holocore.intents.support.global.command.QueueCommandIntent
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent
 import com.projectswg.holocore.resources.gameplay.combat.CombatStatus
 import com.projectswg.holocore.resources.support.color.SWGColor.Whites.white
@@ -46,7 +45,9 @@ import com.projectswg.holocore.resources.support.global.commands.CombatCommand
 import com.projectswg.holocore.resources.support.global.commands.Command
 import com.projectswg.holocore.resources.support.global.commands.Locomotion
 import com.projectswg.holocore.resources.support.global.commands.State
+import com.projectswg.holocore.resources.support.global.network.PacketRouter
 import com.projectswg.holocore.resources.support.global.player.AccessLevel
+import com.projectswg.holocore.resources.support.global.player.Player
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject
@@ -81,28 +82,29 @@ class CommandQueueService @JvmOverloads constructor(private val delayBetweenChec
 	}
 
 	override fun start(): Boolean {
+		PacketRouter.register(this, CommandQueueEnqueue::class.java) { player, packet -> handleCommandQueueEnqueue(player, packet) }
+		PacketRouter.register(this, IntendedTarget::class.java) { player, packet -> handleIntendedTarget(player, packet) }
 		return super.start() && combatCommandHandler.start()
 	}
 
 	override fun stop(): Boolean {
+		PacketRouter.unregister(this)
 		return super.stop() && combatCommandHandler.stop()
 	}
 
-	@IntentHandler
-	private fun handleInboundPacketIntent(gpi: InboundPacketIntent) {
-		val p = gpi.packet
-		if (p is CommandQueueEnqueue) {
-			val command = commands().getCommand(p.commandCrc)
-			if (command == null) {
-				if (p.commandCrc != 0) Log.e("Invalid command crc: %x [%s]", p.commandCrc, CRC.getString(p.commandCrc))
-				return
-			}
-			val targetId: Long = p.targetId
-			val target = if (targetId != 0L) ObjectLookup.getObjectById(targetId) else null
-			QueueCommandIntent(gpi.player.creatureObject, target, p.arguments, command, p.counter).broadcast()
-		} else if (p is IntendedTarget) {
-			if (p.targetId == 0L) combatQueueMap.remove(gpi.player.creatureObject)
+	private fun handleCommandQueueEnqueue(player: Player, p: CommandQueueEnqueue) {
+		val command = commands().getCommand(p.commandCrc)
+		if (command == null) {
+			if (p.commandCrc != 0) Log.e("Invalid command crc: %x [%s]", p.commandCrc, CRC.getString(p.commandCrc))
+			return
 		}
+		val targetId: Long = p.targetId
+		val target = if (targetId != 0L) ObjectLookup.getObjectById(targetId) else null
+		QueueCommandIntent(player.creatureObject, target, p.arguments, command, p.counter).broadcast()
+	}
+
+	private fun handleIntendedTarget(player: Player, p: IntendedTarget) {
+		if (p.targetId == 0L) combatQueueMap.remove(player.creatureObject)
 	}
 
 	@IntentHandler
@@ -32,6 +32,8 @@ import com.projectswg.holocore.ProjectSWG
 import com.projectswg.holocore.ProjectSWG.CoreException
 import com.projectswg.holocore.intents.support.global.network.CloseConnectionIntent
 import com.projectswg.holocore.intents.support.global.network.ConnectionClosedIntent
+import com.projectswg.holocore.resources.support.data.metrics.PrometheusWriter
+import com.projectswg.holocore.resources.support.data.metrics.ServerMetrics
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase
 import com.projectswg.holocore.resources.support.global.network.NetworkClient
 import com.projectswg.holocore.resources.support.global.network.TCPServer
@@ -75,6 +77,7 @@ class NetworkClientService : Service() {
 			clients[client.id] = client
 			client
 		}
+		ServerMetrics.register(this) { collectMetrics(it) }
 		return true
 	}
 	
@@ -83,6 +86,7 @@ class NetworkClientService : Service() {
 	}
 	
 	override fun stop(): Boolean {
+		ServerMetrics.unregister(this)
 		try {
 			tcpServer.close()
 		} catch (e: IOException) {
@@ -108,6 +112,21 @@ class NetworkClientService : Service() {
 		client.close(ConnectionStoppedReason.APPLICATION)
 	}
 	
+	private fun collectMetrics(writer: PrometheusWriter) {
+		val connections = tcpServer.getConnectionStatistics()
+		writer.family("holocore_network_connections", "gauge", "Open client connections")
+		writer.sample("holocore_network_connections", connections.size.toLong())
+		writer.family("holocore_client_outbound_bytes_total", "counter", "Bytes written to each client")
+		for (connection in connections)
+			writer.sample("holocore_client_outbound_bytes_total", connection.sentBytes, "client", connection.session.id.toString())
+		writer.family("holocore_client_outbound_queued_bytes", "gauge", "Bytes queued for each client that have not been written yet")
+		for (connection in connections)
+			writer.sample("holocore_client_outbound_queued_bytes", connection.queuedBytes, "client", connection.session.id.toString())
+		writer.family("holocore_client_outbound_queue_length", "gauge", "Frames queued for each client that have not been written yet")
+		for (connection in connections)
+			writer.sample("holocore_client_outbound_queue_length", connection.queuedBuffers.toLong(), "client", connection.session.id.toString())
+	}
+	
 	private fun onUdpPacket(packet: UDPPacket) {
 		if (packet.length <= 0)
 			return
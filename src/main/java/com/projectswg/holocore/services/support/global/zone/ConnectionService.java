@@ -26,15 +26,16 @@
  ***********************************************************************************/
 package com.projectswg.holocore.services.support.global.zone;
 
+import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.common.network.packets.swg.zone.HeartBeat;
 import com.projectswg.common.utilities.ThreadUtilities;
 import com.projectswg.holocore.ProjectSWG;
 import com.projectswg.holocore.intents.support.global.network.CloseConnectionIntent;
 import com.projectswg.holocore.intents.support.global.network.ForceLogoutIntent;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
 import com.projectswg.holocore.resources.support.data.server_info.StandardLog;
 import com.projectswg.holocore.resources.support.global.network.DisconnectReason;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
 import com.projectswg.holocore.resources.support.global.player.PlayerFlags;
@@ -107,12 +108,25 @@ public class ConnectionService extends Service {
 		}
 	}
 	
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent gpi) {
-		Player p = gpi.getPlayer();
-		p.updateLastPacketTimestamp();
-		if (gpi.getPacket() instanceof HeartBeat)
-			p.sendPacket(gpi.getPacket());
+	@Override
+	public boolean start() {
+		PacketRouter.register(this, SWGPacket.class, this::handlePacket);
+		PacketRouter.register(this, HeartBeat.class, this::handleHeartBeat);
+		return super.start();
+	}
+	
+	@Override
+	public boolean stop() {
+		PacketRouter.unregister(this);
+		return super.stop();
+	}
+	
+	private void handlePacket(Player player, SWGPacket packet) {
+		player.updateLastPacketTimestamp();
+	}
+	
+	private void handleHeartBeat(Player player, HeartBeat heartBeat) {
+		player.sendPacket(heartBeat);
 	}
 	
 	@IntentHandler
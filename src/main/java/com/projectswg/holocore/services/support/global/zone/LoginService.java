@@ -27,7 +27,6 @@
 package com.projectswg.holocore.services.support.global.zone;
 
 import com.projectswg.common.data.encodables.galaxy.Galaxy;
-import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.common.network.packets.swg.ErrorMessage;
 import com.projectswg.common.network.packets.swg.holo.login.HoloLoginRequestPacket;
 import com.projectswg.common.network.packets.swg.holo.login.HoloLoginResponsePacket;
@@ -43,7 +42,6 @@ import com.projectswg.holocore.intents.support.global.login.LoginEventIntent;
 import com.projectswg.holocore.intents.support.global.login.LoginEventIntent.LoginEvent;
 import com.projectswg.holocore.intents.support.global.login.RequestLoginIntent;
 import com.projectswg.holocore.intents.support.global.network.CloseConnectionIntent;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.global.zone.DeleteCharacterIntent;
 import com.projectswg.holocore.intents.support.objects.DestroyObjectIntent;
 import com.projectswg.holocore.intents.support.objects.ObjectCreatedIntent;
@@ -52,6 +50,7 @@ import com.projectswg.holocore.resources.support.data.server_info.database.PswgU
 import com.projectswg.holocore.resources.support.data.server_info.database.UserMetadata;
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
 import com.projectswg.holocore.resources.support.global.network.DisconnectReason;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.Player.PlayerServer;
 import com.projectswg.holocore.resources.support.global.player.PlayerState;
@@ -85,6 +84,21 @@ public class LoginService extends Service {
 		this.players = Collections.synchronizedMap(new HashMap<>());
 	}
 	
+	@Override
+	public boolean start() {
+		PacketRouter.register(this, HoloLoginRequestPacket.class, this::handleLogin);
+		PacketRouter.register(this, LoginClientId.class, this::handleLoginClientId);
+		PacketRouter.register(this, DeleteCharacterRequest.class, this::handleCharDeletion);
+		PacketRouter.register(this, LagRequest.class, this::handleLagRequest);
+		return super.start();
+	}
+	
+	@Override
+	public boolean stop() {
+		PacketRouter.unregister(this);
+		return super.stop();
+	}
+	
 	@IntentHandler
 	private void handleObjectCreatedIntent(ObjectCreatedIntent oci) {
 		SWGObject obj = oci.getObj();
@@ -107,23 +121,6 @@ public class LoginService extends Service {
 		}
 	}
 	
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent gpi) {
-		SWGPacket p = gpi.getPacket();
-		switch (p) {
-			case HoloLoginRequestPacket holoLoginRequestPacket -> handleLogin(gpi.getPlayer(), holoLoginRequestPacket);
-			case LoginClientId id -> handleLogin(gpi.getPlayer(), id.getUsername(), id.getPassword(), id.getVersion(), id.getSocketAddress());
-			case DeleteCharacterRequest deleteCharacterRequest -> handleCharDeletion(gpi.getPlayer(), deleteCharacterRequest);
-			case LagRequest ignored -> {
-				Player player = gpi.getPlayer();
-				if (player.getPlayerServer() == PlayerServer.LOGIN)
-					handleLagRequest(player);
-			}
-			default -> {
-			}
-		}
-	}
-	
 	@IntentHandler
 	private void handleRequestLoginIntent(RequestLoginIntent rli) {
 		handleLogin(rli.getPlayer(), rli.getUsername(), rli.getPassword(), rli.getClientVersion(), rli.getSocketAddress());
@@ -166,7 +163,13 @@ public class LoginService extends Service {
 		}
 	}
 	
-	private void handleLagRequest(Player player) {
+	private void handleLoginClientId(Player player, LoginClientId id) {
+		handleLogin(player, id.getUsername(), id.getPassword(), id.getVersion(), id.getSocketAddress());
+	}
+	
+	private void handleLagRequest(Player player, LagRequest request) {
+		if (player.getPlayerServer() != PlayerServer.LOGIN)
+			return;
 		player.sendPacket(new GameServerLagResponse());
 	}
 	
@@ -9,10 +9,10 @@ import com.projectswg.common.network.packets.swg.login.ConnectionServerLagRespon
 import com.projectswg.common.network.packets.swg.zone.*;
 import com.projectswg.common.network.packets.swg.zone.insertion.SelectCharacter;
 import com.projectswg.holocore.intents.support.global.chat.SystemMessageIntent;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
 import com.projectswg.holocore.resources.support.data.server_info.StandardLog;
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.Player.PlayerServer;
 import com.projectswg.holocore.resources.support.global.zone.ZoneRequester;
@@ -33,6 +33,21 @@ public class ZoneService extends Service {
 		zoneRequester = new ZoneRequester();
 	}
 	
+	@Override
+	public boolean start() {
+		PacketRouter.register(this, ClientIdMsg.class, this::handleClientIdMsg);
+		PacketRouter.register(this, SetWaypointColor.class, this::handleSetWaypointColor);
+		PacketRouter.register(this, LagRequest.class, this::handleLagRequest);
+		PacketRouter.register(this, SelectCharacter.class, this::handleSelectCharacter);
+		return super.start();
+	}
+	
+	@Override
+	public boolean stop() {
+		PacketRouter.unregister(this);
+		return super.stop();
+	}
+	
 	@IntentHandler
 	private void handlePlayerEventIntent(PlayerEventIntent pei) {
 		Player player = pei.getPlayer();
@@ -49,22 +64,9 @@ public class ZoneService extends Service {
 		}
 	}
 	
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent gpi) {
-		Player player = gpi.getPlayer();
-		SWGPacket p = gpi.getPacket();
-		if (p instanceof ClientIdMsg)
-			handleClientIdMsg(player, (ClientIdMsg) p);
-		if (p instanceof SetWaypointColor)
-			handleSetWaypointColor(player, (SetWaypointColor) p);
-		if (p instanceof LagRequest && player.getPlayerServer() == PlayerServer.ZONE)
-			handleLagRequest(player);
-		if (p instanceof SelectCharacter)
-			handleSelectCharacter(player, ((SelectCharacter) p).getCharacterId());
-	}
-	
-	private void handleLagRequest(Player player) {
-		player.sendPacket(new ConnectionServerLagResponse());
+	private void handleLagRequest(Player player, LagRequest request) {
+		if (player.getPlayerServer() == PlayerServer.ZONE)
+			player.sendPacket(new ConnectionServerLagResponse());
 	}
 	
 	private void sendMessageOfTheDay(Player player) {
@@ -103,7 +105,8 @@ public class ZoneService extends Service {
 		player.sendPacket(new ClientPermissionsMessage());
 	}
 	
-	private void handleSelectCharacter(Player player, long characterId) {
+	private void handleSelectCharacter(Player player, SelectCharacter select) {
+		long characterId = select.getCharacterId();
 		SWGObject creatureObj = ObjectLookup.getObjectById(characterId);
 		zoneRequester.onZoneRequested(creatureObj, player, characterId);
 	}
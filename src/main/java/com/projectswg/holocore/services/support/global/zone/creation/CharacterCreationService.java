@@ -27,11 +27,9 @@
 package com.projectswg.holocore.services.support.global.zone.creation;
 
 import com.projectswg.common.data.encodables.tangible.Race;
-import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.common.network.packets.swg.login.creation.*;
 import com.projectswg.common.network.packets.swg.login.creation.ClientVerifyAndLockNameResponse.ErrorMessage;
 import com.projectswg.common.network.packets.swg.login.creation.CreateCharacterFailure.NameFailureReason;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.global.zone.CreatedCharacterIntent;
 import com.projectswg.holocore.intents.support.objects.DestroyObjectIntent;
 import com.projectswg.holocore.resources.support.data.namegen.NameFilter;
@@ -40,13 +38,13 @@ import com.projectswg.holocore.resources.support.data.server_info.StandardLog;
 import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader;
 import com.projectswg.holocore.resources.support.data.server_info.loader.TerrainZoneInsertionLoader.ZoneInsertion;
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
 import com.projectswg.holocore.resources.support.global.player.AccessLevel;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.PlayerState;
 import com.projectswg.holocore.resources.support.global.zone.creation.CharacterCreation;
 import com.projectswg.holocore.resources.support.global.zone.creation.CharacterCreationRestriction;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
-import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
 import me.joshlarson.jlcommon.log.Log;
 import org.jetbrains.annotations.NotNull;
@@ -73,20 +71,17 @@ public class CharacterCreationService extends Service {
 	
 	@Override
 	public boolean start() {
+		PacketRouter.register(this, RandomNameRequest.class, this::handleRandomNameRequest);
+		PacketRouter.register(this, ClientVerifyAndLockNameRequest.class, this::handleApproveNameRequest);
+		PacketRouter.register(this, ClientCreateCharacter.class, this::handleCharCreation);
 		creationRestriction.setCreationsPerPeriod(PswgDatabase.INSTANCE.getConfig().getInt(this, "galaxyMaxCharactersPerPeriod", 2));
 		return super.start();
 	}
 
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent gpi) {
-		Player player = gpi.getPlayer();
-		SWGPacket p = gpi.getPacket();
-		if (p instanceof RandomNameRequest)
-			handleRandomNameRequest(player, (RandomNameRequest) p);
-		if (p instanceof ClientVerifyAndLockNameRequest)
-			handleApproveNameRequest(player, (ClientVerifyAndLockNameRequest) p);
-		if (p instanceof ClientCreateCharacter)
-			handleCharCreation(player, (ClientCreateCharacter) p);
+	@Override
+	public boolean stop() {
+		PacketRouter.unregister(this);
+		return super.stop();
 	}
 	
 	private boolean characterExistsForName(String name) {
@@ -32,8 +32,8 @@ import com.projectswg.common.data.sui.SuiEvent
 import com.projectswg.common.network.packets.swg.zone.server_ui.SuiCreatePageMessage
 import com.projectswg.common.network.packets.swg.zone.server_ui.SuiEventNotification
 import com.projectswg.common.network.packets.swg.zone.server_ui.SuiForceClosePage
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent
 import com.projectswg.holocore.intents.support.global.zone.SuiWindowIntent
+import com.projectswg.holocore.resources.support.global.network.PacketRouter
 import com.projectswg.holocore.resources.support.global.player.Player
 import me.joshlarson.jlcommon.control.IntentHandler
 import me.joshlarson.jlcommon.control.Service
@@ -43,11 +43,14 @@ import java.util.concurrent.ConcurrentHashMap
 class SuiService : Service() {
 	private val windows: MutableMap<Long, MutableList<SuiBaseWindow>> = ConcurrentHashMap()
 
-	@IntentHandler
-	private fun handleInboundPacketIntent(gpi: InboundPacketIntent) {
-		val packet = gpi.packet
-		if (packet is SuiEventNotification)
-			handleSuiEventNotification(gpi.player, packet)
+	override fun start(): Boolean {
+		PacketRouter.register(this, SuiEventNotification::class.java) { player, packet -> handleSuiEventNotification(player, packet) }
+		return super.start()
+	}
+
+	override fun stop(): Boolean {
+		PacketRouter.unregister(this)
+		return super.stop()
 	}
 
 	@IntentHandler
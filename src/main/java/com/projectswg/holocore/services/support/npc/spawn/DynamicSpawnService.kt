@@ -42,7 +42,6 @@ import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDa
 import com.projectswg.holocore.resources.support.npc.spawn.SimpleSpawnInfo
 import com.projectswg.holocore.resources.support.npc.spawn.Spawner
 import com.projectswg.holocore.resources.support.npc.spawn.SpawnerType
-import com.projectswg.holocore.resources.support.objects.swg.SWGObject
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureDifficulty
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject
 import com.projectswg.holocore.resources.support.objects.swg.custom.AIBehavior
@@ -108,16 +107,11 @@ class DynamicSpawnService : Service() {
 
 		val dynamicSpawnEggTemplate = SPAWNER_TYPE.objectTemplate
 
-		// @formatter:off
-		val dynamicSpawnsWithAliveNpcs = player.aware.stream()
-			.filter { swgObject: SWGObject? -> swgObject is AIObject }
-			.map { swgObject: SWGObject -> swgObject as AIObject }
-			.map { obj: AIObject -> obj.spawner }
-			.map(Spawner::egg)
-			.map { obj: SWGObject -> obj.template }
-			.filter { anObject: String? -> dynamicSpawnEggTemplate == anObject }
-			.count()
-		// @formatter:on
+		var dynamicSpawnsWithAliveNpcs = 0L
+		player.forEachAware { swgObject ->
+			if (swgObject is AIObject && dynamicSpawnEggTemplate == swgObject.spawner.egg.template)
+				dynamicSpawnsWithAliveNpcs++
+		}
 
 		if (dynamicSpawnsWithAliveNpcs >= maxObservedNpcs) {
 			// Plenty spawns near this player already - do nothing
@@ -31,13 +31,14 @@ import com.projectswg.common.network.packets.swg.zone.CreateClientPathMessage
 import com.projectswg.common.network.packets.swg.zone.DestroyClientPathMessage
 import com.projectswg.common.network.packets.swg.zone.object_controller.IntendedTarget
 import com.projectswg.holocore.intents.gameplay.world.CreateSpawnIntent
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent
 import com.projectswg.holocore.intents.support.objects.DestroyObjectIntent
 import com.projectswg.holocore.intents.support.objects.ObjectCreatedIntent
 import com.projectswg.holocore.resources.support.data.server_info.StandardLog
 import com.projectswg.holocore.resources.support.data.server_info.loader.ServerData
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase
+import com.projectswg.holocore.resources.support.global.network.PacketRouter
+import com.projectswg.holocore.resources.support.global.player.Player
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent
 import com.projectswg.holocore.resources.support.npc.spawn.NPCCreator
 import com.projectswg.holocore.resources.support.npc.spawn.SpawnInfo
@@ -71,18 +72,24 @@ class SpawnerService : Service() {
 		return true
 	}
 	
+	override fun start(): Boolean {
+		PacketRouter.register(this, IntendedTarget::class.java) { player, packet -> handleIntendedTarget(player, packet) }
+		return super.start()
+	}
+	
+	override fun stop(): Boolean {
+		PacketRouter.unregister(this)
+		return super.stop()
+	}
+	
 	override fun terminate(): Boolean {
 		executor.stop()
 		executor.awaitTermination(1000)
 		return true
 	}
 	
-	@IntentHandler
-	private fun handleInboundPacketIntent(ipi: InboundPacketIntent) {
-		val player = ipi.player.creatureObject
-		val packet = ipi.packet
-		if (packet !is IntendedTarget || player == null)
-			return
+	private fun handleIntendedTarget(owner: Player, packet: IntendedTarget) {
+		val player = owner.creatureObject ?: return
 		val intendedTargetId = packet.targetId
 		val intendedTarget = ObjectLookup.getObjectById(intendedTargetId)
 		if (intendedTarget == null && adminsWithRoutes.remove(player)) {
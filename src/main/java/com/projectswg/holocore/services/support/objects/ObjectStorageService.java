@@ -27,16 +27,17 @@
 package com.projectswg.holocore.services.support.objects;
 
 import com.projectswg.common.data.encodables.mongo.MongoData;
-import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.common.network.packets.swg.zone.object_controller.LookAtTarget;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.objects.DestroyObjectIntent;
 import com.projectswg.holocore.intents.support.objects.ObjectCreatedIntent;
+import com.projectswg.holocore.resources.support.data.persistable.DirtyObjectTracker;
 import com.projectswg.holocore.resources.support.data.persistable.SWGObjectFactory;
 import com.projectswg.holocore.resources.support.data.server_info.StandardLog;
 import com.projectswg.holocore.resources.support.data.server_info.loader.BuildoutLoader;
 import com.projectswg.holocore.resources.support.data.server_info.loader.DataLoader;
 import com.projectswg.holocore.resources.support.data.server_info.mongodb.PswgDatabase;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
+import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.ObjectCreator;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.building.BuildingObject;
@@ -58,6 +59,9 @@ import java.util.function.Function;
 
 public class ObjectStorageService extends Service {
 	
+	private static final long DIRTY_SAVE_INTERVAL = TimeUnit.SECONDS.toMillis(5);
+	private static final int DIRTY_SAVE_BATCH_SIZE = 256;
+	
 	private final ScheduledThreadPool persistenceThread;
 	private final Set<SWGObject> persistedObjects;
 	private final Map<Long, SWGObject> objectMap;
@@ -85,12 +89,14 @@ public class ObjectStorageService extends Service {
 		buildouts.values().forEach(obj -> new ObjectCreatedIntent(obj).broadcast());
 		
 		persistenceThread.start();
-		persistenceThread.executeWithFixedDelay(TimeUnit.MINUTES.toMillis(5), TimeUnit.MINUTES.toMillis(5), this::saveObjects);
+		persistenceThread.executeWithFixedDelay(DIRTY_SAVE_INTERVAL, DIRTY_SAVE_INTERVAL, this::saveDirtyObjects);
+		PacketRouter.register(this, LookAtTarget.class, this::handleLookAtTarget);
 		return true;
 	}
 	
 	@Override
 	public boolean stop() {
+		PacketRouter.unregister(this);
 		persistenceThread.stop();
 		return persistenceThread.awaitTermination(1000);
 	}
@@ -142,6 +148,7 @@ public class ObjectStorageService extends Service {
 		objects.values().forEach(obj -> ObjectCreator.updateMaxObjectId(obj.getObjectId()));
 		objects.values().forEach(obj -> new ObjectCreatedIntent(obj).broadcast());
 		this.objectMap.putAll(objects);
+		DirtyObjectTracker.clear(); // Everything was just loaded, so nothing has changed yet
 		// TODO: Clear unreferenced objects from database
 		StandardLog.onEndLoad(objects.size(), "server objects", startTime);
 		return true;
@@ -157,12 +164,28 @@ public class ObjectStorageService extends Service {
 		return true;
 	}
 	
+	/**
+	 * Writes every persisted object, regardless of whether it has changed. This catches any state that was modified
+	 * without flagging the object as dirty.
+	 */
 	private void saveObjects() {
 		List<SWGObject> saveList = new ArrayList<>();
 		persistedObjects.forEach(obj -> saveChildren(saveList, obj));
 		PswgDatabase.INSTANCE.getObjects().addObjects(saveList);
 	}
 	
+	/**
+	 * Writes only the persisted objects that changed since they were last saved, in small batches
+	 */
+	private void saveDirtyObjects() {
+		List<SWGObject> batch = new ArrayList<>(DIRTY_SAVE_BATCH_SIZE);
+		while (DirtyObjectTracker.drainTo(batch, DIRTY_SAVE_BATCH_SIZE) > 0) {
+			batch.removeIf(obj -> objectMap.get(obj.getObjectId()) != obj); // Destroyed objects must not be written back
+			PswgDatabase.INSTANCE.getObjects().addObjects(batch);
+			batch.clear();
+		}
+	}
+	
 	private void saveChildren(Collection<SWGObject> saveList, @Nullable SWGObject obj) {
 		if (obj == null)
 			return;
@@ -192,15 +215,11 @@ public class ObjectStorageService extends Service {
 		destroyObject(obj);
 	}
 	
-	@IntentHandler
-	private void processGalacticPacketIntent(InboundPacketIntent gpi) {
-		SWGPacket packet = gpi.getPacket();
-		if (packet instanceof LookAtTarget lookAtTarget) {
-			CreatureObject creatureObject = gpi.getPlayer().getCreatureObject();
-			long targetId = lookAtTarget.getTargetId();
-			
-			creatureObject.setLookAtTargetId(targetId);
-		}
+	private void handleLookAtTarget(Player player, LookAtTarget lookAtTarget) {
+		CreatureObject creatureObject = player.getCreatureObject();
+		long targetId = lookAtTarget.getTargetId();
+		
+		creatureObject.setLookAtTargetId(targetId);
 	}
 	
 	private SWGObject getObjectById(long objectId) {
@@ -219,8 +238,9 @@ public class ObjectStorageService extends Service {
 		}
 		if (object.isPersisted())
 			persistedObjects.remove(object);
+		DirtyObjectTracker.remove(object);
+		objectMap.remove(object.getObjectId()); // Removed first, so the dirty flush can no longer write it back
 		PswgDatabase.INSTANCE.getObjects().removeObject(object.getObjectId());
-		objectMap.remove(object.getObjectId());
 	}
 	
 	private List<String> createEventList() {
@@ -39,11 +39,14 @@ import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
 import com.projectswg.holocore.intents.support.global.zone.PlayerTransformedIntent;
 import com.projectswg.holocore.intents.support.global.zone.RequestZoneInIntent;
 import com.projectswg.holocore.intents.support.objects.*;
+import com.projectswg.holocore.resources.support.data.metrics.PrometheusWriter;
+import com.projectswg.holocore.resources.support.data.metrics.ServerMetrics;
 import com.projectswg.holocore.resources.support.data.server_info.StandardLog;
 import com.projectswg.holocore.resources.support.global.network.DisconnectReason;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
 import com.projectswg.holocore.resources.support.global.player.PlayerState;
+import com.projectswg.holocore.resources.support.objects.awareness.AwarenessMetrics;
 import com.projectswg.holocore.resources.support.objects.awareness.ObjectAwareness;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
@@ -54,6 +57,8 @@ import me.joshlarson.jlcommon.control.Service;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Objects;
 
 public class AwarenessService extends Service {
@@ -61,10 +66,12 @@ public class AwarenessService extends Service {
 	private static final Location GONE_LOCATION = Location.builder().setTerrain(Terrain.GONE).setPosition(0, 0, 0).build();
 	
 	private final ObjectAwareness awareness;
+	private final TransformUpdateThrottle transformThrottle;
 	private final ScheduledThreadPool chunkUpdater;
 	
 	public AwarenessService() {
 		this.awareness = new ObjectAwareness();
+		this.transformThrottle = new TransformUpdateThrottle();
 		this.chunkUpdater = new ScheduledThreadPool(1, 8, "awareness-chunk-updater");
 	}
 	
@@ -73,23 +80,43 @@ public class AwarenessService extends Service {
 		awareness.startThreadPool();
 		chunkUpdater.start();
 		chunkUpdater.executeWithFixedDelay(0, 100, this::update);
+		ServerMetrics.register(this, this::collectMetrics);
 		return true;
 	}
 	
 	@Override
 	public boolean stop() {
+		ServerMetrics.unregister(this);
 		chunkUpdater.stop();
 		return awareness.stopThreadPool() && chunkUpdater.awaitTermination(1000);
 	}
 	
 	public void update() {
-//		PlayerLookup.getLoggedInCharacters().forEach(CreatureObject::flush);
+		transformThrottle.flushSettled();
 	}
 	
 	public void updateChunks() {
 		awareness.updateChunks();
 	}
 	
+	private void collectMetrics(PrometheusWriter writer) {
+		Map<Terrain, AwarenessMetrics> active = new EnumMap<>(Terrain.class);
+		for (Terrain terrain : Terrain.values()) {
+			AwarenessMetrics metrics = awareness.getMetrics(terrain);
+			if (metrics.getTicks() > 0)
+				active.put(terrain, metrics);
+		}
+		// Samples of a metric family must be contiguous, so each family is written for every terrain before the next
+		writer.family("holocore_awareness_tick_seconds", "histogram", "Duration of the awareness ticks for each terrain");
+		active.forEach((terrain, metrics) -> metrics.getTickTimes().writeTo(writer, "holocore_awareness_tick_seconds", "terrain", terrain.name()));
+		writer.family("holocore_awareness_skipped_ticks_total", "counter", "Awareness ticks missed because the previous tick overran");
+		active.forEach((terrain, metrics) -> writer.sample("holocore_awareness_skipped_ticks_total", metrics.getSkippedTicks(), "terrain", terrain.name()));
+		writer.family("holocore_awareness_observers", "gauge", "Observers updated during the most recent awareness tick");
+		active.forEach((terrain, metrics) -> writer.sample("holocore_awareness_observers", metrics.getLastObservers(), "terrain", terrain.name()));
+		writer.family("holocore_awareness_objects_tested", "gauge", "Objects tested against an observer during the most recent awareness tick");
+		active.forEach((terrain, metrics) -> writer.sample("holocore_awareness_objects_tested", metrics.getLastObjectsTested(), "terrain", terrain.name()));
+	}
+	
 	@IntentHandler
 	private void handlePlayerEventIntent(PlayerEventIntent pei) {
 		Player p = pei.getPlayer();
@@ -102,8 +129,10 @@ public class AwarenessService extends Service {
 				awareness.destroyObject(creature);
 				break;
 			case PE_LOGGED_OUT:
-				if (creature != null)
+				if (creature != null) {
 					creature.resetObjectsAware();
+					awareness.updateObject(creature); // Lets everyone nearby drop the logged out player
+				}
 				break;
 			default:
 				break;
@@ -235,7 +264,7 @@ public class AwarenessService extends Service {
 		obj.onObjectMoved();
 	}
 	
-	private static void onObjectMoved(@NotNull SWGObject obj, @Nullable SWGObject oldParent, @Nullable SWGObject newParent, @NotNull Location oldLocation, @NotNull Location newLocation, double speed) {
+	private void onObjectMoved(@NotNull SWGObject obj, @Nullable SWGObject oldParent, @Nullable SWGObject newParent, @NotNull Location oldLocation, @NotNull Location newLocation, double speed) {
 		if (obj instanceof CreatureObject && ((CreatureObject) obj).isLoggedInPlayer())
 			new PlayerTransformedIntent((CreatureObject) obj, oldParent, newParent, oldLocation, newLocation).broadcast();
 		else if (obj.getObserverCreatures().isEmpty())
@@ -261,14 +290,14 @@ public class AwarenessService extends Service {
 		}
 	}
 	
-	private static void onObjectMovedInWorld(@NotNull SWGObject obj, @Nullable SWGObject oldParent, @NotNull Location oldLocation, @NotNull Location newLocation, double speed) {
+	private void onObjectMovedInWorld(@NotNull SWGObject obj, @Nullable SWGObject oldParent, @NotNull Location oldLocation, @NotNull Location newLocation, double speed) {
 		int counter = obj.getNextUpdateCount();
 		
 		if (oldParent != null)
 			obj.sendObservers(new UpdateContainmentMessage(obj.getObjectId(), 0, obj.getSlotArrangement()));
 		
 		if (!oldLocation.equals(newLocation))
-			obj.sendObservers(new UpdateTransformMessage(obj.getObjectId(), counter, newLocation, (byte) speed));
+			transformThrottle.send(obj, new UpdateTransformMessage(obj.getObjectId(), counter, newLocation, (byte) speed), speed);
 	}
 	
 }
@@ -28,17 +28,16 @@
 package com.projectswg.holocore.services.support.objects.awareness;
 
 import com.projectswg.common.data.location.Location;
-import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.common.network.packets.swg.zone.CmdSceneReady;
 import com.projectswg.common.network.packets.swg.zone.object_controller.DataTransform;
 import com.projectswg.common.network.packets.swg.zone.object_controller.DataTransformWithParent;
 import com.projectswg.common.network.packets.swg.zone.object_controller.TeleportAck;
 import com.projectswg.holocore.intents.gameplay.world.DismountIntent;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.intents.support.global.zone.PlayerEventIntent;
 import com.projectswg.holocore.intents.support.objects.MoveObjectIntent;
 import com.projectswg.holocore.intents.support.objects.ObjectTeleportIntent;
 import com.projectswg.holocore.resources.support.data.server_info.StandardLog;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.global.player.PlayerEvent;
 import com.projectswg.holocore.resources.support.global.player.PlayerState;
@@ -47,8 +46,6 @@ import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureOb
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureState;
 import com.projectswg.holocore.services.support.objects.ObjectStorageService.ObjectLookup;
 import me.joshlarson.jlcommon.control.IntentHandler;
-import me.joshlarson.jlcommon.control.IntentMultiplexer;
-import me.joshlarson.jlcommon.control.IntentMultiplexer.Multiplexer;
 import me.joshlarson.jlcommon.control.Service;
 import org.jetbrains.annotations.NotNull;
 
@@ -60,14 +57,27 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ClientAwarenessService extends Service {
 	
-	private final IntentMultiplexer packetMultiplexer;
 	private final Set<SWGObject> teleporting;
 	
 	public ClientAwarenessService() {
-		this.packetMultiplexer = new IntentMultiplexer(this, Player.class, SWGPacket.class);
 		this.teleporting = ConcurrentHashMap.newKeySet();
 	}
 	
+	@Override
+	public boolean start() {
+		PacketRouter.register(this, CmdSceneReady.class, this::handleCmdSceneReady);
+		PacketRouter.register(this, DataTransform.class, this::handleDataTransform);
+		PacketRouter.register(this, DataTransformWithParent.class, this::handleDataTransformWithParent);
+		PacketRouter.register(this, TeleportAck.class, this::handleTeleportAck);
+		return super.start();
+	}
+	
+	@Override
+	public boolean stop() {
+		PacketRouter.unregister(this);
+		return super.stop();
+	}
+	
 	@IntentHandler
 	private void handleObjectTeleportIntent(ObjectTeleportIntent oti) {
 		@NotNull SWGObject obj = oti.getObj();
@@ -76,12 +86,6 @@ public class ClientAwarenessService extends Service {
 			teleporting.add(obj);
 	}
 	
-	@IntentHandler
-	private void processInboundPacketIntent(InboundPacketIntent gpi) {
-		packetMultiplexer.call(gpi.getPlayer(), gpi.getPacket());
-	}
-	
-	@Multiplexer
 	private void handleCmdSceneReady(Player player, CmdSceneReady p) {
 		teleporting.remove(player.getCreatureObject());
 		
@@ -92,7 +96,6 @@ public class ClientAwarenessService extends Service {
 		player.sendPacket(new CmdSceneReady());
 	}
 	
-	@Multiplexer
 	private void handleDataTransform(Player player, DataTransform dt) {
 		CreatureObject creature = player.getCreatureObject();
 		if (creature == null) {
@@ -132,7 +135,6 @@ public class ClientAwarenessService extends Service {
 		}
 	}
 	
-	@Multiplexer
 	private void handleDataTransformWithParent(Player player, DataTransformWithParent dt) {
 		CreatureObject creature = player.getCreatureObject();
 		if (creature == null) {
@@ -170,7 +172,6 @@ public class ClientAwarenessService extends Service {
 		}
 	}
 	
-	@Multiplexer
 	private void handleTeleportAck(Player player, TeleportAck p) {
 		teleporting.remove(player.getCreatureObject());
 	}
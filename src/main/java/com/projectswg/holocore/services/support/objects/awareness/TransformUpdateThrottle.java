@@ -0,0 +1,191 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.support.objects.awareness;
+
+import com.projectswg.common.network.packets.SWGPacket;
+import com.projectswg.holocore.resources.support.global.network.SharedPacket;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distance-tiered rate limiter for world transform updates. Observers close to the moving object receive every update,
+ * while observers further away only receive a fraction of them. When the object stops moving, every observer whose
+ * last update was throttled receives the final position.
+ */
+class TransformUpdateThrottle {
+	
+	static final double NEAR_RANGE = 32;
+	static final double MID_RANGE = 128;
+	static final long MID_INTERVAL = TimeUnit.MILLISECONDS.toNanos(500);
+	static final long FAR_INTERVAL = TimeUnit.MILLISECONDS.toNanos(2000);
+	static final long SETTLE_TIME = TimeUnit.MILLISECONDS.toNanos(1500);
+	
+	private final Map<SWGObject, MovementState> moving;
+	
+	public TransformUpdateThrottle() {
+		this.moving = new ConcurrentHashMap<>();
+	}
+	
+	/**
+	 * Sends the transform to every observer whose distance tier is due for an update
+	 * @param obj the object that moved
+	 * @param packet the transform update
+	 * @param speed the movement speed, where zero means the object has stopped and everyone is sent the update
+	 */
+	public void send(@NotNull SWGObject obj, @NotNull SWGPacket packet, double speed) {
+		send(obj, packet, speed, System.nanoTime());
+	}
+	
+	/**
+	 * Sends the last transform of every object that has stopped moving to the observers that missed it
+	 */
+	public void flushSettled() {
+		flushSettled(System.nanoTime());
+	}
+	
+	void send(@NotNull SWGObject obj, @NotNull SWGPacket packet, double speed, long now) {
+		if (speed == 0) {
+			moving.remove(obj);
+			obj.sendObservers(packet);
+			return;
+		}
+		MovementState state = moving.computeIfAbsent(obj, o -> new MovementState(now));
+		boolean sendMid = state.isMidDue(now);
+		boolean sendFar = state.isFarDue(now);
+		SharedPacket shared = new SharedPacket(packet);
+		state.onMoved(now, packet);
+		for (CreatureObject observer : obj.getObserverCreatures()) {
+			if (sendFar || isImportant(observer, obj) || isDue(observer, obj, sendMid)) {
+				observer.sendSelf(shared);
+				state.onSent(observer);
+			} else {
+				state.onSkipped(observer);
+			}
+		}
+	}
+	
+	void flushSettled(long now) {
+		for (Map.Entry<SWGObject, MovementState> e : moving.entrySet()) {
+			MovementState state = e.getValue();
+			if (now - state.getLastMoved() < SETTLE_TIME || !moving.remove(e.getKey(), state))
+				continue;
+			state.sendMissed(e.getKey());
+		}
+	}
+	
+	private static boolean isDue(CreatureObject observer, SWGObject obj, boolean sendMid) {
+		double distanceSquared = flatDistanceSquared(observer, obj);
+		return distanceSquared < NEAR_RANGE * NEAR_RANGE || (sendMid && distanceSquared < MID_RANGE * MID_RANGE);
+	}
+	
+	private static boolean isImportant(CreatureObject observer, SWGObject obj) {
+		if (observer.getLookAtTargetId() == obj.getObjectId())
+			return true;
+		return obj instanceof CreatureObject creature && creature.getGroupId() != 0 && creature.getGroupId() == observer.getGroupId();
+	}
+	
+	private static double flatDistanceSquared(CreatureObject observer, SWGObject obj) {
+		SWGObject observerWorld = observer.getSuperParent();
+		if (observerWorld == null)
+			observerWorld = observer;
+		double dx = observerWorld.getX() - obj.getX();
+		double dz = observerWorld.getZ() - obj.getZ();
+		return dx * dx + dz * dz;
+	}
+	
+	private static class MovementState {
+		
+		private final Set<CreatureObject> missed;
+		private long lastMoved;
+		private long lastMid;
+		private long lastFar;
+		private SWGPacket lastPacket;
+		
+		public MovementState(long now) {
+			this.missed = new HashSet<>();
+			this.lastMoved = now;
+			this.lastMid = now - MID_INTERVAL;
+			this.lastFar = now - FAR_INTERVAL;
+			this.lastPacket = null;
+		}
+		
+		public synchronized boolean isMidDue(long now) {
+			if (now - lastMid < MID_INTERVAL)
+				return false;
+			lastMid = now;
+			return true;
+		}
+		
+		public synchronized boolean isFarDue(long now) {
+			if (now - lastFar < FAR_INTERVAL)
+				return false;
+			lastFar = now;
+			return true;
+		}
+		
+		public synchronized void onMoved(long now, SWGPacket packet) {
+			this.lastMoved = now;
+			this.lastPacket = packet;
+		}
+		
+		public synchronized void onSent(CreatureObject observer) {
+			missed.remove(observer);
+		}
+		
+		public synchronized void onSkipped(CreatureObject observer) {
+			missed.add(observer);
+		}
+		
+		public synchronized long getLastMoved() {
+			return lastMoved;
+		}
+		
+		/**
+		 * Sends the last transform to every observer that hasn't received it, and is still observing the object
+		 */
+		public synchronized void sendMissed(SWGObject obj) {
+			if (missed.isEmpty())
+				return;
+			SharedPacket shared = new SharedPacket(lastPacket);
+			Set<CreatureObject> observers = obj.getObserverCreatures();
+			for (CreatureObject observer : missed) {
+				if (observers.contains(observer))
+					observer.sendSelf(shared);
+			}
+			missed.clear();
+		}
+		
+	}
+	
+}
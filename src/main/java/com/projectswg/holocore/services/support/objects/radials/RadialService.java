@@ -28,18 +28,16 @@ package com.projectswg.holocore.services.support.objects.radials;
 
 import com.projectswg.common.data.radial.RadialItem;
 import com.projectswg.common.data.radial.RadialOption;
-import com.projectswg.common.network.packets.SWGPacket;
 import com.projectswg.common.network.packets.swg.zone.ObjectMenuSelect;
 import com.projectswg.common.network.packets.swg.zone.object_controller.ObjectMenuRequest;
 import com.projectswg.common.network.packets.swg.zone.object_controller.ObjectMenuResponse;
-import com.projectswg.holocore.intents.support.global.network.InboundPacketIntent;
 import com.projectswg.holocore.resources.support.data.server_info.StandardLog;
+import com.projectswg.holocore.resources.support.global.network.PacketRouter;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.radial.RadialHandler;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
 import com.projectswg.holocore.services.support.objects.ObjectStorageService.ObjectLookup;
-import me.joshlarson.jlcommon.control.IntentHandler;
 import me.joshlarson.jlcommon.control.Service;
 import me.joshlarson.jlcommon.log.Log;
 
@@ -51,14 +49,17 @@ public class RadialService extends Service {
 		
 	}
 	
-	@IntentHandler
-	private void handleInboundPacketIntent(InboundPacketIntent gpi) {
-		SWGPacket p = gpi.getPacket();
-		if (p instanceof ObjectMenuRequest) {
-			onRequest(gpi.getPlayer(), (ObjectMenuRequest) p);
-		} else if (p instanceof ObjectMenuSelect) {
-			onSelection(gpi.getPlayer(), (ObjectMenuSelect) p);
-		}
+	@Override
+	public boolean start() {
+		PacketRouter.register(this, ObjectMenuRequest.class, this::onRequest);
+		PacketRouter.register(this, ObjectMenuSelect.class, this::onSelection);
+		return super.start();
+	}
+	
+	@Override
+	public boolean stop() {
+		PacketRouter.unregister(this);
+		return super.stop();
 	}
 	
 	private void onRequest(Player player, ObjectMenuRequest request) {
@@ -0,0 +1,173 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.headless.load
+
+import com.projectswg.common.data.location.Location
+import com.projectswg.holocore.headless.HeadlessSWGClient
+import com.projectswg.holocore.headless.TargetState
+import com.projectswg.holocore.headless.ZonedInCharacter
+import com.projectswg.holocore.headless.attack
+import com.projectswg.holocore.headless.moveTo
+import com.projectswg.holocore.headless.sendTell
+import com.projectswg.holocore.headless.tip
+import com.projectswg.holocore.resources.support.objects.swg.custom.AIObject
+import com.projectswg.holocore.test.runners.AcceptanceTest
+import me.joshlarson.jlcommon.control.IntentManager
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Tag
+import org.junit.jupiter.api.Test
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.math.cos
+import kotlin.math.sin
+
+/**
+ * Logs in a swarm of headless players against the acceptance test service stack and has each of them walk a scripted
+ * path, chat, fight an NPC and trade credits. Reports latency percentiles per subsystem and the intent throughput
+ * recorded by the [IntentManager].
+ *
+ * Unlike the other acceptance tests, the intents are processed by an intent manager shaped like the one in
+ * [com.projectswg.holocore.ProjectSWG] rather than a single intent thread. The service set is still the acceptance test
+ * subset with in-memory users and objects - there is no database, so persistence and login lookups are not measured.
+ *
+ * Excluded from the regular test run - use `./gradlew loadTest`. The swarm is sized with the system properties
+ * `holocore.load.bots`, `holocore.load.rounds` and `holocore.load.threads` (client threads driving the bots), and
+ * `holocore.load.intentThreads` (server intent threads).
+ */
+@Tag("load")
+class BotSwarmLoadTest : AcceptanceTest() {
+
+	private val bots = Integer.getInteger("holocore.load.bots", 50)
+	private val rounds = Integer.getInteger("holocore.load.rounds", 20)
+	private val threads = Integer.getInteger("holocore.load.threads", Runtime.getRuntime().availableProcessors())
+	private val intentThreads = Integer.getInteger("holocore.load.intentThreads", Runtime.getRuntime().availableProcessors())
+	private val recorder = LatencyRecorder()
+
+	override fun createIntentManager(): IntentManager {
+		return IntentManager(false, intentThreads, 8)
+	}
+
+	@Test
+	fun swarm() {
+		val users = List(bots) { generateUser() }
+		val executor = Executors.newFixedThreadPool(threads)
+		try {
+			val loginStart = System.nanoTime()
+			val characters = executor.invokeAll(users.mapIndexed { index, user ->
+				Callable {
+					var character: ZonedInCharacter? = null
+					recorder.record("login") { character = HeadlessSWGClient.createZonedInCharacter(user.username, user.password, botName(index)) }
+					character
+				}
+			}).mapNotNull { it.get() }
+			val loginSeconds = (System.nanoTime() - loginStart) / 1E9
+			assertTrue(characters.isNotEmpty(), "no bot managed to zone in")
+
+			val swarm = characters.map { Bot(it, spawnNPC("creature_kreetle_swarmling", it.player.creatureObject.location)) }
+			val intentsBefore = intentTotals()
+			val swarmStart = System.nanoTime()
+			executor.invokeAll(swarm.mapIndexed { index, bot -> Callable { runBot(bot, swarm[(index + 1) % swarm.size]) } })
+			val swarmSeconds = (System.nanoTime() - swarmStart) / 1E9
+
+			report(characters.size, loginSeconds, swarmSeconds, intentsBefore, intentTotals())
+		} finally {
+			executor.shutdownNow()
+			executor.awaitTermination(10, TimeUnit.SECONDS)
+		}
+	}
+
+	private fun runBot(bot: Bot, partner: Bot) {
+		val character = bot.character
+		val origin = character.player.creatureObject.location
+		val partnerName = partner.character.player.creatureObject.objectName
+		for (round in 0 until rounds) {
+			recorder.record("movement") { character.moveTo(waypoint(origin, round)) }
+			recorder.record("chat") { character.sendTell(partnerName, "round $round") }
+			if (bot.npcAlive)
+				recorder.record("combat") { bot.npcAlive = character.attack(bot.npc) != TargetState.DEAD }
+			recorder.record("trade") { character.tip(partner.character.player.creatureObject, 1) }
+		}
+	}
+
+	private fun report(zonedIn: Int, loginSeconds: Double, swarmSeconds: Double, intentsBefore: Map<String, IntentTotal>, intentsAfter: Map<String, IntentTotal>) {
+		val intents = intentsAfter.mapValues { it.value - (intentsBefore[it.key] ?: IntentTotal(0, 0)) }.filterValues { it.count > 0 }
+		println("Bot swarm: $zonedIn/$bots bots zoned in over ${"%.2f".format(loginSeconds)}s, $rounds rounds in ${"%.2f".format(swarmSeconds)}s with $threads client threads and $intentThreads intent threads")
+		for (summary in recorder.getSummaries())
+			println("  $summary")
+		println("  handled ${"%.0f".format(intents.values.sumOf { it.count } / swarmSeconds)} intents/s")
+		for ((intent, total) in intents.entries.sortedByDescending { it.value.count })
+			println("    %-40s %8d %10.0f/s %10.3fms avg".format(intent, total.count, total.count / swarmSeconds, total.time / 1E6 / total.count))
+	}
+
+	/**
+	 * Sums the handler invocations and handler time of every intent type since the intent manager was created
+	 */
+	private fun intentTotals(): Map<String, IntentTotal> {
+		val intentManager = IntentManager.getInstance() ?: return emptyMap()
+		return intentManager.speedRecorder
+			.groupBy { it.intent.simpleName }
+			.mapValues { (_, records) -> IntentTotal(records.sumOf { it.count }, records.sumOf { it.totalTime }) }
+	}
+
+	private data class IntentTotal(val count: Long, val time: Long) {
+		operator fun minus(other: IntentTotal) = IntentTotal(count - other.count, time - other.time)
+	}
+
+	private class Bot(val character: ZonedInCharacter, val npc: AIObject) {
+		@Volatile
+		var npcAlive = true
+	}
+
+	companion object {
+
+		private const val PATH_RADIUS = 5.0
+		private const val PATH_WAYPOINTS = 8
+
+		/**
+		 * Scripted path: a small loop around the starting location, which keeps every bot within tipping range of its
+		 * partner
+		 */
+		private fun waypoint(origin: Location, round: Int): Location {
+			val angle = 2 * Math.PI * (round % PATH_WAYPOINTS) / PATH_WAYPOINTS
+			return Location.builder(origin).translatePosition(PATH_RADIUS * cos(angle), 0.0, PATH_RADIUS * sin(angle)).build()
+		}
+
+		/**
+		 * Character names may only contain letters
+		 */
+		private fun botName(index: Int): String {
+			val name = StringBuilder()
+			var remaining = index
+			do {
+				name.append('a' + remaining % 26)
+				remaining /= 26
+			} while (remaining > 0)
+			return "Bot$name"
+		}
+	}
+}
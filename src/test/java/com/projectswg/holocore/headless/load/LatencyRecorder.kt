@@ -0,0 +1,98 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.headless.load
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Collects latency samples per subsystem and summarizes them as percentiles.
+ * Every sample is kept, so this is meant for bounded load runs rather than long-lived servers.
+ */
+class LatencyRecorder {
+
+	private val subsystems = ConcurrentHashMap<String, Samples>()
+
+	/**
+	 * Runs the action and records its latency under the specified subsystem. Failures are counted instead of recorded,
+	 * so a slow failure does not skew the percentiles.
+	 * @return true if the action completed without throwing
+	 */
+	fun record(subsystem: String, action: () -> Unit): Boolean {
+		val samples = subsystems.computeIfAbsent(subsystem) { Samples() }
+		val start = System.nanoTime()
+		try {
+			action()
+		} catch (t: Throwable) {
+			samples.failures.increment()
+			return false
+		}
+		samples.add(System.nanoTime() - start)
+		return true
+	}
+
+	fun getSummaries(): List<LatencySummary> {
+		return subsystems.entries.sortedBy { it.key }.map { it.value.summarize(it.key) }
+	}
+
+	private class Samples {
+
+		val failures = LongAdder()
+		private var values = LongArray(1024)
+		private var size = 0
+
+		@Synchronized
+		fun add(nanos: Long) {
+			if (size == values.size)
+				values = values.copyOf(size * 2)
+			values[size++] = nanos
+		}
+
+		@Synchronized
+		fun summarize(subsystem: String): LatencySummary {
+			val sorted = values.copyOf(size)
+			sorted.sort()
+			return LatencySummary(subsystem, size, failures.sum(), percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99), if (size == 0) 0 else sorted[size - 1])
+		}
+
+		private fun percentile(sorted: LongArray, percentile: Double): Long {
+			if (sorted.isEmpty())
+				return 0
+			return sorted[((sorted.size - 1) * percentile).toInt()]
+		}
+	}
+}
+
+data class LatencySummary(val subsystem: String, val count: Int, val failures: Long, val p50: Long, val p95: Long, val p99: Long, val max: Long) {
+
+	override fun toString(): String {
+		return String.format("%-12s count=%-7d failures=%-5d p50=%7.2fms p95=%7.2fms p99=%7.2fms max=%7.2fms", subsystem, count, failures, millis(p50), millis(p95), millis(p99), millis(max))
+	}
+
+	private fun millis(nanos: Long): Double = nanos / TimeUnit.MILLISECONDS.toNanos(1).toDouble()
+}
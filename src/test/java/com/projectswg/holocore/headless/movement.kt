@@ -26,8 +26,54 @@
  ***********************************************************************************/
 package com.projectswg.holocore.headless
 
+import com.projectswg.common.data.location.Location
+import com.projectswg.common.network.packets.SWGPacket
+import com.projectswg.common.network.packets.swg.zone.UpdateTransformMessage
+import com.projectswg.common.network.packets.swg.zone.UpdateTransformWithParentMessage
 import com.projectswg.common.network.packets.swg.zone.object_controller.DataTransform
+import java.util.concurrent.TimeUnit
 
 fun ZonedInCharacter.waitForObjectMove() {
 	player.waitForNextPacket(DataTransform::class.java) ?: throw IllegalStateException("Did not receive DataTransform packet in time")
 }
+
+/**
+ * Moves the character to the specified location, as if the client had walked there.
+ * Blocks until the server has applied the new location.
+ * @param location the location to move to - the terrain is ignored, as a client can only move within its current terrain
+ * @param speed the movement speed reported to the server
+ */
+fun ZonedInCharacter.moveTo(location: Location, speed: Double = 5.0) {
+	val creature = player.creatureObject
+	val alreadyThere = creature.location.isWithinFlatDistance(location, 0.01)
+	sendPacket(player, DataTransform(creature.objectId, creature.nextUpdateCount, location, speed.toFloat()))
+	if (alreadyThere)
+		return // The server does not broadcast a transform when nothing changed
+	val deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500)
+	while (!creature.location.isWithinFlatDistance(location, 0.01)) {
+		val remaining = deadline - System.nanoTime()
+		if (remaining <= 0)
+			throw IllegalStateException("Server did not apply the movement in time")
+		waitForOwnTransform(creature.objectId, remaining)
+	}
+}
+
+private val transformPackets: Set<Class<out SWGPacket>> = setOf(UpdateTransformMessage::class.java, UpdateTransformWithParentMessage::class.java)
+
+/**
+ * Blocks until the server broadcasts a transform for the specified object, or the timeout passes. Transforms for any
+ * other object are discarded.
+ */
+private fun ZonedInCharacter.waitForOwnTransform(objectId: Long, timeoutNanos: Long) {
+	val deadline = System.nanoTime() + timeoutNanos
+	while (true) {
+		val remaining = deadline - System.nanoTime()
+		if (remaining <= 0)
+			return
+		when (val packet = player.waitForNextPacket(transformPackets, remaining, TimeUnit.NANOSECONDS)) {
+			null -> return
+			is UpdateTransformMessage -> if (packet.objectId == objectId) return
+			is UpdateTransformWithParentMessage -> if (packet.objectId == objectId) return
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.collections;
+
+import com.projectswg.common.network.NetBuffer;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import kotlin.Unit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDeltaQueue extends TestRunnerNoIntents {
+	
+	@Test
+	public void testDeltaArray() {
+		DeltaQueue queue = new DeltaQueue();
+		queue.addOperation(1);
+		queue.writeShort(0x0102);
+		queue.write("test", 6, (buffer, str) -> {
+			buffer.addAscii(str);
+			return Unit.INSTANCE;
+		});
+		queue.addOperation(0);
+		queue.writeShort(3);
+		
+		NetBuffer expected = NetBuffer.allocate(8 + 9 + 3);
+		expected.addInt(2);
+		expected.addInt(7);
+		expected.addByte(1);
+		expected.addShort(0x0102);
+		expected.addAscii("test");
+		expected.addByte(0);
+		expected.addShort(3);
+		assertArrayEquals(expected.array(), queue.toDeltaArray(7));
+		assertEquals(2, queue.getCount());
+		assertEquals(12, queue.getSize());
+	}
+	
+	@Test
+	public void testGrowth() {
+		DeltaQueue queue = new DeltaQueue();
+		NetBuffer expected = NetBuffer.allocate(8 + 1000 * 7);
+		expected.addInt(1000);
+		expected.addInt(1000);
+		for (int i = 0; i < 1000; i++) {
+			queue.addOperation(2);
+			queue.writeShort(i);
+			queue.write(i, 4, (buffer, value) -> {
+				buffer.addInt(value);
+				return Unit.INSTANCE;
+			});
+			expected.addByte(2);
+			expected.addShort(i);
+			expected.addInt(i);
+		}
+		assertArrayEquals(expected.array(), queue.toDeltaArray(1000));
+	}
+	
+	@Test
+	public void testClear() {
+		DeltaQueue queue = new DeltaQueue();
+		queue.addOperation(2);
+		queue.writeBytes(new byte[]{1, 2, 3});
+		queue.clear();
+		assertTrue(queue.isEmpty());
+		assertArrayEquals(new byte[8], queue.toDeltaArray(0));
+	}
+	
+	@Test
+	public void testListClearQueuesRemovals() {
+		SWGList<Integer> list = SWGList.Companion.createIntList(3, 6);
+		list.addAll(List.of(1, 2, 3));
+		list.clear();
+		assertEquals(6, list.getUpdateCount());
+		assertTrue(list.isEmpty());
+	}
+	
+}
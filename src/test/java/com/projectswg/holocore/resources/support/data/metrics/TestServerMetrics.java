@@ -0,0 +1,110 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.metrics;
+
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestServerMetrics extends TestRunnerNoIntents {
+	
+	private final Object owner = new Object();
+	
+	@AfterEach
+	public void unregisterCollectors() {
+		ServerMetrics.unregister(owner);
+	}
+	
+	@Test
+	public void testHistogramBucketsAreCumulative() {
+		MetricsHistogram histogram = new MetricsHistogram(new double[]{0.001, 0.01});
+		histogram.observe(500, TimeUnit.MICROSECONDS);
+		histogram.observe(5, TimeUnit.MILLISECONDS);
+		histogram.observe(1, TimeUnit.SECONDS);
+		
+		PrometheusWriter writer = new PrometheusWriter();
+		writer.family("test_seconds", "histogram", "Test histogram");
+		histogram.writeTo(writer, "test_seconds", "terrain", "TATOOINE");
+		String output = writer.toString();
+		
+		assertTrue(output.contains("# TYPE test_seconds histogram\n"));
+		assertTrue(output.contains("test_seconds_bucket{terrain=\"TATOOINE\",le=\"0.001\"} 1\n"));
+		assertTrue(output.contains("test_seconds_bucket{terrain=\"TATOOINE\",le=\"0.01\"} 2\n"));
+		assertTrue(output.contains("test_seconds_bucket{terrain=\"TATOOINE\",le=\"+Inf\"} 3\n"));
+		assertTrue(output.contains("test_seconds_sum{terrain=\"TATOOINE\"} 1.0055\n"));
+		assertTrue(output.contains("test_seconds_count{terrain=\"TATOOINE\"} 3\n"));
+	}
+	
+	@Test
+	public void testLabelValuesAreEscaped() {
+		PrometheusWriter writer = new PrometheusWriter();
+		writer.sample("test_gauge", 1, "name", "a\"b\\c\nd");
+		
+		assertEquals("test_gauge{name=\"a\\\"b\\\\c\\nd\"} 1\n", writer.toString());
+	}
+	
+	@Test
+	public void testFamilyIsDeclaredOnce() {
+		PrometheusWriter writer = new PrometheusWriter();
+		writer.family("test_total", "counter", "Test counter");
+		writer.family("test_total", "counter", "Test counter");
+		
+		assertEquals("# HELP test_total Test counter\n# TYPE test_total counter\n", writer.toString());
+	}
+	
+	@Test
+	public void testScrapeIncludesRegisteredCollectors() {
+		ServerMetrics.register(owner, writer -> writer.family("test_collector", "gauge", "Test collector").sample("test_collector", 42));
+		assertTrue(ServerMetrics.scrape().contains("test_collector 42\n"));
+		assertTrue(ServerMetrics.scrape().contains("jvm_memory_used_bytes{area=\"heap\"}"));
+		
+		ServerMetrics.unregister(owner);
+		assertFalse(ServerMetrics.scrape().contains("test_collector"));
+	}
+	
+	@Test
+	public void testSamplesFollowTheirFamily() {
+		Set<String> declared = new HashSet<>();
+		String family = null;
+		for (String line : ServerMetrics.scrape().split("\n")) {
+			if (line.startsWith("# TYPE ")) {
+				family = line.split(" ")[2];
+				assertTrue(declared.add(family), "family declared twice: " + family);
+			} else if (!line.startsWith("#")) {
+				assertNotNull(family, line);
+				assertTrue(line.startsWith(family), "sample outside of its family " + family + ": " + line);
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,219 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.persistable;
+
+import com.projectswg.common.data.encodables.mongo.MongoData;
+import com.projectswg.common.data.encodables.player.Mail;
+import com.projectswg.common.data.encodables.tangible.PvpFlag;
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.resources.support.objects.swg.ServerAttribute;
+import com.projectswg.holocore.resources.support.objects.swg.player.PlayerObject;
+import com.projectswg.holocore.resources.support.objects.swg.resource.ResourceContainerObject;
+import com.projectswg.holocore.resources.support.objects.swg.waypoint.WaypointObject;
+import com.projectswg.holocore.resources.support.objects.swg.weapon.WeaponObject;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.resources.GenericTangibleObject;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDirtyObjectTracker extends TestRunnerNoIntents {
+	
+	@BeforeEach
+	public void clearBefore() {
+		DirtyObjectTracker.clear();
+	}
+	
+	@AfterEach
+	public void clearAfter() {
+		DirtyObjectTracker.clear();
+	}
+	
+	@Test
+	public void testTransientObjectIgnored() {
+		GenericTangibleObject obj = new GenericTangibleObject(getUniqueId());
+		obj.setPosition(10, 0, 10);
+		assertEquals(0, DirtyObjectTracker.size());
+	}
+	
+	@Test
+	public void testPersistedObjectMarked() {
+		GenericTangibleObject obj = new GenericTangibleObject(getUniqueId());
+		obj.setPersisted(true);
+		DirtyObjectTracker.clear();
+		
+		obj.setPosition(10, 0, 10);
+		obj.setHeading(90);
+		assertEquals(List.of(obj), drain());
+		assertEquals(0, DirtyObjectTracker.size());
+	}
+	
+	@Test
+	public void testNonNetworkedFieldMarked() {
+		GenericTangibleObject obj = new GenericTangibleObject(getUniqueId());
+		obj.setPersisted(true);
+		DirtyObjectTracker.clear();
+		
+		obj.setServerAttribute(ServerAttribute.SURVEY_TOOL_RANGE, 64);
+		assertEquals(List.of(obj), drain());
+		obj.setVolume(5);
+		assertEquals(List.of(obj), drain());
+		obj.setNoTrade(true);
+		assertEquals(List.of(obj), drain());
+	}
+	
+	@Test
+	public void testChildOfPersistedObjectMarked() {
+		GenericTangibleObject container = new GenericTangibleObject(getUniqueId());
+		GenericTangibleObject child = new GenericTangibleObject(getUniqueId());
+		container.setPersisted(true);
+		child.systemMove(container);
+		DirtyObjectTracker.clear();
+		
+		child.setPosition(1, 0, 1);
+		assertEquals(List.of(child), drain());
+	}
+	
+	@Test
+	public void testDrainRespectsLimit() {
+		for (int i = 0; i < 5; i++) {
+			GenericTangibleObject obj = new GenericTangibleObject(getUniqueId());
+			obj.setPersisted(true);
+		}
+		List<SWGObject> batch = new ArrayList<>();
+		assertEquals(3, DirtyObjectTracker.drainTo(batch, 3));
+		assertEquals(3, batch.size());
+		assertEquals(2, DirtyObjectTracker.size());
+	}
+	
+	@Test
+	public void testPersistedSettersMarked() {
+		GenericCreatureObject creature = new GenericCreatureObject(getUniqueId());
+		creature.setPersisted(true);
+		WaypointObject waypoint = new WaypointObject(getUniqueId());
+		waypoint.systemMove(creature.getDatapad());
+		
+		for (SWGObject obj : List.of(new GenericTangibleObject(getUniqueId()), new WeaponObject(getUniqueId()), new ResourceContainerObject(getUniqueId()))) {
+			obj.setPersisted(true);
+			assertSettersMarkDirty(obj);
+		}
+		assertSettersMarkDirty(creature);
+		assertSettersMarkDirty(creature.getPlayerObject());
+		assertSettersMarkDirty(waypoint);
+	}
+	
+	@Test
+	public void testPersistedCollectionsMarked() {
+		GenericCreatureObject creature = new GenericCreatureObject(getUniqueId());
+		creature.setPersisted(true);
+		PlayerObject player = creature.getPlayerObject();
+		GenericTangibleObject tangible = new GenericTangibleObject(getUniqueId());
+		tangible.setPersisted(true);
+		Mail mail = new Mail("sender", "subject", "message", creature.getObjectId());
+		mail.setId(1);
+		
+		assertMarkedWhenSaved(player, p -> p.addMail(mail));
+		assertMarkedWhenSaved(player, p -> p.removeMail(mail));
+		assertMarkedWhenSaved(player, p -> p.adjustFactionPoints("rebel", 100));
+		assertMarkedWhenSaved(player, p -> p.setBadge(1, false, true));
+		assertMarkedWhenSaved(tangible, t -> t.adjustSkillmod("dirty_test", 5, 0));
+		assertMarkedWhenSaved(tangible, t -> t.setPvpFlags(PvpFlag.PLAYER));
+		assertMarkedWhenSaved(tangible, t -> t.clearPvpFlags(PvpFlag.PLAYER));
+	}
+	
+	/**
+	 * Calls every single-argument setter with simple parameters and fails if the saved document changed without the
+	 * object being flagged
+	 */
+	private static void assertSettersMarkDirty(SWGObject obj) {
+		for (Method setter : obj.getClass().getMethods()) {
+			if (!setter.getName().startsWith("set") || setter.getName().equals("setPersisted") || setter.getParameterCount() != 1)
+				continue;
+			for (Object value : sampleValues(setter.getParameterTypes()[0])) {
+				String before = save(obj);
+				DirtyObjectTracker.clear();
+				try {
+					setter.invoke(obj, value);
+				} catch (IllegalAccessException | InvocationTargetException e) {
+					continue;
+				}
+				if (!before.equals(save(obj)))
+					assertTrue(drain().contains(obj), obj.getClass().getSimpleName() + "." + setter.getName() + " changed a persisted field without marking the object dirty");
+			}
+		}
+	}
+	
+	private static <T extends SWGObject> void assertMarkedWhenSaved(T obj, Consumer<T> mutation) {
+		String before = save(obj);
+		DirtyObjectTracker.clear();
+		mutation.accept(obj);
+		assertNotEquals(before, save(obj));
+		assertTrue(drain().contains(obj));
+	}
+	
+	private static List<Object> sampleValues(Class<?> type) {
+		if (type == int.class)
+			return List.of(7, 13);
+		if (type == long.class)
+			return List.of(7L, 13L);
+		if (type == float.class)
+			return List.of(7f, 13f);
+		if (type == double.class)
+			return List.of(7d, 13d);
+		if (type == boolean.class)
+			return List.of(true, false);
+		if (type == String.class)
+			return List.of("dirty_a", "dirty_b");
+		if (type.isEnum()) {
+			Object[] constants = type.getEnumConstants();
+			return List.of(constants[0], constants[constants.length - 1]);
+		}
+		return List.of();
+	}
+	
+	private static String save(SWGObject obj) {
+		MongoData data = new MongoData();
+		obj.saveMongo(data);
+		return data.toDocument().toJson();
+	}
+	
+	private static List<SWGObject> drain() {
+		List<SWGObject> drained = new ArrayList<>();
+		DirtyObjectTracker.drainTo(drained, Integer.MAX_VALUE);
+		return drained;
+	}
+	
+}
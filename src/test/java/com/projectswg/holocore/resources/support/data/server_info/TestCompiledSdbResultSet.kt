@@ -0,0 +1,113 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.util.stream.Collectors
+
+class TestCompiledSdbResultSet {
+	
+	@TempDir
+	lateinit var directory: File
+	
+	@Test
+	fun testMatchesTextParser() {
+		val sdb = writeSdb("id\tname\tscale\tenabled\tcode\n" +
+				"INTEGER\tTEXT\tREAL\tBOOLEAN\tTEXT\n" +
+				"1\tfirst\t1.5\tTRUE\t007\n" +
+				"\n" +
+				"-2\tsecond\t3\tfalse\t8\n")
+		val compiled = load(sdb)
+		SdbLoader.load(sdb, false).use { text ->
+			assertEquals(text.columns, compiled.columns)
+			while (text.next()) {
+				assertTrue(compiled.next())
+				assertEquals(text.line, compiled.line)
+				assertEquals(text.getInt("id"), compiled.getInt("id"))
+				assertEquals(text.getText("name"), compiled.getText("name"))
+				assertEquals(text.getReal("scale"), compiled.getReal("scale"))
+				assertEquals(text.getBoolean("enabled"), compiled.getBoolean("enabled"))
+				assertEquals(text.getText("code"), compiled.getText("code"))
+				assertEquals(text.getInt("code"), compiled.getInt("code"))
+			}
+			assertFalse(compiled.next())
+		}
+	}
+	
+	@Test
+	fun testReusesCompiledFile() {
+		val sdb = writeSdb("id\nINTEGER\n1\n2\n")
+		load(sdb)
+		val cached = directory.listFiles { f -> f.name.endsWith(".csdb") }!!
+		assertEquals(1, cached.size)
+		val modified = cached[0].lastModified()
+		
+		val set = CompiledSdbResultSet.load(sdb, directory) { throw AssertionError("should not recompile") }
+		assertTrue(set.next())
+		assertEquals(1L, set.getInt(0))
+		assertEquals(modified, cached[0].lastModified())
+	}
+	
+	@Test
+	fun testRecompilesChangedContent() {
+		val sdb = writeSdb("id\nINTEGER\n1\n")
+		load(sdb)
+		sdb.writeText("id\nINTEGER\n5\n")
+		val set = load(sdb)
+		assertTrue(set.next())
+		assertEquals(5L, set.getInt(0))
+	}
+	
+	@Test
+	fun testParallelStream() {
+		val sdb = writeSdb("id\nINTEGER\n" + (1..1000).joinToString("\n") + "\n")
+		val ids = load(sdb).parallelStream { it.getInt(0) }.collect(Collectors.toSet())
+		assertEquals((1L..1000L).toSet(), ids)
+	}
+	
+	@Test
+	fun testInvalidNumber() {
+		val sdb = writeSdb("id\nINTEGER\nabc\n")
+		val set = load(sdb)
+		assertTrue(set.next())
+		assertThrows(NumberFormatException::class.java) { set.getInt(0) }
+	}
+	
+	private fun load(sdb: File): SdbLoader.SdbResultSet {
+		return CompiledSdbResultSet.load(sdb, directory) { SdbLoader.load(sdb, false) }
+	}
+	
+	private fun writeSdb(contents: String): File {
+		val sdb = File(directory, "test.sdb")
+		sdb.writeText(contents)
+		return sdb
+	}
+	
+}
@@ -0,0 +1,80 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.loader
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.util.concurrent.ConcurrentHashMap
+
+class TestServerDataWarmup {
+	
+	private val loaded = ConcurrentHashMap<String, Long>()
+	
+	@Test
+	fun testDependenciesLoadFirst() {
+		val tasks = listOf(
+			task("npcs", "factions"),
+			task("factions"),
+			task("draftSchematics", "objectData"),
+			task("objectData"),
+			task("skills")
+		)
+		ServerDataWarmup(tasks, 4).use { warmup ->
+			assertEquals(setOf("npcs", "factions", "draftSchematics", "objectData", "skills"), warmup.getTimes().keys)
+		}
+		assertTrue(loaded["factions"]!! < loaded["npcs"]!!)
+		assertTrue(loaded["objectData"]!! < loaded["draftSchematics"]!!)
+	}
+	
+	@Test
+	fun testFailureDoesNotStopOthers() {
+		val tasks = listOf(
+			ServerDataWarmup.Task("broken", listOf()) { throw RuntimeException("expected failure") },
+			task("dependent", "broken")
+		)
+		ServerDataWarmup(tasks, 2).close()
+		assertTrue(loaded.containsKey("dependent"))
+	}
+	
+	@Test
+	fun testCycleRejected() {
+		val tasks = listOf(task("first", "second"), task("second", "first"))
+		assertThrows(IllegalStateException::class.java) { ServerDataWarmup(tasks, 2) }
+	}
+	
+	private fun task(name: String, vararg dependencies: String): ServerDataWarmup.Task {
+		return ServerDataWarmup.Task(name, dependencies.toList()) {
+			object : DataLoader() {
+				override fun load() {
+					Thread.sleep(5)
+					loaded[name] = System.nanoTime()
+				}
+			}.apply { load() }
+		}
+	}
+	
+}
@@ -0,0 +1,119 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.loader.terrain
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+
+class TestTerrainHeightCache {
+	
+	@TempDir
+	lateinit var directory: File
+	
+	@Test
+	fun testMissBeforeRasterization() {
+		val cache = open()
+		try {
+			assertTrue(cache.getHeight(100.0, -37.0).isNaN())
+			assertTrue(cache.request(100.0, -37.0))
+			assertFalse(cache.request(100.0, -37.0)) // already pending
+			assertEquals(0, cache.pollPending())
+			assertEquals(-1, cache.pollPending())
+		} finally {
+			cache.close()
+		}
+	}
+	
+	@Test
+	fun testBilinearSampling() {
+		val cache = open()
+		try {
+			cache.rasterize(0, ::slope, ::lake)
+			assertEquals(slope(100.5f, -37f).toDouble(), cache.getHeight(100.5, -37.0), 1E-3)
+			assertEquals(slope(-8000f, 8000f).toDouble(), cache.getHeight(-8000.0, 8000.0), 1E-3)
+			assertTrue(cache.getHeight(9000.0, 0.0).isNaN())
+			assertFalse(cache.request(100.0, -37.0))
+		} finally {
+			cache.close()
+		}
+	}
+	
+	@Test
+	fun testWaterSampling() {
+		val cache = open()
+		try {
+			assertNull(cache.isWater(0.0, 0.0))
+			cache.rasterize(0, ::slope, ::lake)
+			assertEquals(true, cache.isWater(0.0, 0.0))
+			assertEquals(true, cache.isWater(-200.0, 100.0))
+			assertEquals(false, cache.isWater(1000.0, 0.0))
+			assertEquals(false, cache.isWater(-8000.0, 8000.0))
+			assertNull(cache.isWater(9000.0, 0.0))
+		} finally {
+			cache.close()
+		}
+	}
+	
+	@Test
+	fun testReopenKeepsTiles() {
+		open().apply { rasterize(0, ::slope, ::lake); close() }
+		val cache = open()
+		try {
+			assertTrue(cache.isReady(0))
+		} finally {
+			cache.close()
+		}
+	}
+	
+	@Test
+	fun testSourceChangeInvalidates() {
+		open().apply { rasterize(0, ::slope, ::lake); close() }
+		File(directory, "source.trn").appendText("changed")
+		val cache = open()
+		try {
+			assertFalse(cache.isReady(0))
+			assertTrue(cache.getHeight(100.0, -37.0).isNaN())
+		} finally {
+			cache.close()
+		}
+	}
+	
+	private fun open(): TerrainHeightCache {
+		val source = File(directory, "source.trn")
+		if (!source.exists())
+			source.writeText("source")
+		// A coarse spacing keeps the whole map in a single tile
+		return TerrainHeightCache.open(File(directory, "test.hmap"), source, 256f)
+	}
+	
+	private fun slope(x: Float, z: Float): Float = x * 0.5f + z * 0.25f
+	
+	private fun lake(x: Float, z: Float): Boolean = x * x + z * z <= 600f * 600f
+	
+}
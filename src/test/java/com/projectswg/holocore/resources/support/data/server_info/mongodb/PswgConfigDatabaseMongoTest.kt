@@ -0,0 +1,104 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.data.server_info.mongodb
+
+import com.mongodb.client.MongoDatabase
+import org.bson.Document
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class PswgConfigDatabaseMongoTest {
+	private lateinit var database: MongoDatabase
+
+	@BeforeEach
+	fun setUp() {
+		database = MongoDBTestContainer.mongoClient.getDatabase("cu")
+	}
+
+	@AfterEach
+	fun tearDown() {
+		database.drop()
+	}
+
+	@Test
+	fun `defaults are returned when nothing is configured`() {
+		val config = PswgConfigDatabaseMongo(database.getCollection("config"))
+
+		assertEquals(5, config.getInt(this, "missing", 5))
+		assertEquals("default", config.getString(this, "missing", "default"))
+	}
+
+	@Test
+	fun `most specific package wins`() {
+		val collection = database.getCollection("config")
+		collection.insertOne(Document("package", "support").append("value", 1).append("parentOnly", true))
+		collection.insertOne(Document("package", "support.data.server_info").append("value", 2))
+		val config = PswgConfigDatabaseMongo(collection)
+
+		assertEquals(2, config.getInt(this, "value", 0))
+		assertTrue(config.getBoolean(this, "parentOnly", false))
+	}
+
+	@Test
+	fun `refresh picks up changes and notifies listeners`() {
+		val collection = database.getCollection("config")
+		val config = PswgConfigDatabaseMongo(collection)
+		var notified = 0
+		config.addChangeListener { notified++ }
+		assertEquals(0, config.getInt(this, "value", 0))
+
+		collection.insertOne(Document("package", "support").append("value", 7))
+		config.refresh()
+
+		assertEquals(1, notified)
+		assertEquals(7, config.getInt(this, "value", 0))
+
+		config.refresh()
+		assertEquals(1, notified)
+	}
+
+	@Test
+	fun `started database polls for changes`() {
+		val collection = database.getCollection("config")
+		val config = PswgConfigDatabaseMongo(collection, refreshInterval = 10)
+		val notified = CountDownLatch(1)
+		config.addChangeListener { notified.countDown() }
+		config.start()
+		try {
+			collection.insertOne(Document("package", "support").append("value", 7))
+
+			assertTrue(notified.await(5, TimeUnit.SECONDS))
+			assertEquals(7, config.getInt(this, "value", 0))
+		} finally {
+			assertTrue(config.stop())
+		}
+	}
+}
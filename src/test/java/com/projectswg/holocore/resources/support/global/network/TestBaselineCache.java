@@ -0,0 +1,68 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.common.network.packets.swg.zone.baselines.Baseline;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBaselineCache extends TestRunnerNoIntents {
+	
+	@Test
+	public void testUnchangedBaselineReused() {
+		GenericCreatureObject creature = new GenericCreatureObject(1, "Cached");
+		Baseline first = creature.createBaseline3(null);
+		long hits = BaselineCache.INSTANCE.getHits();
+		
+		assertSame(first, creature.createBaseline3(null));
+		assertEquals(hits + 1, BaselineCache.INSTANCE.getHits());
+	}
+	
+	@Test
+	public void testDeltaInvalidatesPage() {
+		GenericCreatureObject creature = new GenericCreatureObject(1, "Before");
+		Baseline baseline3 = creature.createBaseline3(null);
+		Baseline baseline6 = creature.createBaseline6(null);
+		
+		creature.setObjectName("After");
+		
+		assertNotSame(baseline3, creature.createBaseline3(null));
+		assertSame(baseline6, creature.createBaseline6(null));
+	}
+	
+	@Test
+	public void testSameIdDifferentObject() {
+		Baseline first = new GenericCreatureObject(2, "First").createBaseline3(null);
+		Baseline second = new GenericCreatureObject(2, "Second").createBaseline3(null);
+		
+		assertNotSame(first, second);
+	}
+	
+}
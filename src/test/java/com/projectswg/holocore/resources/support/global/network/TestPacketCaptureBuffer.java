@@ -0,0 +1,116 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPacketCaptureBuffer extends TestRunnerNoIntents {
+	
+	@Test
+	public void testRecordLayout() {
+		PacketCaptureBuffer buffer = new PacketCaptureBuffer(1024);
+		buffer.add(1234, true, new byte[]{1, 2, 3});
+		buffer.add(5678, false, new byte[]{4});
+		
+		ByteBuffer data = write(buffer);
+		assertEquals(PacketCaptureBuffer.MAGIC, data.getInt());
+		assertEquals(PacketCaptureBuffer.VERSION, data.get());
+		assertRecord(data, 1234, true, new byte[]{1, 2, 3});
+		assertRecord(data, 5678, false, new byte[]{4});
+		assertFalse(data.hasRemaining());
+	}
+	
+	@Test
+	public void testOldestRecordsDiscarded() {
+		int recordSize = PacketCaptureBuffer.RECORD_HEADER_SIZE + 10;
+		PacketCaptureBuffer buffer = new PacketCaptureBuffer(recordSize * 2);
+		buffer.add(1, true, new byte[10]);
+		buffer.add(2, true, new byte[10]);
+		buffer.add(3, true, new byte[10]);
+		
+		assertEquals(2, buffer.getRecordCount());
+		assertEquals(recordSize * 2, buffer.getSize());
+		assertEquals(1, buffer.getDiscardedCount());
+		
+		ByteBuffer data = write(buffer);
+		data.position(5);
+		assertEquals(2, data.getLong());
+	}
+	
+	@Test
+	public void testOversizedRecordDiscarded() {
+		PacketCaptureBuffer buffer = new PacketCaptureBuffer(16);
+		buffer.add(1, true, new byte[64]);
+		assertEquals(0, buffer.getRecordCount());
+		assertEquals(1, buffer.getDiscardedCount());
+	}
+	
+	@Test
+	public void testRecordsWrapAroundRing() {
+		PacketCaptureBuffer buffer = new PacketCaptureBuffer(100);
+		for (int i = 0; i < 20; i++) {
+			byte [] payload = new byte[i % 7];
+			Arrays.fill(payload, (byte) i);
+			buffer.add(i, i % 2 == 0, payload);
+		}
+		
+		ByteBuffer data = write(buffer);
+		data.position(5);
+		int records = buffer.getRecordCount();
+		assertEquals(20 - records, buffer.getDiscardedCount());
+		for (int i = 20 - records; i < 20; i++) {
+			byte [] payload = new byte[i % 7];
+			Arrays.fill(payload, (byte) i);
+			assertRecord(data, i, i % 2 == 0, payload);
+		}
+		assertFalse(data.hasRemaining());
+		assertTrue(buffer.getSize() <= 100);
+	}
+	
+	private static ByteBuffer write(PacketCaptureBuffer buffer) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		buffer.writeTo(output);
+		return ByteBuffer.wrap(output.toByteArray());
+	}
+	
+	private static void assertRecord(ByteBuffer data, long time, boolean inbound, byte [] payload) {
+		assertEquals(time, data.getLong());
+		assertEquals(inbound ? 1 : 0, data.get());
+		assertEquals(payload.length, data.getInt());
+		byte [] actual = new byte[payload.length];
+		data.get(actual);
+		assertArrayEquals(payload, actual);
+	}
+	
+}
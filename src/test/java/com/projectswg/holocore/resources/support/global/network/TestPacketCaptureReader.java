@@ -0,0 +1,68 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.holocore.resources.support.global.network.PacketCaptureReader.PacketCaptureRecord;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPacketCaptureReader extends TestRunnerNoIntents {
+	
+	@Test
+	public void testReadWrittenCapture() throws IOException {
+		PacketCaptureBuffer buffer = new PacketCaptureBuffer(1024);
+		buffer.add(100, true, new byte[]{1, 2, 3});
+		buffer.add(250, false, new byte[0]);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		buffer.writeTo(output);
+		
+		try (PacketCaptureReader reader = new PacketCaptureReader(new ByteArrayInputStream(output.toByteArray()))) {
+			List<PacketCaptureRecord> records = reader.readAll();
+			assertEquals(2, records.size());
+			assertEquals(100, records.get(0).getTime());
+			assertTrue(records.get(0).getInbound());
+			assertArrayEquals(new byte[]{1, 2, 3}, records.get(0).getData());
+			assertEquals(250, records.get(1).getTime());
+			assertFalse(records.get(1).getInbound());
+			assertEquals(0, records.get(1).getData().length);
+			assertNull(reader.readRecord());
+		}
+	}
+	
+	@Test
+	public void testRejectsUnknownFormat() {
+		assertThrows(IOException.class, () -> new PacketCaptureReader(new ByteArrayInputStream(new byte[]{'H', 'C', 'A', 'P', 1})));
+	}
+	
+}
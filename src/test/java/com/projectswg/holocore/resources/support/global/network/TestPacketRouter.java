@@ -0,0 +1,123 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.common.network.packets.SWGPacket;
+import com.projectswg.common.network.packets.swg.ErrorMessage;
+import com.projectswg.common.network.packets.swg.zone.CmdSceneReady;
+import com.projectswg.holocore.resources.support.global.player.Player;
+import com.projectswg.holocore.test.resources.GenericPlayer;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPacketRouter extends TestRunnerNoIntents {
+	
+	private final Object owner = new Object();
+	
+	@AfterEach
+	public void unregisterHandlers() {
+		PacketRouter.unregister(owner);
+	}
+	
+	@Test
+	public void testOnlyMatchingHandlersReceivePacket() {
+		List<CmdSceneReady> scenes = new ArrayList<>();
+		List<ErrorMessage> errors = new ArrayList<>();
+		PacketRouter.register(owner, CmdSceneReady.class, (player, packet) -> scenes.add(packet));
+		PacketRouter.register(owner, ErrorMessage.class, (player, packet) -> errors.add(packet));
+		
+		CmdSceneReady scene = new CmdSceneReady();
+		assertEquals(1, PacketRouter.dispatch(new GenericPlayer(), scene));
+		assertEquals(List.of(scene), scenes);
+		assertTrue(errors.isEmpty());
+	}
+	
+	@Test
+	public void testSuperclassHandlerReceivesSubclasses() {
+		List<SWGPacket> packets = new ArrayList<>();
+		PacketRouter.register(owner, SWGPacket.class, (player, packet) -> packets.add(packet));
+		
+		PacketRouter.dispatch(new GenericPlayer(), new CmdSceneReady());
+		PacketRouter.dispatch(new GenericPlayer(), new ErrorMessage("type", "message", false));
+		assertEquals(2, packets.size());
+	}
+	
+	@Test
+	public void testUnregister() {
+		List<Player> players = new ArrayList<>();
+		PacketRouter.register(owner, CmdSceneReady.class, (player, packet) -> players.add(player));
+		PacketRouter.unregister(owner);
+		
+		assertEquals(0, PacketRouter.dispatch(new GenericPlayer(), new CmdSceneReady()));
+		assertTrue(players.isEmpty());
+	}
+	
+	@Test
+	public void testFailingHandlerDoesNotBlockOthers() {
+		List<CmdSceneReady> scenes = new ArrayList<>();
+		PacketRouter.register(owner, CmdSceneReady.class, (player, packet) -> { throw new IllegalStateException("expected"); });
+		PacketRouter.register(owner, CmdSceneReady.class, (player, packet) -> scenes.add(packet));
+		
+		assertEquals(2, PacketRouter.dispatch(new GenericPlayer(), new CmdSceneReady()));
+		assertEquals(1, scenes.size());
+	}
+	
+	@Test
+	public void testDispatchCounts() {
+		long before = PacketRouter.getDispatchCounts().getOrDefault("CmdSceneReady", 0L);
+		PacketRouter.dispatch(new GenericPlayer(), new CmdSceneReady());
+		assertEquals(before, PacketRouter.getDispatchCounts().getOrDefault("CmdSceneReady", 0L));
+		
+		PacketRouter.register(owner, CmdSceneReady.class, (player, packet) -> {});
+		PacketRouter.dispatch(new GenericPlayer(), new CmdSceneReady());
+		PacketRouter.dispatch(new GenericPlayer(), new CmdSceneReady());
+		assertEquals(before + 2, PacketRouter.getDispatchCounts().get("CmdSceneReady"));
+	}
+	
+	@Test
+	public void testHandlerStatistics() {
+		PacketRouter.register(owner, ErrorMessage.class, (player, packet) -> {});
+		long before = getHandlerCount("ErrorMessage");
+		PacketRouter.dispatch(new GenericPlayer(), new ErrorMessage("type", "message", false));
+		PacketRouter.dispatch(new GenericPlayer(), new ErrorMessage("type", "message", false));
+		assertEquals(before + 2, getHandlerCount("ErrorMessage"));
+	}
+	
+	private long getHandlerCount(String type) {
+		return PacketRouter.getHandlerStatistics().stream()
+				.filter(statistics -> statistics.getOwner().equals("Object") && statistics.getType().equals(type))
+				.mapToLong(PacketRouter.HandlerStatistics::getCount)
+				.sum();
+	}
+	
+}
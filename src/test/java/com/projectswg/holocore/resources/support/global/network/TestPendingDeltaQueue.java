@@ -0,0 +1,157 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.common.network.packets.swg.zone.baselines.Baseline.BaselineType;
+import com.projectswg.common.network.packets.swg.zone.deltas.DeltasMessage;
+import com.projectswg.holocore.resources.support.objects.awareness.AwarenessType;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.resources.GenericPlayer;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPendingDeltaQueue extends TestRunnerNoIntents {
+	
+	@Test
+	public void testReplaceableDeltasCoalesce() {
+		PendingDeltaQueue queue = new PendingDeltaQueue();
+		SharedPacket first = createDelta(1, 6, 10);
+		SharedPacket other = createDelta(1, 6, 11);
+		SharedPacket last = createDelta(1, 6, 10);
+		queue.add(first, true);
+		queue.add(other, true);
+		queue.add(last, true);
+		assertEquals(List.of(other, last), drain(queue));
+		assertTrue(queue.isEmpty());
+	}
+	
+	@Test
+	public void testDifferentObjectsDoNotCoalesce() {
+		PendingDeltaQueue queue = new PendingDeltaQueue();
+		SharedPacket first = createDelta(1, 6, 10);
+		SharedPacket second = createDelta(2, 6, 10);
+		queue.add(first, true);
+		queue.add(second, true);
+		assertEquals(List.of(first, second), drain(queue));
+	}
+	
+	@Test
+	public void testIncrementalDeltasAreKept() {
+		PendingDeltaQueue queue = new PendingDeltaQueue();
+		SharedPacket first = createDelta(1, 3, 4);
+		SharedPacket second = createDelta(1, 3, 4);
+		queue.add(first, false);
+		queue.add(second, false);
+		assertEquals(List.of(first, second), drain(queue));
+	}
+	
+	@Test
+	public void testListElementSetsCoalesce() {
+		PendingDeltaQueue queue = new PendingDeltaQueue();
+		SharedPacket health1 = createDelta(1, 6, 14);
+		SharedPacket action = createDelta(1, 6, 14);
+		SharedPacket health2 = createDelta(1, 6, 14);
+		SharedPacket health3 = createDelta(1, 6, 14);
+		queue.addListElement(health1, 0);
+		queue.addListElement(action, 2);
+		queue.addListElement(health2, 0);
+		queue.addListElement(health3, 0);
+		assertEquals(List.of(action, health3), drain(queue));
+	}
+	
+	@Test
+	public void testListElementSetsKeepOrderAroundOtherChanges() {
+		PendingDeltaQueue queue = new PendingDeltaQueue();
+		SharedPacket set1 = createDelta(1, 6, 14);
+		SharedPacket insert = createDelta(1, 6, 14);
+		SharedPacket set2 = createDelta(1, 6, 14);
+		queue.addListElement(set1, 0);
+		queue.add(insert, false);
+		queue.addListElement(set2, 0);
+		assertEquals(List.of(set1, insert, set2), drain(queue));
+	}
+	
+	@Test
+	public void testHealthChangesSendOnePacketPerObserver() {
+		GenericCreatureObject target = new GenericCreatureObject(1);
+		GenericCreatureObject observer1 = new GenericCreatureObject(2);
+		GenericCreatureObject observer2 = new GenericCreatureObject(3);
+		for (GenericCreatureObject creature : List.of(target, observer1, observer2))
+			creature.setPosition(Terrain.TATOOINE, 0, 0, 0);
+		for (GenericCreatureObject observer : List.of(observer1, observer2)) {
+			observer.setAware(AwarenessType.OBJECT, List.of(observer, target));
+			observer.flushAwareness();
+			observer.clearDeltas();
+		}
+		
+		target.setHealth(100);
+		target.setHealth(90);
+		target.setHealth(80);
+		
+		for (GenericCreatureObject observer : List.of(observer1, observer2)) {
+			GenericPlayer player = (GenericPlayer) observer.getOwner();
+			assertNotNull(player);
+			while (player.getNextPacket() != null) {
+				// Discard everything sent while becoming aware
+			}
+			observer.sendAndFlushAllDeltas();
+			List<DeltasMessage> healthDeltas = new ArrayList<>();
+			for (DeltasMessage delta = player.getNextPacket(DeltasMessage.class); delta != null; delta = player.getNextPacket(DeltasMessage.class)) {
+				if (delta.getObjectId() == target.getObjectId() && delta.getNum() == 6 && delta.getUpdate() == 14)
+					healthDeltas.add(delta);
+			}
+			assertEquals(1, healthDeltas.size());
+		}
+		assertEquals(80, target.getHealth());
+	}
+	
+	@Test
+	public void testClear() {
+		PendingDeltaQueue queue = new PendingDeltaQueue();
+		queue.add(createDelta(1, 6, 10), true);
+		queue.clear();
+		assertTrue(queue.isEmpty());
+		assertEquals(List.of(), drain(queue));
+	}
+	
+	private static List<SharedPacket> drain(PendingDeltaQueue queue) {
+		List<SharedPacket> drained = new ArrayList<>();
+		queue.drain(drained::add);
+		return drained;
+	}
+	
+	private static SharedPacket createDelta(long objectId, int num, int update) {
+		return new SharedPacket(new DeltasMessage(objectId, BaselineType.CREO, num, update, new byte[]{1}));
+	}
+	
+}
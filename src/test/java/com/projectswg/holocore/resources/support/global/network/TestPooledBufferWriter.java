@@ -0,0 +1,99 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPooledBufferWriter extends TestRunnerNoIntents {
+	
+	@Test
+	public void testLittleEndian() {
+		ByteBuffer bb = ByteBuffer.allocate(27).order(ByteOrder.LITTLE_ENDIAN);
+		bb.put((byte) 15);
+		bb.putShort((short) 1024);
+		bb.putInt(1024);
+		bb.putLong(1024);
+		bb.putFloat(1.25f);
+		bb.putDouble(1.75);
+		
+		PooledBufferWriter writer = PooledBufferWriter.acquire();
+		writer.writeByte(15);
+		writer.writeShort(1024);
+		writer.writeInt(1024);
+		writer.writeLong(1024);
+		writer.writeFloat(1.25f);
+		writer.writeDouble(1.75);
+		assertArrayEquals(bb.array(), writer.toByteArray());
+		writer.release();
+	}
+	
+	@Test
+	public void testStrings() {
+		PooledBufferWriter writer = PooledBufferWriter.acquire();
+		writer.writeUtf8("plain");
+		writer.writeUtf8("café");
+		writer.writeUtf16("café");
+		
+		ByteBuffer expected = ByteBuffer.allocate(5 + 5 + 8);
+		expected.put("plain".getBytes(StandardCharsets.UTF_8));
+		expected.put("café".getBytes(StandardCharsets.UTF_8));
+		expected.put("café".getBytes(StandardCharsets.UTF_16LE));
+		assertArrayEquals(expected.array(), writer.toByteArray());
+		writer.release();
+	}
+	
+	@Test
+	public void testGrowsAndResetsOnReuse() {
+		PooledBufferWriter writer = PooledBufferWriter.acquire();
+		for (int i = 0; i < 1000; i++)
+			writer.writeInt(i);
+		assertEquals(4000, writer.getSize());
+		assertEquals(999, ByteBuffer.wrap(writer.toByteArray()).order(ByteOrder.LITTLE_ENDIAN).getInt(3996));
+		writer.release();
+		
+		PooledBufferWriter reused = PooledBufferWriter.acquire();
+		assertSame(writer, reused);
+		assertEquals(0, reused.getSize());
+		reused.release();
+	}
+	
+	@Test
+	public void testDoubleReleaseRejected() {
+		PooledBufferWriter writer = PooledBufferWriter.acquire();
+		writer.release();
+		assertThrows(IllegalStateException.class, writer::release);
+		PooledBufferWriter.acquire().release();
+	}
+	
+}
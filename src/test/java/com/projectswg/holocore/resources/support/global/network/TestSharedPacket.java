@@ -0,0 +1,81 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network;
+
+import com.projectswg.common.network.packets.SWGPacket;
+import com.projectswg.common.network.packets.swg.ErrorMessage;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSharedPacket extends TestRunnerNoIntents {
+	
+	@Test
+	public void testSmallFrame() {
+		assertFrame(new ErrorMessage("type", "", false));
+	}
+	
+	@Test
+	public void testMediumFrame() {
+		assertFrame(new ErrorMessage("type", "x".repeat(1000), false));
+	}
+	
+	@Test
+	public void testLargeFrame() {
+		assertFrame(new ErrorMessage("type", "x".repeat(70000), false));
+	}
+	
+	@Test
+	public void testFrameViewsAreIndependent() {
+		SharedPacket packet = new SharedPacket(new ErrorMessage("type", "message", false));
+		ByteBuffer first = packet.getFrame();
+		ByteBuffer second = packet.getFrame();
+		first.position(first.limit());
+		assertEquals(0, second.position());
+		assertTrue(second.isReadOnly());
+	}
+	
+	private static void assertFrame(SWGPacket packet) {
+		byte [] payload = packet.encode().array();
+		ByteBuffer frame = new SharedPacket(packet).getFrame();
+		assertEquals((byte) 0x82, frame.get());
+		int length = frame.get() & 0x7F;
+		long decodedLength = switch (length) {
+			case 126 -> frame.getShort() & 0xFFFF;
+			case 127 -> frame.getLong();
+			default -> length;
+		};
+		assertEquals(payload.length, decodedLength);
+		byte [] framePayload = new byte[frame.remaining()];
+		frame.get(framePayload);
+		assertArrayEquals(payload, framePayload);
+	}
+	
+}
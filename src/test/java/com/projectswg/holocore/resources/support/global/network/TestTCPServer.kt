@@ -0,0 +1,176 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.global.network
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.io.DataInputStream
+import java.net.InetSocketAddress
+import java.net.ServerSocket
+import java.net.Socket
+import java.nio.ByteBuffer
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class TestTCPServer {
+	
+	private val server = TCPServer<TestChannel>()
+	private val opened = CountDownLatch(1)
+	private var session: TestChannel? = null
+	private lateinit var client: Socket
+	private lateinit var input: DataInputStream
+	
+	@BeforeEach
+	fun setup() {
+		val address = InetSocketAddress("127.0.0.1", findFreePort())
+		server.bind(address, workerThreadCount = 1) { _, writer, _ ->
+			TestChannel(writer).also { session = it }
+		}
+		client = Socket()
+		client.receiveBufferSize = 4096
+		client.soTimeout = 5000
+		client.connect(address)
+		input = DataInputStream(client.getInputStream())
+		assertTrue(opened.await(5, TimeUnit.SECONDS), "connection was not opened")
+	}
+	
+	@AfterEach
+	fun tearDown() {
+		client.close()
+		server.close()
+	}
+	
+	@Test
+	fun testWriteWakesSelector() {
+		Thread.sleep(50) // Let the selector block in select() with nothing to write
+		session!!.write(createFrame(0, 16))
+		assertFrames(readFully(16), 0, 1, 16)
+	}
+	
+	@Test
+	fun testQueuedBuffersArriveInOrder() {
+		// More buffers than a single gathering write takes
+		val frames = TCPServer.MAX_GATHERED_BUFFERS * 3 + 7
+		for (i in 0 until frames)
+			session!!.write(createFrame(i, 32))
+		assertFrames(readFully(frames * 32), 0, frames, 32)
+		awaitOutboundDrained(frames * 32L)
+	}
+	
+	@Test
+	fun testPartialWrites() {
+		// Several MiB against a tiny receive buffer, so the socket only accepts part of each gathering write
+		val frameSize = 64 * 1024
+		val frames = 128
+		for (i in 0 until frames)
+			session!!.write(createFrame(i, frameSize))
+		Thread.sleep(100) // Let the server fill the socket buffers before anything is read
+		assertTrue(server.getConnectionStatistics().single().queuedBuffers > 0, "expected the socket to stop accepting data")
+		assertFrames(readFully(frames * frameSize), 0, frames, frameSize)
+		awaitOutboundDrained(frames.toLong() * frameSize)
+	}
+	
+	@Test
+	fun testBackpressureCloses() {
+		val frameSize = 1024 * 1024
+		val frames = (TCPServer.MAX_OUTBOUND_BYTES / frameSize).toInt() * 2
+		for (i in 0 until frames)
+			session!!.write(createFrame(i, frameSize))
+		assertTrue(session!!.closed.await(5, TimeUnit.SECONDS), "slow connection was not closed")
+		assertEquals(listOf<TCPConnectionStatistics<TestChannel>>(), server.getConnectionStatistics())
+		
+		session!!.write(createFrame(0, 16)) // Ignored once closed
+		
+		// The client sees the connection end after whatever made it into the socket buffers - reads time out otherwise
+		val buffer = ByteArray(frameSize)
+		while (input.read(buffer) != -1) {
+			// Discard everything sent before the close
+		}
+	}
+	
+	private fun readFully(length: Int): ByteBuffer {
+		val data = ByteArray(length)
+		input.readFully(data)
+		return ByteBuffer.wrap(data)
+	}
+	
+	/**
+	 * The client can finish reading before the server thread has accounted for its last write
+	 */
+	private fun awaitOutboundDrained(sent: Long) {
+		val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1)
+		var statistics = server.getConnectionStatistics().single()
+		while (statistics.sentBytes != sent && System.nanoTime() < deadline) {
+			Thread.sleep(5)
+			statistics = server.getConnectionStatistics().single()
+		}
+		assertEquals(0, statistics.queuedBuffers)
+		assertEquals(0, statistics.queuedBytes)
+		assertEquals(sent, statistics.sentBytes)
+	}
+	
+	private inner class TestChannel(private val writer: (ByteBuffer) -> Unit) : TCPServerChannel {
+		
+		private val channelBuffer = ByteBuffer.allocate(1024)
+		val closed = CountDownLatch(1)
+		
+		fun write(buffer: ByteBuffer) = writer(buffer)
+		
+		override fun getChannelBuffer(): ByteBuffer = channelBuffer
+		override fun onRead() { channelBuffer.clear() }
+		override fun onOpened() = opened.countDown()
+		override fun onClosed() = closed.countDown()
+		
+	}
+	
+	companion object {
+		
+		private fun findFreePort(): Int = ServerSocket(0).use { it.localPort }
+		
+		/**
+		 * Each frame is filled with its index, so reordered or dropped buffers are detected
+		 */
+		private fun createFrame(index: Int, size: Int): ByteBuffer {
+			val frame = ByteBuffer.allocate(size)
+			while (frame.hasRemaining())
+				frame.put(index.toByte())
+			return frame.flip()
+		}
+		
+		private fun assertFrames(data: ByteBuffer, first: Int, count: Int, size: Int) {
+			for (i in first until first + count) {
+				for (j in 0 until size)
+					assertEquals(i.toByte(), data.get(), "frame $i corrupted at byte $j")
+			}
+			assertFalse(data.hasRemaining())
+		}
+		
+	}
+	
+}
@@ -0,0 +1,61 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.resources.support.objects
+
+import com.projectswg.common.data.swgfile.visitors.ObjectData.ObjectDataAttribute
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+class ObjectCreatorTest {
+	
+	@Test
+	fun testTemplateAttributes() {
+		val terminal = ObjectCreator.createObjectFromTemplate(TEMPLATE)
+		
+		assertEquals(TEMPLATE, terminal.template)
+		assertEquals(terminal.getDataStfAttribute(ObjectDataAttribute.OBJECT_NAME), terminal.stringId)
+		assertEquals(terminal.getDataIntAttribute(ObjectDataAttribute.CONTAINER_TYPE), terminal.containerType)
+	}
+	
+	@Test
+	fun testOverrideOnlyAffectsOneObject() {
+		val first = ObjectCreator.createObjectFromTemplate(TEMPLATE)
+		val second = ObjectCreator.createObjectFromTemplate(TEMPLATE)
+		val volume = second.getDataIntAttribute(ObjectDataAttribute.CONTAINER_VOLUME_LIMIT)
+		
+		first.setDataAttribute(ObjectDataAttribute.CONTAINER_VOLUME_LIMIT, volume + 10)
+		
+		assertEquals(volume + 10, first.getDataIntAttribute(ObjectDataAttribute.CONTAINER_VOLUME_LIMIT))
+		assertEquals(volume, second.getDataIntAttribute(ObjectDataAttribute.CONTAINER_VOLUME_LIMIT))
+		assertEquals(volume, ObjectCreator.createObjectFromTemplate(TEMPLATE).getDataIntAttribute(ObjectDataAttribute.CONTAINER_VOLUME_LIMIT))
+	}
+	
+	companion object {
+		private const val TEMPLATE = "object/tangible/terminal/shared_terminal_mission.iff"
+	}
+	
+}
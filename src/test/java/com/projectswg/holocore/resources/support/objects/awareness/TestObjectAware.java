@@ -35,7 +35,9 @@ import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -119,4 +121,30 @@ public class TestObjectAware extends TestRunnerNoIntents {
 		assertFalse(tangible1.getAware(AwarenessType.GROUP).contains(tangible2));
 	}
 	
+	@Test
+	public void testForEachAwareVisitsOnce() {
+		tangible1.setAware(AwarenessType.OBJECT, List.of(tangible2, creature1));
+		tangible1.setAware(AwarenessType.GROUP, List.of(tangible2, creature2));
+		
+		List<SWGObject> visited = new ArrayList<>();
+		tangible1.forEachAware(visited::add);
+		assertEquals(3, visited.size());
+		assertTrue(visited.containsAll(List.of(tangible2, creature1, creature2)));
+		assertEquals(3, tangible1.getAware().size());
+		
+		List<SWGObject> iterated = new ArrayList<>(tangible1.getAware());
+		assertEquals(3, iterated.size());
+		assertTrue(iterated.containsAll(visited));
+	}
+	
+	@Test
+	public void testAwareSnapshot() {
+		tangible1.setAware(AwarenessType.OBJECT, List.of(tangible2));
+		Set<SWGObject> snapshot = tangible1.getAware();
+		tangible1.setAware(AwarenessType.OBJECT, List.of());
+		assertTrue(snapshot.contains(tangible2));
+		assertFalse(tangible1.getAware().contains(tangible2));
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.add(creature1));
+	}
+	
 }
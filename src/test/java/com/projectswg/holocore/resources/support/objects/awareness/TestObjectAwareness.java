@@ -35,6 +35,7 @@ import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
 import com.projectswg.holocore.resources.support.objects.swg.building.BuildingObject;
 import com.projectswg.holocore.resources.support.objects.swg.cell.CellObject;
 import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import com.projectswg.holocore.resources.support.objects.swg.custom.AIObject;
 import com.projectswg.holocore.resources.support.objects.swg.waypoint.WaypointObject;
 import com.projectswg.holocore.test.resources.GenericCreatureObject;
 import com.projectswg.holocore.test.resources.GenericTangibleObject;
@@ -210,6 +211,105 @@ public class TestObjectAwareness extends TestRunnerNoIntents {
 		player.moveToContainer(testCell1);
 	}
 	
+	@Test
+	public void testObjectMovesInAndOutOfRange() {
+		initialize();
+		move(TestLocation.SSI);
+		
+		testTangible.setLocation(buildTatooine(3000, 3000));
+		awareness.updateObject(testTangible);
+		awareness.updateChunks();
+		assertFalse(player.getAware().contains(testTangible));
+		
+		testTangible.setLocation(buildTatooine(50, 50));
+		awareness.updateObject(testTangible);
+		awareness.updateChunks();
+		assertTrue(player.getAware().contains(testTangible));
+		
+		testPlayer.setLocation(buildTatooine(300, 25));
+		awareness.updateObject(testPlayer);
+		awareness.updateChunks();
+		assertFalse(player.getAware().contains(testPlayer));
+		assertFalse(testPlayer.getAware().contains(player));
+		
+		testPlayer.setLocation(buildTatooine(40, 40));
+		awareness.updateObject(testPlayer);
+		awareness.updateChunks();
+		assertTrue(player.getAware().contains(testPlayer));
+		assertTrue(testPlayer.getAware().contains(player));
+	}
+	
+	@Test
+	public void testObjectCrossesCells() {
+		initialize();
+		move(TestLocation.SSI);
+		
+		// The origin is a bucket boundary in every grid, so each step below lands in a different bucket
+		for (Location location : List.of(buildTatooine(-50, 50), buildTatooine(-50, -50), buildTatooine(50, -50), buildTatooine(50, 50))) {
+			testTangible.setLocation(location);
+			awareness.updateObject(testTangible);
+			awareness.updateChunks();
+			assertTrue(player.getAware().contains(testTangible), "Should remain aware after moving to " + location);
+		}
+		
+		// The observer crossing buckets, rather than the object
+		for (TestLocation location : List.of(TestLocation.SDI, TestLocation.SSI, TestLocation.SDI))
+			move(location);
+	}
+	
+	@Test
+	public void testDistantStructureVisible() {
+		initialize();
+		player.systemMove(null, buildTatooine(1800, 45));
+		update(player);
+		assertTrue(player.getAware().contains(testBuilding1));
+		assertFalse(player.getAware().contains(testTangible));
+	}
+	
+	@Test
+	public void testObjectRemoved() {
+		initialize();
+		move(TestLocation.SSI);
+		assertTrue(player.getAware().contains(testTangible));
+		assertTrue(player.getAware().contains(testPlayer));
+		
+		awareness.destroyObject(testTangible);
+		awareness.updateChunks();
+		assertFalse(player.getAware().contains(testTangible));
+		
+		awareness.destroyObject(testPlayer);
+		awareness.updateChunks();
+		assertFalse(player.getAware().contains(testPlayer));
+		assertAware(List.of(player, testBuilding1));
+	}
+	
+	@Test
+	public void testNpcsIdleWithoutPlayers() {
+		initialize();
+		AwarenessMetrics metrics = awareness.getMetrics(Terrain.DANTOOINE);
+		AIObject npc1 = new AIObject(getUniqueId());
+		AIObject npc2 = new AIObject(getUniqueId());
+		npc1.setLocation(Location.builder().setTerrain(Terrain.DANTOOINE).setPosition(100, 0, 100).build());
+		npc2.setLocation(Location.builder().setTerrain(Terrain.DANTOOINE).setPosition(400, 0, 100).build());
+		awareness.createObject(npc1);
+		awareness.createObject(npc2);
+		awareness.updateChunks(); // Each NPC rescans one last time before going quiet
+		awareness.updateChunks();
+		assertEquals(0, metrics.getLastObservers());
+		
+		npc2.setLocation(Location.builder().setTerrain(Terrain.DANTOOINE).setPosition(110, 0, 100).build());
+		awareness.updateObject(npc2);
+		awareness.updateChunks();
+		assertEquals(0, metrics.getLastObservers());
+		assertEquals(0, metrics.getLastObjectsTested());
+		
+		GenericCreatureObject visitor = new GenericCreatureObject(getUniqueId(), "visitor");
+		visitor.setLocation(Location.builder().setTerrain(Terrain.DANTOOINE).setPosition(120, 0, 100).build());
+		awareness.createObject(visitor);
+		awareness.updateChunks();
+		assertEquals(3, metrics.getLastObservers());
+	}
+	
 	private void update(CreatureObject obj) {
 		awareness.updateObject(obj);
 		awareness.updateChunks();
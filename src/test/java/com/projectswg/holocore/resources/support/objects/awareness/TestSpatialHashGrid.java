@@ -0,0 +1,102 @@
+/***********************************************************************************
+ * Copyright (c) 2018 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+
+package com.projectswg.holocore.resources.support.objects.awareness;
+
+import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.test.resources.GenericTangibleObject;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSpatialHashGrid extends TestRunnerNoIntents {
+	
+	private SpatialHashGrid grid;
+	private SWGObject near;
+	private SWGObject far;
+	
+	@BeforeEach
+	public void initialize() {
+		grid = new SpatialHashGrid(128);
+		near = new GenericTangibleObject(getUniqueId(), "near");
+		far = new GenericTangibleObject(getUniqueId(), "far");
+	}
+	
+	@Test
+	public void testQuery() {
+		assertTrue(grid.move(near, 10, 10));
+		assertTrue(grid.move(far, 3000, 3000));
+		assertEquals(2, grid.size());
+		
+		Set<SWGObject> found = query(0, 0, 200);
+		assertTrue(found.contains(near));
+		assertFalse(found.contains(far));
+		
+		found = query(3000, 3000, 50);
+		assertFalse(found.contains(near));
+		assertTrue(found.contains(far));
+	}
+	
+	@Test
+	public void testMove() {
+		assertTrue(grid.move(near, 10, 10));
+		assertFalse(grid.move(near, 20, 20)); // Same bucket
+		assertTrue(grid.move(near, 3000, 3000));
+		assertEquals(1, grid.size());
+		
+		assertFalse(query(0, 0, 200).contains(near));
+		assertTrue(query(3000, 3000, 50).contains(near));
+	}
+	
+	@Test
+	public void testRemove() {
+		grid.move(near, 10, 10);
+		assertTrue(grid.remove(near));
+		assertFalse(grid.remove(near));
+		assertEquals(0, grid.size());
+		assertTrue(query(0, 0, 200).isEmpty());
+	}
+	
+	@Test
+	public void testOutOfBounds() {
+		grid.move(near, 17000, 17000);
+		assertTrue(query(8191, 8191, 1).contains(near));
+		assertFalse(query(-8191, -8191, 1).contains(near));
+	}
+	
+	private Set<SWGObject> query(double x, double z, double radius) {
+		Set<SWGObject> found = new HashSet<>();
+		grid.query(x, z, radius, found::add);
+		return found;
+	}
+	
+}
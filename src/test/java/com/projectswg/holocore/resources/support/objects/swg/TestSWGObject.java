@@ -220,4 +220,39 @@ public class TestSWGObject extends TestRunnerNoIntents {
 		assertEquals(parent, ring3.getParent(), "Ring 3 should have been equipped");
 		assertNotEquals(ring1.getParent(), parent, "Ring 1 should have been unequipped");
 	}
+	
+	@Test
+	public void testContainedVolume() {
+		SWGObject container = new GenericTangibleObject(1);
+		SWGObject bag = new GenericTangibleObject(2);
+		SWGObject item = new GenericTangibleObject(3);
+		
+		bag.moveToContainer(container);
+		assertEquals(1, container.getVolume());
+		item.moveToContainer(bag);
+		assertEquals(1, bag.getVolume());
+		
+		// The bag grew after it was added, but removing it should only remove what it took up when it was added
+		bag.moveToContainer(null);
+		assertEquals(0, container.getVolume());
+	}
+	
+	@Test
+	public void testModifyContainerWhileIterating() {
+		SWGObject container = new GenericTangibleObject(1);
+		SWGObject destination = new GenericTangibleObject(2);
+		for (int i = 0; i < 100; i++)
+			new GenericTangibleObject(10 + i).moveToContainer(container);
+		
+		int iterated = 0;
+		for (SWGObject item : container.getContainedObjects()) {
+			item.moveToContainer(destination);
+			iterated++;
+		}
+		assertEquals(100, iterated);
+		assertTrue(container.getContainedObjects().isEmpty());
+		assertEquals(100, destination.getContainedObjects().size());
+		assertTrue(destination.getContainedObjects().contains(new GenericTangibleObject(50)));
+		assertEquals(100, destination.getVolume());
+	}
 }
@@ -0,0 +1,218 @@
+/***********************************************************************************
+ * Copyright (c) 2024 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+package com.projectswg.holocore.services.support.objects.awareness;
+
+import com.projectswg.common.data.location.Location;
+import com.projectswg.common.data.location.Terrain;
+import com.projectswg.common.network.packets.SWGPacket;
+import com.projectswg.common.network.packets.swg.zone.UpdateTransformMessage;
+import com.projectswg.holocore.resources.support.global.player.Player;
+import com.projectswg.holocore.resources.support.objects.swg.creature.CreatureObject;
+import com.projectswg.holocore.test.resources.GenericCreatureObject;
+import com.projectswg.holocore.test.runners.TestRunnerNoIntents;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTransformUpdateThrottle extends TestRunnerNoIntents {
+	
+	private static final long START = TimeUnit.SECONDS.toNanos(100);
+	private static final long STEP = TimeUnit.MILLISECONDS.toNanos(100);
+	
+	private final Map<CreatureObject, List<SWGPacket>> received = new HashMap<>();
+	private TransformUpdateThrottle throttle;
+	private GenericCreatureObject target;
+	private CreatureObject near;
+	private CreatureObject mid;
+	private CreatureObject far;
+	
+	@BeforeEach
+	public void setup() {
+		received.clear();
+		throttle = new TransformUpdateThrottle();
+		target = new GenericCreatureObject(1);
+		target.setPosition(Terrain.TATOOINE, 0, 0, 0);
+		near = createObserver(2, 10);
+		mid = createObserver(3, 64);
+		far = createObserver(4, 500);
+	}
+	
+	@Test
+	public void testNearReceivesEveryUpdate() {
+		for (int i = 0; i < 4; i++)
+			move(START + i * STEP);
+		
+		assertEquals(4, received(near));
+		assertEquals(1, received(mid));
+		assertEquals(1, received(far));
+	}
+	
+	@Test
+	public void testMidReceivesEveryMidInterval() {
+		move(START);
+		move(START + STEP);
+		move(START + TransformUpdateThrottle.MID_INTERVAL);
+		move(START + TransformUpdateThrottle.MID_INTERVAL + STEP);
+		
+		assertEquals(4, received(near));
+		assertEquals(2, received(mid));
+		assertEquals(1, received(far));
+	}
+	
+	@Test
+	public void testFarReceivesEveryFarInterval() {
+		move(START);
+		move(START + STEP);
+		move(START + TransformUpdateThrottle.FAR_INTERVAL);
+		
+		assertEquals(3, received(near));
+		assertEquals(2, received(mid));
+		assertEquals(2, received(far));
+	}
+	
+	@Test
+	public void testLookAtTargetReceivesEveryUpdate() {
+		far.setLookAtTargetId(target.getObjectId());
+		for (int i = 0; i < 4; i++)
+			move(START + i * STEP);
+		
+		assertEquals(4, received(far));
+		assertEquals(1, received(mid));
+	}
+	
+	@Test
+	public void testGroupMemberReceivesEveryUpdate() {
+		target.setGroupId(5);
+		far.setGroupId(5);
+		mid.setGroupId(6);
+		for (int i = 0; i < 4; i++)
+			move(START + i * STEP);
+		
+		assertEquals(4, received(far));
+		assertEquals(1, received(mid));
+	}
+	
+	@Test
+	public void testStopIsSentToEveryone() {
+		move(START);
+		move(START + STEP);
+		SWGPacket stop = createTransform(0);
+		throttle.send(target, stop, 0, START + 2 * STEP);
+		
+		for (CreatureObject observer : List.of(near, mid, far))
+			assertSame(stop, last(observer));
+		
+		// Stopping ends the movement, so there is nothing left to resend
+		throttle.flushSettled(START + 2 * STEP + TransformUpdateThrottle.SETTLE_TIME);
+		assertEquals(3, received(near));
+		assertEquals(2, received(mid));
+		assertEquals(2, received(far));
+	}
+	
+	@Test
+	public void testSettledResentToThrottledObserversOnly() {
+		move(START);
+		SWGPacket lastMove = move(START + STEP);
+		
+		throttle.flushSettled(START + STEP + TransformUpdateThrottle.SETTLE_TIME - 1);
+		assertEquals(1, received(mid));
+		assertEquals(1, received(far));
+		
+		throttle.flushSettled(START + STEP + TransformUpdateThrottle.SETTLE_TIME);
+		assertEquals(2, received(near));
+		assertEquals(2, received(mid));
+		assertEquals(2, received(far));
+		assertSame(lastMove, last(mid));
+		assertSame(lastMove, last(far));
+		
+		// Each settle is only sent once
+		throttle.flushSettled(START + STEP + 2 * TransformUpdateThrottle.SETTLE_TIME);
+		assertEquals(2, received(mid));
+		assertEquals(2, received(far));
+	}
+	
+	@Test
+	public void testSettledNotResentAfterCatchUp() {
+		move(START);
+		move(START + STEP);
+		move(START + TransformUpdateThrottle.FAR_INTERVAL);
+		
+		throttle.flushSettled(START + TransformUpdateThrottle.FAR_INTERVAL + TransformUpdateThrottle.SETTLE_TIME);
+		assertEquals(3, received(near));
+		assertEquals(2, received(mid));
+		assertEquals(2, received(far));
+	}
+	
+	@Test
+	public void testSettledSkipsRemovedObservers() {
+		move(START);
+		move(START + STEP);
+		target.removeObserver(far);
+		
+		throttle.flushSettled(START + STEP + TransformUpdateThrottle.SETTLE_TIME);
+		assertEquals(2, received(mid));
+		assertEquals(1, received(far));
+	}
+	
+	private SWGPacket move(long now) {
+		SWGPacket packet = createTransform(5);
+		throttle.send(target, packet, 5, now);
+		return packet;
+	}
+	
+	private SWGPacket createTransform(int speed) {
+		Location location = Location.builder().setTerrain(Terrain.TATOOINE).setPosition(0, 0, 0).build();
+		return new UpdateTransformMessage(target.getObjectId(), target.getNextUpdateCount(), location, (byte) speed);
+	}
+	
+	private int received(CreatureObject observer) {
+		return received.get(observer).size();
+	}
+	
+	private SWGPacket last(CreatureObject observer) {
+		List<SWGPacket> packets = received.get(observer);
+		return packets.get(packets.size() - 1);
+	}
+	
+	private CreatureObject createObserver(long objectId, double x) {
+		GenericCreatureObject observer = new GenericCreatureObject(objectId);
+		observer.setPosition(Terrain.TATOOINE, x, 0, 0);
+		List<SWGPacket> packets = new ArrayList<>();
+		observer.setOwner(new Player(objectId, null, packets::add));
+		received.put(observer, packets);
+		target.addObserver(observer);
+		return observer;
+	}
+	
+}
@@ -41,6 +41,7 @@ import com.projectswg.common.network.packets.swg.zone.object_controller.DataTran
 import com.projectswg.common.network.packets.swg.zone.object_controller.DataTransformWithParent;
 import com.projectswg.common.network.packets.swg.zone.object_controller.ObjectController;
 import com.projectswg.holocore.resources.support.data.server_info.loader.ServerData;
+import com.projectswg.holocore.resources.support.global.network.SharedPacket;
 import com.projectswg.holocore.resources.support.global.player.Player;
 import com.projectswg.holocore.resources.support.objects.ObjectCreator;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
@@ -106,6 +107,11 @@ public class GenericPlayer extends Player {
 		}
 	}
 
+	@Override
+	public void sendPacket(SharedPacket packet) {
+		sendPacket(packet.getPacket());
+	}
+	
 	@Override
 	public void sendPacket(SWGPacket packet1, SWGPacket packet2) {
 		sendPacket(packet1);
@@ -28,6 +28,8 @@ package com.projectswg.holocore.test.runners
 
 import com.projectswg.common.data.encodables.galaxy.Galaxy
 import com.projectswg.common.data.location.Location
+import com.projectswg.common.data.location.Terrain
+import com.projectswg.common.data.swgiff.parsers.terrain.TerrainTemplate
 import com.projectswg.holocore.headless.MemoryUserDatabase
 import com.projectswg.holocore.resources.support.data.server_info.loader.ServerData
 import com.projectswg.holocore.resources.support.data.server_info.loader.npc.NpcStaticSpawnLoader
@@ -121,10 +123,14 @@ abstract class AcceptanceTest : TestRunnerSynchronousIntents() {
 	}
 
 	companion object {
+		private val terrainTemplates = ArrayList<TerrainTemplate>()
+
 		@JvmStatic
 		@BeforeAll
 		fun setUpAll() {
-			ServerData.terrains // Eagerly load, so even the very first command is fast in the 'swimming' state check
+			// Parse and hold on to the templates, so even the very first command is fast in the 'swimming' state check
+			if (terrainTemplates.isEmpty())
+				Terrain.entries.mapNotNullTo(terrainTemplates) { ServerData.terrains.getTerrain(it) }
 		}
 	}
 
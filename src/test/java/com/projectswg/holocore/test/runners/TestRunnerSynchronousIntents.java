@@ -29,6 +29,7 @@ package com.projectswg.holocore.test.runners;
 
 import com.projectswg.holocore.intents.support.objects.ObjectCreatedIntent;
 import com.projectswg.holocore.resources.support.objects.swg.SWGObject;
+import com.projectswg.holocore.services.support.global.network.PacketRouterService;
 import me.joshlarson.jlcommon.concurrency.Delay;
 import me.joshlarson.jlcommon.control.Intent;
 import me.joshlarson.jlcommon.control.IntentManager;
@@ -49,8 +50,9 @@ public abstract class TestRunnerSynchronousIntents extends TestRunner {
 	
 	@BeforeEach
 	public final void setupSynchronous() {
-		intentManager = new IntentManager(1);
+		intentManager = createIntentManager();
 		IntentManager.setInstance(intentManager);
+		registerService(new PacketRouterService());
 	}
 	
 	@AfterEach
@@ -64,6 +66,13 @@ public abstract class TestRunnerSynchronousIntents extends TestRunner {
 		IntentManager.setInstance(null);
 	}
 	
+	/**
+	 * Creates the intent manager the services are registered with - a single intent thread by default
+	 */
+	protected IntentManager createIntentManager() {
+		return new IntentManager(1);
+	}
+	
 	protected final void registerService(ServiceBase service) {
 		service.setIntentManager(Objects.requireNonNull(intentManager));
 		service.initialize();
@@ -0,0 +1,244 @@
+/***********************************************************************************
+ * Copyright (c) 2018 /// Project SWG /// www.projectswg.com                       *
+ *                                                                                 *
+ * ProjectSWG is the first NGE emulator for Star Wars Galaxies founded on          *
+ * July 7th, 2011 after SOE announced the official shutdown of Star Wars Galaxies. *
+ * Our goal is to create an emulator which will provide a server for players to    *
+ * continue playing a game similar to the one they used to play. We are basing     *
+ * it on the final publish of the game prior to end-game events.                   *
+ *                                                                                 *
+ * This file is part of Holocore.                                                  *
+ *                                                                                 *
+ * --------------------------------------------------------------------------------*
+ *                                                                                 *
+ * Holocore is free software: you can redistribute it and/or modify                *
+ * it under the terms of the GNU Affero General Public License as                  *
+ * published by the Free Software Foundation, either version 3 of the              *
+ * License, or (at your option) any later version.                                 *
+ *                                                                                 *
+ * Holocore is distributed in the hope that it will be useful,                     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of                  *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                   *
+ * GNU Affero General Public License for more details.                             *
+ *                                                                                 *
+ * You should have received a copy of the GNU Affero General Public License        *
+ * along with Holocore.  If not, see <http://www.gnu.org/licenses/>.               *
+ ***********************************************************************************/
+
+package com.projectswg.utility.packets;
+
+import com.projectswg.common.network.NetworkProtocol;
+import com.projectswg.holocore.resources.support.global.network.PacketCaptureReader;
+import com.projectswg.holocore.resources.support.global.network.PacketCaptureReader.PacketCaptureRecord;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the client side of recorded sessions against a running server. Each synthetic client opens its own WebSocket
+ * connection and sends the inbound packets of one capture with the original spacing, divided by the speed factor.
+ * Captures contain the object ids of the recorded session, so the replay is most faithful when the clients log into
+ * the accounts and characters that were recorded.
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public class ReplayPacketCapture {
+	
+	public static void main(String [] args) throws IOException, InterruptedException {
+		ReplayOptions options = ReplayOptions.parse(args);
+		if (options == null) {
+			printUsage();
+			return;
+		}
+		List<List<PacketCaptureRecord>> captures = new ArrayList<>();
+		for (String file : options.captures()) {
+			try (PacketCaptureReader reader = new PacketCaptureReader(new FileInputStream(file))) {
+				captures.add(reader.readAll());
+			}
+		}
+		
+		ReplayStatistics statistics = new ReplayStatistics();
+		HttpClient http = HttpClient.newHttpClient();
+		long start = System.nanoTime();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < options.clients(); i++) {
+				int clientId = i;
+				List<PacketCaptureRecord> capture = captures.get(i % captures.size());
+				executor.submit(() -> replay(http, options, clientId, capture, statistics));
+				if (options.rampMillis() > 0)
+					Thread.sleep(options.rampMillis());
+			}
+		}
+		statistics.print((System.nanoTime() - start) / 1E9);
+	}
+	
+	private static void replay(HttpClient http, ReplayOptions options, int clientId, List<PacketCaptureRecord> capture, ReplayStatistics statistics) {
+		ReplayListener listener = new ReplayListener(statistics);
+		WebSocket socket;
+		try {
+			socket = http.newWebSocketBuilder().buildAsync(createUri(options, clientId), listener).join();
+		} catch (CompletionException e) {
+			statistics.failedConnections.increment();
+			System.err.printf("Client %d failed to connect: %s%n", clientId, e.getCause());
+			return;
+		}
+		statistics.connections.increment();
+		
+		long replayStart = System.nanoTime();
+		long firstTime = -1;
+		try {
+			for (PacketCaptureRecord record : capture) {
+				if (!record.getInbound())
+					continue;
+				if (firstTime < 0)
+					firstTime = record.getTime();
+				long sendTime = replayStart + (long) (TimeUnit.MILLISECONDS.toNanos(record.getTime() - firstTime) / options.speed());
+				long delay = sendTime - System.nanoTime();
+				if (delay > 0)
+					LockSupport.parkNanos(delay);
+				if (listener.isClosed())
+					break;
+				socket.sendBinary(ByteBuffer.wrap(record.getData()), true).join();
+				statistics.sentPackets.increment();
+				statistics.sentBytes.add(record.getData().length);
+			}
+			if (options.lingerMillis() > 0)
+				Thread.sleep(options.lingerMillis());
+			if (!listener.isClosed())
+				socket.sendClose(WebSocket.NORMAL_CLOSURE, "replay complete").join();
+		} catch (CompletionException e) {
+			System.err.printf("Client %d disconnected: %s%n", clientId, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private static URI createUri(ReplayOptions options, int clientId) {
+		String username = String.format(options.username(), clientId);
+		return URI.create("ws://" + options.host() + ':' + options.port() + "/?username=" + encodeParameter(username) + "&password=" + encodeParameter(options.password()) + "&protocolVersion=" + encodeParameter(NetworkProtocol.VERSION));
+	}
+	
+	private static String encodeParameter(String value) {
+		return URLEncoder.encode(Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+	}
+	
+	private static void printUsage() {
+		System.out.println("Usage: ReplayPacketCapture [options] <capture.pswgcap>...");
+		System.out.println("    --host <host>          server address (default: localhost)");
+		System.out.println("    --port <port>          server port (default: 44463)");
+		System.out.println("    --clients <count>      number of synthetic clients (default: one per capture)");
+		System.out.println("    --speed <factor>       time scale, 2 replays twice as fast (default: 1)");
+		System.out.println("    --ramp <ms>            delay between client connections (default: 0)");
+		System.out.println("    --linger <ms>          time to stay connected after the last packet (default: 5000)");
+		System.out.println("    --username <format>    account name, %d is replaced by the client number (default: replay%d)");
+		System.out.println("    --password <password>  account password (default: replay)");
+	}
+	
+	private record ReplayOptions(String host, int port, int clients, double speed, long rampMillis, long lingerMillis, String username, String password, List<String> captures) {
+		
+		static ReplayOptions parse(String [] args) {
+			String host = "localhost";
+			int port = 44463;
+			int clients = -1;
+			double speed = 1;
+			long ramp = 0;
+			long linger = 5000;
+			String username = "replay%d";
+			String password = "replay";
+			List<String> captures = new ArrayList<>();
+			try {
+				for (int i = 0; i < args.length; i++) {
+					switch (args[i]) {
+						case "--host" -> host = args[++i];
+						case "--port" -> port = Integer.parseInt(args[++i]);
+						case "--clients" -> clients = Integer.parseInt(args[++i]);
+						case "--speed" -> speed = Double.parseDouble(args[++i]);
+						case "--ramp" -> ramp = Long.parseLong(args[++i]);
+						case "--linger" -> linger = Long.parseLong(args[++i]);
+						case "--username" -> username = args[++i];
+						case "--password" -> password = args[++i];
+						default -> captures.add(args[i]);
+					}
+				}
+			} catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+				return null;
+			}
+			if (captures.isEmpty() || speed <= 0)
+				return null;
+			return new ReplayOptions(host, port, clients < 0 ? captures.size() : clients, speed, ramp, linger, username, password, captures);
+		}
+		
+	}
+	
+	private static class ReplayListener implements WebSocket.Listener {
+		
+		private final ReplayStatistics statistics;
+		private volatile boolean closed;
+		
+		public ReplayListener(ReplayStatistics statistics) {
+			this.statistics = statistics;
+			this.closed = false;
+		}
+		
+		public boolean isClosed() {
+			return closed;
+		}
+		
+		@Override
+		public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+			statistics.receivedBytes.add(data.remaining());
+			if (last)
+				statistics.receivedPackets.increment();
+			webSocket.request(1);
+			return null;
+		}
+		
+		@Override
+		public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+			closed = true;
+			return null;
+		}
+		
+		@Override
+		public void onError(WebSocket webSocket, Throwable error) {
+			closed = true;
+			statistics.errors.increment();
+		}
+		
+	}
+	
+	private static class ReplayStatistics {
+		
+		private final LongAdder connections = new LongAdder();
+		private final LongAdder failedConnections = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder sentPackets = new LongAdder();
+		private final LongAdder sentBytes = new LongAdder();
+		private final LongAdder receivedPackets = new LongAdder();
+		private final LongAdder receivedBytes = new LongAdder();
+		
+		public void print(double seconds) {
+			System.out.printf("Replayed for %.1fs%n", seconds);
+			System.out.printf("    Connections: %d [Failed: %d  Errors: %d]%n", connections.sum(), failedConnections.sum(), errors.sum());
+			System.out.printf("    Sent:        %d packets, %d bytes (%.1f packets/s)%n", sentPackets.sum(), sentBytes.sum(), sentPackets.sum() / seconds);
+			System.out.printf("    Received:    %d packets, %d bytes (%.1f packets/s)%n", receivedPackets.sum(), receivedBytes.sum(), receivedPackets.sum() / seconds);
+		}
+		
+	}
+	
+}